@@ -2,6 +2,7 @@ import React, { useState } from "react";        //Import React and useState hook
 import axios from "axios";                      //Import axios for HTTP requests
 import { useNavigate } from "react-router-dom"; //Import useNavigate for navigation
 import "../styles/styles.css";                  //Import CSS styles
+import { TENANT_HEADERS } from "../components/services/authService";   //Storefront of this build
 
 function CreateUser() 
 {
@@ -54,7 +55,7 @@ function CreateUser()
 
     try 
     {
-      await axios.post("http://localhost:8080/users", trimmedUser); //Send POST request to API
+      await axios.post("http://localhost:8080/users", trimmedUser, { headers: TENANT_HEADERS }); //Send POST request to API
       setSuccess(true);                                             //Set success flag on successful registration
       setTimeout(() => navigate("/"), 5000);                        //Redirect after 5 seconds
     } 
@@ -1,8 +1,74 @@
-import React, { useEffect, useState, useCallback } from "react";  //Import React hooks
+import React, { useEffect, useState, useCallback, useRef } from "react";  //Import React hooks
 import axios from "axios";                                        //Import axios for HTTP requests
 import { useNavigate } from "react-router-dom";                   //Import navigation hook
+import { clearSignIn, logoutUser } from "../components/services/authService";   //Sign-out helpers
 import "../styles/styles.css";                                    //Import styles
 
+//Last ETag and body per URL; the server answers 304 with no body when nothing has changed
+const responseCache = new Map();
+
+//GET with If-None-Match, falling back to the cached body (and headers) on 304
+const getWithETag = async (url, token) => 
+{
+  const cached = responseCache.get(url);
+  const res = await axios.get(url, {
+    headers: { Authorization: `Bearer ${token}`, ...(cached && { "If-None-Match": cached.etag }) },
+    validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
+  });
+
+  if(res.status === 304)
+    return cached;
+
+  const fresh = { etag: res.headers.etag, data: res.data, headers: res.headers };
+  if(fresh.etag)
+    responseCache.set(url, fresh);
+
+  return fresh;
+};
+
+//Apply one delta-sync page to the user list: replace or append upserts, drop tombstones
+const applyChanges = (users, changes) => 
+{
+  const byId = new Map(users.map((user) => [user.userId, user]));
+  changes.upserts.forEach((user) => byId.set(user.userId, user));
+  changes.deletedUserIds.forEach((userId) => byId.delete(userId));
+  return [...byId.values()].sort((a, b) => a.userId - b.userId);
+};
+
+//Read the admin change stream (Server-Sent Events). fetch instead of EventSource, which cannot send the
+//Authorization header; onEvent gets the event name and parsed data. Resolves when the server closes the stream,
+//rejects when the request fails or is aborted
+const streamUserEvents = async (token, onEvent, signal) => 
+{
+  const res = await fetch("http://localhost:8080/users/events", {
+    headers: { Authorization: `Bearer ${token}`, Accept: "text/event-stream" },
+    signal,
+  });
+
+  if(!res.ok)
+    throw new Error(`Event stream refused: HTTP ${res.status}`);
+
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+
+  for(;;) 
+  {
+    const { value, done } = await reader.read();
+    if(done) return;
+
+    buffer += value;
+    let end;
+    while((end = buffer.indexOf("\n\n")) >= 0)   //Events end with a blank line
+    {
+      const lines = buffer.slice(0, end).split("\n");
+      const name = lines.find((line) => line.startsWith("event:"))?.slice(6);
+      const data = lines.filter((line) => line.startsWith("data:")).map((line) => line.slice(5)).join("\n");
+      buffer = buffer.slice(end + 2);
+      if(data) onEvent(name, JSON.parse(data));   //Comments (heartbeats) carry no data
+    }
+  }
+};
+
 //Component for Update/Delete buttons per user
 const UserActions = ({ user, currentUser, onUpdate, onDelete, disabled }) => 
 {
@@ -44,10 +110,11 @@ const UserActions = ({ user, currentUser, onUpdate, onDelete, disabled }) =>
 };
 
 //Table component displaying user list with actions
-const UserTable = ({ users, currentUser, onUpdate, onDelete, actionsDisabled }) => (
+const UserTable = ({ users, currentUser, onUpdate, onDelete, actionsDisabled, selected, onSelect }) => (
   <table className="user-table">
     <thead>
       <tr>
+        {currentUser.role === "ADMIN" && <th></th>}
         <th>ID</th><th>First Name</th><th>Last Name</th><th>Username</th>
         <th>Email</th><th>Phone</th><th>Address</th><th>Role</th><th>Actions</th>
       </tr>
@@ -56,6 +123,17 @@ const UserTable = ({ users, currentUser, onUpdate, onDelete, actionsDisabled })
       {/* Map over users to display rows */}
       {users.map((user) => (
         <tr key={user.userId}>
+          {/* Admins pick rows for batch delete; their own row cannot be picked */}
+          {currentUser.role === "ADMIN" && (
+            <td>
+              <input
+                type="checkbox"
+                checked={selected.has(user.userId)}
+                onChange={() => onSelect(user.userId)}
+                disabled={actionsDisabled || user.userId === currentUser.userId}
+              />
+            </td>
+          )}
           <td>{user.userId}</td>
           <td>{user.firstName || "-"}</td>
           <td>{user.lastName || "-"}</td>
@@ -90,19 +168,20 @@ const Dashboard = () =>
   const [error, setError] = useState("");                         //Error message
   const [deleteSuccess, setDeleteSuccess] = useState("");         //Delete success message
   const [actionsDisabled, setActionsDisabled] = useState(false);  //Disable buttons while actions pending
+  const [selected, setSelected] = useState(new Set());            //userIds picked for a batch delete
   const navigate = useNavigate();                                 //React Router navigation
+  const changeCursor = useRef(null);                              //Delta-sync cursor from the last full list load
 
   //Fetch all users from backend (admin only)
   const fetchAllUsers = useCallback(async (token, isMounted) => 
   {
     try 
     {
-      const res = await axios.get("http://localhost:8080/users", {
-        headers: { Authorization: `Bearer ${token}` },
-      });
+      const res = await getWithETag("http://localhost:8080/users", token);
       
       if(isMounted) 
       {
+        changeCursor.current = res.headers["x-change-cursor"];   //Later refreshes only fetch what changed after this
         setUsers(res.data); //Update users list
         setError("");       //Clear errors
       }
@@ -121,13 +200,10 @@ const Dashboard = () =>
     {
       try 
       {
-        const res = await axios.get("http://localhost:8080/users/me", {
-          headers: { Authorization: `Bearer ${token}` },
-        });
+        const user = (await getWithETag("http://localhost:8080/users/me", token)).data;
         
         if(!isMounted) return;
 
-        const user = res.data;
         setCurrentUser(user); //Set current user state
 
         //Store user info in localStorage
@@ -150,7 +226,7 @@ const Dashboard = () =>
         //Redirect to login if unauthorized
         if(err.response?.status === 401) 
         {
-          localStorage.clear();
+          clearSignIn();
           navigate("/login");
         } 
         
@@ -189,6 +265,78 @@ const Dashboard = () =>
     };
   }, [fetchCurrentUser]);
 
+  //Fetch only the users changed since the last sync; falls back to a full reload without a cursor
+  const syncUsers = async (token) => 
+  {
+    if(changeCursor.current == null)
+      return fetchAllUsers(token, true);
+
+    try 
+    {
+      let changes;
+      do 
+      {
+        const res = await axios.get("http://localhost:8080/users/changes", {
+          headers: { Authorization: `Bearer ${token}` },
+          params: { since: changeCursor.current },
+        });
+
+        changes = res.data;
+        changeCursor.current = changes.cursor;
+        setUsers((current) => applyChanges(current, changes));
+      } 
+      while(changes.hasMore);
+    } 
+    
+    catch(err) 
+    {
+      await fetchAllUsers(token, true); //Full reload if the delta could not be fetched
+    }
+  };
+
+  //Admins get live updates: apply each pushed change, and after a dropped stream catch up through the change log before resubscribing
+  useEffect(() => 
+  {
+    const token = localStorage.getItem("token");
+    if(!token || localStorage.getItem("role") !== "ADMIN") return;
+
+    const controller = new AbortController();
+    const onEvent = (name, event) => 
+    {
+      if(name === "resync")   //A batch changed many users at once: pull them from the change log
+        return syncUsers(token);
+
+      changeCursor.current = event.changeId;
+      setUsers((current) => applyChanges(current, {
+        upserts: event.user ? [event.user] : [],
+        deletedUserIds: event.changeType === "DELETED" ? [event.userId] : [],
+      }));
+    };
+
+    const run = async () => 
+    {
+      while(!controller.signal.aborted) 
+      {
+        try 
+        {
+          await streamUserEvents(token, onEvent, controller.signal);
+        } 
+        
+        catch(err) 
+        {
+          if(controller.signal.aborted) return;
+        }
+
+        await new Promise((resolve) => setTimeout(resolve, 3000));  //Back off, then fill the gap and resubscribe
+        if(!controller.signal.aborted && changeCursor.current != null) await syncUsers(token);
+      }
+    };
+
+    run();
+    return () => controller.abort();
+  // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, []);
+
   //Handler to delete a user by id
   const handleDelete = async (userId) => 
   {
@@ -210,7 +358,7 @@ const Dashboard = () =>
       });
 
       setDeleteSuccess("User deleted successfully. Refreshing list...");  //Show success
-      await fetchAllUsers(token, true);                                   //Refresh user list
+      await syncUsers(token);                                             //Refresh user list
       setTimeout(() => setDeleteSuccess(""), 3000);                       //Clear success after delay
     } 
     
@@ -225,6 +373,56 @@ const Dashboard = () =>
     }
   };
 
+  //Toggle a user in the batch selection
+  const handleSelect = (userId) => 
+  {
+    setSelected((current) => 
+    {
+      const next = new Set(current);
+      next.has(userId) ? next.delete(userId) : next.add(userId);
+      return next;
+    });
+  };
+
+  //Handler to delete every selected user with one request
+  const handleBatchDelete = async () => 
+  {
+    const token = localStorage.getItem("token");
+
+    if(!token) 
+    {
+      alert("Session expired. Please log in again.");
+      navigate("/login");
+      return;
+    }
+
+    if(!window.confirm(`Are you sure you want to delete ${selected.size} users?`)) return;
+
+    setActionsDisabled(true); //Disable actions during delete
+
+    try 
+    {
+      const res = await axios.post("http://localhost:8080/users/batch/delete", { userIds: [...selected] }, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+
+      setSelected(new Set());
+      setDeleteSuccess(`${res.data.affected} users deleted. Refreshing list...`); //Show success
+      await syncUsers(token);                                                     //Refresh user list
+      setTimeout(() => setDeleteSuccess(""), 3000);                               //Clear success after delay
+    } 
+    
+    catch(err) 
+    {
+      alert(err.response?.data || "Failed to delete users."); //Show error alert
+    } 
+    
+    finally 
+    {
+      setActionsDisabled(false);  //Re-enable actions
+    }
+  };
+
   //Handler to navigate to user update page
   const handleUpdate = (user) => 
   {
@@ -245,10 +443,11 @@ const Dashboard = () =>
   };
 
   //Logout handler
-  const handleLogout = () => 
+  const handleLogout = async () => 
   {
-    localStorage.clear(); //Clear storage
-    navigate("/login");   //Redirect to login page
+    await logoutUser(localStorage.getItem("token"));  //Revoke this session on the server
+    clearSignIn();                                    //Clear storage
+    navigate("/login");                               //Redirect to login page
   };
 
   return (
@@ -278,8 +477,19 @@ const Dashboard = () =>
             onUpdate={handleUpdate}
             onDelete={handleDelete}
             actionsDisabled={actionsDisabled}
+            selected={selected}
+            onSelect={handleSelect}
           />
 
+          {/* Batch delete for admins */}
+          {currentUser.role === "ADMIN" && selected.size > 0 && (
+            <div className="buttons-center" style={{ marginTop: "20px" }}>
+              <button className="btn delete-btn" onClick={handleBatchDelete} disabled={actionsDisabled}>
+                Delete selected ({selected.size})
+              </button>
+            </div>
+          )}
+
           {/* Logout button */}
           <div className="buttons-center" style={{ marginTop: "20px" }}>
             <button className="btn" onClick={handleLogout}>
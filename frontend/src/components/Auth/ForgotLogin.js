@@ -1,12 +1,14 @@
 import React, {useState} from "react"         //React and useState hook
 import {useNavigate} from "react-router-dom"  //Navigation hook
 import "../../styles/styles.css"           //Component styles
+import {TENANT_HEADERS} from "../services/authService"   //Storefront of this build
 
 export default function ForgotLogin() 
 {
   //Form data state
   const [formData, setFormData] = useState({  
     email: "",
+    token: "",
     newUsername: "",
     newPassword: ""
   })
@@ -14,6 +16,7 @@ export default function ForgotLogin()
   const [message, setMessage] = useState("")    //Success message state
   const [error, setError] = useState("")        //Error message state
   const [success, setSuccess] = useState(false) //Success flag
+  const [tokenSent, setTokenSent] = useState(false) //Second step: token and new credentials
   const [loading, setLoading] = useState(false) //Loading flag
   const navigate = useNavigate()                //Navigation function
 
@@ -32,33 +35,47 @@ export default function ForgotLogin()
     setMessage("")      //Clear messages
     setError("")
 
-    const payload = 
+    //Step one asks for a token by email; step two redeems it with the new credentials
+    const payload = !tokenSent ? {email: formData.email.trim()} :
     {
-      email: formData.email.trim(),           //Trim inputs
+      token: formData.token.trim(),           //Trim inputs
       username: formData.newUsername.trim(),
       password: formData.newPassword.trim()
     }
 
-    if(!payload.email)  //Email validation
+    if(!tokenSent && !payload.email)  //Email validation
     {
       setError("Email is required")
       return
     }
 
+    if(tokenSent && !payload.token)   //Token validation
+    {
+      setError("Reset token is required")
+      return
+    }
+
     setLoading(true)  //Start loading
 
     try 
     {
-      const response = await fetch("http://localhost:8080/auth/forgotLogin", 
+      const response = await fetch(`http://localhost:8080/auth/forgotLogin${tokenSent ? "/confirm" : ""}`, 
       {
         method: "POST",                                 //POST request
-        headers: {"Content-Type": "application/json"},
+        headers: {"Content-Type": "application/json", ...TENANT_HEADERS},
         body: JSON.stringify(payload)
       })
 
       const data = await response.json()               //Parse JSON response
 
-      if(response.ok)                                   //Success response
+      if(response.ok && !tokenSent)                     //Token requested
+      {
+        setMessage(data.message || "If the email is registered, a reset token has been sent to it")
+        setError("")
+        setTokenSent(true)
+      }
+
+      else if(response.ok)                              //Success response
       {
         setMessage(data.message || "Credentials reset successful! Redirecting to login...")
         setError("")
@@ -97,7 +114,17 @@ export default function ForgotLogin()
           <label htmlFor="email" className="form-label">Email (required)</label>
           <input 
             id="email" type="email" value={formData.email} onChange={handleChange} 
-            placeholder="Registered Email" required disabled={loading || success}
+            placeholder="Registered Email" required disabled={loading || success || tokenSent}
+            className="form-input"
+          />
+        </div>
+
+        {tokenSent && <>
+        <div className="form-row">
+          <label htmlFor="token" className="form-label">Reset Token (required)</label>
+          <input 
+            id="token" type="text" value={formData.token} onChange={handleChange} 
+            placeholder="Token from the email" required disabled={loading || success}
             className="form-input"
           />
         </div>
@@ -119,6 +146,7 @@ export default function ForgotLogin()
             className="form-input"
           />
         </div>
+        </>}
 
         <div className="buttons-group">
           <button 
@@ -126,7 +154,7 @@ export default function ForgotLogin()
             disabled={loading || success} 
             className={`reset-button btn${loading || success ? " disabled" : ""}`}
           >
-            {loading ? "Processing..." : "Reset"}
+            {loading ? "Processing..." : tokenSent ? "Reset" : "Send Token"}
           </button>
         </div>
       </form>
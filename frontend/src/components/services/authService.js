@@ -2,12 +2,36 @@ import axios from 'axios';  //Import the axios library to make HTTP requests
 
 const API_URL = 'http://localhost:8080/auth'; //Define the base URL for the authentication API
 
+//Storefront this build serves (REACT_APP_TENANT_ID); sent before sign-in, after that the token carries the tenant
+export const TENANT_HEADERS = process.env.REACT_APP_TENANT_ID ? {'X-Tenant-ID': process.env.REACT_APP_TENANT_ID} : {};
+
+//Stable id of this browser, so signing in again replaces its session instead of adding one
+const deviceId = () => 
+{
+  let id = localStorage.getItem('deviceId');
+  if(!id) 
+  {
+    id = crypto.randomUUID();
+    localStorage.setItem('deviceId', id);
+  }
+
+  return id;
+};
+
+//Clear the stored sign-in but keep the device id
+export const clearSignIn = () => 
+{
+  const id = localStorage.getItem('deviceId');
+  localStorage.clear();
+  if(id) localStorage.setItem('deviceId', id);
+};
+
 //Function to log in a user with given username and password
 export const loginUser = async (username, password) => 
 {
   try 
   {
-    const response = await axios.post(`${API_URL}/login`, {username, password});  //Send a POST request to the /login endpoint with the credentials    
+    const response = await axios.post(`${API_URL}/login`, {username, password}, {headers: {...TENANT_HEADERS, 'X-Device-ID': deviceId()}});  //Send a POST request to the /login endpoint with the credentials    
     return response.data;                                                           //Return the response data (e.g., token, user info)
   } 
   
@@ -16,4 +40,22 @@ export const loginUser = async (username, password) =>
     console.error(err);                                                                     //Log the error to the console for debugging
     throw new Error('Failed to login. Please check your credentials or try again later.');  //Throw a user-friendly error message
   }
-};
\ No newline at end of file
+};
+
+//Function to sign this browser's session out on the server; the token stops working on every node
+export const logoutUser = async (token) => 
+{
+  const headers = {Authorization: `Bearer ${token}`};
+
+  try 
+  {
+    const response = await axios.get(`${API_URL}/sessions`, {headers});                      //Sessions of the signed-in user
+    const current = response.data.find((session) => session.current);                      //The one this token belongs to
+    if(current) await axios.delete(`${API_URL}/sessions/${current.sessionId}`, {headers});  //Revoke it
+  } 
+
+  catch(err) 
+  {
+    console.error(err);   //Already signed out or unreachable; the local sign-in is cleared either way
+  }
+};
@@ -0,0 +1,77 @@
+package com.user.login.Benchmark;                                       //Package declaration
+import com.user.login.Enum.Role;                                        //Role bits
+import com.user.login.Security.JWT.JwtAuthenticationFilter;             //Filter under test
+import com.user.login.Security.JWT.JwtUtils;                            //Token issuer used to build the request
+import com.user.login.Session.SessionRegistry;                          //Revocation lookup on every request
+import com.user.login.Session.SessionStore;                             //Never reached: the registry is not synced here
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;        //Registry gauges
+import org.openjdk.jmh.annotations.*;                                   //JMH annotations
+import org.springframework.jdbc.core.JdbcTemplate;                      //Store without a database
+import org.springframework.mock.web.MockFilterChain;                    //No-op downstream chain
+import org.springframework.mock.web.MockHttpServletRequest;             //In-memory servlet request
+import org.springframework.mock.web.MockHttpServletResponse;            //In-memory servlet response
+import org.springframework.security.core.context.SecurityContextHolder; //Cleared between calls
+import java.time.Duration;                                              //Registry intervals
+import java.util.concurrent.TimeUnit;                                   //Output time unit
+
+@State(Scope.Thread)                                            //Each thread drives its own request objects
+@BenchmarkMode(Mode.Throughput)                                 //Report requests filtered per second
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark
+{
+    private JwtAuthenticationFilter filter;     //Filter with its own JwtUtils
+    private MockHttpServletRequest request;     //Request carrying a valid bearer token of a live session
+    private MockHttpServletRequest revoked;     //Request carrying a token of a signed-out session
+    private MockHttpServletRequest anonymous;   //Request without Authorization header
+    private MockHttpServletResponse response;   //Reused response
+
+    @Setup
+    public void setUp()
+    {
+        JwtUtils jwtUtils = new JwtUtils();
+        SessionRegistry sessionRegistry = new SessionRegistry(new SessionStore(new JdbcTemplate()), jwtUtils, new SimpleMeterRegistry(),
+        Duration.ofSeconds(1), Duration.ofMinutes(1));
+        filter = new JwtAuthenticationFilter(jwtUtils, sessionRegistry);
+
+        //A realistic registry: many live and revoked sessions besides the two used here
+        for(long userId = 2; userId < 10_000; userId++)
+        {
+            Long sessionId = sessionRegistry.open(userId, "default", "device", "Benchmark").sessionId();
+            if(userId % 10 == 0)
+                sessionRegistry.revoke(userId, sessionId);
+        }
+
+        Long live = sessionRegistry.open(1L, "default", "laptop", "Benchmark").sessionId();
+        Long signedOut = sessionRegistry.open(1L, "default", "phone", "Benchmark").sessionId();
+        sessionRegistry.revoke(1L, signedOut);
+
+        request = new MockHttpServletRequest("GET", "/users/me");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(1L, "admin", Role.ADMIN.bit(), "default", live));
+        revoked = new MockHttpServletRequest("GET", "/users/me");
+        revoked.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(1L, "admin", Role.ADMIN.bit(), "default", signedOut));
+        anonymous = new MockHttpServletRequest("GET", "/users/me");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark  //Full token path: parse, map roles, session lookup, populate the security context
+    public void authenticatedRequest() throws Exception
+    {
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();   //Here rather than in a @TearDown(Level.Invocation), whose harness overhead skews short calls
+    }
+
+    @Benchmark  //Token of a signed-out session: parsed, then refused by the session lookup
+    public void revokedSessionRequest() throws Exception
+    {
+        filter.doFilter(revoked, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();   //Same work as authenticatedRequest besides the filter
+    }
+
+    @Benchmark  //Baseline: header lookup only
+    public void anonymousRequest() throws Exception
+    {
+        filter.doFilter(anonymous, response, new MockFilterChain());
+    }
+}
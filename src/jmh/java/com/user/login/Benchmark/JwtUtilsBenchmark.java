@@ -0,0 +1,48 @@
+package com.user.login.Benchmark;                   //Package declaration
+import com.user.login.Enum.Role;                    //Role bits
+import com.user.login.Security.JWT.JwtUtils;        //Utility under test
+import io.jsonwebtoken.Claims;                      //Parsed JWT payload
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+@State(Scope.Benchmark)                             //One JwtUtils shared by all benchmark threads
+@BenchmarkMode(Mode.AverageTime)                    //Report average time per call
+@OutputTimeUnit(TimeUnit.MICROSECONDS)              //Token operations are in the microsecond range
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtUtilsBenchmark
+{
+    private JwtUtils jwtUtils;  //Instance holding the signing key
+    private String token;       //Pre-generated token for the parse paths
+
+    @Setup
+    public void setUp()
+    {
+        jwtUtils = new JwtUtils();
+        token = jwtUtils.generateToken(1L, "admin", Role.ADMIN.bit());
+    }
+
+    @Benchmark  //Cost of issuing a token on login/refresh
+    public String generateToken()
+    {
+        return jwtUtils.generateToken(1L, "admin", Role.ADMIN.bit());
+    }
+
+    @Benchmark  //Cost of a single signature check + claims parse
+    public Claims parseToken()
+    {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark  //Validity check as used by the filter and AuthService
+    public boolean isTokenValid()
+    {
+        return jwtUtils.isTokenValid(token);
+    }
+
+    @Benchmark  //Role extraction (parses the token again)
+    public int getRoleMaskFromToken()
+    {
+        return jwtUtils.getRoleMaskFromToken(token);
+    }
+}
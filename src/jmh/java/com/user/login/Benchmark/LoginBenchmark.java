@@ -0,0 +1,61 @@
+package com.user.login.Benchmark;                                   //Package declaration
+import com.user.login.DTO.Auth.AuthResponseDTO;                     //Login result
+import com.user.login.Entity.Auth.AuthRequest;                      //Login input
+import com.user.login.LoginApplication;                             //Application entry point
+import com.user.login.Service.AuthService;                          //Service under test
+import org.openjdk.jmh.annotations.*;                               //JMH annotations
+import org.springframework.boot.builder.SpringApplicationBuilder;   //Programmatic application startup
+import org.springframework.context.ConfigurableApplicationContext;  //Running context
+import java.util.concurrent.TimeUnit;                               //Output time unit
+
+//End-to-end AuthService.authenticate against the embedded H2 database seeded by UserDataLoader
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class LoginBenchmark
+{
+    private ConfigurableApplicationContext context; //Full application context (security config needs the servlet stack)
+    private AuthService authService;                //Real service wired to JPA + H2
+    private AuthRequest validLogin;                 //Seeded admin credentials
+    private AuthRequest wrongPassword;              //Existing user, bad password
+
+    @Setup(Level.Trial)
+    public void startApplication()
+    {
+        context = new SpringApplicationBuilder(LoginApplication.class)
+        .properties("server.port=0", "logging.level.root=WARN", "logging.level.org.springframework=WARN", "logging.level.org.hibernate.SQL=WARN",
+                    "logging.level.com.user=WARN", "spring.jpa.show-sql=false")
+        .run();
+        authService = context.getBean(AuthService.class);
+        validLogin = new AuthRequest("admin", "admin123");
+        wrongPassword = new AuthRequest("admin", "wrong-password");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication()
+    {
+        context.close();
+    }
+
+    @Benchmark  //Lookup + bcrypt match + token issue
+    public AuthResponseDTO authenticate()
+    {
+        return authService.authenticate(validLogin);
+    }
+
+    @Benchmark  //Lookup + bcrypt match, rejected
+    public Object authenticateWrongPassword()
+    {
+        try
+        {
+            return authService.authenticate(wrongPassword);
+        }
+
+        catch(RuntimeException e)
+        {
+            return e;
+        }
+    }
+}
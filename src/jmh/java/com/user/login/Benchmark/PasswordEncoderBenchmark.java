@@ -0,0 +1,38 @@
+package com.user.login.Benchmark;                                       //Package declaration
+import org.openjdk.jmh.annotations.*;                                   //JMH annotations
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;//BCrypt with configurable strength
+import org.springframework.security.crypto.password.PasswordEncoder;    //Encoder interface
+import java.util.concurrent.TimeUnit;                                   //Output time unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)                                  //BCrypt is deliberately slow
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordEncoderBenchmark
+{
+    @Param({"4", "8", "10", "12"})  //BCrypt log rounds; 10 is what SecurityConfig's delegating encoder uses
+    private int strength;
+
+    private PasswordEncoder bcrypt;     //BCrypt at the given strength
+    private String hash;                //Stored hash for matches()
+
+    @Setup
+    public void setUp()
+    {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        hash = bcrypt.encode("admin123");
+    }
+
+    @Benchmark  //Cost paid by createUser / updateUser / ResetLoginCredential
+    public String encode()
+    {
+        return bcrypt.encode("admin123");
+    }
+
+    @Benchmark  //Cost paid by every login
+    public boolean matches()
+    {
+        return bcrypt.matches("admin123", hash);
+    }
+}
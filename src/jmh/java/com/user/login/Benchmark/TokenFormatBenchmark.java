@@ -0,0 +1,41 @@
+package com.user.login.Benchmark;                   //Package declaration
+import com.user.login.Enum.Role;                    //Role bits
+import com.user.login.Security.JWT.JwtAuthenticationToken;  //Result of a verification pass
+import com.user.login.Security.JWT.JwtUtils;        //Utility under test
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+//Standard JWT vs compact binary token: issue and verify cost, with the Authorization header size printed at setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenFormatBenchmark
+{
+    @Param({"jwt", "compact"})
+    private String format;      //jwt.format value
+
+    private JwtUtils jwtUtils;  //Issues tokens in the selected format
+    private String token;       //Pre-generated token for the verify path
+
+    @Setup
+    public void setUp()
+    {
+        jwtUtils = new JwtUtils(format);
+        token = jwtUtils.generateToken(1L, "customer01", Role.CUSTOMER.bit());
+        System.out.printf("%n[%s] Authorization header: %d bytes%n", format, ("Bearer " + token).length());
+    }
+
+    @Benchmark  //Cost of issuing a token on login/refresh
+    public String generateToken()
+    {
+        return jwtUtils.generateToken(1L, "customer01", Role.CUSTOMER.bit());
+    }
+
+    @Benchmark  //Cost of the per-request verification done by JwtAuthenticationFilter
+    public JwtAuthenticationToken authenticate()
+    {
+        return jwtUtils.authenticate(token);
+    }
+}
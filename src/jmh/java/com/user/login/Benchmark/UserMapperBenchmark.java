@@ -0,0 +1,61 @@
+package com.user.login.Benchmark;           //Package declaration
+import com.user.login.DTO.UserDTO;          //Outbound DTO
+import com.user.login.Entity.User;          //JPA entity
+import com.user.login.Enum.Role;            //Role enum
+import com.user.login.Mapper.UserMapper;    //Mapper interface
+import com.user.login.Mapper.UserMapperImpl;//MapStruct generated implementation
+import org.modelmapper.ModelMapper;         //Reflection-based baseline (benchmark profile only)
+import org.openjdk.jmh.annotations.*;       //JMH annotations
+import java.util.concurrent.TimeUnit;       //Output time unit
+
+//Per-call cost of the generated mapper against the reflection-based ModelMapper it replaced.
+//ModelMapper is configured to skip the password as well, so both produce the same DTO.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)       //Mapping is a handful of field copies
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserMapperBenchmark
+{
+    private UserMapper userMapper;  //Generated mapper
+    private ModelMapper modelMapper;//Reflection baseline
+    private User user;              //Source entity
+    private UserDTO userDTO;        //Source DTO
+
+    @Setup
+    public void setUp()
+    {
+        userMapper = new UserMapperImpl();
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(User.class, UserDTO.class).addMappings(mapping -> mapping.skip(UserDTO::setPassword));
+
+        user = User.builder().userId(1L).firstName("Admin").lastName("User").username("admin").email("admin@example.com")
+        .phoneNumber("+1234567890").homeAddress("Admin Street, Admin City").password("{bcrypt}$2a$10$hash").role(Role.ADMIN).build();
+        userDTO = userMapper.toDTO(user);
+        userDTO.setPassword("{bcrypt}$2a$10$hash");
+    }
+
+    @Benchmark  //Entity -> DTO (every read endpoint)
+    public UserDTO toDTO()
+    {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark  //DTO -> entity (user creation)
+    public User toEntity()
+    {
+        return userMapper.toEntity(userDTO);
+    }
+
+    @Benchmark
+    public UserDTO modelMapperToDTO()
+    {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public User modelMapperToEntity()
+    {
+        return modelMapper.map(userDTO, User.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.user.login.Config;                                                  //Package declaration
+import com.user.login.Replica.ReplicaCacheJpaDialect;                           //Replica reads do not fill the cache
+import com.user.login.Replica.ReplicaRoutingDataSource;                         //Replica, or primary when pinned
+import com.zaxxer.hikari.HikariDataSource;                                      //Connection pools
+import org.springframework.beans.factory.annotation.Qualifier;                  //Picks the pools by name
+import org.springframework.beans.factory.annotation.Value;                      //Replica connection settings
+import org.springframework.beans.factory.config.BeanPostProcessor;              //Installs the JPA dialect
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;  //Only when a replica is configured
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;        //spring.datasource.* (the primary)
+import org.springframework.boot.context.properties.ConfigurationProperties;     //spring.datasource.hikari.* for both pools
+import org.springframework.context.annotation.Bean;                             //Bean producer
+import org.springframework.context.annotation.Configuration;                    //Configuration class
+import org.springframework.context.annotation.Primary;                          //The DataSource everything else uses
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;       //Picks the pool at the first statement
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;            //Boot's entity manager factory
+import javax.sql.DataSource;                                                    //JDBC entry point
+
+//Primary/replica routing, on when app.datasource.replica.url is set (otherwise Boot's single pool is used as before).
+//Read-only transactions (every @Transactional(readOnly = true) service read, and Spring Data's own read methods
+//such as findById, findAll and exists*) run on the replica; everything else runs on the primary.
+//How: Spring marks the connection of a read-only transaction read-only before any statement runs. The lazy proxy
+//hands out a placeholder connection and only takes a physical one at the first statement, from the read-only
+//DataSource if the flag is set by then. That DataSource is ReplicaRoutingDataSource, which answers with the
+//primary while ReadYourWrites pins the thread.
+//Needs spring.jpa.open-in-view=false: a request-wide session would keep its first (possibly replica) connection
+//for later writes.
+//With the second-level cache on, replica reads must not fill it (ReplicaCacheJpaDialect): a cached replica row would
+//answer the writer's pinned reads without ever reaching the primary.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfig
+{
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties)
+    {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    //Same pool settings as the primary, different database
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password)
+    {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).username(username).password(password).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, @Qualifier("replicaDataSource") DataSource replica)
+    {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica));
+        return dataSource;
+    }
+
+    //Static, so it is registered before the entity manager factory it customizes
+    @Bean
+    public static BeanPostProcessor replicaCacheJpaDialect()
+    {
+        return new BeanPostProcessor()
+        {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName)
+            {
+                if(bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory)
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheJpaDialect());
+
+                return bean;
+            }
+        };
+    }
+}
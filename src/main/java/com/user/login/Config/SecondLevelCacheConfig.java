@@ -0,0 +1,59 @@
+package com.user.login.Config;                                                  //Package declaration
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration; //Bounded region settings
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;         //JCache provider
+import org.hibernate.cache.jcache.ConfigSettings;                               //Hibernate JCache property names
+import org.springframework.beans.factory.annotation.Value;                      //Region sizing properties
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;  //Only when the cache is on
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;   //Hands the manager to Hibernate
+import org.springframework.context.annotation.Bean;                             //Bean producer
+import org.springframework.context.annotation.Configuration;                    //Configuration class
+import javax.cache.CacheManager;                                                //JCache manager
+import java.net.URI;                                                            //Manager identity
+import java.time.Duration;                                                      //Expiry
+import java.util.OptionalLong;                                                  //Caffeine bounds
+
+//Second-level cache regions for Hibernate, built in code so every region is bounded no matter how the
+//application is packaged. Hibernate is told to fail on any region not created here.
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheConfig
+{
+    public static final String USER_REGION = "user";                                              //User entity by id
+    public static final String USER_NATURAL_ID_REGION = "user-natural-id";                        //Username -> user id
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";                    //Cached profile queries
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";            //Last write per table
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.maximum-size:10000}") long maximumSize,
+                                              @Value("${app.cache.expire-after-write:5m}") Duration expireAfterWrite)
+    {
+        //A provider of its own, so each application context (tests start several) gets separate regions
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(URI.create("login-hibernate"), getClass().getClassLoader());
+
+        cacheManager.createCache(USER_REGION, bounded(maximumSize, expireAfterWrite));
+        cacheManager.createCache(USER_NATURAL_ID_REGION, bounded(maximumSize, expireAfterWrite));
+        cacheManager.createCache(QUERY_RESULTS_REGION, bounded(maximumSize, expireAfterWrite));
+
+        //Must outlive every cached query result it guards, so it is neither sized nor expired
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager)
+    {
+        return properties ->
+        {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration expireAfterWrite)
+    {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        return configuration;
+    }
+}
@@ -3,20 +3,30 @@ import com.user.login.DTO.Auth.AuthRequestDTO;                  //Imports the DT
 import com.user.login.DTO.Auth.AuthResponseDTO;                 //Imports the DTO used to send authentication results (e.g., JWT token) back to the client
 import com.user.login.Entity.Auth.AuthRequest;                  //Imports the internal entity representing login request data in the application logic
 import com.user.login.Entity.Auth.AuthResponse;                 //Imports the internal entity representing authentication result used internally
-import com.user.login.Entity.Auth.ForgotLoginCredential;        //Imports the entity used to reset username and passwor
+import com.user.login.Entity.Auth.ForgotLoginCredential;        //Imports the entity used to request and redeem credential resets
+import com.user.login.DTO.Auth.SessionDTO;                      //Imports the DTO describing one signed-in device
 import com.user.login.Service.AuthService;                      //Imports the authentication service which handles business logic for auth operations
 import org.springframework.beans.factory.annotation.Autowired;  //Imports Spring's annotation to enable automatic dependency injection
 import org.springframework.http.HttpStatus;                     //Imports HTTP status codes such as OK (200), UNAUTHORIZED (401), FORBIDDEN (403)
 import org.springframework.http.ResponseEntity;                 //Imports the ResponseEntity class used to build complete HTTP responses (body + status code)
+import org.springframework.http.HttpHeaders;                    //Imports standard header names (User-Agent)
 import org.springframework.web.bind.annotation.*;               //Imports Spring annotation to define a REST API controller
-import com.user.login.Exception.EmailNotFoundException;         //Custom exception for email not found
+import java.util.List;                                          //Imports List for the session listing
+import com.user.login.Exception.InvalidResetTokenException;     //Unknown, expired or used reset token
+import com.user.login.Exception.ResetThrottledException;        //Per-email reset limit reached
 import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;        //DTO for resetting username and password
+import org.slf4j.Logger;                                        //Logging
+import org.slf4j.LoggerFactory;                                 //Logger factory
 
 @CrossOrigin(origins = "http://localhost:3000")                 //Enables CORS (Cross-Origin Resource Sharing) for frontend access (e.g., React app on port 3000)
 @RestController                                                 //Marks this class as a REST controller, which handles HTTP requests and returns JSON/XML
 @RequestMapping("/auth")                                        //Base path for all endpoints in this controller will be prefixed with "/auth"
 public class AuthController 
 {
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
+    public static final String DEVICE_HEADER = "X-Device-ID";     //Stable id of the client device, chosen by the client (else derived from User-Agent)
+
     private final AuthService authService;  //Declares a final reference to the authentication service
 
     //Constructor-based dependency injection for the AuthService bean
@@ -28,7 +38,9 @@ public class AuthController
 
     //HTTP POST endpoint at /auth/login to authenticate a user
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody AuthRequestDTO authRequestDTO) 
+    public ResponseEntity<AuthResponseDTO> login(@RequestBody AuthRequestDTO authRequestDTO,
+                                                 @RequestHeader(name = DEVICE_HEADER, required = false) String deviceId,
+                                                 @RequestHeader(name = HttpHeaders.USER_AGENT, required = false) String deviceName) 
     {
         try 
         {
@@ -36,6 +48,8 @@ public class AuthController
             AuthRequest authRequest = new AuthRequest();
             authRequest.setUsername(authRequestDTO.getUsername());
             authRequest.setPassword(authRequestDTO.getPassword());
+            authRequest.setDeviceId(deviceId);
+            authRequest.setDeviceName(deviceName);
 
             //Pass the request entity to the authentication service and receive a response DTO
             AuthResponseDTO authResponseDTO = authService.authenticate(authRequest);
@@ -76,6 +90,20 @@ public class AuthController
         }
     }
 
+    //HTTP GET endpoint at /auth/sessions listing the caller's signed-in devices
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionDTO>> getSessions() 
+    {
+        return ResponseEntity.ok(authService.listSessions());
+    }
+
+    //HTTP DELETE endpoint at /auth/sessions/{sessionId} signing one of the caller's devices out; 404 if it is not theirs
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<Void> revokeSession(@PathVariable("sessionId") Long sessionId) 
+    {
+        return authService.revokeSession(sessionId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
     //HTTP GET endpoint at /auth/protected used to test access to a protected resource
     @GetMapping("/protected")
     public ResponseEntity<String> getProtectedResource() 
@@ -83,40 +111,67 @@ public class AuthController
         return ResponseEntity.ok("This is a protected resource.");  //Returns a simple success message with HTTP 200 OK
     }
 
-    //Endpoint to allow user to reset their username and password using email
+    //Endpoint to request a credential reset: a single-use token is sent to the email's owner.
+    //Always 202 for a well-formed request, whether or not the email is registered.
     @PostMapping("/forgotLogin")
-    public ResponseEntity<ForgotLoginCredentialDTO> resetLoginCredential(@RequestBody ForgotLoginCredential forgotLoginCredential) 
+    public ResponseEntity<ForgotLoginCredentialDTO> requestLoginReset(@RequestBody ForgotLoginCredential forgotLoginCredential) 
     {
         try 
         {
             //Basic validation: check if request or email is missing/blank
             if(forgotLoginCredential == null || forgotLoginCredential.getEmail() == null || forgotLoginCredential.getEmail().isBlank())
                 return ResponseEntity.badRequest().body(ForgotLoginCredentialDTO.builder().message("Email must be provided").build());
-            
-            //Delegate to service to reset credentials
-            ForgotLoginCredentialDTO response = authService.ResetLoginCredential(forgotLoginCredential);
-            return ResponseEntity.ok(response);
+
+            //Delegate to service to issue and send the token
+            authService.requestLoginReset(forgotLoginCredential.getEmail());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ForgotLoginCredentialDTO.builder()
+            .message("If the email is registered, a reset token has been sent to it").build());
         } 
         
-        catch(EmailNotFoundException e) 
+        catch(ResetThrottledException e) 
         {
-            //Email not found — return 404 with custom message
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build());
-
+            //Per-email limit reached — return 429 with message
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build());
         } 
         
         catch(IllegalArgumentException e) 
         {
             //Input validation error — return 400 with message
             return ResponseEntity.badRequest().body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build());
+        } 
+        
+        catch(Exception e) 
+        {
+            //Log unhandled exceptions for diagnostics
+            log.warn("Error requesting credential reset", e);
+
+            //Return generic 500 error
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ForgotLoginCredentialDTO.builder()
+            .message("An error occurred while requesting a credential reset").build());
+        }
+    }
 
+    //Endpoint to redeem a reset token and set a new username and/or password
+    @PostMapping("/forgotLogin/confirm")
+    public ResponseEntity<ForgotLoginCredentialDTO> resetLoginCredential(@RequestBody ForgotLoginCredential forgotLoginCredential) 
+    {
+        try 
+        {
+            //Delegate to service to redeem the token and reset credentials
+            ForgotLoginCredentialDTO response = authService.ResetLoginCredential(forgotLoginCredential);
+            return ResponseEntity.ok(response);
+        } 
+        
+        catch(InvalidResetTokenException | IllegalArgumentException e) 
+        {
+            //Missing, unknown, expired or used token — return 400 with message
+            return ResponseEntity.badRequest().body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build());
         } 
         
         catch(Exception e) 
         {
             //Log unhandled exceptions for diagnostics
-            System.err.println("Error resetting login credentials: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error resetting login credentials", e);
 
             //Return generic 500 error
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ForgotLoginCredentialDTO.builder()
@@ -1,10 +1,18 @@
 package com.user.login.Controller;                  //Define the package for this controller class
+import com.user.login.DTO.BatchRequestDTO;          //Import the BatchRequestDTO class for batch admin operations
+import com.user.login.DTO.BatchResultDTO;           //Import the BatchResultDTO class for per-id batch results
+import com.user.login.DTO.UserChangesDTO;           //Import the UserChangesDTO class for delta sync pages
 import com.user.login.DTO.UserDTO;                  //Import the UserDTO class for data transfer
 import com.user.login.DTO.Auth.AuthResponseDTO;     //Import the AuthResponseDTO class for response after user updates
+import com.user.login.Event.UserEventHub;           //Import the SSE fan-out hub for change events
 import com.user.login.Service.UserService;          //Import the UserService class to handle business logic
 import lombok.RequiredArgsConstructor;              //Lombok annotation to generate constructor for final fields
+import org.springframework.http.HttpStatus;         //Import HTTP status codes
+import org.springframework.http.MediaType;          //Import media types for the event stream
 import org.springframework.http.ResponseEntity;     //Import ResponseEntity for HTTP response handling
 import org.springframework.web.bind.annotation.*;   //Import Spring Web annotations for defining REST endpoints
+import org.springframework.web.context.request.WebRequest;  //Conditional request (If-None-Match) handling
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;   //Server-Sent Events response
 import java.util.List;                              //Import List collection for multiple users
 
 @CrossOrigin(origins = "http://localhost:3000")     //Enable Cross-Origin Resource Sharing for frontend on localhost:3000
@@ -14,6 +22,10 @@ import java.util.List;                              //Import List collection for
 public class UserController 
 {
     private final UserService userService;  //Inject UserService to handle user-related operations
+    private final UserEventHub userEventHub;//Inject hub that pushes change events to admin streams
+
+    public static final String CHANGE_CURSOR_HEADER = "X-Change-Cursor";    //Delta-sync cursor sent with the full list
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";      //Change id an EventSource resumes after
 
     //Handle POST request to create a new user
     @PostMapping
@@ -23,28 +35,58 @@ public class UserController
         return ResponseEntity.ok(createdUser);                  //Respond with created user
     }
 
+    //The GET handlers first compare If-None-Match with an ETag from a version-only query. checkNotModified
+    //sets the ETag header, and on a match answers 304 (null body) before any profile is loaded or serialized.
+
     //Handle GET request to fetch currently authenticated user
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getCurrentUser() 
+    public ResponseEntity<UserDTO> getCurrentUser(WebRequest request) 
     {
+        if(request.checkNotModified(userService.getCurrentUserETag()))
+            return null;                                    //304 Not Modified
+
         UserDTO currentUser = userService.getCurrentUser(); //Call service to get current user
         return ResponseEntity.ok(currentUser);              //Respond with user data
     }
 
     //Handle GET request to fetch a user by ID
     @GetMapping("/{userId}")
-    public ResponseEntity<UserDTO> getUser(@PathVariable("userId") Long userId) 
+    public ResponseEntity<UserDTO> getUser(@PathVariable("userId") Long userId, WebRequest request) 
     {
+        if(request.checkNotModified(userService.getUserETag(userId)))
+            return null;                            //304 Not Modified
+
         UserDTO user = userService.getUser(userId); //Call service to get user by ID
         return ResponseEntity.ok(user);             //Respond with user data
     }
 
     //Handle GET request to fetch all users
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getUsers() 
+    public ResponseEntity<List<UserDTO>> getUsers(WebRequest request) 
     {
+        if(request.checkNotModified(userService.getUsersETag()))
+            return null;                                //304 Not Modified
+
+        long cursor = userService.getChangeCursor();    //Read before the list: a change in between is sent again, never lost
         List<UserDTO> users = userService.getUsers();   //Call service to get list of users
-        return ResponseEntity.ok(users);                //Respond with user list
+        return ResponseEntity.ok().header(CHANGE_CURSOR_HEADER, String.valueOf(cursor)).body(users);   //Respond with user list and cursor
+    }
+
+    //Handle GET request for users changed since a cursor (admin only); start from the X-Change-Cursor of GET /users
+    //and pass back the returned cursor
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesDTO> getChanges(@RequestParam(name = "since", defaultValue = "0") long since,
+                                                     @RequestParam(name = "limit", defaultValue = "500") int limit) 
+    {
+        return ResponseEntity.ok(userService.getChanges(since, limit)); //Respond with one page of changes
+    }
+
+    //Handle GET request for a Server-Sent Events stream of user changes (admin only); 503 when the hub is full.
+    //A reconnecting EventSource sends Last-Event-ID and first gets the changes it missed
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) 
+    {
+        return userEventHub.subscribe(lastEventId).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     //Handle PATCH request to update user by ID
@@ -63,4 +105,18 @@ public class UserController
         userService.deleteUser(userId);             //Call service to delete user
         return ResponseEntity.noContent().build();  //Return 204 No Content
     }
+
+    //Handle POST request to delete many users at once (admin only)
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchResultDTO> deleteUsers(@RequestBody BatchRequestDTO batch) 
+    {
+        return ResponseEntity.ok(userService.deleteUsers(batch.getUserIds()));
+    }
+
+    //Handle POST request to give many users the same role (admin only)
+    @PostMapping("/batch/role")
+    public ResponseEntity<BatchResultDTO> setRole(@RequestBody BatchRequestDTO batch) 
+    {
+        return ResponseEntity.ok(userService.setRole(batch.getUserIds(), batch.getRole()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.user.login.DTO.Auth;    //Declares the package that this class belongs to
+import lombok.AllArgsConstructor;   //Generates a constructor with all arguments
+import lombok.Builder;              //Generates a builder for object creation
+import lombok.Getter;               //Generates getters for all fields
+import lombok.NoArgsConstructor;    //Generates a no-argument constructor
+import lombok.Setter;               //Generates setters for all fields
+import java.time.Instant;           //Session timestamps
+
+@Getter                             //Generates getter methods for all fields
+@Setter                             //Generates setter methods for all fields
+@Builder                            //Provides a builder pattern for creating instances of this class
+@AllArgsConstructor                 //Generates a constructor with all fields
+@NoArgsConstructor                  //Generates a no-argument constructor
+public class SessionDTO 
+{
+    private Long sessionId;                             //Id to revoke the session with
+    private String deviceId, deviceName;                //Device the session was opened on (X-Device-ID, User-Agent)
+    private Instant createdAt, lastSeenAt, expiresAt;   //Sign-in, last token refresh, expiry of the last token
+    private boolean current;                            //True for the session of the calling token
+}
@@ -0,0 +1,16 @@
+package com.user.login.DTO;         //Declares the package that this class belongs to
+import com.user.login.Enum.Role;    //Imports the Role enum used by role changes
+import lombok.*;                    //Imports Lombok annotations to reduce boilerplate code
+import java.util.List;              //Target ids
+
+//Body of the batch admin endpoints; role is only read by POST /users/batch/role
+@Getter             //Lombok: generates getter methods for all fields
+@Setter             //Lombok: generates setter methods for all fields
+@NoArgsConstructor  //Lombok: generates a no-argument constructor
+@AllArgsConstructor //Lombok: generates a constructor with all fields as parameters
+@Builder            //Lombok: enables the builder pattern for creating instances of this class
+public class BatchRequestDTO 
+{
+    private List<Long> userIds;     //Users to change; duplicates are ignored
+    private Role role;              //New role for every listed user
+}
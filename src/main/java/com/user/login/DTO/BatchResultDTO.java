@@ -0,0 +1,17 @@
+package com.user.login.DTO;                 //Declares the package that this class belongs to
+import com.user.login.Enum.BatchOutcome;    //Per-id outcome
+import lombok.*;                            //Imports Lombok annotations to reduce boilerplate code
+import java.util.Map;                       //Outcome by user id
+
+//Summary of a batch admin operation
+@Getter             //Lombok: generates getter methods for all fields
+@Setter             //Lombok: generates setter methods for all fields
+@NoArgsConstructor  //Lombok: generates a no-argument constructor
+@AllArgsConstructor //Lombok: generates a constructor with all fields as parameters
+@Builder            //Lombok: enables the builder pattern for creating instances of this class
+public class BatchResultDTO 
+{
+    private int requested;                      //Distinct ids in the request
+    private int affected;                       //Rows deleted or updated
+    private Map<Long, BatchOutcome> results;    //Outcome per id, in request order
+}
@@ -0,0 +1,18 @@
+package com.user.login.DTO;     //Declares the package that this class belongs to
+import lombok.*;                //Imports Lombok annotations to reduce boilerplate code
+import java.util.List;          //Lists of changed users and tombstones
+
+//One page of GET /users/changes. Each user appears at most once, in its latest state: either in
+//upserts (created or updated) or in deletedUserIds (tombstone).
+@Getter             //Lombok: generates getter methods for all fields
+@Setter             //Lombok: generates setter methods for all fields
+@NoArgsConstructor  //Lombok: generates a no-argument constructor
+@AllArgsConstructor //Lombok: generates a constructor with all fields as parameters
+@Builder            //Lombok: enables the builder pattern for creating instances of this class
+public class UserChangesDTO 
+{
+    private Long cursor;                //Pass back as ?since= to continue after this page
+    private boolean hasMore;            //True when the page was full and more changes may follow
+    private List<UserDTO> upserts;      //Current profiles of created or updated users
+    private List<Long> deletedUserIds;  //Users deleted since the cursor
+}
@@ -6,12 +6,15 @@ import com.user.login.Entity.User;
 import com.user.login.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+//Demo accounts for local runs and tests; production nodes (profile "prod") skip the count query and bcrypt inserts
 @Component
+@Profile("!prod")
 public class UserDataLoader implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDataLoader.class);
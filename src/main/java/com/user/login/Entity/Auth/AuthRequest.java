@@ -13,4 +13,11 @@ import lombok.Setter;               //Generates setters for all fields
 public class AuthRequest 
 {
     private String username, password;  //Username and password for authentication     
+    private String deviceId, deviceName;    //Device the session is opened on (X-Device-ID and User-Agent headers)
+
+    //Credentials without device details
+    public AuthRequest(String username, String password) 
+    {
+        this(username, password, null, null);
+    }
 }
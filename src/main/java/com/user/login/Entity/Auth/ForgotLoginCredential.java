@@ -13,4 +13,5 @@ import lombok.Setter;               //Generates setters for all fields
 public class ForgotLoginCredential 
 {
     private String email, username, password, message;  //Email, username and password for resetting username and password
+    private String token;                               //Reset token sent to the email, redeemed with the new credentials
 }
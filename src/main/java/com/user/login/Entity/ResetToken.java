@@ -0,0 +1,50 @@
+package com.user.login.Entity;                          //Package declaration
+import jakarta.persistence.*;                           //JPA annotations
+import lombok.*;                                        //Lombok annotations for boilerplate code
+import org.hibernate.annotations.TenantId;              //Storefront partition
+import org.springframework.data.domain.Persistable;     //Assigned ids are always inserted, never merged
+import java.time.Instant;                               //Expiry
+
+//Outstanding forgot-login token. Only the SHA-256 of the token is kept, so a leaked table or backup cannot be
+//redeemed; the raw token exists only in the message sent to the user. Rows are removed with plain SQL by
+//ResetTokenStore when redeemed, replaced or expired.
+@Entity                             //Marks as a JPA entity
+@Table(name = "reset_tokens")       //Specifies table name
+@Getter                             //Generates getter methods
+@Setter                             //Generates setter methods
+@NoArgsConstructor                  //Generates no-args constructor
+@AllArgsConstructor                 //Generates all-args constructor
+@Builder                            //Enables builder pattern
+public class ResetToken implements Persistable<String>
+{
+    @Id                                                     //Marks as primary key
+    @Column(length = 64)                                    //Hex SHA-256
+    private String tokenHash;                               //Hash of the token sent to the user
+
+    @TenantId                                               //Set from the session on insert, added to every query
+    @Column(nullable = false, updatable = false, length = 32)   //Non-nullable, fixed once written
+    private String tenantId;                                //Storefront of the user
+
+    @Column(nullable = false)                               //Non-nullable column
+    private Long userId;                                    //User whose credentials the token may change
+
+    @Column(nullable = false)                               //Non-nullable column
+    private Instant expiresAt;                              //Not redeemable from this instant on
+
+    @Override
+    public String getId()
+    {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew()
+    {
+        return true;                                        //Tokens are only inserted, so save() skips the merge select
+    }
+
+    public boolean isExpired(Instant now)
+    {
+        return !now.isBefore(expiresAt);
+    }
+}
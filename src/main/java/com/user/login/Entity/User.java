@@ -2,9 +2,26 @@ package com.user.login.Entity;      //Package declaration
 import jakarta.persistence.*;       //JPA annotations
 import lombok.*;                    //Lombok annotations for boilerplate code
 import com.user.login.Enum.Role;    //Importing Role enum
+import org.hibernate.annotations.Cache;                     //Second-level cache region
+import org.hibernate.annotations.CacheConcurrencyStrategy;  //Cache consistency mode
+import org.hibernate.annotations.NaturalId;                 //Tenant and username key as the natural key
+import org.hibernate.annotations.NaturalIdCache;            //(tenant, username key) -> id resolution cache
+import org.hibernate.annotations.TenantId;                  //Storefront partition
+import java.text.Normalizer;                                //Unicode compatibility folding of identity keys
+import java.util.Locale;                                    //Locale-independent lower-casing
 
 @Entity                             //Marks as a JPA entity
-@Table(name = "users")              //Specifies table name
+@Table(name = "users", uniqueConstraints = {                //Usernames and emails (in any case) and phone numbers are unique per tenant
+    @UniqueConstraint(name = "uk_users_tenant_username", columnNames = {"tenantId", "usernameKey"}),
+    @UniqueConstraint(name = "uk_users_tenant_email", columnNames = {"tenantId", "emailKey"}),
+    @UniqueConstraint(name = "uk_users_tenant_phone", columnNames = {"tenantId", "phoneNumber"})
+})
+@Cacheable                          //Eligible for the second-level cache (shared cache mode is ENABLE_SELECTIVE)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")    //Soft-locked on update, never serves stale rows on this node
+@NaturalIdCache(region = "user-natural-id")                             //Resolutions are re-keyed on flush when the username changes
+//username and email keep the spelling the user chose; lookups and uniqueness go through their normalized keys,
+//so "Admin" and "admin" are one account and a login is an index seek on (tenantId, usernameKey)
+//Cache keys of both regions, and of cached queries, carry the session's tenant, so tenants never share entries
 @Getter                             //Generates getter methods
 @Setter                             //Generates setter methods
 @NoArgsConstructor                  //Generates no-args constructor
@@ -17,19 +34,31 @@ public class User
     @Column(name = "userId")                                //Maps to 'userId' column
     private Long userId;                                    //User's unique ID
 
+    @TenantId                                               //Set from the session on insert, added to every query
+    @NaturalId                                              //Natural key is (tenantId, usernameKey)
+    @Column(nullable = false, updatable = false, length = 32)   //Non-nullable, fixed once written
+    private String tenantId;                                //Storefront the user belongs to
+
     @Column(nullable = false)                               //Non-nullable column
     private String firstName;                               //User's first name
 
     @Column(nullable = false)                               //Non-nullable column
     private String lastName;                                //User's last name
 
-    @Column(nullable = false, unique = true)                //Unique, non-nullable column
-    private String username;                                //User's username
+    @Column(nullable = false)                               //Non-nullable column
+    private String username;                                //User's username, as entered
+
+    @NaturalId(mutable = true)                              //Natural key within the tenant; users may rename themselves
+    @Column(nullable = false)                               //Non-nullable column, unique per tenant
+    private String usernameKey;                             //identityKey(username), set on every write
+
+    @Column(nullable = false)                               //Non-nullable column
+    private String email;                                   //User's email, as entered
 
-    @Column(nullable = false, unique = true)                //Unique, non-nullable column
-    private String email;                                   //User's email
+    @Column(nullable = false)                               //Non-nullable column, unique per tenant
+    private String emailKey;                                //identityKey(email), set on every write
 
-    @Column(nullable = false, unique = true, length = 15)   //Unique, non-nullable column
+    @Column(nullable = false, length = 15)                  //Non-nullable column, unique per tenant
     private String phoneNumber;                             //User's phone number
 
     @Column(nullable = false)                               //Non-nullable column
@@ -41,4 +70,24 @@ public class User
     @Enumerated(EnumType.STRING)                            //Store enum as string
     @Column(name = "role", nullable = false)                //Non-nullable 'role' column
     private Role role;                                      //User's role (e.g., ADMIN, CUSTOMER)
+
+    @Version                                                //Bumped by Hibernate on every update
+    @Column(nullable = false)                               //Non-nullable column
+    private Long version;                                   //Row version, the source of the HTTP ETags
+
+    //Keeps the keys in step with username and email however the entity was built or changed
+    //(sign-up, profile update, credential reset, data loader)
+    @PrePersist
+    @PreUpdate
+    void updateIdentityKeys()
+    {
+        usernameKey = identityKey(username);
+        emailKey = identityKey(email);
+    }
+
+    //Case- and width-insensitive form of a username or email: trimmed, NFKC-folded, lower-cased
+    public static String identityKey(String value)
+    {
+        return value == null ? null : Normalizer.normalize(value.strip(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.user.login.Entity;          //Package declaration
+import jakarta.persistence.*;           //JPA annotations
+import lombok.*;                        //Lombok annotations for boilerplate code
+import com.user.login.Enum.ChangeType;  //Importing ChangeType enum
+import org.hibernate.annotations.TenantId;  //Storefront partition
+import java.time.Instant;               //Change timestamp
+
+//One row per create, update or delete of a user, written in the same transaction as the change itself.
+//changeId is the delta-sync cursor: it only grows, so "everything after N" is a primary-key range scan.
+@Entity                             //Marks as a JPA entity
+@Table(name = "user_changes")       //Specifies table name
+@Getter                             //Generates getter methods
+@Setter                             //Generates setter methods
+@NoArgsConstructor                  //Generates no-args constructor
+@AllArgsConstructor                 //Generates all-args constructor
+@Builder                            //Enables builder pattern
+public class UserChange 
+{
+    @Id                                                     //Marks as primary key
+    @GeneratedValue(strategy = GenerationType.IDENTITY)     //Auto-generate ID
+    @Column(name = "changeId")                              //Maps to 'changeId' column
+    private Long changeId;                                  //Monotonic change sequence
+
+    @TenantId                                               //Set from the session on insert, added to every query
+    @Column(nullable = false, updatable = false, length = 32)   //Non-nullable, fixed once written
+    private String tenantId;                                //Storefront of the changed user
+
+    @Column(nullable = false)                               //Non-nullable column
+    private Long userId;                                    //Changed user (no foreign key: tombstones outlive the row)
+
+    @Enumerated(EnumType.STRING)                            //Store enum as string
+    @Column(nullable = false)                               //Non-nullable column
+    private ChangeType changeType;                          //Insert, update or tombstone
+
+    @Column(nullable = false)                               //Non-nullable column
+    private Instant changedAt;                              //When the change was recorded
+
+    //New log entry for a user, stamped now
+    public static UserChange of(Long userId, ChangeType changeType) 
+    {
+        return UserChange.builder().userId(userId).changeType(changeType).changedAt(Instant.now()).build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.user.login.Enum;
+
+//Per-id result of a batch admin operation
+public enum BatchOutcome
+{
+    DELETED,        //Row removed
+    UPDATED,        //Role changed
+    UNCHANGED,      //Already had the requested role
+    NOT_FOUND,      //No user with this id
+    SKIPPED_SELF    //The caller's own account is never changed by a batch
+}
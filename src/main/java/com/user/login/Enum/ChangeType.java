@@ -0,0 +1,7 @@
+package com.user.login.Enum;
+
+//Kind of write recorded in the user change log
+public enum ChangeType
+{
+    CREATED, UPDATED, DELETED
+}
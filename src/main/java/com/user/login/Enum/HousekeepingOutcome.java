@@ -0,0 +1,11 @@
+package com.user.login.Enum;
+
+//Result of one housekeeping run
+public enum HousekeepingOutcome
+{
+    COMPLETED,          //Every job ran out of expired rows
+    BUDGET_EXHAUSTED,   //Stopped at the time budget; the rest is left for the next run
+    NOT_LEADER,         //Another node holds the housekeeping lease
+    PEAK_HOURS,         //Skipped inside the configured peak window
+    FAILED              //A batch failed; earlier batches stay committed
+}
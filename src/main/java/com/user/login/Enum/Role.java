@@ -1,6 +1,74 @@
 package com.user.login.Enum;
 
-public enum Role 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+public enum Role
 {
-    ADMIN, CUSTOMER, USER
-}
\ No newline at end of file
+    //Bit positions are part of the token format: append new roles, never renumber
+    ADMIN(0), CUSTOMER(1), USER(2);
+
+    private final int bit;  //Single-bit mask for this role
+
+    Role(int position)
+    {
+        this.bit = 1 << position;
+    }
+
+    //Mask with every known role set
+    public static final int ALL = mask(values());
+
+    //Authority lists for every possible mask, shared by all requests
+    private static final List<List<GrantedAuthority>> AUTHORITIES = buildAuthorities();
+
+    public int bit()
+    {
+        return bit;
+    }
+
+    //Combined mask for the given roles
+    public static int mask(Role... roles)
+    {
+        int mask = 0;
+        for(Role role : roles)
+            mask |= role.bit;
+
+        return mask;
+    }
+
+    //Roles contained in a mask; unknown bits are ignored
+    public static EnumSet<Role> fromMask(int mask)
+    {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for(Role role : values())
+            if((mask & role.bit) != 0)
+                roles.add(role);
+
+        return roles;
+    }
+
+    //Cached, immutable ROLE_-prefixed authorities for a mask; unknown bits are ignored
+    public static List<GrantedAuthority> authorities(int mask)
+    {
+        return AUTHORITIES.get(mask & ALL);
+    }
+
+    private static List<List<GrantedAuthority>> buildAuthorities()
+    {
+        List<List<GrantedAuthority>> lists = new ArrayList<>();
+        for(int mask = 0; mask <= ALL; mask++)
+            lists.add(toAuthorities(mask));
+
+        return Collections.unmodifiableList(lists);
+    }
+
+    private static List<GrantedAuthority> toAuthorities(int mask)
+    {
+        return fromMask(mask).stream().<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.name())).toList();
+    }
+}
@@ -0,0 +1,9 @@
+package com.user.login.Event;           //Package declaration
+import com.user.login.Enum.ChangeType;  //Kind of change
+import java.util.List;                  //Users in the batch
+
+//Published once per batch admin operation instead of one UserChangedEvent per row; lastChangeId is the
+//change log cursor after the batch, count the number of entries it wrote, userIds the users they cover
+public record UserBatchChangedEvent(String tenantId, Long lastChangeId, int count, ChangeType changeType, List<Long> userIds)
+{
+}
@@ -0,0 +1,7 @@
+package com.user.login.Event;           //Package declaration
+import com.user.login.Enum.ChangeType;  //Kind of change
+
+//Published by the services for every change log entry; changeId matches GET /users/changes cursors of the tenant
+public record UserChangedEvent(String tenantId, Long changeId, Long userId, ChangeType changeType)
+{
+}
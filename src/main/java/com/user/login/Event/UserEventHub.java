@@ -0,0 +1,340 @@
+package com.user.login.Event;                                                   //Package declaration
+import com.fasterxml.jackson.core.JsonProcessingException;                      //Payload serialization failures
+import com.fasterxml.jackson.databind.ObjectMapper;                             //Serializes each event once
+import com.user.login.DTO.UserDTO;                                              //Profile carried by upsert events
+import com.user.login.Entity.UserChange;                                        //Change log entries replayed on reconnect
+import com.user.login.Enum.ChangeType;                                          //Kind of change
+import com.user.login.Mapper.UserMapper;                                        //Projection -> DTO
+import com.user.login.Replica.ReadYourWrites;                                   //Profiles are read from the primary
+import com.user.login.Repository.UserChangeRepository;                          //Change log, read on reconnect
+import com.user.login.Repository.UserRepository;                                //Profile lookup for upserts
+import com.user.login.Tenant.TenantContext;                                     //Tenant of each stream and event
+import io.micrometer.core.instrument.Counter;                                   //Eviction counter
+import io.micrometer.core.instrument.Gauge;                                     //Subscriber gauge
+import io.micrometer.core.instrument.MeterRegistry;                             //Metrics registry
+import org.slf4j.Logger;                                                        //Logging
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;                      //Hub sizing
+import org.springframework.context.SmartLifecycle;                              //Closes streams on shutdown
+import org.springframework.data.domain.Limit;                                   //Replay page size
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;     //Named daemon threads
+import org.springframework.stereotype.Component;                                //Marks the class as a Spring bean
+import org.springframework.transaction.event.TransactionalEventListener;        //Events only after commit
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;       //Async SSE response
+import java.io.IOException;                                                     //Failed writes
+import java.time.Duration;                                                      //Heartbeat and stream timeout
+import java.util.List;                                                          //Replayed changes
+import java.util.Optional;                                                      //Subscription may be refused
+import java.util.Set;                                                           //Subscriber set
+import java.util.concurrent.*;                                                  //Executors, queues
+import java.util.concurrent.atomic.AtomicBoolean;                               //One drain task per subscriber
+import java.util.function.Consumer;                                             //Per-subscriber action
+
+//Fan-out of user change events to admin SSE streams (GET /users/events).
+//An open stream holds no request thread: SseEmitter runs on the async servlet API, so an idle admin costs a
+//socket, the emitter and a bounded buffer. Work happens on a fixed set of threads no matter how many are connected:
+//  - dispatcher (1 thread): loads the profile and serializes the event once, in change log order, then queues it for everyone
+//  - writers (app.sse.writer-threads): drain per-subscriber buffers, at most one task per subscriber at a time
+//  - heartbeat (1 thread): queues a comment every app.sse.heartbeat so proxies keep the stream open and dead peers are found
+//A subscriber whose buffer is full (it reads slower than events arrive) or whose write fails is evicted. The browser's
+//EventSource reconnects with Last-Event-ID, the change log cursor, and the changes after it are replayed from the log
+//before live events (see replay); a gap larger than half the buffer is announced as one resync event instead.
+//Each stream belongs to the tenant it was opened in and only receives that tenant's events.
+@Component
+public class UserEventHub implements SmartLifecycle
+{
+    private static final Logger log = LoggerFactory.getLogger(UserEventHub.class);
+    public static final String EVENT_NAME = "user";                 //SSE event name of change events
+    public static final String RESYNC_EVENT_NAME = "resync";        //SSE event name telling clients to pull GET /users/changes
+
+    //Wire format of one change event; user is null for tombstones
+    public record Payload(Long changeId, Long userId, ChangeType changeType, UserDTO user)
+    {
+    }
+
+    //Wire format of a batch notice: the cursor after the batch and how many log entries it wrote
+    public record Resync(Long changeId, int count)
+    {
+    }
+
+    private final UserRepository userRepository;
+    private final UserChangeRepository userChangeRepository;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;                                   //Pending events per subscriber before eviction
+    private final int maxSubscribers;                               //Further subscriptions are refused
+    private final Duration heartbeat;                               //Comment interval on every stream
+    private final Duration timeout;                                 //Streams are closed after this; clients reconnect
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("sse-dispatch-"));
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-"));
+    private final Counter evicted;                                  //Slow or dead subscribers dropped
+    private volatile boolean running;                               //Lifecycle state
+
+    public UserEventHub(UserRepository userRepository, UserChangeRepository userChangeRepository, UserMapper userMapper, ObjectMapper objectMapper, MeterRegistry registry,
+                        @Value("${app.sse.buffer-size:64}") int bufferSize,
+                        @Value("${app.sse.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${app.sse.writer-threads:4}") int writerThreads,
+                        @Value("${app.sse.heartbeat:15s}") Duration heartbeat,
+                        @Value("${app.sse.timeout:30m}") Duration timeout)
+    {
+        this.userRepository = userRepository;
+        this.userChangeRepository = userChangeRepository;
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.writers = Executors.newFixedThreadPool(writerThreads, new CustomizableThreadFactory("sse-writer-"));
+        this.evicted = Counter.builder("login.sse.evictions").register(registry);
+        Gauge.builder("login.sse.subscribers", subscribers, Set::size).register(registry);
+    }
+
+    //Open a stream for the caller; empty when the hub is full or shutting down
+    public Optional<SseEmitter> subscribe()
+    {
+        return subscribe(null);
+    }
+
+    //Same, resuming after lastEventId (the Last-Event-ID of a reconnecting EventSource) when it is not null
+    public Optional<SseEmitter> subscribe(Long lastEventId)
+    {
+        if(!running || subscribers.size() >= maxSubscribers)
+            return Optional.empty();
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(TenantContext.current(), emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        deliver(subscriber, SseEmitter.event().comment("connected"));  //Commits the response headers right away
+        if(lastEventId != null)
+            dispatcher.execute(() -> replay(subscriber, lastEventId)); //Queued behind live events already dispatched
+        return Optional.of(emitter);
+    }
+
+    //Runs after the writing transaction commits (or immediately when there was none), so rolled-back changes never go out
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event)
+    {
+        if(running && !subscribers.isEmpty())
+            dispatcher.execute(() -> broadcast(event));
+    }
+
+    //A batch is announced once rather than per row, so a large batch cannot overflow every subscriber buffer at once
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UserBatchChangedEvent event)
+    {
+        if(running && !subscribers.isEmpty())
+            dispatcher.execute(() -> broadcastResync(event));
+    }
+
+    public int subscriberCount()
+    {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start()
+    {
+        long millis = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> deliver(subscriber, SseEmitter.event().comment("heartbeat"))),
+        millis, millis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    //Close every stream so clients reconnect to another node instead of holding up graceful shutdown
+    @Override
+    public void stop()
+    {
+        running = false;
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+        writers.shutdown();
+        log.info("Closed all user event streams");
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    @Override
+    public int getPhase()
+    {
+        return Integer.MAX_VALUE - 1;   //Right after readiness flips (DrainCoordinator), before the web server's graceful shutdown
+    }
+
+    private void broadcast(UserChangedEvent event)
+    {
+        if(subscribers.stream().noneMatch(subscriber -> subscriber.tenantId().equals(event.tenantId())))
+            return;                     //Nobody in this tenant is listening
+
+        String data;
+        try
+        {
+            data = changeData(event);
+        }
+
+        catch(JsonProcessingException | RuntimeException e)
+        {
+            log.warn("Could not build user event {}", event, e);
+            return;
+        }
+
+        String id = String.valueOf(event.changeId());
+        forTenant(event.tenantId(), subscriber -> deliver(subscriber, SseEmitter.event().id(id).name(EVENT_NAME).data(data)));
+    }
+
+    private void broadcastResync(UserBatchChangedEvent event)
+    {
+        String data;
+        try
+        {
+            data = objectMapper.writeValueAsString(new Resync(event.lastChangeId(), event.count()));
+        }
+
+        catch(JsonProcessingException e)
+        {
+            log.warn("Could not build resync event {}", event, e);
+            return;
+        }
+
+        String id = String.valueOf(event.lastChangeId());
+        forTenant(event.tenantId(), subscriber -> deliver(subscriber, SseEmitter.event().id(id).name(RESYNC_EVENT_NAME).data(data)));
+    }
+
+    //The changes a reconnecting subscriber missed, read from the primary's change log. Runs on the dispatcher, so the
+    //replay goes out ahead of every event dispatched after it. A change committed while the stream was being opened can
+    //arrive twice, live and replayed; both carry the same changeId and the current profile.
+    private void replay(Subscriber subscriber, long lastEventId)
+    {
+        if(!subscribers.contains(subscriber))
+            return;                     //Gone before the replay started
+
+        int limit = Math.max(1, bufferSize / 2);    //Leaves room for live events in the same buffer
+        try
+        {
+            List<UserChange> changes = TenantContext.callAs(subscriber.tenantId(), () -> ReadYourWrites.onPrimary(
+            () -> userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(lastEventId, Limit.of(limit + 1))));
+
+            if(changes.size() > limit)
+            {
+                //Too many to replay one by one: tell the client to pull GET /users/changes?since=lastEventId
+                Resync resync = TenantContext.callAs(subscriber.tenantId(), () -> ReadYourWrites.onPrimary(
+                () -> new Resync(userChangeRepository.findFirstByOrderByChangeIdDesc().orElseThrow().getChangeId(),
+                                 (int) userChangeRepository.countByChangeIdGreaterThan(lastEventId))));
+                deliver(subscriber, SseEmitter.event().id(String.valueOf(resync.changeId())).name(RESYNC_EVENT_NAME).data(objectMapper.writeValueAsString(resync)));
+                return;
+            }
+
+            for(UserChange change : changes)
+            {
+                String data = changeData(new UserChangedEvent(subscriber.tenantId(), change.getChangeId(), change.getUserId(), change.getChangeType()));
+                deliver(subscriber, SseEmitter.event().id(String.valueOf(change.getChangeId())).name(EVENT_NAME).data(data));
+            }
+        }
+
+        catch(JsonProcessingException | RuntimeException e)
+        {
+            log.warn("Could not replay user events after {}", lastEventId, e);
+            evict(subscriber, "replay failed");     //Reconnects and tries again rather than silently missing changes
+        }
+    }
+
+    //JSON of one change event; upserts carry the profile as it is now
+    private String changeData(UserChangedEvent event) throws JsonProcessingException
+    {
+        //Read right after the commit, so from the primary: a replica may not have the change yet
+        UserDTO user = event.changeType() == ChangeType.DELETED ? null : TenantContext.callAs(event.tenantId(), () -> ReadYourWrites.onPrimary(
+        () -> userRepository.findProfileByUserId(event.userId()).map(userMapper::toDTO).orElse(null)));
+        return objectMapper.writeValueAsString(new Payload(event.changeId(), event.userId(), event.changeType(), user));
+    }
+
+    private void forTenant(String tenantId, Consumer<Subscriber> action)
+    {
+        subscribers.forEach(subscriber -> 
+        {
+            if(subscriber.tenantId().equals(tenantId))
+                action.accept(subscriber);
+        });
+    }
+
+    //Buffer one message for a subscriber and make sure a writer drains it
+    private void deliver(Subscriber subscriber, SseEmitter.SseEventBuilder message)
+    {
+        if(!subscriber.queue().offer(message))
+        {
+            evict(subscriber, "buffer full");
+            return;
+        }
+
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber)
+    {
+        if(subscriber.draining().compareAndSet(false, true))
+        {
+            try
+            {
+                writers.execute(() -> drain(subscriber));
+            }
+
+            catch(RejectedExecutionException e)
+            {
+                subscriber.draining().set(false);   //Shutting down
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber)
+    {
+        try
+        {
+            SseEmitter.SseEventBuilder message;
+            while((message = subscriber.queue().poll()) != null)
+                subscriber.emitter().send(message);
+        }
+
+        catch(IOException | IllegalStateException e)
+        {
+            evict(subscriber, "write failed");
+        }
+
+        finally
+        {
+            subscriber.draining().set(false);
+        }
+
+        //A message may have arrived between the last poll and clearing the flag
+        if(!subscriber.queue().isEmpty() && subscribers.contains(subscriber))
+            schedule(subscriber);
+    }
+
+    private void evict(Subscriber subscriber, String reason)
+    {
+        if(subscribers.remove(subscriber))
+        {
+            evicted.increment();
+            log.debug("Evicted user event subscriber: {}", reason);
+            subscriber.emitter().complete();
+        }
+    }
+
+    //One open stream, its tenant and its pending messages
+    private record Subscriber(String tenantId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue, AtomicBoolean draining)
+    {
+        Subscriber(String tenantId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue)
+        {
+            this(tenantId, emitter, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -22,6 +22,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<String> handleInvalidBatch(InvalidBatchRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
     // Keep only one handler for general exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleAllOtherErrors(Exception ex) {
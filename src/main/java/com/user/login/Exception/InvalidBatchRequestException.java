@@ -0,0 +1,9 @@
+package com.user.login.Exception;   //Package declaration
+
+public class InvalidBatchRequestException extends RuntimeException
+{
+    public InvalidBatchRequestException(String message)
+    {
+        super(message);                 //Why the batch was rejected
+    }
+}
@@ -0,0 +1,9 @@
+package com.user.login.Exception;   //Package declaration
+
+public class InvalidResetTokenException extends RuntimeException
+{
+    public InvalidResetTokenException()
+    {
+        super("Invalid or expired reset token");   //Same message for unknown, expired and used tokens
+    }
+}
@@ -0,0 +1,9 @@
+package com.user.login.Exception;   //Package declaration
+
+public class ResetThrottledException extends RuntimeException
+{
+    public ResetThrottledException()
+    {
+        super("Too many reset requests for this email, try again later");  //Per-email limit reached
+    }
+}
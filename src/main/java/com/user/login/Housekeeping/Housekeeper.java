@@ -0,0 +1,255 @@
+package com.user.login.Housekeeping;                                            //Package declaration
+import com.user.login.Enum.HousekeepingOutcome;                                 //Run result
+import io.micrometer.core.instrument.Counter;                                   //Purged rows and run outcomes
+import io.micrometer.core.instrument.MeterRegistry;                             //Metrics registry
+import io.micrometer.core.instrument.Timer;                                     //Run duration
+import org.slf4j.Logger;                                                        //Logging
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;                      //Schedule and limits
+import org.springframework.context.SmartLifecycle;                              //Starts and stops with the context
+import org.springframework.jdbc.core.JdbcTemplate;                              //Lease row
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;     //Named daemon thread
+import org.springframework.stereotype.Component;                                //Marks the class as a Spring bean
+import org.springframework.transaction.support.TransactionTemplate;             //Lease updates commit on their own
+import java.lang.management.ManagementFactory;                                  //pid@host for the lease owner
+import java.sql.Timestamp;                                                      //Lease expiry
+import java.time.Duration;                                                      //Interval, jitter and budget
+import java.time.Instant;                                                       //Purge cutoff
+import java.time.LocalTime;                                                     //Peak window
+import java.util.EnumMap;                                                       //Outcome counters
+import java.util.List;                                                          //Registered jobs
+import java.util.Map;                                                           //Purged counters by job
+import java.util.UUID;                                                          //Unique lease owner
+import java.util.concurrent.*;                                                  //Scheduler
+import java.util.stream.Collectors;                                             //Counter map
+
+//Background purge of expired auth artifacts (every PurgeJob bean: reset tokens, sessions).
+//  - runs every app.housekeeping.interval plus a random delay of up to app.housekeeping.jitter, so nodes do not fire together
+//  - one node per cluster: a run first takes the lease row in housekeeping_lock (a conditional UPDATE) for
+//    interval + jitter + time-budget, the longest a run's start can be from the next one's, so the owner renews it
+//    on its next run before it lapses; another node takes over once it has (owner stopped or gone)
+//  - each batch deletes at most app.housekeeping.batch-size rows through the expiry index in its own short transaction,
+//    so locks are held briefly and only on the artifact tables; the users table is never touched
+//  - stops starting batches after app.housekeeping.time-budget and leaves the rest for the next run
+//  - no run starts inside app.housekeeping.peak-hours (HH:mm-HH:mm, server time, may wrap midnight)
+//The first run comes one interval after startup, well after UserDataLoader has seeded the demo accounts.
+@Component  //Marks the class as a Spring bean, started and stopped with the context
+public class Housekeeper implements SmartLifecycle
+{
+    private static final Logger log = LoggerFactory.getLogger(Housekeeper.class);   //Run summaries and failures
+    static final String LOCK_NAME = "housekeeping";                 //Lease row seeded by schema.sql
+
+    private final List<PurgeJob> jobs;                              //Every PurgeJob bean, purged in order
+    private final JdbcTemplate jdbcTemplate;                        //Lease row updates
+    private final TransactionTemplate transactionTemplate;          //Each lease update commits on its own
+    private final Duration interval;                                //Time between the end of a run and the next
+    private final Duration jitter;                                  //Random extra delay before each run
+    private final Duration lease;                                   //Lease length: the longest gap between run starts
+    private final int batchSize;                                    //Rows per delete statement
+    private final Duration timeBudget;                              //No new batch after this much of a run
+    private final LocalTime peakStart;                              //Null when there is no peak window
+    private final LocalTime peakEnd;                                //End of the peak window (exclusive)
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);    //This node in the lease row
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("housekeeping-"));  //One run at a time
+    private final Map<String, Counter> purged;                      //Rows removed, by job
+    private final Map<HousekeepingOutcome, Counter> runs = new EnumMap<>(HousekeepingOutcome.class);   //Runs, by outcome
+    private final Timer duration;                                   //Time spent per run
+    private volatile boolean running;                               //Lifecycle state
+
+    public Housekeeper(List<PurgeJob> jobs, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry registry,
+                       @Value("${app.housekeeping.interval:5m}") Duration interval,
+                       @Value("${app.housekeeping.jitter:30s}") Duration jitter,
+                       @Value("${app.housekeeping.batch-size:500}") int batchSize,
+                       @Value("${app.housekeeping.time-budget:10s}") Duration timeBudget,
+                       @Value("${app.housekeeping.peak-hours:}") String peakHours)
+    {
+        if(timeBudget.compareTo(interval) >= 0)
+            throw new IllegalArgumentException("app.housekeeping.time-budget must be shorter than app.housekeeping.interval");  //A run must fit in the interval
+
+        this.jobs = List.copyOf(jobs);                                      //Fixed for the life of the context
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.interval = interval;
+        this.jitter = jitter;
+        this.batchSize = batchSize;
+        this.timeBudget = timeBudget;
+        this.lease = interval.plus(jitter).plus(timeBudget);                //Run, then interval, then up to jitter
+
+        if(peakHours == null || peakHours.isBlank())
+        {
+            this.peakStart = null;                                          //No peak window: runs at any time
+            this.peakEnd = null;
+        }
+
+        else
+        {
+            String[] bounds = peakHours.strip().split("-");                //Start and end
+            if(bounds.length != 2)
+                throw new IllegalArgumentException("app.housekeeping.peak-hours must look like HH:mm-HH:mm");
+
+            this.peakStart = LocalTime.parse(bounds[0].strip());            //Server time
+            this.peakEnd = LocalTime.parse(bounds[1].strip());              //May be before the start: wraps midnight
+        }
+
+        //One purged-rows counter per job, tagged with its name
+        this.purged = this.jobs.stream().collect(Collectors.toMap(PurgeJob::name,
+        job -> Counter.builder("login.housekeeping.purged").tag("job", job.name()).register(registry), (a, b) -> a));
+        for(HousekeepingOutcome outcome : HousekeepingOutcome.values())
+            runs.put(outcome, Counter.builder("login.housekeeping.runs").tag("outcome", outcome.name().toLowerCase()).register(registry));
+
+        this.duration = Timer.builder("login.housekeeping.duration").register(registry);    //Skipped runs are timed too
+    }
+
+    //One run: take the lease, then purge every job batch by batch until it is empty or the budget is spent
+    public HousekeepingOutcome runOnce()
+    {
+        HousekeepingOutcome outcome = duration.record(this::purgeAll);     //Timed run
+        runs.get(outcome).increment();                                      //Count it by outcome
+        return outcome;
+    }
+
+    @Override
+    public void start()
+    {
+        running = true;                                                     //Runs reschedule themselves while set
+        scheduleNext();                                                     //First run one interval from now
+        log.info("Housekeeping every {} (+ up to {}) as {}", interval, jitter, owner);
+    }
+
+    //Let a run in progress finish its current batch, then hand the lease to the other nodes
+    @Override
+    public void stop()
+    {
+        running = false;                                                    //No further runs get scheduled
+        scheduler.shutdownNow();                                            //Drop the pending run, interrupt a current one
+
+        try
+        {
+            scheduler.awaitTermination(timeBudget.toMillis(), TimeUnit.MILLISECONDS);   //At most one run's budget
+        }
+
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();                             //Keep the interrupt for the caller
+        }
+
+        release();                                                          //Another node may take over right away
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running;     //Lifecycle state
+    }
+
+    @Override
+    public int getPhase()
+    {
+        return 0;   //Stops after the web server and the request drain, which are not held up by a purge
+    }
+
+    //Inside the peak window (start inclusive, end exclusive)
+    boolean isPeak(LocalTime time)
+    {
+        if(peakStart == null)
+            return false;                                                   //No peak window configured
+
+        return peakStart.isBefore(peakEnd) ? !time.isBefore(peakStart) && time.isBefore(peakEnd)
+        : !time.isBefore(peakStart) || time.isBefore(peakEnd);     //Window wraps midnight
+    }
+
+    //Body of runOnce, on the housekeeping thread; never throws
+    private HousekeepingOutcome purgeAll()
+    {
+        if(isPeak(LocalTime.now()))
+            return HousekeepingOutcome.PEAK_HOURS;                          //Wait for the next run outside the window
+
+        try
+        {
+            if(!tryAcquire())
+                return HousekeepingOutcome.NOT_LEADER;                      //Another node holds the lease
+
+            long deadline = System.nanoTime() + timeBudget.toNanos();       //No batch starts after this
+            Instant cutoff = Instant.now();                                 //Same cutoff for every job of the run
+
+            for(PurgeJob job : jobs)
+            {
+                int removed;                                                //Rows deleted by the last batch
+                do
+                {
+                    if(System.nanoTime() >= deadline)
+                    {
+                        log.info("Housekeeping time budget of {} used up during {}", timeBudget, job.name());
+                        return HousekeepingOutcome.BUDGET_EXHAUSTED;        //The rest waits for the next run
+                    }
+
+                    removed = job.purge(cutoff, batchSize);                 //One short transaction
+                    purged.get(job.name()).increment(removed);              //Rows removed for this job
+                }
+                while(removed >= batchSize);                                //A short batch means the job is done
+            }
+
+            return HousekeepingOutcome.COMPLETED;                           //Every job purged
+        }
+
+        catch(RuntimeException e)
+        {
+            log.warn("Housekeeping run failed", e);                         //Next run tries again
+            return HousekeepingOutcome.FAILED;
+        }
+    }
+
+    //Take or renew the lease until the next run is due at the latest; false while another node holds it
+    private boolean tryAcquire()
+    {
+        Instant now = Instant.now();                                        //Lease runs from now
+
+        //Conditional update: succeeds for a lapsed lease, or when this node already holds it
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(
+        "UPDATE housekeeping_lock SET owner = ?, lockedUntil = ? WHERE name = ? AND (lockedUntil <= ? OR owner = ?)",
+        owner, Timestamp.from(now.plus(lease)), LOCK_NAME, Timestamp.from(now), owner));
+        return updated != null && updated == 1;                             //One row: the lease is ours
+    }
+
+    //Let the lease lapse now instead of at its end
+    private void release()
+    {
+        try
+        {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+            "UPDATE housekeeping_lock SET lockedUntil = ? WHERE name = ? AND owner = ?", Timestamp.from(Instant.now()), LOCK_NAME, owner));
+        }
+
+        catch(RuntimeException e)
+        {
+            log.debug("Could not release the housekeeping lease; it lapses on its own", e);    //Harmless at shutdown
+        }
+    }
+
+    //One-shot run after an interval plus jitter; each run schedules the next, so runs never overlap
+    private void scheduleNext()
+    {
+        long delay = interval.toMillis() + ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);    //Spreads the nodes apart
+        try
+        {
+            scheduler.schedule(() ->
+            {
+                try
+                {
+                    runOnce();                                              //Never throws
+                }
+
+                finally
+                {
+                    if(running)
+                        scheduleNext();                                     //Until stop()
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        catch(RejectedExecutionException e)
+        {
+            //Shutting down: stop() already cleared running
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.user.login.Housekeeping;    //Package declaration
+import java.time.Instant;               //Expiry cutoff
+
+//One kind of expired row removed by the Housekeeper. Each call deletes at most batchSize rows that expired at or
+//before the cutoff, in its own short transaction and through an index on the expiry column, and returns how many it removed.
+public interface PurgeJob
+{
+    String name();                                  //Metric tag and log label
+
+    int purge(Instant cutoff, int batchSize);       //Rows removed; fewer than batchSize once nothing is left
+}
@@ -0,0 +1,170 @@
+package com.user.login.Lifecycle;                                               //Package declaration
+import io.micrometer.core.instrument.Counter;                                   //Drain outcome counters
+import io.micrometer.core.instrument.Gauge;                                     //In-flight gauge
+import io.micrometer.core.instrument.MeterRegistry;                             //Metrics registry
+import org.slf4j.Logger;                                                        //Logging
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;                      //Shutdown timings
+import org.springframework.boot.availability.AvailabilityChangeEvent;           //Readiness events
+import org.springframework.boot.availability.ReadinessState;                    //REFUSING_TRAFFIC
+import org.springframework.context.ApplicationEventPublisher;                   //Publishes readiness changes
+import org.springframework.context.SmartLifecycle;                              //Ordered shutdown hook
+import org.springframework.stereotype.Component;                                //Marks the class as a Spring bean
+import java.time.Duration;                                                      //Grace and deadline
+import java.util.concurrent.atomic.AtomicInteger;                               //In-flight count
+import java.util.concurrent.locks.Condition;                                    //Last in-flight request finished
+import java.util.concurrent.locks.ReentrantLock;                                //Guards the drained condition (no monitor pinning)
+
+//Coordinates rolling-deploy shutdown for hashing requests (login, sign-up, credential changes).
+//Stops first (highest phase), before Tomcat's graceful shutdown and before the JPA/datasource beans are destroyed:
+//  1. readiness -> REFUSING_TRAFFIC so the load balancer takes the node out
+//  2. after the readiness grace, new hashing requests get 503 (see DrainFilter)
+//  3. in-flight ones, with their bcrypt work and UserRepository transactions, get until the drain deadline to finish
+@Component
+public class DrainCoordinator implements SmartLifecycle 
+{
+    private static final Logger log = LoggerFactory.getLogger(DrainCoordinator.class);
+
+    private final ApplicationEventPublisher publisher;  //Readiness events
+    private final Duration readinessGrace;              //Time for probes to observe REFUSING_TRAFFIC
+    private final Duration drainTimeout;                //Deadline for in-flight requests
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();         //Guards idle
+    private final Condition idle = lock.newCondition();             //Signalled when the last request finishes while draining
+    private final Counter drained;                      //Finished while draining
+    private final Counter aborted;                      //Still running at the deadline
+    private final Counter rejected;                     //Refused because the node is draining
+    private volatile boolean draining;                  //Set once new hashing requests are refused
+    private volatile boolean running;                   //Lifecycle state
+
+    public DrainCoordinator(ApplicationEventPublisher publisher, MeterRegistry registry,
+                            @Value("${app.shutdown.readiness-grace:0s}") Duration readinessGrace,
+                            @Value("${app.shutdown.drain-timeout:20s}") Duration drainTimeout) 
+    {
+        this.publisher = publisher;
+        this.readinessGrace = readinessGrace;
+        this.drainTimeout = drainTimeout;
+        this.drained = Counter.builder("login.drain.requests").tag("outcome", "drained").register(registry);
+        this.aborted = Counter.builder("login.drain.requests").tag("outcome", "aborted").register(registry);
+        this.rejected = Counter.builder("login.drain.requests").tag("outcome", "rejected").register(registry);
+        Gauge.builder("login.drain.inflight", inFlight, AtomicInteger::get).register(registry);
+    }
+
+    //Admit a hashing request; false once draining has started
+    public boolean tryEnter() 
+    {
+        inFlight.incrementAndGet();
+        if(draining) 
+        {
+            exit(false);
+            rejected.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    //Mark an admitted request as finished
+    public void exit() 
+    {
+        exit(draining);
+    }
+
+    public boolean isDraining() 
+    {
+        return draining;
+    }
+
+    @Override
+    public void start() 
+    {
+        running = true;
+    }
+
+    @Override
+    public void stop() 
+    {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("Readiness set to REFUSING_TRAFFIC; draining hashing requests in {}", readinessGrace);
+        sleep(readinessGrace);
+
+        draining = true;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+
+        lock.lock();
+        try 
+        {
+            long remaining;
+            while(inFlight.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) 
+                idle.awaitNanos(remaining);
+        } 
+        
+        catch(InterruptedException e) 
+        {
+            Thread.currentThread().interrupt();
+        } 
+        
+        finally 
+        {
+            lock.unlock();
+        }
+
+        int left = inFlight.get();
+        if(left > 0) 
+        {
+            aborted.increment(left);
+            log.warn("Drain deadline of {} reached with {} hashing request(s) still running", drainTimeout, left);
+        }
+
+        log.info("Hashing requests drained: {} finished, {} aborted, {} rejected", (long) drained.count(), left, (long) rejected.count());
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() 
+    {
+        return running;
+    }
+
+    @Override
+    public int getPhase() 
+    {
+        return Integer.MAX_VALUE;   //Stop before the web server's graceful shutdown phase
+    }
+
+    private void exit(boolean countAsDrained) 
+    {
+        int left = inFlight.decrementAndGet();
+        if(countAsDrained)
+            drained.increment();
+
+        //Only stop() waits, and only once draining is set; it sets draining before reading inFlight, so a
+        //request that finishes without seeing draining is already counted out when stop() checks
+        if(left == 0 && draining) 
+        {
+            lock.lock();
+            try 
+            {
+                idle.signalAll();
+            } 
+            
+            finally 
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) 
+    {
+        try 
+        {
+            Thread.sleep(duration.toMillis());
+        } 
+        
+        catch(InterruptedException e) 
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
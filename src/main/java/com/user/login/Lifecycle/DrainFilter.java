@@ -0,0 +1,51 @@
+package com.user.login.Lifecycle;                                   //Package declaration
+import jakarta.servlet.FilterChain;                                 //FilterChain for request filtering
+import jakarta.servlet.ServletException;                            //ServletException for handling servlet errors
+import jakarta.servlet.http.HttpServletRequest;                     //HttpServletRequest to access request data
+import jakarta.servlet.http.HttpServletResponse;                    //HttpServletResponse for sending responses
+import org.springframework.stereotype.Component;                    //Marks the class as a Spring component
+import org.springframework.web.filter.OncePerRequestFilter;         //Ensures the filter runs once per request
+import java.io.IOException;                                         //Handles IO exceptions
+
+//Tracks requests that hash passwords (POST/PATCH under /auth and /users) and refuses new ones while the node drains
+@Component
+public class DrainFilter extends OncePerRequestFilter 
+{
+    private final DrainCoordinator coordinator;     //Shared in-flight accounting
+
+    public DrainFilter(DrainCoordinator coordinator) 
+    {
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) 
+    {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !("POST".equals(method) || "PATCH".equals(method)) || !(path.startsWith("/auth/") || path.equals("/users") || path.startsWith("/users/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException 
+    {
+        //Draining: send the client to another node right away instead of starting a hash we may not finish
+        if(!coordinator.tryEnter()) 
+        {
+            response.setHeader("Retry-After", "1");
+            response.setHeader("Connection", "close");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Node is shutting down");
+            return;
+        }
+
+        try 
+        {
+            filterChain.doFilter(request, response);
+        } 
+        
+        finally 
+        {
+            coordinator.exit();
+        }
+    }
+}
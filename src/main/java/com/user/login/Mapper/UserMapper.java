@@ -1,15 +1,42 @@
-package com.user.login.Mapper;          //Package declaration
-import com.user.login.DTO.UserDTO;      //Importing UserDTO for mapping
-import com.user.login.Entity.User;      //Importing User entity for mapping
-import org.mapstruct.Mapper;            //Importing MapStruct Mapper annotation
-import org.mapstruct.factory.Mappers;   //Importing Mappers factory for creating instances
+package com.user.login.Mapper;                              //Package declaration
+import com.user.login.DTO.Auth.AuthResponseDTO;             //Login and profile-update responses
+import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;    //Credential reset response
+import com.user.login.DTO.UserDTO;                          //Importing UserDTO for mapping
+import com.user.login.Entity.User;                          //Importing User entity for mapping
+import com.user.login.Projection.UserProfile;               //Read-only profile projection
+import org.mapstruct.Mapper;                                //Importing MapStruct Mapper annotation
+import org.mapstruct.Mapping;                               //Per-field mapping rules
 
+//The single User <-> DTO mapping path. MapStruct generates plain getter/builder calls at compile time
+//(no reflection), and the generated UserMapperImpl is the only instance, registered as a Spring bean.
+//The password hash never leaves through an outbound mapping.
 @Mapper(componentModel = "spring")      //Marks this interface as a MapStruct mapper for Spring context
 public interface UserMapper 
 {
-    //Provides a static instance of the mapper
-    UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);  
-    
+    @Mapping(target = "password", ignore = true)
     UserDTO toDTO(User user);       //Converts User entity to UserDTO
-    User toEntity(UserDTO userDTO); //Converts UserDTO to User entity
-}
\ No newline at end of file
+
+    @Mapping(target = "password", ignore = true)
+    UserDTO toDTO(UserProfile profile); //Converts the read projection to UserDTO
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "tenantId", ignore = true)    //Stamped by Hibernate from the session
+    @Mapping(target = "usernameKey", ignore = true) //Derived from username on persist
+    @Mapping(target = "emailKey", ignore = true)    //Derived from email on persist
+    User toEntity(UserDTO userDTO); //Converts UserDTO to User entity (password is expected to be hashed already)
+
+    //Login response: identity and token only, no profile
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "user", ignore = true)
+    AuthResponseDTO toLoginResponse(User user, String token, String message, String roleMessage);
+
+    //Profile update response: the refreshed profile travels with the new token
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "user", source = "user")
+    AuthResponseDTO toUpdateResponse(User user, String token, String message, String roleMessage);
+
+    @Mapping(target = "email", source = "user.email")
+    @Mapping(target = "username", source = "user.username")
+    @Mapping(target = "password", ignore = true)
+    ForgotLoginCredentialDTO toForgotLoginCredentialDTO(User user, String message);
+}
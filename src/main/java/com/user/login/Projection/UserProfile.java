@@ -0,0 +1,18 @@
+package com.user.login.Projection;  //Package declaration
+import com.user.login.Enum.Role;    //User role
+
+//Read model for the GET endpoints. As a closed projection, Spring Data selects only these columns as a
+//tuple and never materializes a managed User, so Hibernate keeps no snapshot or dirty-checking state and
+//the password hash is never read from the row.
+//(An interface rather than a record: Hibernate 6.0 cannot match a constructor taking the Role enum.)
+public interface UserProfile
+{
+    Long getUserId();
+    String getFirstName();
+    String getLastName();
+    String getUsername();
+    String getEmail();
+    String getPhoneNumber();
+    String getHomeAddress();
+    Role getRole();
+}
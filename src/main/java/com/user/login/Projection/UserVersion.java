@@ -0,0 +1,9 @@
+package com.user.login.Projection;  //Package declaration
+
+//Version-only read model for conditional GETs: two columns per row are enough to compute an ETag
+//without selecting, mapping or serializing the profile.
+public interface UserVersion
+{
+    Long getUserId();
+    Long getVersion();
+}
@@ -0,0 +1,86 @@
+package com.user.login.Replica;                                 //Package declaration
+import com.github.benmanes.caffeine.cache.Cache;                //Bounded, expiring set of recent writers
+import com.github.benmanes.caffeine.cache.Caffeine;             //Cache builder
+import com.user.login.Entity.User;                               //Usernames are marked by their identity key
+import com.user.login.Tenant.TenantContext;                     //Keys are per tenant
+import org.springframework.beans.factory.annotation.Value;      //Sticky window
+import org.springframework.stereotype.Component;                //Marks the class as a Spring bean
+import java.time.Duration;                                      //Sticky window
+import java.util.function.Supplier;                             //Work pinned to the primary
+
+//Read-your-writes for replica routing. A write marks who made it (the signed-in user, or the username that was
+//just created or reset); for sticky-window afterwards that caller's reads are pinned to the primary, so they never
+//see a replica that has not caught up yet. The window should exceed the worst replication lag.
+//Marks are kept on this node only: behind a load balancer, pair it with session affinity or a window that covers
+//a retry on another node.
+@Component
+public class ReadYourWrites
+{
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${app.datasource.replica.sticky-window:5s}") Duration stickyWindow)
+    {
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(stickyWindow).maximumSize(100_000).build();
+    }
+
+    //The signed-in user with this id just wrote
+    public void markUser(Long userId)
+    {
+        recentWriters.put(TenantContext.current() + ":id:" + userId, Boolean.TRUE);
+    }
+
+    //A user with this username (in any case) was just created or changed
+    public void markUsername(String username)
+    {
+        recentWriters.put(TenantContext.current() + ":name:" + User.identityKey(username), Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId)
+    {
+        return recentWriters.getIfPresent(TenantContext.current() + ":id:" + userId) != null;
+    }
+
+    public boolean wroteRecently(String username)
+    {
+        return recentWriters.getIfPresent(TenantContext.current() + ":name:" + User.identityKey(username)) != null;
+    }
+
+    //Run work with every read-only transaction on the primary
+    public static <T> T onPrimary(Supplier<T> work)
+    {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+
+        try
+        {
+            return work.get();
+        }
+
+        finally
+        {
+            if(previous == null)
+                PINNED.remove();
+            else
+                PINNED.set(previous);
+        }
+    }
+
+    //Used by ReadYourWritesFilter, which cannot wrap the filter chain in a Supplier
+    static void pin()
+    {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin()
+    {
+        PINNED.remove();
+    }
+
+    //True while the current thread is pinned to the primary
+    public static boolean isPinned()
+    {
+        return PINNED.get() != null;
+    }
+}
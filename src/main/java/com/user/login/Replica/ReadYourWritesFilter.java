@@ -0,0 +1,45 @@
+package com.user.login.Replica;                                             //Package declaration
+import com.user.login.Security.JWT.JwtAuthenticationToken;                  //Signed-in caller
+import jakarta.servlet.FilterChain;                                         //FilterChain for request filtering
+import jakarta.servlet.ServletException;                                    //ServletException for handling servlet errors
+import jakarta.servlet.http.HttpServletRequest;                             //HttpServletRequest to access request data
+import jakarta.servlet.http.HttpServletResponse;                            //HttpServletResponse for sending responses
+import org.springframework.security.core.context.SecurityContextHolder;     //Authentication set by the JWT filter
+import org.springframework.stereotype.Component;                            //Marks the class as a Spring component
+import org.springframework.web.filter.OncePerRequestFilter;                 //Ensures the filter runs once per request
+import java.io.IOException;                                                 //Handles IO exceptions
+
+//Runs after TenantFilter: a signed-in caller who wrote within the sticky window reads from the primary for the whole request
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter 
+{
+    private final ReadYourWrites readYourWrites;    //Recent writers
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) 
+    {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException 
+    {
+        if(!(SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken authentication)
+        || authentication.getUserId() == null || !readYourWrites.wroteRecently(authentication.getUserId())) 
+        {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReadYourWrites.pin();
+
+        try 
+        {
+            filterChain.doFilter(request, response);
+        } 
+        
+        finally 
+        {
+            ReadYourWrites.unpin();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.user.login.Replica;                                                     //Package declaration
+import jakarta.persistence.EntityManager;                                           //Session of the new transaction
+import jakarta.persistence.PersistenceException;                                    //Begin failures
+import org.hibernate.CacheMode;                                                     //Second-level and query cache interaction
+import org.hibernate.Session;                                                       //Native session
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;                      //Default Hibernate transaction handling
+import org.springframework.transaction.TransactionDefinition;                       //Read-only flag
+import org.springframework.transaction.TransactionException;                        //Begin failures
+import java.sql.SQLException;                                                       //Begin failures
+
+//Keeps replica reads out of the second-level and query cache. A read-only transaction that is not pinned by
+//ReadYourWrites runs on the replica, which may lag behind the primary; what it loads must not be put into the cache,
+//or a pinned read (the writer's own) would later be answered with that stale row from the cache instead of the primary.
+//IGNORE rather than GET: on a query cache miss Hibernate 6.0 puts the result even when the cache mode only allows gets.
+public class ReplicaCacheJpaDialect extends HibernateJpaDialect
+{
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+    throws PersistenceException, SQLException, TransactionException
+    {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if(definition.isReadOnly() && !ReadYourWrites.isPinned())
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);    //Replica reads neither read nor fill the cache
+
+        return transactionData;
+    }
+}
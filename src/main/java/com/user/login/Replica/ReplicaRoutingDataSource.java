@@ -0,0 +1,24 @@
+package com.user.login.Replica;                                                     //Package declaration
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;        //Per-connection target choice
+import javax.sql.DataSource;                                                        //Primary and replica pools
+import java.util.Map;                                                               //Targets by key
+
+//Target of read-only connections: the replica, unless the current thread is pinned to the primary by ReadYourWrites
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource
+{
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica)
+    {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        return ReadYourWrites.isPinned() ? PRIMARY : REPLICA;
+    }
+}
@@ -0,0 +1,10 @@
+package com.user.login.Repository;                              //Package declaration
+import org.springframework.data.jpa.repository.JpaRepository;   //Importing JpaRepository to leverage CRUD methods
+import org.springframework.stereotype.Repository;               //Importing Repository annotation to indicate it's a repository
+import com.user.login.Entity.ResetToken;                        //Importing the ResetToken entity class
+
+//Inserts and lookups by hash only; deletes go through ResetTokenStore's SQL
+@Repository //Marks this interface as a repository bean for Spring's component scanning
+public interface ResetTokenRepository extends JpaRepository<ResetToken, String> 
+{
+}
@@ -0,0 +1,10 @@
+package com.user.login.Repository;  //Package declaration
+import java.util.Collection;        //Importing Collection for id batches
+import com.user.login.Enum.Role;    //Importing the Role enum
+
+//Repository fragment for set-based admin writes: one statement per call, however many ids it covers
+public interface UserBatchRepository 
+{
+    int deleteAllByUserIdIn(Collection<Long> userIds);              //DELETE ... WHERE userId IN (...); returns rows deleted
+    int updateRoleByUserIdIn(Collection<Long> userIds, Role role);  //UPDATE ... SET role, version + 1 WHERE userId IN (...); returns rows updated
+}
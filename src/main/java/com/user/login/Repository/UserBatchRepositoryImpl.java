@@ -0,0 +1,43 @@
+package com.user.login.Repository;                                  //Package declaration
+import java.util.Collection;                                        //Importing Collection for id batches
+import jakarta.persistence.EntityManager;                           //Current persistence context
+import jakarta.persistence.PersistenceContext;                      //Injects the transaction-bound EntityManager
+import jakarta.persistence.criteria.CriteriaBuilder;                //Criteria statements
+import jakarta.persistence.criteria.CriteriaDelete;                 //Bulk delete
+import jakarta.persistence.criteria.CriteriaUpdate;                 //Bulk update
+import jakarta.persistence.criteria.Root;                           //users table
+import org.springframework.transaction.annotation.Transactional;    //Fragments do not inherit SimpleJpaRepository's transactions
+import com.user.login.Entity.User;                                  //Importing the User entity class
+import com.user.login.Enum.Role;                                    //Importing the Role enum
+
+//Criteria bulk statements rather than @Query strings (Spring Data's JPQL parser needs a newer ANTLR runtime
+//than the pinned Hibernate 6.0). Hibernate runs them with a bulk cleanup action: the "user" entity and
+//natural-id regions are evicted and cached queries over users are invalidated on commit.
+public class UserBatchRepositoryImpl implements UserBatchRepository 
+{
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int deleteAllByUserIdIn(Collection<Long> userIds) 
+    {
+        CriteriaDelete<User> delete = entityManager.getCriteriaBuilder().createCriteriaDelete(User.class);
+        Root<User> user = delete.from(User.class);
+        delete.where(user.get("userId").in(userIds));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int updateRoleByUserIdIn(Collection<Long> userIds, Role role) 
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = builder.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+        update.set(user.<Role>get("role"), role)
+        .set(user.<Long>get("version"), builder.sum(user.<Long>get("version"), 1L))  //Keeps ETags and optimistic locking honest
+        .where(user.get("userId").in(userIds));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,15 @@
+package com.user.login.Repository;                              //Package declaration
+import java.util.List;                                          //Importing List for change batches
+import java.util.Optional;                                      //Importing Optional for the newest entry
+import org.springframework.data.domain.Limit;                   //Batch size for a sync page
+import org.springframework.data.jpa.repository.JpaRepository;   //Importing JpaRepository to leverage CRUD methods
+import org.springframework.stereotype.Repository;               //Importing Repository annotation to indicate it's a repository
+import com.user.login.Entity.UserChange;                        //Importing the UserChange entity class
+
+@Repository //Marks this interface as a repository bean for Spring's component scanning
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> 
+{
+    List<UserChange> findByChangeIdGreaterThanOrderByChangeIdAsc(Long changeId, Limit limit);  //Changes after a cursor, oldest first
+    Optional<UserChange> findFirstByOrderByChangeIdDesc();                                      //Newest entry, the current end of the log
+    long countByChangeIdGreaterThan(Long changeId);                                             //Entries after a cursor, for resync notices
+}
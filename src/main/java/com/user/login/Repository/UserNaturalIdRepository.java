@@ -0,0 +1,10 @@
+package com.user.login.Repository;  //Package declaration
+import java.util.Optional;          //Importing Optional to safely handle nullable values
+import com.user.login.Entity.User;  //Importing the User entity class
+
+//Repository fragment for lookups by the User natural id. Spring Data prefers a fragment implementation
+//over deriving a query, so callers of UserRepository.findByUsername get the natural-id path unchanged.
+public interface UserNaturalIdRepository 
+{
+    Optional<User> findByUsername(String username); //Finds a User by their username in any case (natural id)
+}
@@ -0,0 +1,26 @@
+package com.user.login.Repository;                                  //Package declaration
+import java.util.Optional;                                          //Importing Optional to safely handle nullable values
+import jakarta.persistence.EntityManager;                           //Current persistence context
+import jakarta.persistence.PersistenceContext;                      //Injects the transaction-bound EntityManager
+import org.hibernate.Session;                                       //Natural-id load access
+import org.springframework.transaction.annotation.Transactional;    //Fragments do not inherit SimpleJpaRepository's transactions
+import com.user.login.Entity.User;                                  //Importing the User entity class
+import com.user.login.Tenant.TenantContext;                         //Tenant half of the natural key
+
+//Resolves (tenant, username key) -> id through the natural-id cache, then the row through the "user" entity region,
+//so a warm lookup issues no SQL. A miss falls back to a single index seek by tenant and username key.
+//Any spelling of the username resolves to the same entry.
+//The tenant is passed explicitly: Hibernate's natural-id loader does not apply the @TenantId restriction itself.
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository 
+{
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) 
+    {
+        return entityManager.unwrap(Session.class).byNaturalId(User.class).using("tenantId", TenantContext.current())
+        .using("usernameKey", User.identityKey(username)).loadOptional();
+    }
+}
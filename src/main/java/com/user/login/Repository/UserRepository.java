@@ -1,14 +1,77 @@
 package com.user.login.Repository;                              //Package declaration
+import java.util.Collection;                                    //Importing Collection for id batches
+import java.util.List;                                          //Importing List for multi-row projections
 import java.util.Optional;                                      //Importing Optional to safely handle nullable values
+import org.hibernate.jpa.HibernateHints;                        //Query cache hint name
 import org.springframework.data.jpa.repository.JpaRepository;   //Importing JpaRepository to leverage CRUD methods
+import org.springframework.data.jpa.repository.QueryHints;      //Hints applied to derived queries
+import jakarta.persistence.QueryHint;                           //Single query hint
 import org.springframework.stereotype.Repository;               //Importing Repository annotation to indicate it's a repository
 import com.user.login.Entity.User;                              //Importing the User entity class
+import com.user.login.Projection.UserProfile;                   //Importing the read-only profile projection
+import com.user.login.Projection.UserVersion;                   //Importing the version-only projection
 
 @Repository //Marks this interface as a repository bean for Spring's component scanning
-public interface UserRepository extends JpaRepository<User, Long> 
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository, UserBatchRepository 
 { 
-    Optional<User> findByUsername(String username); //Finds a User by their username
-    Optional<User> findByEmail(String email);       //Finds a User by their email
-    boolean existsByUsername(String username);      //Checks if a User exists with the given username
-    boolean existsByEmail(String email);            //Checks if a User exists with the given email
+    //Lookups by username or email go through the normalized key columns (User.identityKey), which carry the
+    //unique (tenantId, key) indexes: matching is case-insensitive and stays an index seek, where lower(username)
+    //in the query would scan the table.
+
+    //Email is not a natural id (Hibernate allows one per entity, and that is the username key). The cached
+    //query keeps only the matching id, and the row itself comes from the "user" entity region.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<User> findByEmailKey(String emailKey);         //Finds a User by their email key
+    boolean existsByUsernameKey(String usernameKey);        //Checks if a User exists with the given username key
+    boolean existsByEmailKey(String emailKey);              //Checks if a User exists with the given email key
+
+    default Optional<User> findByEmail(String email)        //Finds a User by their email, in any case
+    {
+        return findByEmailKey(User.identityKey(email));
+    }
+
+    default boolean existsByUsername(String username)       //Checks if a User exists with the given username, in any case
+    {
+        return existsByUsernameKey(User.identityKey(username));
+    }
+
+    default boolean existsByEmail(String email)             //Checks if a User exists with the given email, in any case
+    {
+        return existsByEmailKey(User.identityKey(email));
+    }
+
+    //Read-only profile projections: derived queries select only the UserProfile columns. They are derived
+    //rather than @Query strings because Spring Data's JPQL parser needs a newer ANTLR runtime than the one
+    //the pinned Hibernate 6.0 parser was generated with.
+    //Results are kept in the query cache and dropped whenever the users table is written through Hibernate.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<UserProfile> findProfileByUserId(Long userId);         //Read-only profile by ID
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<UserProfile> findProfileByUsernameKey(String usernameKey); //Read-only profile by username key
+
+    default Optional<UserProfile> findProfileByUsername(String username)   //Read-only profile by username, in any case
+    {
+        return findProfileByUsernameKey(User.identityKey(username));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<UserProfile> findProfilesByOrderByUserIdAsc();             //Read-only profiles of every user
+
+    List<UserProfile> findProfilesByUserIdInOrderByUserIdAsc(Collection<Long> userIds); //Read-only profiles of the given users (delta sync)
+
+    //Version-only projections behind the ETags of the GET endpoints, cached like the profiles
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<UserVersion> findVersionByUserId(Long userId);         //Row version by ID
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<UserVersion> findVersionByUsernameKey(String usernameKey); //Row version by username key
+
+    default Optional<UserVersion> findVersionByUsername(String username)   //Row version by username, in any case
+    {
+        return findVersionByUsernameKey(User.identityKey(username));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<UserVersion> findVersionsByOrderByUserIdAsc();             //Row versions of every user
 }
\ No newline at end of file
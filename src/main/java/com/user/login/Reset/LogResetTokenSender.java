@@ -0,0 +1,51 @@
+package com.user.login.Reset;                                                   //Package declaration
+import org.slf4j.Logger;                                                        //Logging
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import java.io.IOException;                                                     //Outbox write failures
+import java.io.UncheckedIOException;                                            //Rethrown to the caller
+import java.nio.charset.StandardCharsets;                                       //Outbox encoding
+import java.nio.file.Files;                                                     //Outbox append
+import java.nio.file.Path;                                                      //Outbox file
+import java.nio.file.StandardOpenOption;                                        //Create or append
+import java.time.Instant;                                                       //Token expiry
+import java.util.concurrent.locks.ReentrantLock;                                //Serialises outbox appends
+
+//Local stand-in for mail delivery, registered by ResetSenderConfig outside prod. The token itself only goes to
+//app.reset.outbox-file when that is set; the log gets the recipient and expiry, never the token.
+public class LogResetTokenSender implements ResetTokenSender
+{
+    private static final Logger log = LoggerFactory.getLogger(LogResetTokenSender.class);
+
+    private final Path outbox;                                  //null: no outbox, the token is dropped
+    private final ReentrantLock lock = new ReentrantLock();     //One line per append (not a monitor, so virtual threads do not pin)
+
+    public LogResetTokenSender(Path outbox)
+    {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void send(String email, String username, String token, Instant expiresAt)
+    {
+        log.info("Reset token (local sender) to={} expires={}", email, expiresAt);
+        if(outbox == null)
+            return;
+
+        String line = "to=" + email + " username=" + username + " token=" + token + " expires=" + expiresAt;
+        lock.lock();
+        try
+        {
+            Files.writeString(outbox, line + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        catch(IOException e)
+        {
+            throw new UncheckedIOException("Could not write reset token outbox " + outbox, e);
+        }
+
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
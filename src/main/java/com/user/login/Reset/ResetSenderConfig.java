@@ -0,0 +1,70 @@
+package com.user.login.Reset;                                                       //Package declaration
+import org.springframework.beans.factory.ObjectProvider;                            //Looks up the sender without requiring one
+import org.springframework.beans.factory.annotation.Value;                          //Outbox location
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;   //Steps aside for a real sender
+import org.springframework.context.SmartLifecycle;                                  //Runs once every singleton exists
+import org.springframework.context.annotation.Bean;                                 //Bean producer
+import org.springframework.context.annotation.Configuration;                        //Configuration class
+import org.springframework.context.annotation.Profile;                              //prod / non-prod split
+import java.nio.file.Path;                                                          //Outbox file
+
+//Chooses the ResetTokenSender. Outside prod, LogResetTokenSender stands in unless another sender is registered.
+//Under prod there is no stand-in: startup stops before the web server opens when nothing delivers the tokens.
+@Configuration
+public class ResetSenderConfig
+{
+    @Bean
+    @Profile("!prod")
+    @ConditionalOnMissingBean(ResetTokenSender.class)
+    public LogResetTokenSender logResetTokenSender(@Value("${app.reset.outbox-file:}") String outbox)
+    {
+        return new LogResetTokenSender(outbox.isBlank() ? null : Path.of(outbox));
+    }
+
+    @Bean
+    @Profile("prod")
+    public SmartLifecycle resetTokenSenderCheck(ObjectProvider<ResetTokenSender> senders)
+    {
+        return new SenderCheck(senders);
+    }
+
+    //Checked on start rather than at bean creation, so AOT processing and the CDS training run
+    //(spring.context.exit=onRefresh, which halts before lifecycle start) still work without a sender
+    static final class SenderCheck implements SmartLifecycle
+    {
+        private final ObjectProvider<ResetTokenSender> senders;     //Whatever the deployment registered
+        private volatile boolean running;                           //Lifecycle state
+
+        SenderCheck(ObjectProvider<ResetTokenSender> senders)
+        {
+            this.senders = senders;
+        }
+
+        @Override
+        public void start()
+        {
+            if(senders.getIfAvailable() == null)
+                throw new IllegalStateException("No ResetTokenSender bean under the prod profile: register a mail or SMS sender");
+
+            running = true;
+        }
+
+        @Override
+        public void stop()
+        {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning()
+        {
+            return running;
+        }
+
+        @Override
+        public int getPhase()
+        {
+            return Integer.MIN_VALUE;   //Before the web server starts taking requests
+        }
+    }
+}
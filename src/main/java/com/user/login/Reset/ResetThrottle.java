@@ -0,0 +1,33 @@
+package com.user.login.Reset;                                   //Package declaration
+import com.github.benmanes.caffeine.cache.Cache;                //Bounded, expiring counters
+import com.github.benmanes.caffeine.cache.Caffeine;             //Cache builder
+import com.user.login.Entity.User;                              //Emails are counted by their identity key
+import com.user.login.Tenant.TenantContext;                     //Counters are per tenant
+import org.springframework.beans.factory.annotation.Value;      //Limits
+import org.springframework.stereotype.Component;                //Marks the class as a Spring bean
+import java.time.Duration;                                      //Window length
+import java.util.concurrent.atomic.AtomicInteger;               //Requests in the current window
+
+//Per-email limit on forgot-login requests: at most max-requests per email in a fixed window starting at the first
+//request. Checked before any database access, and applied to unknown emails too, so the answer never reveals
+//whether an address is registered. Counters are kept on this node, like ReadYourWrites marks.
+@Component  //Marks the class as a Spring bean, shared by every request
+public class ResetThrottle
+{
+    private final Cache<String, AtomicInteger> requests;    //Requests per tenant and email in the current window
+    private final int maxRequests;                          //Allowance per window
+
+    public ResetThrottle(@Value("${app.reset.max-requests:3}") int maxRequests,
+                         @Value("${app.reset.throttle-window:15m}") Duration window)
+    {
+        this.maxRequests = maxRequests;
+        this.requests = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();    //Window starts at the first request
+    }
+
+    //Count a request for this email; false once the window's allowance is used up
+    public boolean tryAcquire(String email)
+    {
+        String key = TenantContext.current() + ":" + User.identityKey(email);                 //Same key for every spelling of the email
+        return requests.get(key, k -> new AtomicInteger()).incrementAndGet() <= maxRequests;   //Counted even when refused
+    }
+}
@@ -0,0 +1,9 @@
+package com.user.login.Reset;   //Package declaration
+import java.time.Instant;       //Token expiry
+
+//Delivers a forgot-login token to the owner of the email address. A mail or SMS sender is registered as a bean;
+//without one, ResetSenderConfig falls back to LogResetTokenSender outside prod and stops startup under prod.
+public interface ResetTokenSender
+{
+    void send(String email, String username, String token, Instant expiresAt);
+}
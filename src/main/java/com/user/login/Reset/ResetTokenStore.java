@@ -0,0 +1,96 @@
+package com.user.login.Reset;                                           //Package declaration
+import com.user.login.Entity.ResetToken;                                //Stored token
+import com.user.login.Housekeeping.PurgeJob;                            //Expired tokens are purged by the Housekeeper
+import com.user.login.Replica.ReadYourWrites;                           //Tokens are read from the primary
+import com.user.login.Repository.ResetTokenRepository;                  //Insert and lookup
+import org.springframework.beans.factory.annotation.Value;              //Token lifetime
+import org.springframework.jdbc.core.JdbcTemplate;                      //Conditional and bulk deletes
+import org.springframework.stereotype.Component;                        //Marks the class as a Spring bean
+import org.springframework.transaction.annotation.Transactional;        //Issue and redeem boundaries
+import java.sql.Timestamp;                                              //Purge cutoff
+import java.time.Duration;                                              //Token lifetime
+import java.time.Instant;                                               //Expiry
+import java.util.Collection;                                            //Users whose tokens are discarded
+import java.util.Collections;                                           //IN (...) placeholders
+import java.util.Optional;                                              //Redeemed user, if any
+
+//Hashed, expiring, single-use forgot-login tokens. A user has at most one outstanding token (issuing replaces it),
+//so the table stays as small as the number of resets in flight; the Housekeeper purges the ones nobody redeemed.
+//Deletes are plain SQL: redeeming is a conditional delete, so of two concurrent redemptions exactly one
+//removes the row, and the purge covers every tenant at once.
+@Component  //Marks the class as a Spring bean; also registered with the Housekeeper as a PurgeJob
+public class ResetTokenStore implements PurgeJob
+{
+    //Raw token for the sender and when it stops working
+    public record Issued(String token, Instant expiresAt)
+    {
+    }
+
+    private final ResetTokenRepository resetTokenRepository;    //Insert and lookup by hash
+    private final JdbcTemplate jdbcTemplate;                    //Conditional and bulk deletes
+    private final Duration ttl;                                 //Lifetime of a token
+
+    public ResetTokenStore(ResetTokenRepository resetTokenRepository, JdbcTemplate jdbcTemplate, @Value("${app.reset.token-ttl:15m}") Duration ttl)
+    {
+        this.resetTokenRepository = resetTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    //New token for the user, replacing any outstanding one
+    @Transactional
+    public Issued issue(Long userId)
+    {
+        jdbcTemplate.update("DELETE FROM reset_tokens WHERE userId = ?", userId);  //At most one outstanding token per user
+        String token = ResetTokens.generate();                                      //Sent to the user, never stored
+        Instant expiresAt = Instant.now().plus(ttl);                                //Expiry of the new token
+        resetTokenRepository.save(ResetToken.builder().tokenHash(ResetTokens.hash(token)).userId(userId).expiresAt(expiresAt).build());
+        return new Issued(token, expiresAt);                                        //Raw token for the sender
+    }
+
+    //Cheap check before any password hashing: the token exists in this tenant and has not expired.
+    //Read from the primary, because the token was written moments ago.
+    public boolean isRedeemable(String token)
+    {
+        String hash = ResetTokens.hash(token);                                      //Lookup key
+        return ReadYourWrites.onPrimary(() -> resetTokenRepository.findById(hash)).filter(stored -> !stored.isExpired(Instant.now())).isPresent();
+    }
+
+    //Use up the token; the user it was issued to, or empty when it is unknown, expired or was just redeemed by someone else.
+    //Runs in the caller's transaction, so a failed credential update leaves the token redeemable.
+    @Transactional
+    public Optional<Long> redeem(String token)
+    {
+        String hash = ResetTokens.hash(token);                                      //Lookup key
+
+        //Only the redemption whose delete removes the row gets the user
+        return resetTokenRepository.findById(hash).filter(stored -> !stored.isExpired(Instant.now()))
+        .filter(stored -> jdbcTemplate.update("DELETE FROM reset_tokens WHERE tokenHash = ?", hash) == 1).map(ResetToken::getUserId);
+    }
+
+    //Drop the outstanding tokens of deleted users in the deleting transaction, so none is redeemed for a missing account
+    @Transactional
+    public int discard(Collection<Long> userIds)
+    {
+        if(userIds.isEmpty())
+            return 0;                                                               //Nothing to delete, no statement
+
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));   //One placeholder per user
+        return jdbcTemplate.update("DELETE FROM reset_tokens WHERE userId IN (" + placeholders + ")", userIds.toArray());
+    }
+
+    @Override
+    public String name()
+    {
+        return "reset-tokens";    //Metric tag and log label
+    }
+
+    //Drop up to batchSize expired tokens of every tenant, oldest first through idx_reset_tokens_expiry
+    @Override
+    @Transactional
+    public int purge(Instant cutoff, int batchSize)
+    {
+        return jdbcTemplate.update("DELETE FROM reset_tokens WHERE tokenHash IN "
+        + "(SELECT tokenHash FROM reset_tokens WHERE expiresAt <= ? ORDER BY expiresAt LIMIT ?)", Timestamp.from(cutoff), batchSize);
+    }
+}
@@ -0,0 +1,42 @@
+package com.user.login.Reset;                           //Package declaration
+import java.nio.charset.StandardCharsets;               //Token bytes
+import java.security.MessageDigest;                     //SHA-256
+import java.security.NoSuchAlgorithmException;          //SHA-256 missing
+import java.security.SecureRandom;                      //Token entropy
+import java.util.Base64;                                //URL-safe text form
+import java.util.HexFormat;                             //Stored hash form
+
+//Forgot-login token format, shared by the servlet and reactive variants: 256 random bits, base64url, stored as SHA-256 hex.
+//A fast hash is enough here (unlike passwords): the input is random, so there is nothing to brute-force.
+public final class ResetTokens
+{
+    private static final SecureRandom RANDOM = new SecureRandom();                          //Thread-safe, shared
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();  //Safe in a link, no padding
+
+    private ResetTokens()   //Static helpers only
+    {
+    }
+
+    //New token to send to the user
+    public static String generate()
+    {
+        byte[] bytes = new byte[32];            //256 bits
+        RANDOM.nextBytes(bytes);                //Fill with random bytes
+        return ENCODER.encodeToString(bytes);   //43 characters
+    }
+
+    //What is stored and looked up for a token
+    public static String hash(String token)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.strip().getBytes(StandardCharsets.UTF_8));   //Pasted tokens may carry whitespace
+            return HexFormat.of().formatHex(digest);    //Primary key of reset_tokens
+        }
+
+        catch(NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);    //Every JRE must provide it
+        }
+    }
+}
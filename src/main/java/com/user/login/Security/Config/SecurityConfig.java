@@ -1,8 +1,10 @@
 package com.user.login.Security.Config;                                                                     //Declares the package for security configuration
 import java.util.Arrays;                                                                                    //Utility class used for array operations
+import jakarta.servlet.DispatcherType;                                                                      //Request dispatch kinds (async SSE re-dispatch)
 import org.springframework.context.annotation.Bean;                                                         //Enables creation of Spring beans
 import org.springframework.context.annotation.Configuration;                                                //Marks the class as a Spring configuration class
 import org.springframework.http.HttpMethod;                                                                 //Enum for HTTP methods
+import org.springframework.http.HttpStatus;                                                                 //HTTP status codes
 import org.springframework.security.authentication.AuthenticationManager;                                   //Main interface for authentication processing
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder; //Helps build a custom AuthenticationManager
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;                            //Used to configure web security rules
@@ -12,24 +14,34 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;                                //Factory to create password encoders
 import org.springframework.security.crypto.password.PasswordEncoder;                                        //Interface for password encoding
 import org.springframework.security.web.SecurityFilterChain;                                                //Defines the security filter chain
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;                                //Plain 401 for missing or invalid tokens
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;                //Filter for username/password authentication
 import org.springframework.web.cors.CorsConfiguration;                                                      //Represents CORS configuration
 import org.springframework.web.cors.CorsConfigurationSource;                                                //Source for CORS configuration
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;                                        //URL-based CORS config source
+import com.user.login.Enum.Role;                                                                            //Role enum used in URL rules
 import com.user.login.Repository.UserRepository;                                                            //JPA repository interface for user data
 import com.user.login.Security.JWT.JwtAuthenticationFilter;                                                 //Custom JWT authentication filter
+import com.user.login.Replica.ReadYourWritesFilter;                                                         //Pins recent writers to the primary
+import com.user.login.Tenant.TenantFilter;                                                                  //Sets the tenant of each request
+import static com.user.login.Security.Config.TokenAuthorizationManagers.*;                                  //Role-bitmask and self-or-admin rules
 
 @Configuration  //Indicates this class provides Spring Security configuration
 public class SecurityConfig 
 {
     private final UserRepository userRepository;                    //Dependency to access user data
     private final JwtAuthenticationFilter jwtAuthenticationFilter;  //Custom filter for handling JWTs
+    private final TenantFilter tenantFilter;                        //Tenant from the token or X-Tenant-ID
+    private final ReadYourWritesFilter readYourWritesFilter;        //Primary reads for callers who just wrote
 
     //Constructor injection for dependencies
-    public SecurityConfig(UserRepository userRepository, JwtAuthenticationFilter jwtAuthenticationFilter) 
+    public SecurityConfig(UserRepository userRepository, JwtAuthenticationFilter jwtAuthenticationFilter, TenantFilter tenantFilter,
+                          ReadYourWritesFilter readYourWritesFilter) 
     {
         this.userRepository = userRepository;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.tenantFilter = tenantFilter;
+        this.readYourWritesFilter = readYourWritesFilter;
     }
 
     @Bean   //Declares PasswordEncoder bean
@@ -61,16 +73,32 @@ public class SecurityConfig
             .cors()                                                                                             //Enables CORS configuration
             .and()
             .csrf().disable()                                                                                   //Disables CSRF (suitable for APIs)
-            .authorizeHttpRequests()                                                                            //Begin URL authorization rules
-                .requestMatchers("/h2-console/**").permitAll()                                      //Allow H2 console access
+            .authorizeHttpRequests()                                                                            //Begin URL authorization rules (first match wins)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()                                   //Async re-dispatch of an already authorized request (SSE)
+                .requestMatchers("/h2-console/**", "/error").permitAll()                            //Allow H2 console access and error rendering
+                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()   //Allow API docs
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()             //Liveness/readiness probes
+                .requestMatchers("/actuator/**").access(hasAnyRole(Role.ADMIN))                     //Metrics are admin only
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()                             //Allow all OPTIONS preflight requests
-                .requestMatchers("/auth/protected", "/users/me")                                    //Secure these endpoints
-                    .hasAnyRole("CUSTOMER", "ADMIN", "WAREHOUSE_SUPERVISOR", "SALES_CLERK")             //Require any of these roles
-                .anyRequest().permitAll()                                                                       //Allow all other requests as open access
+                .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh", "/auth/forgotLogin", "/auth/forgotLogin/confirm", "/users").permitAll() //Sign-in, refresh, reset and sign-up stay open
+                .requestMatchers("/auth/protected", "/users/me").access(hasAnyRole(Role.values()))  //Any signed-in role
+                .requestMatchers("/auth/sessions", "/auth/sessions/*").access(hasAnyRole(Role.values()))  //Own sessions, any signed-in role
+                .requestMatchers(HttpMethod.GET, "/users").access(hasAnyRole(Role.ADMIN))           //Listing all users is admin only
+                .requestMatchers(HttpMethod.GET, "/users/changes").access(hasAnyRole(Role.ADMIN))   //Delta sync of the list is admin only
+                .requestMatchers(HttpMethod.GET, "/users/events").access(hasAnyRole(Role.ADMIN))    //Change event stream is admin only
+                .requestMatchers(HttpMethod.DELETE, "/users/{userId}").access(hasAnyRole(Role.ADMIN))   //Deleting users is admin only
+                .requestMatchers(HttpMethod.POST, "/users/batch/**").access(hasAnyRole(Role.ADMIN))     //Batch delete and role changes are admin only
+                .requestMatchers(HttpMethod.GET, "/users/{userId}").access(selfOrAdmin("userId"))       //Own profile or admin
+                .requestMatchers(HttpMethod.PATCH, "/users/{userId}").access(selfOrAdmin("userId"))     //Own profile or admin
+                .anyRequest().denyAll()                                                                         //Everything else is closed
+            .and()
+            .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))   //401 when no valid token, 403 when the rule denies
             .and()
             .headers().frameOptions().disable()                                                                 //Disable frameOptions (required for H2 console)
             .and()
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);  //Insert JWT filter before default auth filter
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)   //Insert JWT filter before default auth filter
+            .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class)                           //Tenant is known once the token has been read
+            .addFilterAfter(readYourWritesFilter, TenantFilter.class);                             //Read-your-writes marks are per tenant
 
         return http.build();                                                                                    //Return built SecurityFilterChain
     }
@@ -82,6 +110,7 @@ public class SecurityConfig
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));                            //Allow this origin
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")); //Allow these HTTP methods
         configuration.setAllowedHeaders(Arrays.asList("*"));                                                //Allow all headers
+        configuration.setExposedHeaders(Arrays.asList("ETag", "X-Change-Cursor"));                          //Let the frontend read ETags and the delta-sync cursor
         configuration.setAllowCredentials(true);                                                //Allow sending credentials (e.g. cookies)
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();                         //URL-mapped CORS source
         source.registerCorsConfiguration("/**", configuration);                                         //Apply CORS config to all paths
@@ -0,0 +1,45 @@
+package com.user.login.Security.Config;                                                     //Package declaration
+import com.user.login.Enum.Role;                                                            //Role enum
+import com.user.login.Security.JWT.JwtAuthenticationToken;                                  //JWT authentication with precomputed role bits
+import org.springframework.security.authorization.AuthorizationDecision;                    //Grant / deny result
+import org.springframework.security.authorization.AuthorizationManager;                     //Pluggable authorization rule
+import org.springframework.security.core.Authentication;                                    //Current authentication
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;       //Request plus matched path variables
+
+//URL authorization rules evaluated against the role bits and userId carried by JwtAuthenticationToken
+public final class TokenAuthorizationManagers 
+{
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);   //Shared, immutable decisions
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private TokenAuthorizationManagers() {}
+
+    //Grant if the caller holds any of the given roles; the mask is computed once when the chain is built
+    public static AuthorizationManager<RequestAuthorizationContext> hasAnyRole(Role... roles) 
+    {
+        int mask = Role.mask(roles);
+        return (authentication, context) -> token(authentication.get()) instanceof JwtAuthenticationToken token && token.hasAnyRole(mask) ? GRANTED : DENIED;
+    }
+
+    //Grant admins, or callers whose token userId equals the given path variable (e.g. /users/{userId})
+    public static AuthorizationManager<RequestAuthorizationContext> selfOrAdmin(String pathVariable) 
+    {
+        return (authentication, context) -> 
+        {
+            if(!(token(authentication.get()) instanceof JwtAuthenticationToken token))
+                return DENIED;
+
+            if(token.hasRole(Role.ADMIN))
+                return GRANTED;
+
+            String requested = context.getVariables().get(pathVariable);
+            return token.getUserId() != null && token.getUserId().toString().equals(requested) ? GRANTED : DENIED;
+        };
+    }
+
+    //Only authenticated JWT callers take part in these rules
+    private static Authentication token(Authentication authentication) 
+    {
+        return authentication != null && authentication.isAuthenticated() ? authentication : null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.user.login.Security.JWT;                //Package declaration
+import javax.crypto.Mac;                            //HMAC-SHA256
+import java.nio.ByteBuffer;                         //Fixed-width field encoding
+import java.nio.charset.StandardCharsets;           //Username bytes
+import java.security.GeneralSecurityException;      //Mac setup failures
+import java.security.Key;                           //Shared signing key
+import java.security.MessageDigest;                 //Constant-time MAC comparison
+import java.util.Base64;                            //URL-safe text form
+
+//Compact signed token: fixed binary fields + HMAC-SHA256, base64url encoded without padding.
+//Layout (big-endian): version(1) | userId(8) | roleMask(2) | iat seconds(4) | exp seconds(4) | usernameLength(1) | username(n)
+//                     | tenantLength(1) | tenant(m) | sessionId(8) | hmac(32)
+//A userId or sessionId of 0 means the token was issued without one. Tokens with any other version byte are rejected.
+//The text form never contains '.', which is how it is told apart from a JWT.
+public class CompactTokenCodec
+{
+    public static final byte VERSION = 1;           //Format version, first byte of every token
+    private static final int HEADER_BYTES = 20;     //Fixed fields including the username length
+    private static final int MAC_BYTES = 32;        //HMAC-SHA256 output
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();  //Header-safe, no padding
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();                   //Accepts unpadded input
+
+    private final Mac prototype;                    //Initialized once; cloned per call because Mac is not thread-safe
+
+    //Decoded token fields; userId and sessionId are null when the token was issued without them
+    public record Payload(Long userId, String username, int roleMask, String tenantId, Long sessionId, long issuedAtSeconds, long expiresAtSeconds)
+    {
+        public boolean isExpired(long nowSeconds)
+        {
+            return nowSeconds >= expiresAtSeconds;  //Expired at the exp second itself, like a JWT
+        }
+    }
+
+    public CompactTokenCodec(Key key)
+    {
+        try
+        {
+            prototype = Mac.getInstance("HmacSHA256");     //Same algorithm as the JWTs
+            prototype.init(key);                            //Same key as the JWTs
+        }
+
+        catch(GeneralSecurityException e)
+        {
+            throw new IllegalStateException("HmacSHA256 is not available", e);    //Every JRE must provide it
+        }
+    }
+
+    //Encode and sign the given fields
+    public String encode(Long userId, String username, int roleMask, String tenantId, Long sessionId, long issuedAtSeconds, long expiresAtSeconds)
+    {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);            //Length-prefixed field
+        byte[] tenant = tenantId.getBytes(StandardCharsets.UTF_8);          //Length-prefixed field
+        if(name.length > 255 || tenant.length > 255)
+            throw new IllegalArgumentException("Username or tenant too long for compact token");    //Lengths are one byte
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + name.length + 1 + tenant.length + 8 + MAC_BYTES);   //Exact size
+
+        //Fields in layout order; 0 stands for a missing userId or session
+        buffer.put(VERSION).putLong(userId == null ? 0 : userId).putShort((short) roleMask)
+        .putInt((int) issuedAtSeconds).putInt((int) expiresAtSeconds).put((byte) name.length).put(name)
+        .put((byte) tenant.length).put(tenant).putLong(sessionId == null ? 0 : sessionId);
+
+        Mac mac = mac();                                                    //Private copy for this call
+        mac.update(buffer.array(), 0, buffer.position());                   //Sign every field
+        buffer.put(mac.doFinal());                                          //MAC last
+        return ENCODER.encodeToString(buffer.array());                      //Text form
+    }
+
+    //Verify the signature and decode the fields; expiry is left to the caller
+    public Payload decode(String token)
+    {
+        byte[] bytes = DECODER.decode(token);                               //Rejects non-base64url input
+
+        //Too short to hold the fixed fields, or a version this codec does not know
+        if(bytes.length < HEADER_BYTES + MAC_BYTES || bytes[0] != VERSION)
+            throw new IllegalArgumentException("Not a compact token");
+
+        int signedLength = bytes.length - MAC_BYTES;                        //Everything before the MAC
+        Mac mac = mac();                                                    //Private copy for this call
+        mac.update(bytes, 0, signedLength);
+        byte[] expected = mac.doFinal();                                    //MAC of what was received
+        byte[] actual = new byte[MAC_BYTES];                                //MAC that came with it
+        System.arraycopy(bytes, signedLength, actual, 0, MAC_BYTES);
+
+        if(!MessageDigest.isEqual(expected, actual))
+            throw new IllegalArgumentException("Invalid compact token signature");  //Constant-time comparison above
+
+        //Fields are only read once the signature holds
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, signedLength - 1);    //After the version byte
+        long userId = buffer.getLong();                                     //0 when issued without one
+        int roleMask = Short.toUnsignedInt(buffer.getShort());              //Role bits
+        long issuedAt = Integer.toUnsignedLong(buffer.getInt());            //Unsigned: valid until 2106
+        long expiresAt = Integer.toUnsignedLong(buffer.getInt());
+        int nameLength = Byte.toUnsignedInt(buffer.get());                  //0-255
+
+        if(nameLength > buffer.remaining())
+            throw new IllegalArgumentException("Malformed compact token");  //Length points past the end
+
+        String username = new String(bytes, buffer.position(), nameLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + nameLength);                    //Skip past the username
+
+        int tenantLength = buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;   //-1: no length byte
+        if(tenantLength < 0 || tenantLength + 8 != buffer.remaining())
+            throw new IllegalArgumentException("Malformed compact token");  //Tenant and session must fill the token exactly
+
+        String tenantId = new String(bytes, buffer.position(), tenantLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + tenantLength);                  //Skip past the tenant
+        long sessionId = buffer.getLong();                                  //0 when issued without one
+
+        //0 stands for a missing userId or session
+        return new Payload(userId == 0 ? null : userId, username, roleMask, tenantId, sessionId == 0 ? null : sessionId, issuedAt, expiresAt);
+    }
+
+    //Compact tokens are plain base64url; JWTs always contain '.' separators
+    public static boolean isCompact(String token)
+    {
+        return token.indexOf('.') < 0;      //No separator: not a JWT
+    }
+
+    //Copy of the initialized prototype, cheaper than Mac.getInstance and init per call
+    private Mac mac()
+    {
+        try
+        {
+            return (Mac) prototype.clone();     //Key schedule is already done
+        }
+
+        catch(CloneNotSupportedException e)
+        {
+            throw new IllegalStateException("HmacSHA256 provider does not support cloning", e);
+        }
+    }
+}
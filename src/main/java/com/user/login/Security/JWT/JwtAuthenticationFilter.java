@@ -1,25 +1,26 @@
 package com.user.login.Security.JWT;                                                    //Security package
+import com.user.login.Session.SessionRegistry;                                          //Revoked sessions
 import jakarta.servlet.FilterChain;                                                     //FilterChain for request filtering
 import jakarta.servlet.ServletException;                                                //ServletException for handling servlet errors
 import jakarta.servlet.http.HttpServletRequest;                                         //HttpServletRequest to access request data
 import jakarta.servlet.http.HttpServletResponse;                                        //HttpServletResponse for sending responses
 import org.springframework.security.core.context.SecurityContextHolder;                 //Security context for authentication management
-import org.springframework.security.core.authority.SimpleGrantedAuthority;              //Authority for role-based access control
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;  //Authentication details
 import org.springframework.stereotype.Component;                                        //Marks the class as a Spring component
 import org.springframework.web.filter.OncePerRequestFilter;                             //Ensures the filter runs once per request
 import java.io.IOException;                                                             //Handles IO exceptions
-import java.util.List;                                                                  //List for roles
 
 @Component  //Spring-managed bean
 public class JwtAuthenticationFilter extends OncePerRequestFilter 
 {
-    private final JwtUtils jwtUtils;    //Utility for JWT operations
+    private final JwtUtils jwtUtils;                //Utility for JWT operations
+    private final SessionRegistry sessionRegistry;  //In-memory session index
 
     //Constructor
-    public JwtAuthenticationFilter(JwtUtils jwtUtils) 
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, SessionRegistry sessionRegistry) 
     { 
         this.jwtUtils = jwtUtils;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @Override
@@ -29,16 +30,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         {
             String token = parseJwt(request); //Get JWT token from request
 
-            //Validate token
-            if (token != null && jwtUtils.isTokenValid(token)) 
-            { 
-                String username = jwtUtils.parseToken(token).getSubject();  //Get username from token
-                List<String> roles = jwtUtils.getRolesFromToken(token);     //Get roles from token
+            //Validate the token once (JWT or compact) and read username, userId and role bits from that single pass
+            JwtAuthenticationToken authentication = token != null ? jwtUtils.authenticate(token) : null;
 
-                //Map roles to authorities
-                List<SimpleGrantedAuthority> authorities = roles.stream() .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+            //A token of a signed-out session is treated like no token (one in-memory lookup, no query)
+            if(authentication != null && sessionRegistry.isRevoked(authentication.getSessionId()))
+                authentication = null;
 
-                JwtAuthenticationToken authentication = new JwtAuthenticationToken(username, authorities, token);   //Create authentication token
+            if (authentication != null) 
+            { 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));              //Set request details
                 SecurityContextHolder.getContext().setAuthentication(authentication);                               //Set authentication in context
             }
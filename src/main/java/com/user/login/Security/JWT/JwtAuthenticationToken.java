@@ -1,20 +1,43 @@
 package com.user.login.Security.JWT;                                            //Package declaration
+import com.user.login.Enum.Role;                                                //Role enum backing the bitmask
+import com.user.login.Tenant.TenantContext;                                     //Default tenant
 import org.springframework.security.authentication.AbstractAuthenticationToken; //Base class for auth tokens
-import org.springframework.security.core.authority.SimpleGrantedAuthority;      //Represents user roles
-import java.util.List;                                                          //List interface
+import org.springframework.security.core.GrantedAuthority;                      //Represents user roles
+import org.springframework.security.core.authority.AuthorityUtils;              //Empty authority list for the superclass
+import java.util.Collection;                                                    //Authority collection type
 
 // Custom JWT auth token class
 public class JwtAuthenticationToken extends AbstractAuthenticationToken 
 { 
     private final String principal;     //Stores username
+    private final Long userId;          //Stores userId from the 'uid' claim
     private final String credentials;   //Stores JWT token
+    private final int roleMask;         //Role bits straight from the 'rm' claim
+    private final String tenantId;      //Tenant from the 'tid' claim
+    private final Long sessionId;       //Session from the 'sid' claim; null for tokens issued without one
 
-    //Constructor to initialize username, roles, and token
-    public JwtAuthenticationToken(String principal, List<SimpleGrantedAuthority> authorities, String credentials) 
+    //Constructor for a user of the default tenant
+    public JwtAuthenticationToken(String principal, Long userId, int roleMask, String credentials) 
     {
-        super(authorities);                     //Calls superclass with roles
+        this(principal, userId, roleMask, TenantContext.DEFAULT_TENANT, credentials);
+    }
+
+    //Constructor for a token not tied to a session
+    public JwtAuthenticationToken(String principal, Long userId, int roleMask, String tenantId, String credentials) 
+    {
+        this(principal, userId, roleMask, tenantId, null, credentials);
+    }
+
+    //Constructor to initialize username, userId, role mask, tenant, session, and token
+    public JwtAuthenticationToken(String principal, Long userId, int roleMask, String tenantId, Long sessionId, String credentials) 
+    {
+        super(AuthorityUtils.NO_AUTHORITIES);   //Authorities are served from the shared Role cache instead of a per-request copy
         this.principal = principal;             //Sets username
+        this.userId = userId;                   //Sets userId
         this.credentials = credentials;         //Sets token
+        this.roleMask = roleMask;               //Sets role bits
+        this.tenantId = tenantId;               //Sets tenant
+        this.sessionId = sessionId;             //Sets session
         setAuthenticated(true); //Marks as authenticated
     }
 
@@ -30,8 +53,46 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken
         return principal;       //Returns username
     }
 
+    public Long getUserId() 
+    {
+        return userId;          //Returns userId
+    }
+
+    public String getTenantId() 
+    {
+        return tenantId;        //Returns tenant
+    }
+
+    public Long getSessionId() 
+    {
+        return sessionId;       //Returns session
+    }
+
     public String getToken() 
     {
         return credentials;     //Returns token
     }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() 
+    {
+        return Role.authorities(roleMask);  //Cached ROLE_-prefixed authorities for this mask
+    }
+
+    public int getRoleMask() 
+    {
+        return roleMask;        //Returns role bits
+    }
+
+    //True if the caller holds the given role
+    public boolean hasRole(Role role) 
+    {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    //True if the caller holds at least one of the roles in the given mask
+    public boolean hasAnyRole(int mask) 
+    {
+        return (roleMask & mask) != 0;
+    }
 }
\ No newline at end of file
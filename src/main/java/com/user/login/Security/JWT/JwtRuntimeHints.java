@@ -0,0 +1,34 @@
+package com.user.login.Security.JWT;                        //Package declaration
+import io.jsonwebtoken.SignatureAlgorithm;                  //generateKey parameter type
+import org.springframework.aot.hint.ExecutableMode;         //Invocation, not just introspection
+import org.springframework.aot.hint.MemberCategory;         //Reflective access levels
+import org.springframework.aot.hint.RuntimeHints;           //Native-image metadata being built
+import org.springframework.aot.hint.RuntimeHintsRegistrar;  //AOT contribution hook
+import org.springframework.aot.hint.TypeReference;          //Types referenced by name only
+import java.util.List;                                      //Type lists
+
+//Native-image reachability metadata for JJWT 0.11: the API jar creates its implementation classes
+//by name (Jwts.builder(), parserBuilder(), claims()) and Keys.secretKeyFor invokes MacProvider.generateKey
+//reflectively. The Jackson (de)serializers are found through META-INF/services, which native-image keeps.
+public class JwtRuntimeHints implements RuntimeHintsRegistrar
+{
+    static final List<String> INSTANTIATED_BY_NAME = List.of(
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultClaims",
+        "io.jsonwebtoken.impl.DefaultHeader",
+        "io.jsonwebtoken.impl.DefaultJwsHeader");
+
+    static final String MAC_PROVIDER = "io.jsonwebtoken.impl.crypto.MacProvider";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader)
+    {
+        for(String type : INSTANTIATED_BY_NAME)
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        hints.reflection().registerType(TypeReference.of(MAC_PROVIDER), type ->
+            type.withMethod("generateKey", List.of(TypeReference.of(SignatureAlgorithm.class)), ExecutableMode.INVOKE));
+    }
+}
@@ -1,30 +1,111 @@
 package com.user.login.Security.JWT;                //Package declaration
 import io.jsonwebtoken.Claims;                      //JWT claims (payload)
+import io.jsonwebtoken.ExpiredJwtException;         //Expired token signal
 import io.jsonwebtoken.Jwts;                        //JWT builder/parser
 import io.jsonwebtoken.SignatureAlgorithm;          //Signing algorithms
 import io.jsonwebtoken.security.Keys;               //Key generation
+import com.user.login.Tenant.TenantContext;         //Default tenant for tokens issued without one
+import org.springframework.beans.factory.annotation.Autowired;  //Constructor used by Spring
+import org.springframework.beans.factory.annotation.Value;      //Token format property
+import org.springframework.context.annotation.ImportRuntimeHints; //Native-image metadata for JJWT
 import org.springframework.stereotype.Component;    //Marks class as a Spring bean
 import java.security.Key;                           //Security key type
 import java.util.Date;                              //For timestamps
-import java.util.List;                              //For roles list
 
 @Component  //Registers this class as a Spring component
+@ImportRuntimeHints(JwtRuntimeHints.class)
 public class JwtUtils 
 {
     private final Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);  //Secret key for signing
     private final long expirationMillis = 1000 * 60 * 60;                       //Token valid for 1 hour
+    private final CompactTokenCodec compactCodec = new CompactTokenCodec(secretKey);   //Binary format signed with the same key
+    private final boolean issueCompact;                                         //Issue compact tokens instead of JWTs
 
-    //Generate JWT with username and roles
-    public String generateToken(String username, List<String> roles) 
+    //Standard JWTs
+    public JwtUtils() 
     {
-        return Jwts.builder().setSubject(username).claim("roles", roles).setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + expirationMillis)).signWith(secretKey).compact();
+        this("jwt");
     }
 
-    //Parse JWT and return claims
+    //jwt.format=compact issues compact binary tokens; both formats are always accepted
+    @Autowired
+    public JwtUtils(@Value("${jwt.format:jwt}") String format) 
+    {
+        this.issueCompact = "compact".equalsIgnoreCase(format);
+    }
+
+    //Generate token for a user of the default tenant
+    public String generateToken(Long userId, String username, int roleMask) 
+    {
+        return generateToken(userId, username, roleMask, TenantContext.DEFAULT_TENANT);
+    }
+
+    //Generate token with userId, username, roles and tenant, not tied to a session
+    public String generateToken(Long userId, String username, int roleMask, String tenantId) 
+    {
+        return generateToken(userId, username, roleMask, tenantId, null);
+    }
+
+    //Generate token with userId, username, roles, tenant and session; roles travel as a single Role bitmask ('rm') instead of a
+    //string array, the tenant as 'tid' and the session as 'sid'. The tenant in the token is the one every request made with it
+    //runs as; the token stops working once its session is revoked (SessionRegistry).
+    public String generateToken(Long userId, String username, int roleMask, String tenantId, Long sessionId) 
+    {
+        long now = System.currentTimeMillis();
+        if(issueCompact)
+            return compactCodec.encode(userId, username, roleMask, tenantId, sessionId, now / 1000, (now + expirationMillis) / 1000);
+
+        return Jwts.builder().setSubject(username).claim("uid", userId).claim("rm", roleMask).claim("tid", tenantId).claim("sid", sessionId)
+        .setIssuedAt(new Date(now)).setExpiration(new Date(now + expirationMillis)).signWith(secretKey).compact();
+    }
+
+    //Lifetime of an issued token
+    public long getExpirationMillis() 
+    {
+        return expirationMillis;
+    }
+
+    //Parse token and return claims; compact tokens are mapped onto the same claim names
     public Claims parseToken(String token) 
     {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        if(!CompactTokenCodec.isCompact(token))
+            return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+
+        CompactTokenCodec.Payload payload = compactCodec.decode(token);
+        Claims claims = Jwts.claims().setSubject(payload.username()).setIssuedAt(new Date(payload.issuedAtSeconds() * 1000))
+        .setExpiration(new Date(payload.expiresAtSeconds() * 1000));
+        claims.put("uid", payload.userId());
+        claims.put("rm", payload.roleMask());
+        claims.put("tid", payload.tenantId());
+        claims.put("sid", payload.sessionId());
+
+        if(payload.isExpired(System.currentTimeMillis() / 1000))
+            throw new ExpiredJwtException(null, claims, "Token expired");   //Same behavior as the JWT parser
+
+        return claims;
+    }
+
+    //Verify the token once and build the authentication from it; null if invalid or expired.
+    //Compact tokens are checked with a single HMAC and fixed-offset reads, with no JSON parsing.
+    public JwtAuthenticationToken authenticate(String token) 
+    {
+        try 
+        {
+            if(CompactTokenCodec.isCompact(token)) 
+            {
+                CompactTokenCodec.Payload payload = compactCodec.decode(token);
+                return payload.isExpired(System.currentTimeMillis() / 1000) ? null
+                : new JwtAuthenticationToken(payload.username(), payload.userId(), payload.roleMask(), tenantOrDefault(payload.tenantId()), payload.sessionId(), token);
+            }
+
+            Claims claims = parseToken(token);  //Signature and expiry are checked by the parser
+            return new JwtAuthenticationToken(claims.getSubject(), userIdOf(claims), roleMaskOf(claims), tenantIdOf(claims), sessionIdOf(claims), token);
+        } 
+        
+        catch(Exception e) 
+        {
+            return null;                        //Invalid token
+        }
     }
 
     //Check if token is valid (not expired)
@@ -48,13 +129,57 @@ public class JwtUtils
         return parseToken(token).getSubject();  //Return subject
     }
 
-    //Extract roles from token
-    public List<String> getRolesFromToken(String token) 
+    //Extract userId from token (null for tokens issued without one)
+    public Long getUserIdFromToken(String token) 
+    {
+        return userIdOf(parseToken(token));
+    }
+
+    //Extract role bitmask from token
+    public int getRoleMaskFromToken(String token) 
+    {
+        return roleMaskOf(parseToken(token));
+    }
+
+    //Extract tenant from token (the default tenant for tokens issued without one)
+    public String getTenantIdFromToken(String token) 
+    {
+        return tenantIdOf(parseToken(token));
+    }
+
+    //Extract session id from token (null for tokens issued without one)
+    public Long getSessionIdFromToken(String token) 
+    {
+        return sessionIdOf(parseToken(token));
+    }
+
+    private static Long sessionIdOf(Claims claims) 
+    {
+        Object sessionId = claims.get("sid");
+        return sessionId instanceof Number number ? number.longValue() : null;
+    }
+
+    private static String tenantIdOf(Claims claims) 
+    {
+        return tenantOrDefault(claims.get("tid", String.class));
+    }
+
+    private static String tenantOrDefault(String tenantId) 
+    {
+        return tenantId != null ? tenantId : TenantContext.DEFAULT_TENANT;
+    }
+
+    private static Long userIdOf(Claims claims) 
+    {
+        Object userId = claims.get("uid");                                              //Get uid claim
+        return userId instanceof Number number ? number.longValue() : null;             //JSON numbers may come back as Integer or Long
+    }
+
+    private static int roleMaskOf(Claims claims) 
     {
-        Claims claims = parseToken(token);                                              //Get claims
-        Object rolesObject = claims.get("roles");                                   //Get roles claim
-        if(rolesObject instanceof List<?>) 
-            return ((List<?>) rolesObject).stream().map(Object::toString) .toList();    //Convert to string list
+        Object roleMask = claims.get("rm");                                             //Get role mask claim
+        if(roleMask instanceof Number number) 
+            return number.intValue();
 
         throw new RuntimeException("Roles claim is missing or invalid");        //Handle error
     }
@@ -2,21 +2,39 @@ package com.user.login.Service;                                             //Pa
 import com.user.login.Entity.Auth.AuthRequest;                              //AuthRequest entity for user authentication input
 import com.user.login.Entity.Auth.AuthResponse;                             //AuthResponse entity for response after authentication
 import com.user.login.Entity.Auth.ForgotLoginCredential;                    //ForgotLoginCredential entity for resetting username and password
-import com.user.login.Exception.EmailNotFoundException;                     //Custom exception for email not found
+import com.user.login.Exception.InvalidResetTokenException;                 //Unknown, expired or used reset token
+import com.user.login.Exception.ResetThrottledException;                    //Per-email reset limit reached
 import com.user.login.DTO.Auth.AuthResponseDTO;                             //DTO for formatted response after authentication
 import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;                    //DTO for resetting username and password
+import com.user.login.DTO.Auth.SessionDTO;                                  //Session listing entry
 import com.user.login.Entity.User;                                          //User entity for user data
+import com.user.login.Entity.UserChange;                                    //Change log entry for delta sync
+import com.user.login.Enum.ChangeType;                                      //Kinds of logged change
+import com.user.login.Event.UserChangedEvent;                               //Event pushed to admin SSE streams
+import com.user.login.Mapper.UserMapper;                                    //Compile-time User -> response DTO mapping
+import com.user.login.Repository.UserChangeRepository;                      //Change log repository
 import com.user.login.Repository.UserRepository;                            //User repository for querying user data
+import com.user.login.Replica.ReadYourWrites;                               //Read-your-writes marks for replica routing
+import com.user.login.Reset.ResetThrottle;                                  //Per-email limit on reset requests
+import com.user.login.Reset.ResetTokenSender;                               //Delivers reset tokens
+import com.user.login.Reset.ResetTokenStore;                                //Hashed, expiring reset tokens
 import com.user.login.Security.JWT.JwtAuthenticationToken;                  //Custom authentication token for JWT authentication
 import com.user.login.Security.JWT.JwtUtils;                                //Utility class for JWT token generation and validation
+import com.user.login.Session.DeviceSession;                                //Signed-in device
+import com.user.login.Session.SessionRegistry;                              //Sessions by user and device
+import com.user.login.Tenant.TenantContext;                                 //Tenant of the current request
 import org.springframework.beans.factory.annotation.Autowired;              //For dependency injection
+import org.springframework.context.ApplicationEventPublisher;               //Publishes change events (delivered after commit)
+import org.springframework.security.access.AccessDeniedException;           //No signed-in caller
 import org.springframework.security.core.Authentication;                    //Authentication interface for user details
-import org.springframework.security.core.authority.SimpleGrantedAuthority;  //Simple authority object for roles
 import org.springframework.security.core.context.SecurityContextHolder;     //Holds authentication details
 import org.springframework.security.crypto.password.PasswordEncoder;        //For encoding and matching passwords
 import org.springframework.stereotype.Service;                              //Marks the class as a service
-import java.util.List;                                                      //For handling lists of roles
-import java.util.stream.Collectors;                                         //For collecting stream elements into a list
+import org.springframework.transaction.support.TransactionTemplate;         //Transaction started after hashing
+import java.util.List;                                                      //Session listing
+import java.util.Objects;                                                   //Current session check
+import java.util.Optional;                                                  //User lookup result
+import java.util.function.Supplier;                                         //Lookup run on the replica or the primary
 
 @Service    //Marks the class as a service, so Spring can manage it
 public class AuthService 
@@ -24,81 +42,151 @@ public class AuthService
     private final UserRepository userRepository;    //User repository for interacting with the user database
     private final JwtUtils jwtUtils;                //Utility for working with JWT tokens
     private final PasswordEncoder passwordEncoder;  //Password encoder for securely handling passwords
+    private final UserMapper userMapper;            //Builds the response DTOs from the user entity
+    private final UserChangeRepository userChangeRepository;    //Change log behind GET /users/changes
+    private final TransactionTemplate transactionTemplate;      //Credential update and change log commit together
+    private final ApplicationEventPublisher eventPublisher;     //Change events for the SSE hub
+    private final ReadYourWrites readYourWrites;                //Keeps fresh credentials on the primary while replicas catch up
+    private final ResetTokenStore resetTokenStore;              //Forgot-login tokens
+    private final ResetTokenSender resetTokenSender;            //Sends the tokens to the email's owner
+    private final ResetThrottle resetThrottle;                  //Per-email limit on reset requests
+    private final SessionRegistry sessionRegistry;              //Session behind every issued token
 
     @Autowired  //Constructor-based dependency injection for necessary services
-    public AuthService(UserRepository userRepository, JwtUtils jwtUtils, PasswordEncoder passwordEncoder) 
+    public AuthService(UserRepository userRepository, JwtUtils jwtUtils, PasswordEncoder passwordEncoder, UserMapper userMapper,
+                       UserChangeRepository userChangeRepository, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                       ReadYourWrites readYourWrites, ResetTokenStore resetTokenStore, ResetTokenSender resetTokenSender, ResetThrottle resetThrottle,
+                       SessionRegistry sessionRegistry) 
     {
+        this.sessionRegistry = sessionRegistry;
         this.userRepository = userRepository;
         this.jwtUtils = jwtUtils;
         this.passwordEncoder = passwordEncoder;
+        this.userMapper = userMapper;
+        this.userChangeRepository = userChangeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.readYourWrites = readYourWrites;
+        this.resetTokenStore = resetTokenStore;
+        this.resetTokenSender = resetTokenSender;
+        this.resetThrottle = resetThrottle;
     }
 
     //Authenticate the user and generate token including roles
     public AuthResponseDTO authenticate(AuthRequest authRequest) 
     {
-        //Retrieve user from database based on username
-        User user = userRepository.findByUsername(authRequest.getUsername()).orElseThrow(() -> new RuntimeException("User not found"));
+        //Retrieve user from database based on username, within the request's tenant; from the primary right after
+        //a sign-up or credential reset under this username, which a replica may not have yet
+        Supplier<Optional<User>> lookup = () -> userRepository.findByUsername(authRequest.getUsername());
+        User user = (readYourWrites.wroteRecently(authRequest.getUsername()) ? ReadYourWrites.onPrimary(lookup) : lookup.get())
+        .orElseThrow(() -> new RuntimeException("User not found"));
 
         //Validate if the provided password matches the user's stored password
         if(!passwordEncoder.matches(authRequest.getPassword(), user.getPassword())) 
             throw new RuntimeException("Invalid credentials");              //Throw error if password doesn't match
 
-        //Generate JWT token using the username and role(s)
-        String token = jwtUtils.generateToken(user.getUsername(), List.of(user.getRole().name()));
+        //Open a session for this device (replacing the device's previous one) and generate a token tied to it
+        DeviceSession session = sessionRegistry.open(user.getUserId(), TenantContext.current(), authRequest.getDeviceId(), authRequest.getDeviceName());
+        String token = jwtUtils.generateToken(user.getUserId(), user.getUsername(), user.getRole().bit(), TenantContext.current(), session.sessionId());
 
         //Create a custom welcome message with the user's role
         String welcomeMessage = "Welcome, " + user.getUsername() + "! Your role is: " + user.getRole().name();
 
         //Return AuthResponseDTO containing the token, success message, and role-based welcome message
-        return AuthResponseDTO.builder().token(token).message("Authentication successful").roleMessage(welcomeMessage).userId(user.getUserId()).build();
+        return userMapper.toLoginResponse(user, token, "Authentication successful", welcomeMessage);
     }
 
-    //Allow user to reset username and password by providing their email address
-    public ForgotLoginCredentialDTO ResetLoginCredential(ForgotLoginCredential forgotLoginCredential) 
+    //First step of a credential reset: send a single-use token to the owner of the email address.
+    //Unknown emails get the same (silent) outcome, so the endpoint does not reveal which addresses are registered.
+    //Nothing is hashed with bcrypt here, and the per-email throttle runs before any database access.
+    public void requestLoginReset(String email) 
     {
-        //Validate input: check for null object or missing/blank email
-        if(forgotLoginCredential == null || forgotLoginCredential.getEmail() == null || forgotLoginCredential.getEmail().isBlank()) 
+        if(email == null || email.isBlank()) 
             throw new IllegalArgumentException("Email must be provided");
 
-        //Retrieve user by email; throw custom exception if not found
-        User user = userRepository.findByEmail(forgotLoginCredential.getEmail()).orElseThrow(() -> new EmailNotFoundException(forgotLoginCredential.getEmail()));
+        if(!resetThrottle.tryAcquire(email))
+            throw new ResetThrottledException();
+
+        userRepository.findByEmail(email).ifPresent(user -> 
+        {
+            ResetTokenStore.Issued issued = resetTokenStore.issue(user.getUserId());
+            resetTokenSender.send(user.getEmail(), user.getUsername(), issued.token(), issued.expiresAt());
+        });
+    }
+
+    //Second step: redeem the token and set the new username and/or password
+    public ForgotLoginCredentialDTO ResetLoginCredential(ForgotLoginCredential forgotLoginCredential) 
+    {
+        //Validate input: check for null object or missing/blank token
+        if(forgotLoginCredential == null || forgotLoginCredential.getToken() == null || forgotLoginCredential.getToken().isBlank()) 
+            throw new IllegalArgumentException("Reset token must be provided");
 
-        //Update username if a non-blank value is provided
-        if(forgotLoginCredential.getUsername() != null && !forgotLoginCredential.getUsername().isBlank())
-            user.setUsername(forgotLoginCredential.getUsername());
+        //Reject unknown and expired tokens before paying for a bcrypt hash
+        if(!resetTokenStore.isRedeemable(forgotLoginCredential.getToken()))
+            throw new InvalidResetTokenException();
 
-        //Update password if a non-blank value is provided (after encoding)
-        if(forgotLoginCredential.getPassword() != null && !forgotLoginCredential.getPassword().isBlank()) 
-            user.setPassword(passwordEncoder.encode(forgotLoginCredential.getPassword()));
+        String newUsername = forgotLoginCredential.getUsername();
+        String newPasswordHash = forgotLoginCredential.getPassword() != null && !forgotLoginCredential.getPassword().isBlank()
+        ? passwordEncoder.encode(forgotLoginCredential.getPassword()) : null;
 
-        //Attempt to save the updated user; throw runtime exception on failure
+        //Use up the token, save the updated user and log the change in one transaction (after hashing)
+        User user;
         try 
         {
-            userRepository.save(user);
+            user = transactionTemplate.execute(status -> 
+            {
+                Long userId = resetTokenStore.redeem(forgotLoginCredential.getToken()).orElseThrow(InvalidResetTokenException::new);
+                User target = userRepository.findById(userId).orElseThrow(InvalidResetTokenException::new);
+
+                //Update username if a non-blank value is provided
+                if(newUsername != null && !newUsername.isBlank())
+                    target.setUsername(newUsername);
+
+                //Update password if a non-blank value was provided
+                if(newPasswordHash != null)
+                    target.setPassword(newPasswordHash);
+
+                userRepository.save(target);
+                UserChange change = UserChange.of(target.getUserId(), ChangeType.UPDATED);
+                userChangeRepository.save(change);
+                eventPublisher.publishEvent(new UserChangedEvent(TenantContext.current(), change.getChangeId(), change.getUserId(), ChangeType.UPDATED));
+                return target;
+            });
         } 
         
-        catch (Exception e) 
+        catch(InvalidResetTokenException e) 
+        {
+            throw e;
+        }
+
+        catch(Exception e) 
         {
             throw new RuntimeException("Failed to update user credentials", e);
         }
 
+        readYourWrites.markUsername(user.getUsername());    //Signing in with the new credentials reads the primary
+        readYourWrites.markUser(user.getUserId());
+        sessionRegistry.revokeAll(user.getUserId());        //Whoever held the old credentials is signed out everywhere
+
         //Return a DTO with updated user info and success message
-        return ForgotLoginCredentialDTO.builder().email(user.getEmail()).username(user.getUsername()).message("Updated user credential successfully!").build();
+        return userMapper.toForgotLoginCredentialDTO(user, "Updated user credential successfully!");
     }
 
     //Authenticate using JWT token
     public Authentication authenticateWithJwt(String token) 
     {
-        //Check if the provided JWT token is valid
-        if(jwtUtils.isTokenValid(token)) 
+        //Check if the provided JWT token is valid and its session has not been signed out
+        if(jwtUtils.isTokenValid(token) && !sessionRegistry.isRevoked(jwtUtils.getSessionIdFromToken(token))) 
         {
             String username = jwtUtils.getUsernameFromToken(token); //Extract the username from the token
+            Long userId = jwtUtils.getUserIdFromToken(token);       //Extract the userId from the token
 
-            //Extract the roles from the token and convert them to authorities
-            List<SimpleGrantedAuthority> authorities = jwtUtils.getRolesFromToken(token).stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+            int roleMask = jwtUtils.getRoleMaskFromToken(token);     //Extract the role bits; authorities come from the shared Role cache
+            String tenantId = jwtUtils.getTenantIdFromToken(token); //Extract the tenant
+            Long sessionId = jwtUtils.getSessionIdFromToken(token); //Extract the session
 
             //Create a custom JwtAuthenticationToken with the extracted information
-            JwtAuthenticationToken jwtAuthenticationToken = new JwtAuthenticationToken(username, authorities, token);
+            JwtAuthenticationToken jwtAuthenticationToken = new JwtAuthenticationToken(username, userId, roleMask, tenantId, sessionId, token);
 
             //Set the created authentication token into the security context
             SecurityContextHolder.getContext().setAuthentication(jwtAuthenticationToken);
@@ -114,12 +202,46 @@ public class AuthService
         //Check if the provided old JWT token is valid
         if(jwtUtils.isTokenValid(oldToken)) 
         {
-            String username = jwtUtils.getUsernameFromToken(oldToken);      //Extract username and roles from the old token
-            List<String> roles = jwtUtils.getRolesFromToken(oldToken);
-            String newToken = jwtUtils.generateToken(username, roles);      //Generate a new token with the same username and roles
+            String username = jwtUtils.getUsernameFromToken(oldToken);      //Extract userId, username, roles, tenant and session from the old token
+            Long userId = jwtUtils.getUserIdFromToken(oldToken);
+            int roleMask = jwtUtils.getRoleMaskFromToken(oldToken);
+            String tenantId = jwtUtils.getTenantIdFromToken(oldToken);
+            Long sessionId = jwtUtils.getSessionIdFromToken(oldToken);
+
+            //A signed-out session cannot be extended; a token issued without a session gets one now
+            if(sessionId == null)
+                sessionId = sessionRegistry.open(userId, tenantId, null, null).sessionId();
+
+            else if(!sessionRegistry.touch(sessionId))
+                throw new RuntimeException("Session has been signed out");
+
+            String newToken = jwtUtils.generateToken(userId, username, roleMask, tenantId, sessionId);  //Generate a new token for the same user, tenant and session
             return AuthResponse.builder().token(newToken).build();          //Return the new token inside an AuthResponse
         }
 
         throw new RuntimeException("Invalid or expired token");     //Throw error if token is invalid or expired
     }
+
+    //Signed-in devices of the caller, most recently used first
+    public List<SessionDTO> listSessions() 
+    {
+        JwtAuthenticationToken caller = currentAuthentication();
+        return sessionRegistry.sessionsOf(caller.getUserId()).stream().map(session -> SessionDTO.builder().sessionId(session.sessionId())
+        .deviceId(session.deviceId()).deviceName(session.deviceName()).createdAt(session.createdAt()).lastSeenAt(session.lastSeenAt())
+        .expiresAt(session.expiresAt()).current(Objects.equals(session.sessionId(), caller.getSessionId())).build()).toList();
+    }
+
+    //Sign one of the caller's devices out (its own session included); false when the caller has no such session
+    public boolean revokeSession(Long sessionId) 
+    {
+        return sessionRegistry.revoke(currentAuthentication().getUserId(), sessionId);
+    }
+
+    private JwtAuthenticationToken currentAuthentication() 
+    {
+        if(SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken authentication && authentication.getUserId() != null)
+            return authentication;
+
+        throw new AccessDeniedException("User not authenticated");
+    }
 }
\ No newline at end of file
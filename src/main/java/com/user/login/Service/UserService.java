@@ -1,21 +1,37 @@
 package com.user.login.Service;                                                         //Package declaration
 import com.user.login.DTO.Auth.AuthResponseDTO;                                         //Import Data Transfer Object for authentication responses
+import com.user.login.DTO.BatchResultDTO;                                               //Import Data Transfer Object for batch admin results
+import com.user.login.DTO.UserChangesDTO;                                               //Import Data Transfer Object for a delta-sync page
 import com.user.login.DTO.UserDTO;                                                      //Import Data Transfer Object for User entity
 import com.user.login.Entity.User;                                                      //Import User entity class  
+import com.user.login.Entity.UserChange;                                                //Import change log entry
+import com.user.login.Enum.BatchOutcome;                                                //Import per-id outcomes of batch operations
+import com.user.login.Enum.ChangeType;                                                  //Import kinds of logged change
+import com.user.login.Enum.Role;                                                        //Import Role enum for the admin bit
+import com.user.login.Event.UserBatchChangedEvent;                                      //Import event announcing a batch of changes
+import com.user.login.Event.UserChangedEvent;                                           //Import event pushed to admin SSE streams
 import com.user.login.Exception.*;                                                      //Import custom exceptions used in the service                  
 import com.user.login.Interface.UserInterface;                                          //Import UserInterface defining the service contract
 import com.user.login.Mapper.UserMapper;                                                //Import Mapper class to convert between User entity and DTO
+import com.user.login.Projection.UserProfile;                                           //Import read-only profile projection for batch lookups
+import com.user.login.Projection.UserVersion;                                           //Import version-only projection behind the ETags
+import com.user.login.Repository.UserChangeRepository;                                  //Import Repository interface for the user change log
 import com.user.login.Repository.UserRepository;                                        //Import Repository interface to access User persistence
+import com.user.login.Replica.ReadYourWrites;                                           //Import read-your-writes marks for replica routing
+import com.user.login.Reset.ResetTokenStore;                                            //Import reset tokens, discarded with their user
+import com.user.login.Security.JWT.JwtAuthenticationToken;                              //Import JWT authentication carrying the caller's userId
 import com.user.login.Security.JWT.JwtUtils;                                            //Import JWT utility class for token generation
+import com.user.login.Tenant.TenantContext;                                             //Import tenant of the current request
 import lombok.RequiredArgsConstructor;                                                  //Lombok annotation to generate constructor with required (final) fields
 import org.springframework.security.access.AccessDeniedException;                       //Spring Security exception for access denied scenarios
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; //Spring Security authentication token implementation
 import org.springframework.security.core.Authentication;                                //Spring Security authentication interface
-import org.springframework.security.core.GrantedAuthority;                              //Spring Security authority interface
-import org.springframework.security.core.authority.SimpleGrantedAuthority;              //Implementation of GrantedAuthority with simple role string
 import org.springframework.security.core.context.SecurityContextHolder;                 //Access to Spring Security context holder for auth info
 import org.springframework.security.crypto.password.PasswordEncoder;                    //Interface to encode passwords securely
+import org.springframework.context.ApplicationEventPublisher;                            //Publishes change events (delivered after commit)
+import org.springframework.data.domain.Limit;                                            //Page size for change log reads
 import org.springframework.stereotype.Service;                                          //Spring stereotype annotation to mark this class as a service component
+import org.springframework.transaction.annotation.Transactional;                        //Explicit transaction boundaries
+import org.springframework.transaction.support.TransactionTemplate;                     //Transaction started after hashing
 import java.util.*;                                                                     //Import utilities like Optional, List, Objects, etc.
 import java.util.stream.Collectors;                                                     //Import Collectors for stream processing
 
@@ -27,8 +43,19 @@ public class UserService implements UserInterface
     private final UserRepository userRepository;    //Repository to interact with User persistence (database)
     private final UserMapper userMapper;            //Mapper to convert User entity <-> UserDTO
     private final PasswordEncoder passwordEncoder;  //Password encoder to hash user passwords securely
+    private final UserChangeRepository userChangeRepository;    //Change log behind GET /users/changes
+    private final TransactionTemplate transactionTemplate;      //Insert and change log commit together
+    private final ApplicationEventPublisher eventPublisher;     //Change events for the SSE hub
+    private final ReadYourWrites readYourWrites;                //Keeps writers on the primary while replicas catch up
+    private final ResetTokenStore resetTokenStore;              //Outstanding reset tokens of deleted users
 
-    //Create a new user with validations for username and email uniqueness
+    public static final int MAX_CHANGES_PAGE = 1000;            //Upper bound for ?limit= on /users/changes
+    public static final int MAX_BATCH_SIZE = 10000;             //Upper bound for ids in one batch request
+    static final int BATCH_CHUNK_SIZE = 1000;                   //Ids per IN (...) list, below common bind parameter limits
+
+    //Create a new user with validations for username and email uniqueness.
+    //Not transactional as a whole: bcrypt runs first, and only the insert and its change log entry share a transaction,
+    //so no connection is held while hashing.
     @Override
     public UserDTO createUser(UserDTO userDTO) 
     {
@@ -41,86 +68,170 @@ public class UserService implements UserInterface
             throw new EmailAlreadyExistsException(userDTO.getEmail());
 
         userDTO.setPassword(passwordEncoder.encode(userDTO.getPassword())); //Encode (hash) the user's password before saving
-        User savedUser = userRepository.save(userMapper.toEntity(userDTO)); //Convert DTO to entity and save user in the repository
+        User savedUser = transactionTemplate.execute(status ->              //Convert DTO to entity, save it and log the insert
+        {
+            User user = userRepository.save(userMapper.toEntity(userDTO));
+            recordChange(user.getUserId(), ChangeType.CREATED);
+            return user;
+        });
+        readYourWrites.markUsername(savedUser.getUsername());               //Signing in right after sign-up reads the primary
         return userMapper.toDTO(savedUser);                                 //Convert saved entity back to DTO and return
     }
 
     //Retrieve a user by userId with authorization check
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUser(Long userId) 
     {
-        authorizeUserOrAdmin(userId);                   //Check if current user is authorized (self or admin)
-        return userMapper.toDTO(findUserById(userId));  //Find user entity by ID and convert to DTO for returning
+        //Self-or-admin is enforced by the security filter chain before the request gets here
+        return userMapper.toDTO(userRepository.findProfileByUserId(userId).orElseThrow(() -> new UserNotFoundException(userId.toString())));
     }
 
-    //Retrieve list of all users, only accessible by admins
+    //Retrieve list of all users, only accessible by admins (enforced by the security filter chain)
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsers() 
     {
-        authorizeAdmin();   //Authorize only admins for this operation
-        
-        //Fetch all users, map each to DTO, and collect to list
-        return userRepository.findAll().stream().map(userMapper::toDTO).collect(Collectors.toList());
+        //Fetch all profiles, map each to DTO, and collect to list
+        return userRepository.findProfilesByOrderByUserIdAsc().stream().map(userMapper::toDTO).collect(Collectors.toList());
     }
 
-    //Update user profile info and roles, with authorization checks and token regeneration
+    //Update user profile info and roles, with authorization checks and token regeneration.
+    //Like createUser, a new password is hashed before the transaction starts, so no connection is held during bcrypt.
     @Override
     public AuthResponseDTO updateUser(Long userId, UserDTO userDTO) 
     {
-        User currentUser = getAuthenticatedUser();                          //Get current authenticated user entity
-        User userToUpdate = findUserById(userId);                           //Retrieve user entity to update by ID
-        boolean isAdmin = hasRole("ROLE_ADMIN");                    //Check if current user has admin role
-        boolean isSelf = Objects.equals(userId, currentUser.getUserId());   //Check if current user is updating own profile
-
-        //Authorization: only admin or self can update the user
-        if(!isAdmin && !isSelf) 
-            throw new AccessDeniedException("You are not authorized to update this user.");
-
-        //Update allowed fields if present and not empty (self and admin can do this)
-        Optional.ofNullable(userDTO.getFirstName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setFirstName);
-        Optional.ofNullable(userDTO.getLastName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setLastName);
-        Optional.ofNullable(userDTO.getUsername()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setUsername);
-        Optional.ofNullable(userDTO.getEmail()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setEmail);
-        Optional.ofNullable(userDTO.getPhoneNumber()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setPhoneNumber);
-        Optional.ofNullable(userDTO.getHomeAddress()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setHomeAddress);
-        Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty()).ifPresent(pwd -> userToUpdate.setPassword(passwordEncoder.encode(pwd)));
-
-        //Only admins can update the role field
-        if(isAdmin && userDTO.getRole() != null) 
-            userToUpdate.setRole(userDTO.getRole());
- 
-        User updatedUser = userRepository.save(userToUpdate);       //Save updated user entity to repository
-        UserDTO updatedUserDTO = userMapper.toDTO(updatedUser);     //Convert updated user entity to DTO
-        List<String> roles = List.of(updatedUser.getRole().name()); //Create a list with single role name for token generation
-
-        //Generate a new JWT token with updated username and roles
-        String token = jwtUtils.generateToken(updatedUser.getUsername(), roles);
-
-        //Prepare new authorities from roles for Spring Security context update
-        List<GrantedAuthority> authorities = roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-        
-        //Create new authentication token with updated roles
-        Authentication newAuth = new UsernamePasswordAuthenticationToken(updatedUser.getUsername(), null,authorities
-        );
-        //Update Spring Security context with new authentication to immediately reflect changes
-        SecurityContextHolder.getContext().setAuthentication(newAuth);
+        //Self-or-admin is enforced by the security filter chain; the flags only drive role changes and context refresh
+        boolean isAdmin = isAdmin();                                            //Check if current user has admin role
+        Long callerId = getAuthenticatedUserId();                               //Session making the change
+        boolean isSelf = Objects.equals(userId, callerId);                      //Check if current user is updating own profile
+        //Hash a new password (if present and not empty) before the transaction
+        Optional<String> password = Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty()).map(passwordEncoder::encode);
+
+        User updatedUser = transactionTemplate.execute(status ->                //Apply the changes, save them and log the update
+        {
+            User userToUpdate = findUserById(userId);                           //Retrieve user entity to update by ID
+
+            //Update allowed fields if present and not empty (self and admin can do this)
+            Optional.ofNullable(userDTO.getFirstName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setFirstName);
+            Optional.ofNullable(userDTO.getLastName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setLastName);
+            Optional.ofNullable(userDTO.getUsername()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setUsername);
+            Optional.ofNullable(userDTO.getEmail()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setEmail);
+            Optional.ofNullable(userDTO.getPhoneNumber()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setPhoneNumber);
+            Optional.ofNullable(userDTO.getHomeAddress()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setHomeAddress);
+            password.ifPresent(userToUpdate::setPassword);
+
+            //Only admins can update the role field
+            if(isAdmin && userDTO.getRole() != null) 
+                userToUpdate.setRole(userDTO.getRole());
+
+            User user = userRepository.save(userToUpdate);                      //Save updated user entity to repository
+            recordChange(userId, ChangeType.UPDATED);                           //Log the update in the same transaction
+            return user;
+        });
+        readYourWrites.markUser(callerId);                          //The caller's next reads see this update
+        readYourWrites.markUsername(updatedUser.getUsername());     //So does signing in under a new username
+        int roleMask = updatedUser.getRole().bit();                 //Role bits for token generation
+
+        //Generate a new JWT token with updated username and roles; after a self-update it stays in the caller's session
+        Long sessionId = isSelf && SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken caller ? caller.getSessionId() : null;
+        String token = jwtUtils.generateToken(updatedUser.getUserId(), updatedUser.getUsername(), roleMask, TenantContext.current(), sessionId);
+
+        //Only a self-update changes who the caller is; an admin editing someone else keeps their own identity
+        if(isSelf)
+            SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(updatedUser.getUsername(), updatedUser.getUserId(), roleMask, TenantContext.current(), sessionId, token));
 
         //Build and return authentication response with updated user info and token
-        return AuthResponseDTO.builder().userId(updatedUser.getUserId()).user(updatedUserDTO).token(token).message("User updated successfully")
-        .roleMessage("Role: " + updatedUser.getRole().name()).build();
+        return userMapper.toUpdateResponse(updatedUser, token, "User updated successfully", "Role: " + updatedUser.getRole().name());
     }
 
-    //Delete a user by userId, only accessible by admins
+    //Delete a user by userId, only accessible by admins (enforced by the security filter chain).
+    //Reset tokens go in the same transaction; SessionRegistry signs the user out on every device once it commits.
     @Override
+    @Transactional
     public void deleteUser(Long userId) 
     {
-        authorizeAdmin();                   //Ensure only admin can delete users
-        
         //Check if user exists, throw if not found
         if(!userRepository.existsById(userId))
             throw new UserNotFoundException(userId.toString());
 
         userRepository.deleteById(userId);  //Delete user from repository by ID
+        resetTokenStore.discard(List.of(userId));                           //No reset for a missing account
+        recordChange(userId, ChangeType.DELETED);                           //Tombstone for delta sync
+        readYourWrites.markUser(getAuthenticatedUserId());                  //The admin's next list no longer shows the user
+    }
+
+    //Delete many users with one bulk DELETE per chunk of ids (admin only, enforced by the security filter chain).
+    //The caller's own id is skipped; unknown ids are reported rather than failing the batch. As with deleteUser,
+    //reset tokens are discarded in the transaction and sessions are revoked after it commits.
+    @Transactional
+    public BatchResultDTO deleteUsers(List<Long> userIds) 
+    {
+        return applyBatch(userIds, null, ChangeType.DELETED);
+    }
+
+    //Give many users the same role with one bulk UPDATE per chunk of ids (admin only, enforced by the security filter chain).
+    //Users that already have the role are left untouched, so their versions and ETags stay valid.
+    @Transactional
+    public BatchResultDTO setRole(List<Long> userIds, Role role) 
+    {
+        if(role == null)
+            throw new InvalidBatchRequestException("A role is required");
+
+        return applyBatch(userIds, role, ChangeType.UPDATED);
+    }
+
+    //Shared batch flow: validate, resolve outcomes with one projection read per chunk, then one bulk statement per chunk.
+    //Bulk statements bypass the persistence context; Hibernate evicts the user regions and invalidates cached user queries for them.
+    private BatchResultDTO applyBatch(List<Long> userIds, Role role, ChangeType changeType) 
+    {
+        if(userIds == null || userIds.isEmpty())
+            throw new InvalidBatchRequestException("No user ids given");
+
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(userIds);   //Duplicates are ignored, request order is kept
+        distinct.remove(null);
+        if(distinct.isEmpty() || distinct.size() > MAX_BATCH_SIZE)
+            throw new InvalidBatchRequestException("Between 1 and " + MAX_BATCH_SIZE + " user ids are required");
+
+        Long self = getAuthenticatedUserId();
+        Map<Long, BatchOutcome> results = new LinkedHashMap<>();
+        distinct.forEach(userId -> results.put(userId, BatchOutcome.NOT_FOUND));  //Overwritten below for every row that exists
+        List<Long> candidates = new ArrayList<>(distinct);
+        if(candidates.remove(self))
+            results.put(self, BatchOutcome.SKIPPED_SELF);
+
+        BatchOutcome applied = changeType == ChangeType.DELETED ? BatchOutcome.DELETED : BatchOutcome.UPDATED;
+        List<Long> affected = new ArrayList<>();
+        for(int from = 0; from < candidates.size(); from += BATCH_CHUNK_SIZE)
+        {
+            List<Long> chunk = candidates.subList(from, Math.min(from + BATCH_CHUNK_SIZE, candidates.size()));
+            List<Long> targets = new ArrayList<>();
+            for(UserProfile profile : userRepository.findProfilesByUserIdInOrderByUserIdAsc(chunk))
+            {
+                boolean unchanged = role != null && profile.getRole() == role;
+                results.put(profile.getUserId(), unchanged ? BatchOutcome.UNCHANGED : applied);
+                if(!unchanged)
+                    targets.add(profile.getUserId());
+            }
+
+            if(targets.isEmpty())
+                continue;
+
+            if(role == null)
+            {
+                userRepository.deleteAllByUserIdIn(targets);
+                resetTokenStore.discard(targets);
+            }
+
+            else
+                userRepository.updateRoleByUserIdIn(targets, role);
+
+            affected.addAll(targets);
+        }
+
+        recordChanges(affected, changeType);
+        readYourWrites.markUser(self);
+        return BatchResultDTO.builder().requested(distinct.size()).affected(affected.size()).results(results).build();
     }
 
     //Retrieve currently authenticated username from security context
@@ -137,42 +248,91 @@ public class UserService implements UserInterface
     }
 
     //Retrieve currently authenticated user's details as a UserDTO
+    @Transactional(readOnly = true)
     public UserDTO getCurrentUser() 
     {
-        User user = findUserByUsername(getAuthenticatedUsername()); //Find user entity by current username
-        return userMapper.toDTO(user);                              //Convert entity to DTO and return
+        String username = getAuthenticatedUsername();               //Current username from the token
+        return userMapper.toDTO(userRepository.findProfileByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username)));
     }
 
-    //Authorize access only if current user has admin role
-    private void authorizeAdmin() 
+    //Current end of the change log, 0 when it is empty
+    @Transactional(readOnly = true)
+    public long getChangeCursor() 
     {
-        if(!hasRole("ROLE_ADMIN"))
-            throw new AccessDeniedException("Only admins can access this resource.");
+        return userChangeRepository.findFirstByOrderByChangeIdDesc().map(UserChange::getChangeId).orElse(0L);
     }
 
-    //Authorize access if current user is admin or requesting their own data
-    private void authorizeUserOrAdmin(Long userId) 
+    //Changes after the given cursor, at most limit log entries, collapsed to the latest state of each user.
+    //Only the profiles of users still present are selected, so the payload follows the number of changes.
+    @Transactional(readOnly = true)
+    public UserChangesDTO getChanges(long since, int limit) 
     {
-        User currentUser = getAuthenticatedUser();
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));   //Clamp ?limit=
+        List<UserChange> changes = userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(since, Limit.of(pageSize));
 
-        //Check if current user ID matches requested userId
-        boolean isSelf = Objects.equals(userId, currentUser.getUserId());
-        
-        //Throw exception if not admin and not self
-        if(!isSelf && !hasRole("ROLE_ADMIN"))
-            throw new AccessDeniedException("You are not authorized to access this data.");
+        Map<Long, ChangeType> latest = new LinkedHashMap<>();  //Last change per user wins
+        for(UserChange change : changes)
+            latest.put(change.getUserId(), change.getChangeType());
+
+        List<Long> deleted = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        latest.forEach((userId, type) -> (type == ChangeType.DELETED ? deleted : changed).add(userId));
+
+        //A user deleted after this page simply has no profile; the tombstone arrives with a later page
+        List<UserDTO> upserts = changed.isEmpty() ? List.of() : userRepository.findProfilesByUserIdInOrderByUserIdAsc(changed).stream().map(userMapper::toDTO).toList();
+        long cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getChangeId();
+        return UserChangesDTO.builder().cursor(cursor).hasMore(changes.size() == pageSize).upserts(upserts).deletedUserIds(deleted).build();
+    }
+
+    //Strong ETag of GET /users/{userId}, from the row version alone
+    @Transactional(readOnly = true)
+    public String getUserETag(Long userId) 
+    {
+        return eTag(userRepository.findVersionByUserId(userId).orElseThrow(() -> new UserNotFoundException(userId.toString())));
+    }
+
+    //Strong ETag of GET /users/me; the userId is part of it because a username can move to another row
+    @Transactional(readOnly = true)
+    public String getCurrentUserETag() 
+    {
+        String username = getAuthenticatedUsername();               //Current username from the token
+        return eTag(userRepository.findVersionByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username)));
+    }
+
+    //Strong ETag of GET /users: a 64-bit hash over every (userId, version) pair, so inserts, updates
+    //and deletes all change it
+    @Transactional(readOnly = true)
+    public String getUsersETag() 
+    {
+        long hash = 1;
+        for(UserVersion version : userRepository.findVersionsByOrderByUserIdAsc())
+            hash = 31 * (31 * hash + version.getUserId()) + version.getVersion();
+
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static String eTag(UserVersion version) 
+    {
+        return "\"" + version.getUserId() + "-" + version.getVersion() + "\"";
     }
 
-    //Check if currently authenticated user has a specific role
-    private boolean hasRole(String roleName) 
+    //Retrieve currently authenticated userId from the JWT in the security context, without touching the database
+    private Long getAuthenticatedUserId() 
     {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        
-        //Return false if no authentication or no authorities present
-        if(auth == null || auth.getAuthorities() == null) return false;
-        
-        //Check if any granted authority matches the requested role
-        return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(role -> role.equals(roleName));
+
+        //Only JWT-authenticated callers carry a userId
+        if(auth instanceof JwtAuthenticationToken jwtAuthentication && auth.isAuthenticated() && jwtAuthentication.getUserId() != null)
+            return jwtAuthentication.getUserId();
+
+        throw new AccessDeniedException("User not authenticated");
+    }
+
+    //O(1) check of the admin bit carried by the JWT authentication
+    private boolean isAdmin() 
+    {
+        return SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken jwtAuthentication
+        && jwtAuthentication.hasRole(Role.ADMIN);
     }
 
     //Retrieve currently authenticated user entity from repository
@@ -181,6 +341,25 @@ public class UserService implements UserInterface
         return findUserByUsername(getAuthenticatedUsername());
     }
 
+    //Append to the change log in the current transaction and announce it; UserEventHub only sees it after commit
+    private void recordChange(Long userId, ChangeType changeType) 
+    {
+        UserChange change = UserChange.of(userId, changeType);
+        userChangeRepository.save(change);                          //Identity insert assigns changeId right away
+        eventPublisher.publishEvent(new UserChangedEvent(TenantContext.current(), change.getChangeId(), userId, changeType));
+    }
+
+    //Append one log entry per user and announce the batch once, so SSE subscribers resync instead of receiving every row
+    private void recordChanges(List<Long> userIds, ChangeType changeType) 
+    {
+        if(userIds.isEmpty())
+            return;
+
+        List<UserChange> changes = userChangeRepository.saveAll(userIds.stream().map(userId -> UserChange.of(userId, changeType)).toList());
+        eventPublisher.publishEvent(new UserBatchChangedEvent(TenantContext.current(), changes.get(changes.size() - 1).getChangeId(), changes.size(),
+        changeType, List.copyOf(userIds)));
+    }
+
     //Find User entity by userId or throw UserNotFoundException if not found
     private User findUserById(Long userId) 
     {
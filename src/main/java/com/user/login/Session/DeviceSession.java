@@ -0,0 +1,30 @@
+package com.user.login.Session;     //Package declaration
+import java.time.Instant;           //Timestamps
+
+//One signed-in device of a user. Immutable: every change replaces the record in the registry and queues it for writing.
+//expiresAt is the expiry of the last token issued for the session; revokedAt is null while the session is live.
+public record DeviceSession(Long sessionId, String tenantId, Long userId, String deviceId, String deviceName,
+                            Instant createdAt, Instant lastSeenAt, Instant expiresAt, Instant revokedAt)
+{
+    public boolean isRevoked()
+    {
+        return revokedAt != null;           //Signed out, by the user, a reset or a delete
+    }
+
+    public boolean isExpired(Instant now)
+    {
+        return !now.isBefore(expiresAt);    //Its last token has expired
+    }
+
+    //Same session after a token refresh
+    public DeviceSession seen(Instant now, Instant newExpiresAt)
+    {
+        return new DeviceSession(sessionId, tenantId, userId, deviceId, deviceName, createdAt, now, newExpiresAt, null);  //Seen now, live
+    }
+
+    //Same session, signed out
+    public DeviceSession revoke(Instant now)
+    {
+        return new DeviceSession(sessionId, tenantId, userId, deviceId, deviceName, createdAt, lastSeenAt, expiresAt, now);   //Kept until expiresAt
+    }
+}
@@ -0,0 +1,346 @@
+package com.user.login.Session;                                                 //Package declaration
+import com.user.login.Enum.ChangeType;                                          //Deletes sign users out
+import com.user.login.Event.UserBatchChangedEvent;                              //Batch deletes
+import com.user.login.Event.UserChangedEvent;                                   //Single deletes
+import com.user.login.Security.JWT.JwtUtils;                                    //Token lifetime
+import io.micrometer.core.instrument.Gauge;                                     //Session gauges
+import io.micrometer.core.instrument.MeterRegistry;                             //Metrics registry
+import org.slf4j.Logger;                                                        //Logging
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;                      //Sync and prune intervals
+import org.springframework.context.SmartLifecycle;                              //Loads on start, flushes on stop
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;     //Named daemon thread
+import org.springframework.stereotype.Component;                                //Marks the class as a Spring bean
+import org.springframework.transaction.event.TransactionalEventListener;        //Revokes only after the delete commits
+import java.nio.charset.StandardCharsets;                                       //User-Agent bytes
+import java.security.MessageDigest;                                             //Fallback device id
+import java.security.NoSuchAlgorithmException;                                  //SHA-256 missing
+import java.security.SecureRandom;                                              //Session ids
+import java.time.Duration;                                                      //Intervals and token lifetime
+import java.time.Instant;                                                       //Timestamps
+import java.util.ArrayList;                                                     //Flush batch
+import java.util.Comparator;                                                    //Newest session first
+import java.util.HexFormat;                                                     //Fallback device id text form
+import java.util.List;                                                          //Session lists
+import java.util.Map;                                                           //Indexes
+import java.util.Objects;                                                       //Owner checks
+import java.util.Optional;                                                      //Session lookup
+import java.util.Set;                                                           //Session ids of a user
+import java.util.concurrent.*;                                                  //Indexes and scheduler
+import java.util.concurrent.locks.ReentrantLock;                                //One sync at a time (no monitor pinning)
+
+//Signed-in sessions by user and device, held in memory so JwtAuthenticationFilter checks a token's session with one
+//hash lookup (isRevoked) and no database query.
+//  - sessions: live sessions this node knows, by session id; byUser: session ids of each user, for listing and for
+//    replacing the previous session of a device on sign-in
+//  - revoked: revoked session ids until their last token expires, after which the token is refused anyway
+//  - write-behind: changes are queued (pending) and written to user_sessions in batches every app.sessions.sync-interval,
+//    and right away for revocations; the same task pulls rows other nodes wrote since the last pull
+//A token whose session this node has not heard of yet (opened on another node moments ago) is accepted: the signature
+//already proves it was issued, and only revocation needs to reach every node.
+//A sign-in without a device id (no X-Device-ID header) gets one derived from its User-Agent, see deviceId().
+@Component  //Marks the class as a Spring bean, one registry per node
+public class SessionRegistry implements SmartLifecycle
+{
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);  //Sync failures and startup summary
+    private static final Duration PULL_OVERLAP = Duration.ofSeconds(10);   //Re-read window for clock skew between nodes
+    private static final int MAX_DEVICE_ID = 64;                           //user_sessions.deviceId
+    private static final int MAX_DEVICE_NAME = 255;                        //user_sessions.deviceName
+    private static final String DERIVED_DEVICE = "ua-";                    //Prefix of device ids derived from the User-Agent
+
+    private final SessionStore sessionStore;                                //user_sessions, written behind
+    private final Duration tokenLifetime;                                   //A session outlives its last token by nothing
+    private final Duration syncInterval;                                    //Write-behind flush and pull
+    private final Duration pruneInterval;                                   //Dropping expired entries from memory
+    private final SecureRandom random = new SecureRandom();                 //Unguessable session ids
+    private final Map<Long, DeviceSession> sessions = new ConcurrentHashMap<>();    //Live sessions by session id
+    private final Map<Long, Set<Long>> byUser = new ConcurrentHashMap<>();          //Session ids of each user
+    private final Map<Long, Instant> revoked = new ConcurrentHashMap<>();   //Session id -> expiry of its last token
+    private final Map<Long, DeviceSession> pending = new ConcurrentHashMap<>();     //Latest unwritten state by session id
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sessions-"));  //Sync and prune
+    private final ReentrantLock syncLock = new ReentrantLock();             //Held across the JDBC calls of sync()
+    private volatile Instant pulledUpTo = Instant.EPOCH;                   //updatedAt cursor of the last pull
+    private volatile boolean running;                                       //Lifecycle state
+
+    public SessionRegistry(SessionStore sessionStore, JwtUtils jwtUtils, MeterRegistry registry,
+                           @Value("${app.sessions.sync-interval:1s}") Duration syncInterval,
+                           @Value("${app.sessions.prune-interval:1m}") Duration pruneInterval)
+    {
+        this.sessionStore = sessionStore;
+        this.tokenLifetime = Duration.ofMillis(jwtUtils.getExpirationMillis());    //Each refresh extends a session by this much
+        this.syncInterval = syncInterval;
+        this.pruneInterval = pruneInterval;
+        Gauge.builder("login.sessions.active", sessions, Map::size).register(registry);     //Live sessions on this node
+        Gauge.builder("login.sessions.revoked", revoked, Map::size).register(registry);     //Revocations still remembered
+        Gauge.builder("login.sessions.pending", pending, Map::size).register(registry);     //Changes not yet written
+    }
+
+    //New session for a sign-in; a previous live session of the same user and device is revoked
+    public DeviceSession open(Long userId, String tenantId, String deviceId, String deviceName)
+    {
+        Instant now = Instant.now();                                        //Created, seen and expiry base
+        String device = deviceId(deviceId, deviceName);                     //Sent by the client, or derived from its User-Agent
+
+        for(DeviceSession previous : sessionsOf(userId))
+        {
+            if(previous.deviceId().equals(device))
+                revoke(userId, previous.sessionId());                       //One session per device
+        }
+
+        DeviceSession session = new DeviceSession(nextId(), tenantId, userId, device, truncate(deviceName, MAX_DEVICE_NAME),
+        now, now, now.plus(tokenLifetime), null);
+        remember(session);                                                  //Live on this node at once
+        pending.put(session.sessionId(), session);                          //Written at the next sync
+        return session;
+    }
+
+    //Record a token refresh; false when the session is revoked. A session unknown to this node (opened elsewhere and
+    //not pulled yet) is accepted, and its row is updated when the pull brings it in.
+    public boolean touch(Long sessionId)
+    {
+        if(isRevoked(sessionId))
+            return false;                                                   //No new token for a revoked session
+
+        Instant now = Instant.now();                                        //Seen now, new expiry one token lifetime later
+        DeviceSession seen = sessions.computeIfPresent(sessionId, (id, session) -> session.seen(now, now.plus(tokenLifetime)));
+        if(seen != null)
+            pending.put(sessionId, seen);                                   //Written at the next sync
+
+        return true;
+    }
+
+    //O(1) check for every authenticated request; tokens without a session are never revoked
+    public boolean isRevoked(Long sessionId)
+    {
+        return sessionId != null && revoked.containsKey(sessionId);         //One hash lookup
+    }
+
+    //Live session by id, if this node knows it
+    public Optional<DeviceSession> find(Long sessionId)
+    {
+        return Optional.ofNullable(sessions.get(sessionId));                //Null for unknown and revoked sessions
+    }
+
+    //Live sessions of a user, most recently used first
+    public List<DeviceSession> sessionsOf(Long userId)
+    {
+        Set<Long> ids = byUser.get(userId);                                 //Session ids of the user
+        if(ids == null)
+            return List.of();                                               //No session on this node
+
+        Instant now = Instant.now();                                        //Expired sessions are left out until pruned
+        return ids.stream().map(sessions::get).filter(Objects::nonNull).filter(session -> !session.isExpired(now))
+        .sorted(Comparator.comparing(DeviceSession::lastSeenAt).reversed()).toList();
+    }
+
+    //Sign one session of the user out everywhere; false when it is not a live session of this user
+    public boolean revoke(Long userId, Long sessionId)
+    {
+        DeviceSession session = sessions.get(sessionId);                    //Live session, if any
+        if(session == null || !Objects.equals(session.userId(), userId))
+            return false;                                                   //Unknown, already revoked, or someone else's
+
+        DeviceSession revokedSession = session.revoke(Instant.now());       //Revoked as of now
+        forget(revokedSession);                                             //Its tokens stop working on this node at once
+        pending.put(sessionId, revokedSession);                             //And on the others after the write
+        flushSoon();                                                        //Which does not wait for the next interval
+        return true;
+    }
+
+    //Sign the user out on every device (after a credential reset)
+    public int revokeAll(Long userId)
+    {
+        int count = 0;                                                      //Sessions revoked
+        for(DeviceSession session : sessionsOf(userId))
+        {
+            if(revoke(userId, session.sessionId()))
+                count++;
+        }
+
+        return count;                                                       //Zero when the user had no live session
+    }
+
+    //A deleted user is signed out on every device once the delete commits; a rolled-back delete signs nobody out
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event)
+    {
+        if(event.changeType() == ChangeType.DELETED)
+            revokeAll(event.userId());                                      //Every device of the deleted user
+    }
+
+    //Same for a batch delete, once the batch commits
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UserBatchChangedEvent event)
+    {
+        if(event.changeType() == ChangeType.DELETED)
+            event.userIds().forEach(this::revokeAll);                       //Every device of each deleted user
+    }
+
+    //Write queued changes, then pull what other nodes wrote; failed writes stay queued for the next round
+    public void sync()
+    {
+        syncLock.lock();                                                    //One round at a time (scheduler and stop())
+        try
+        {
+            Instant now = Instant.now();                                    //updatedAt of this write and end of this pull
+            List<DeviceSession> batch = new ArrayList<>(pending.values());  //Snapshot; later changes wait for the next round
+
+            if(!batch.isEmpty())
+            {
+                sessionStore.saveAll(batch, now);                           //One transaction
+                batch.forEach(session -> pending.remove(session.sessionId(), session));    //Unless changed again meanwhile
+            }
+
+            Instant since = pulledUpTo.minus(PULL_OVERLAP);                 //Overlap with the last pull
+            sessionStore.changedSince(since.isBefore(Instant.EPOCH) ? Instant.EPOCH : since, now).forEach(this::apply);
+            pulledUpTo = now;                                               //Next pull starts here
+        }
+
+        catch(RuntimeException e)
+        {
+            log.warn("Session sync failed; {} change(s) stay queued", pending.size(), e);    //Retried at the next interval
+        }
+
+        finally
+        {
+            syncLock.unlock();
+        }
+    }
+
+    //Drop sessions and revocations whose last token has expired
+    public void prune()
+    {
+        Instant now = Instant.now();                                        //Expiry cutoff
+        sessions.values().stream().filter(session -> session.isExpired(now)).toList().forEach(this::forgetLive);   //Their tokens have expired
+        revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt));   //Tokens of these expired too
+    }
+
+    @Override
+    public void start()
+    {
+        sync();     //Sessions and revocations of the rest of the cluster
+        long syncMillis = syncInterval.toMillis();                          //Write-behind and pull interval
+        scheduler.scheduleWithFixedDelay(this::sync, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::prune, pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;                                                     //Revocations may now flush right away
+        log.info("Session registry loaded {} live and {} revoked session(s)", sessions.size(), revoked.size());
+    }
+
+    //Write what is still queued before the connection pool closes
+    @Override
+    public void stop()
+    {
+        running = false;                                                    //Revocations queue from here on
+        scheduler.shutdownNow();                                            //No more scheduled syncs
+        sync();                                                             //Final write on the stopping thread
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running;     //Lifecycle state
+    }
+
+    @Override
+    public int getPhase()
+    {
+        return 0;   //Stops after the web server, so sign-ins that completed during the drain are written
+    }
+
+    //State from another node (or this one, read back); revocation wins and a live row only replaces an older one
+    private void apply(DeviceSession stored)
+    {
+        if(stored.isRevoked())
+        {
+            forget(stored);                                                 //Revoked elsewhere
+            return;
+        }
+
+        if(revoked.containsKey(stored.sessionId()))
+            return;                                                         //Revoked here, not written back yet
+
+        sessions.merge(stored.sessionId(), stored, (local, remote) -> remote.lastSeenAt().isAfter(local.lastSeenAt()) ? remote : local);
+        byUser.computeIfAbsent(stored.userId(), userId -> ConcurrentHashMap.newKeySet()).add(stored.sessionId());    //Listed for its user
+    }
+
+    //Index a new live session
+    private void remember(DeviceSession session)
+    {
+        sessions.put(session.sessionId(), session);                         //By session id
+        byUser.computeIfAbsent(session.userId(), userId -> ConcurrentHashMap.newKeySet()).add(session.sessionId());  //By user
+    }
+
+    //Remember a revocation until its last token expires, and drop the live session
+    private void forget(DeviceSession revokedSession)
+    {
+        revoked.merge(revokedSession.sessionId(), revokedSession.expiresAt(), (a, b) -> a.isAfter(b) ? a : b);    //Latest expiry wins
+        forgetLive(revokedSession);
+    }
+
+    //Drop a session from both indexes
+    private void forgetLive(DeviceSession session)
+    {
+        sessions.remove(session.sessionId());                               //By session id
+        byUser.computeIfPresent(session.userId(), (userId, ids) ->
+        {
+            ids.remove(session.sessionId());                                //By user
+            return ids.isEmpty() ? null : ids;                              //No empty sets left behind
+        });
+    }
+
+    //Revocations are written right away rather than at the next interval
+    private void flushSoon()
+    {
+        if(!running)
+            return;                                                         //Not started, or stopping
+
+        try
+        {
+            scheduler.execute(this::sync);                                  //On the sync thread, never the request's
+        }
+
+        catch(RejectedExecutionException e)
+        {
+            //Stopping; stop() writes what is queued
+        }
+    }
+
+    //New random session id, unused on this node
+    private long nextId()
+    {
+        long id;                                                            //Candidate id
+        do
+        {
+            id = random.nextLong() & Long.MAX_VALUE;   //Positive; 0 means "no session" in compact tokens
+        }
+        while(id == 0 || sessions.containsKey(id) || revoked.containsKey(id));
+
+        return id;
+    }
+
+    //Device of a sign-in: the client's X-Device-ID, or, when it sends none, "ua-" and 128 bits of the SHA-256 of its
+    //User-Agent. The derived id is stable, so signing in again from the same client replaces its session instead of
+    //adding one per sign-in. Clients sharing a User-Agent (or sending neither header) share that device and replace
+    //each other's session; clients that need separate sessions send X-Device-ID.
+    static String deviceId(String deviceId, String deviceName)
+    {
+        if(deviceId != null && !deviceId.isBlank())
+            return truncate(deviceId.strip(), MAX_DEVICE_ID);               //Chosen by the client
+
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest((deviceName == null ? "" : deviceName.strip()).getBytes(StandardCharsets.UTF_8));
+            return DERIVED_DEVICE + HexFormat.of().formatHex(digest, 0, 16);    //35 characters, within MAX_DEVICE_ID
+        }
+
+        catch(NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);    //Every JRE must provide it
+        }
+    }
+
+    private static String truncate(String value, int max)
+    {
+        return value == null || value.length() <= max ? value : value.substring(0, max);  //Fits the column
+    }
+}
@@ -0,0 +1,89 @@
+package com.user.login.Session;                                         //Package declaration
+import com.user.login.Housekeeping.PurgeJob;                            //Expired sessions are purged by the Housekeeper
+import com.user.login.Replica.ReadYourWrites;                           //Sync reads come from the primary
+import org.springframework.jdbc.core.JdbcTemplate;                      //Batched upserts and incremental reads
+import org.springframework.jdbc.core.RowMapper;                         //Row -> DeviceSession
+import org.springframework.stereotype.Component;                        //Marks the class as a Spring bean
+import org.springframework.transaction.annotation.Transactional;        //Batch boundaries
+import java.sql.Timestamp;                                              //Timestamp columns
+import java.time.Instant;                                               //Timestamps
+import java.util.ArrayList;                                             //Rows to insert
+import java.util.List;                                                  //Batches
+
+//Persistence behind SessionRegistry: the user_sessions table, written in batches (write-behind) and read back
+//incrementally through updatedAt so every node learns about sessions opened and revoked elsewhere.
+//Plain SQL, because rows of every tenant are written and read together.
+@Component  //Marks the class as a Spring bean; also registered with the Housekeeper as a PurgeJob
+public class SessionStore implements PurgeJob
+{
+    //Columns of a DeviceSession, in record order; updatedAt is only written and compared
+    private static final String COLUMNS = "sessionId, tenantId, userId, deviceId, deviceName, createdAt, lastSeenAt, expiresAt, revokedAt";
+    //Row -> DeviceSession; revokedAt may be null
+    private static final RowMapper<DeviceSession> ROW = (rs, rowNum) -> new DeviceSession(rs.getLong("sessionId"), rs.getString("tenantId"),
+    rs.getLong("userId"), rs.getString("deviceId"), rs.getString("deviceName"), instant(rs.getTimestamp("createdAt")),
+    instant(rs.getTimestamp("lastSeenAt")), instant(rs.getTimestamp("expiresAt")), instant(rs.getTimestamp("revokedAt")));
+
+    private final JdbcTemplate jdbcTemplate;    //Batched writes and incremental reads
+
+    public SessionStore(JdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Write the latest state of each session: one batched UPDATE, then one batched INSERT for the rows that did not exist yet.
+    //A stored revocation is kept: a node that has not pulled it yet cannot bring the session back with a refresh.
+    @Transactional
+    public void saveAll(List<DeviceSession> sessions, Instant updatedAt)
+    {
+        Timestamp updated = Timestamp.from(updatedAt);          //Pull cursor of the other nodes
+        int[] counts = jdbcTemplate.batchUpdate("UPDATE user_sessions SET lastSeenAt = ?, expiresAt = ?, revokedAt = COALESCE(revokedAt, ?), updatedAt = ? "
+        + "WHERE sessionId = ?",
+        sessions.stream().map(session -> new Object[] {Timestamp.from(session.lastSeenAt()), Timestamp.from(session.expiresAt()),
+        timestamp(session.revokedAt()), updated, session.sessionId()}).toList());
+
+        List<Object[]> inserts = new ArrayList<>();             //Sessions the UPDATE did not find
+        for(int i = 0; i < counts.length; i++)
+        {
+            DeviceSession session = sessions.get(i);            //Same order as the UPDATE batch
+            if(counts[i] == 0)
+                inserts.add(new Object[] {session.sessionId(), session.tenantId(), session.userId(), session.deviceId(), session.deviceName(),
+                Timestamp.from(session.createdAt()), Timestamp.from(session.lastSeenAt()), Timestamp.from(session.expiresAt()),
+                timestamp(session.revokedAt()), updated});
+        }
+
+        if(!inserts.isEmpty())                                  //Only new sessions are inserted
+            jdbcTemplate.batchUpdate("INSERT INTO user_sessions (" + COLUMNS + ", updatedAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+    }
+
+    //Unexpired sessions written since the given instant, from the primary so a lagging replica cannot hide a revocation
+    public List<DeviceSession> changedSince(Instant since, Instant now)
+    {
+        return ReadYourWrites.onPrimary(() -> jdbcTemplate.query("SELECT " + COLUMNS + " FROM user_sessions WHERE updatedAt > ? AND expiresAt > ?",
+        ROW, Timestamp.from(since), Timestamp.from(now)));
+    }
+
+    @Override
+    public String name()
+    {
+        return "sessions";        //Metric tag and log label
+    }
+
+    //Drop up to batchSize expired sessions of every tenant, revoked or not, oldest first through idx_user_sessions_expiry
+    @Override
+    @Transactional
+    public int purge(Instant cutoff, int batchSize)
+    {
+        return jdbcTemplate.update("DELETE FROM user_sessions WHERE sessionId IN "
+        + "(SELECT sessionId FROM user_sessions WHERE expiresAt <= ? ORDER BY expiresAt LIMIT ?)", Timestamp.from(cutoff), batchSize);
+    }
+
+    private static Timestamp timestamp(Instant instant)
+    {
+        return instant == null ? null : Timestamp.from(instant);   //revokedAt of a live session
+    }
+
+    private static Instant instant(Timestamp timestamp)
+    {
+        return timestamp == null ? null : timestamp.toInstant();   //Null revokedAt
+    }
+}
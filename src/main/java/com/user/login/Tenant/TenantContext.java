@@ -0,0 +1,70 @@
+package com.user.login.Tenant;                  //Package declaration
+import java.util.function.Supplier;             //Work run on behalf of a tenant
+import java.util.regex.Pattern;                 //Tenant id syntax
+
+//Tenant of the work on the current thread. TenantFilter sets it per request (from the token, or the X-Tenant-ID
+//header before sign-in); background work sets it around each unit of work. Unset means the default tenant, which
+//is where a single-storefront deployment keeps all of its users.
+public final class TenantContext
+{
+    public static final String DEFAULT_TENANT = "default";                          //Tenant of data written before partitioning
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9-]{0,31}");   //Fits users.tenantId and the compact token
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext()
+    {
+    }
+
+    //Tenant of the current thread
+    public static String current()
+    {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    //Run work as the given tenant, restoring the previous tenant afterwards
+    public static <T> T callAs(String tenantId, Supplier<T> work)
+    {
+        String previous = CURRENT.get();
+        CURRENT.set(tenantId);
+
+        try
+        {
+            return work.get();
+        }
+
+        finally
+        {
+            if(previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    //Used by TenantFilter, which cannot wrap the filter chain in a Supplier
+    static void set(String tenantId)
+    {
+        CURRENT.set(tenantId);
+    }
+
+    static void clear()
+    {
+        CURRENT.remove();
+    }
+
+    public static void runAs(String tenantId, Runnable work)
+    {
+        callAs(tenantId, () -> 
+        {
+            work.run();
+            return null;
+        });
+    }
+
+    //True if the value can be used as a tenant id
+    public static boolean isValid(String tenantId)
+    {
+        return tenantId != null && TENANT_ID.matcher(tenantId).matches();
+    }
+}
@@ -0,0 +1,47 @@
+package com.user.login.Tenant;                                              //Package declaration
+import com.user.login.Security.JWT.JwtAuthenticationToken;                  //Tenant of a signed-in caller
+import jakarta.servlet.FilterChain;                                         //FilterChain for request filtering
+import jakarta.servlet.ServletException;                                    //ServletException for handling servlet errors
+import jakarta.servlet.http.HttpServletRequest;                             //HttpServletRequest to access request data
+import jakarta.servlet.http.HttpServletResponse;                            //HttpServletResponse for sending responses
+import org.springframework.security.core.context.SecurityContextHolder;     //Authentication set by the JWT filter
+import org.springframework.stereotype.Component;                            //Marks the class as a Spring component
+import org.springframework.web.filter.OncePerRequestFilter;                 //Ensures the filter runs once per request
+import java.io.IOException;                                                 //Handles IO exceptions
+
+//Runs right after JwtAuthenticationFilter and sets the tenant for the rest of the request. A signed-in caller
+//always acts in the tenant of its token; X-Tenant-ID is only read before sign-in (login, sign-up, credential
+//reset), and without it the request goes to the default tenant.
+@Component
+public class TenantFilter extends OncePerRequestFilter 
+{
+    public static final String TENANT_HEADER = "X-Tenant-ID";  //Storefront of an anonymous request
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException 
+    {
+        String tenantId = SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken authentication
+        ? authentication.getTenantId() : request.getHeader(TENANT_HEADER);
+
+        if(tenantId == null)
+            tenantId = TenantContext.DEFAULT_TENANT;
+
+        if(!TenantContext.isValid(tenantId)) 
+        {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid tenant");
+            return;
+        }
+
+        TenantContext.set(tenantId);
+
+        try 
+        {
+            filterChain.doFilter(request, response);
+        } 
+        
+        finally 
+        {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.user.login.Tenant;                                                          //Package declaration
+import org.hibernate.cfg.AvailableSettings;                                             //Hibernate property names
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;                       //Tenant of each new session
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;   //Hands the resolver to Hibernate
+import org.springframework.stereotype.Component;                                        //Marks the class as a Spring bean
+import java.util.Map;                                                                   //Hibernate properties
+
+//Every session is opened for the current thread's tenant. Entities with a @TenantId attribute are then stamped
+//with it on insert and filtered by it in queries, and their second-level cache keys include it.
+@Component
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver, HibernatePropertiesCustomizer
+{
+    @Override
+    public String resolveCurrentTenantIdentifier()
+    {
+        return TenantContext.current();
+    }
+
+    //Sessions live no longer than a request or a unit of background work, both of which have a single tenant
+    @Override
+    public boolean validateExistingCurrentSessions()
+    {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties)
+    {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
@@ -1,11 +1,64 @@
-CREATE TABLE users (
+CREATE TABLE IF NOT EXISTS users (
     userId BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenantId VARCHAR(32) NOT NULL DEFAULT 'default',
     firstName VARCHAR(255) NOT NULL,
     lastName VARCHAR(255) NOT NULL,
-    username VARCHAR(255) NOT NULL UNIQUE,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    phoneNumber VARCHAR(15) NOT NULL UNIQUE,
+    username VARCHAR(255) NOT NULL,
+    usernameKey VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    emailKey VARCHAR(255) NOT NULL,
+    phoneNumber VARCHAR(15) NOT NULL,
     homeAddress VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
-    role VARCHAR(50) NOT NULL
+    role VARCHAR(50) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_users_tenant_username UNIQUE (tenantId, usernameKey),
+    CONSTRAINT uk_users_tenant_email UNIQUE (tenantId, emailKey),
+    CONSTRAINT uk_users_tenant_phone UNIQUE (tenantId, phoneNumber)
 );
+
+CREATE TABLE IF NOT EXISTS user_changes (
+    changeId BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenantId VARCHAR(32) NOT NULL DEFAULT 'default',
+    userId BIGINT NOT NULL,
+    changeType VARCHAR(10) NOT NULL,
+    changedAt TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_changes_tenant ON user_changes (tenantId, changeId);
+
+CREATE TABLE IF NOT EXISTS reset_tokens (
+    tokenHash VARCHAR(64) PRIMARY KEY,
+    tenantId VARCHAR(32) NOT NULL DEFAULT 'default',
+    userId BIGINT NOT NULL,
+    expiresAt TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reset_tokens_user ON reset_tokens (userId);
+CREATE INDEX IF NOT EXISTS idx_reset_tokens_expiry ON reset_tokens (expiresAt);
+
+CREATE TABLE IF NOT EXISTS user_sessions (
+    sessionId BIGINT PRIMARY KEY,
+    tenantId VARCHAR(32) NOT NULL DEFAULT 'default',
+    userId BIGINT NOT NULL,
+    deviceId VARCHAR(64) NOT NULL,
+    deviceName VARCHAR(255),
+    createdAt TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    lastSeenAt TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expiresAt TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revokedAt TIMESTAMP(6) WITH TIME ZONE,
+    updatedAt TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_sessions_updated ON user_sessions (updatedAt);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_expiry ON user_sessions (expiresAt);
+
+CREATE TABLE IF NOT EXISTS housekeeping_lock (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(255),
+    lockedUntil TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO housekeeping_lock (name, lockedUntil)
+SELECT 'housekeeping', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00:00'
+WHERE NOT EXISTS (SELECT 1 FROM housekeeping_lock WHERE name = 'housekeeping');
@@ -0,0 +1,77 @@
+package com.user.login.Reactive;                                                //Package declaration
+import com.user.login.Enum.Role;                                                //Role bits for a test token
+import com.user.login.Security.JWT.JwtUtils;                                    //Signs a session-bound test token
+import org.junit.jupiter.api.Test;                                              //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                  //Test client injection
+import org.springframework.boot.test.context.SpringBootTest;                    //Boots the reactive application
+import org.springframework.http.MediaType;                                      //Request content types
+import org.springframework.test.context.ActiveProfiles;                         //Activates the reactive beans
+import org.springframework.test.web.reactive.server.WebTestClient;              //Non-blocking HTTP test client
+import java.util.Map;                                                           //Request bodies
+import static org.junit.jupiter.api.Assertions.*;                               //Assertions
+
+//End-to-end check of the WebFlux + R2DBC variant. Run with: mvn -Preactive test
+@ActiveProfiles("reactive")
+@SpringBootTest(classes = ReactiveLoginApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+properties = "spring.main.web-application-type=reactive")
+class ReactiveApiTest
+{
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void createLoginAndFetchCurrentUser()
+    {
+        webTestClient.post().uri("/users").contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("firstName", "Reactive", "lastName", "Tester", "username", "reactive_user", "email", "reactive@example.com",
+        "phoneNumber", "+15550000001", "homeAddress", "Flux Street", "password", "reactivepassword", "role", "CUSTOMER"))
+        .exchange().expectStatus().isOk().expectBody().jsonPath("$.username").isEqualTo("reactive_user");
+
+        Map<?, ?> login = webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("username", "reactive_user", "password", "reactivepassword"))
+        .exchange().expectStatus().isOk().expectBody(Map.class).returnResult().getResponseBody();
+        assertNotNull(login);
+        String token = (String) login.get("token");
+        assertNotNull(token);
+
+        webTestClient.get().uri("/users/me").headers(headers -> headers.setBearerAuth(token))
+        .exchange().expectStatus().isOk().expectBody().jsonPath("$.email").isEqualTo("reactive@example.com");
+
+        webTestClient.post().uri("/auth/refresh").contentType(MediaType.TEXT_PLAIN).bodyValue(token)
+        .exchange().expectStatus().isOk().expectBody().jsonPath("$.token").isNotEmpty();
+
+        //Customers cannot list every user
+        webTestClient.get().uri("/users").headers(headers -> headers.setBearerAuth(token)).exchange().expectStatus().isForbidden();
+    }
+
+    @Test
+    void rejectsBadCredentialsAndMissingToken()
+    {
+        webTestClient.post().uri("/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("username", "nobody", "password", "wrong")).exchange().expectStatus().isUnauthorized();
+
+        webTestClient.get().uri("/users/me").exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void rejectsSessionBoundTokens()
+    {
+        Map<?, ?> created = webTestClient.post().uri("/users").contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("firstName", "Session", "lastName", "Bound", "username", "reactive_session", "email", "reactive_session@example.com",
+        "phoneNumber", "+15550000002", "homeAddress", "Flux Street", "password", "reactivepassword", "role", "CUSTOMER"))
+        .exchange().expectStatus().isOk().expectBody(Map.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        Long userId = ((Number) created.get("userId")).longValue();
+
+        //No session registry here, so a logout on the servlet service could not be seen
+        String token = jwtUtils.generateToken(userId, "reactive_session", Role.CUSTOMER.bit(), "default", 42L);
+        webTestClient.get().uri("/users/me").headers(headers -> headers.setBearerAuth(token)).exchange().expectStatus().isUnauthorized();
+        webTestClient.post().uri("/auth/refresh").contentType(MediaType.TEXT_PLAIN).bodyValue(token).exchange().expectStatus().isForbidden();
+
+        String sessionless = jwtUtils.generateToken(userId, "reactive_session", Role.CUSTOMER.bit());
+        webTestClient.get().uri("/users/me").headers(headers -> headers.setBearerAuth(sessionless)).exchange().expectStatus().isOk();
+    }
+}
@@ -0,0 +1,85 @@
+package com.user.login.Reactive.Controller;                     //Package declaration
+import com.user.login.DTO.Auth.AuthRequestDTO;                  //DTO used to receive login credentials from the client
+import com.user.login.DTO.Auth.AuthResponseDTO;                 //DTO used to send authentication results back to the client
+import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;        //DTO for resetting username and password
+import com.user.login.Entity.Auth.AuthRequest;                  //Internal entity representing login request data
+import com.user.login.Entity.Auth.ForgotLoginCredential;        //Entity used to request and redeem credential resets
+import com.user.login.Exception.InvalidResetTokenException;     //Unknown, expired or used reset token
+import com.user.login.Exception.ResetThrottledException;        //Per-email reset limit reached
+import com.user.login.Reactive.Service.ReactiveAuthService;     //Non-blocking authentication service
+import org.springframework.context.annotation.Profile;          //Only active in the reactive variant
+import org.springframework.http.HttpStatus;                     //HTTP status codes
+import org.springframework.http.ResponseEntity;                 //Full HTTP responses (body + status code)
+import org.springframework.web.bind.annotation.*;               //Spring Web annotations
+import reactor.core.publisher.Mono;                             //Single async result
+
+//Same contract as AuthController, served from the event loop
+@Profile("reactive")
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/auth")
+public class ReactiveAuthController
+{
+    private final ReactiveAuthService authService;  //Non-blocking authentication service
+
+    public ReactiveAuthController(ReactiveAuthService authService)
+    {
+        this.authService = authService;
+    }
+
+    //HTTP POST endpoint at /auth/login to authenticate a user
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponseDTO>> login(@RequestBody AuthRequestDTO authRequestDTO)
+    {
+        AuthRequest authRequest = new AuthRequest();
+        authRequest.setUsername(authRequestDTO.getUsername());
+        authRequest.setPassword(authRequestDTO.getPassword());
+
+        return authService.authenticate(authRequest).map(ResponseEntity::ok)
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            .body(AuthResponseDTO.builder().token(null).message("Authentication failed").build())));
+    }
+
+    //HTTP POST endpoint at /auth/refresh to refresh JWT tokens
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<AuthResponseDTO>> refreshToken(@RequestBody String oldToken)
+    {
+        return authService.refreshToken(oldToken)
+            .map(authResponse -> ResponseEntity.ok(AuthResponseDTO.builder().token(authResponse.getToken()).message("Token refreshed successfully").build()))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(AuthResponseDTO.builder().token(null).message("Token refresh failed").build())));
+    }
+
+    //HTTP GET endpoint at /auth/protected used to test access to a protected resource
+    @GetMapping("/protected")
+    public Mono<ResponseEntity<String>> getProtectedResource()
+    {
+        return Mono.just(ResponseEntity.ok("This is a protected resource."));
+    }
+
+    //Endpoint to request a credential reset: a single-use token is sent to the email's owner (202 whether or not it is registered)
+    @PostMapping("/forgotLogin")
+    public Mono<ResponseEntity<ForgotLoginCredentialDTO>> requestLoginReset(@RequestBody ForgotLoginCredential forgotLoginCredential)
+    {
+        return authService.requestLoginReset(forgotLoginCredential == null ? null : forgotLoginCredential.getEmail())
+            .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ForgotLoginCredentialDTO.builder().message("If the email is registered, a reset token has been sent to it").build())))
+            .onErrorResume(ResetThrottledException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest()
+            .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ForgotLoginCredentialDTO.builder().message("An error occurred while requesting a credential reset").build())));
+    }
+
+    //Endpoint to redeem a reset token and set a new username and/or password
+    @PostMapping("/forgotLogin/confirm")
+    public Mono<ResponseEntity<ForgotLoginCredentialDTO>> resetLoginCredential(@RequestBody ForgotLoginCredential forgotLoginCredential)
+    {
+        return authService.resetLoginCredential(forgotLoginCredential).map(ResponseEntity::ok)
+            .onErrorResume(e -> e instanceof InvalidResetTokenException || e instanceof IllegalArgumentException, e -> Mono.just(ResponseEntity.badRequest()
+            .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+            .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(ForgotLoginCredentialDTO.builder().message("An error occurred while resetting credentials").build())));
+    }
+}
@@ -0,0 +1,63 @@
+package com.user.login.Reactive.Controller;                     //Package declaration
+import com.user.login.DTO.UserDTO;                              //UserDTO for data transfer
+import com.user.login.DTO.Auth.AuthResponseDTO;                 //Response after user updates
+import com.user.login.Reactive.Service.ReactiveUserService;     //Non-blocking user service
+import lombok.RequiredArgsConstructor;                          //Constructor for final fields
+import org.springframework.context.annotation.Profile;          //Only active in the reactive variant
+import org.springframework.http.ResponseEntity;                 //HTTP response handling
+import org.springframework.web.bind.annotation.*;               //Spring Web annotations
+import reactor.core.publisher.Flux;                             //Streamed list of users
+import reactor.core.publisher.Mono;                             //Single async result
+
+//Same contract as UserController, served from the event loop
+@Profile("reactive")
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class ReactiveUserController
+{
+    private final ReactiveUserService userService;  //Non-blocking user operations
+
+    //Handle POST request to create a new user
+    @PostMapping
+    public Mono<ResponseEntity<UserDTO>> createUser(@RequestBody UserDTO userDTO)
+    {
+        return userService.createUser(userDTO).map(ResponseEntity::ok);
+    }
+
+    //Handle GET request to fetch currently authenticated user
+    @GetMapping("/me")
+    public Mono<ResponseEntity<UserDTO>> getCurrentUser()
+    {
+        return userService.getCurrentUser().map(ResponseEntity::ok);
+    }
+
+    //Handle GET request to fetch a user by ID
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<UserDTO>> getUser(@PathVariable("userId") Long userId)
+    {
+        return userService.getUser(userId).map(ResponseEntity::ok);
+    }
+
+    //Handle GET request to fetch all users; serialized as a JSON array like the servlet endpoint
+    @GetMapping
+    public Flux<UserDTO> getUsers()
+    {
+        return userService.getUsers();
+    }
+
+    //Handle PATCH request to update user by ID
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<AuthResponseDTO>> updateUser(@PathVariable("userId") Long userId, @RequestBody UserDTO userDTO)
+    {
+        return userService.updateUser(userId, userDTO).map(ResponseEntity::ok);
+    }
+
+    //Handle DELETE request to delete user by ID
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable("userId") Long userId)
+    {
+        return userService.deleteUser(userId).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
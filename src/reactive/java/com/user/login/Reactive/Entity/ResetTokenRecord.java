@@ -0,0 +1,44 @@
+package com.user.login.Reactive.Entity;                         //Package declaration
+import lombok.*;                                                //Lombok annotations for boilerplate code
+import org.springframework.data.annotation.Id;                  //Spring Data identifier
+import org.springframework.data.domain.Persistable;             //Assigned ids are always inserted
+import org.springframework.data.relational.core.mapping.Column; //Column mapping
+import org.springframework.data.relational.core.mapping.Table;  //Table mapping
+import java.time.Instant;                                       //Expiry
+
+//R2DBC mapping of the same 'reset_tokens' table used by the JPA ResetToken entity
+@Table("reset_tokens")                                          //Specifies table name
+@Getter                                                         //Generates getter methods
+@Setter                                                         //Generates setter methods
+@NoArgsConstructor                                              //Generates no-args constructor
+@AllArgsConstructor                                             //Generates all-args constructor
+@Builder                                                        //Enables builder pattern
+public class ResetTokenRecord implements Persistable<String>
+{
+    @Id                                                         //Marks as primary key
+    @Column("tokenHash")                                        //Maps to 'tokenHash' column
+    private String tokenHash;                                   //Hash of the token sent to the user
+
+    @Column("userId")
+    private Long userId;                                        //User whose credentials the token may change
+
+    @Column("expiresAt")
+    private Instant expiresAt;                                  //Not redeemable from this instant on
+
+    @Override
+    public String getId()
+    {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew()
+    {
+        return true;                                            //Tokens are only inserted, never updated
+    }
+
+    public boolean isExpired(Instant now)
+    {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,50 @@
+package com.user.login.Reactive.Entity;                         //Package declaration
+import com.user.login.Enum.Role;                                //Importing Role enum
+import lombok.*;                                                //Lombok annotations for boilerplate code
+import org.springframework.data.annotation.Id;                  //Spring Data identifier
+import org.springframework.data.relational.core.mapping.Column; //Column mapping
+import org.springframework.data.relational.core.mapping.Table;  //Table mapping
+
+//R2DBC mapping of the same 'users' table used by the JPA User entity
+@Table("users")                                                 //Specifies table name
+@Getter                                                         //Generates getter methods
+@Setter                                                         //Generates setter methods
+@NoArgsConstructor                                              //Generates no-args constructor
+@AllArgsConstructor                                             //Generates all-args constructor
+@Builder(toBuilder = true)                                      //Enables builder pattern
+public class UserRecord
+{
+    @Id                                                         //Marks as primary key
+    @Column("userId")                                           //Maps to 'userId' column
+    private Long userId;                                        //User's unique ID
+
+    @Column("firstName")
+    private String firstName;                                   //User's first name
+
+    @Column("lastName")
+    private String lastName;                                    //User's last name
+
+    @Column("username")
+    private String username;                                    //User's username, as entered
+
+    @Column("usernameKey")
+    private String usernameKey;                                 //User.identityKey(username), set by UserRecordIdentityKeys
+
+    @Column("email")
+    private String email;                                       //User's email, as entered
+
+    @Column("emailKey")
+    private String emailKey;                                    //User.identityKey(email), set by UserRecordIdentityKeys
+
+    @Column("phoneNumber")
+    private String phoneNumber;                                 //User's phone number
+
+    @Column("homeAddress")
+    private String homeAddress;                                 //User's home address
+
+    @Column("password")
+    private String password;                                    //User's password hash
+
+    @Column("role")
+    private Role role;                                          //User's role (stored as its name)
+}
@@ -0,0 +1,15 @@
+package com.user.login.Reactive.Mapper;             //Package declaration
+import com.user.login.DTO.UserDTO;                  //Shared user DTO
+import com.user.login.Reactive.Entity.UserRecord;   //R2DBC user mapping
+import org.mapstruct.Mapper;                        //MapStruct Mapper annotation
+import org.mapstruct.Mapping;                       //Per-field mapping rules
+
+@Mapper(componentModel = "spring")                  //Generated implementation is a Spring bean
+public interface ReactiveUserMapper
+{
+    @Mapping(target = "password", ignore = true)    //The hash never leaves the service
+    UserDTO toDTO(UserRecord user);                 //Converts UserRecord to UserDTO
+    @Mapping(target = "usernameKey", ignore = true) //Derived on save
+    @Mapping(target = "emailKey", ignore = true)    //Derived on save
+    UserRecord toRecord(UserDTO userDTO);           //Converts UserDTO to UserRecord
+}
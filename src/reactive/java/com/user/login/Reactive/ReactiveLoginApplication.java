@@ -0,0 +1,23 @@
+package com.user.login.Reactive;                                    //Package declaration
+import com.user.login.Reset.ResetSenderConfig;                      //Shared reset token sender selection
+import com.user.login.Reset.ResetThrottle;                          //Shared per-email reset limit
+import com.user.login.Security.JWT.JwtUtils;                        //Shared JWT issuer/parser
+import org.springframework.boot.WebApplicationType;                 //Forces the Netty/WebFlux stack
+import org.springframework.boot.autoconfigure.SpringBootApplication;//Boot auto-configuration + component scan of this package
+import org.springframework.boot.builder.SpringApplicationBuilder;   //Programmatic startup with the reactive profile
+import org.springframework.context.annotation.Import;               //Pulls in shared beans from the servlet packages
+import org.springframework.context.annotation.Profile;              //Keeps this variant invisible to LoginApplication
+import org.springframework.scheduling.annotation.EnableScheduling;  //Reset token sweep
+
+//Non-blocking edition of the login service: WebFlux + R2DBC, scanning only com.user.login.Reactive
+@Profile("reactive")
+@SpringBootApplication
+@EnableScheduling
+@Import({JwtUtils.class, ResetThrottle.class, ResetSenderConfig.class})
+public class ReactiveLoginApplication
+{
+    public static void main(String[] args)
+    {
+        new SpringApplicationBuilder(ReactiveLoginApplication.class).profiles("reactive").web(WebApplicationType.REACTIVE).run(args);
+    }
+}
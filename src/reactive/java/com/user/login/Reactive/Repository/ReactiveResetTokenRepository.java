@@ -0,0 +1,24 @@
+package com.user.login.Reactive.Repository;                                 //Package declaration
+import com.user.login.Reactive.Entity.ResetTokenRecord;                     //R2DBC reset token mapping
+import org.springframework.context.annotation.Profile;                      //Only registered in the reactive variant
+import org.springframework.data.r2dbc.repository.Modifying;                 //Statements returning a row count
+import org.springframework.data.r2dbc.repository.Query;                     //Explicit SQL
+import org.springframework.data.repository.reactive.ReactiveCrudRepository; //Non-blocking CRUD methods
+import reactor.core.publisher.Mono;                                         //Single async result
+import java.time.Instant;                                                   //Sweep cutoff
+
+@Profile("reactive")
+public interface ReactiveResetTokenRepository extends ReactiveCrudRepository<ResetTokenRecord, String>
+{
+    @Modifying
+    @Query("DELETE FROM reset_tokens WHERE tokenHash = :tokenHash")
+    Mono<Integer> deleteByTokenHash(String tokenHash);         //1 for the redemption that removed the row, 0 for any other
+
+    @Modifying
+    @Query("DELETE FROM reset_tokens WHERE userId = :userId")
+    Mono<Integer> deleteByUserId(Long userId);                 //Drops a user's outstanding token
+
+    @Modifying
+    @Query("DELETE FROM reset_tokens WHERE expiresAt <= :cutoff")
+    Mono<Integer> deleteExpired(Instant cutoff);               //Sweep
+}
@@ -0,0 +1,36 @@
+package com.user.login.Reactive.Repository;                                 //Package declaration
+import com.user.login.Entity.User;                                          //Shared identity key normalization
+import com.user.login.Reactive.Entity.UserRecord;                           //R2DBC user mapping
+import org.springframework.context.annotation.Profile;                      //Only registered in the reactive variant
+import org.springframework.data.repository.reactive.ReactiveCrudRepository; //Non-blocking CRUD methods
+import reactor.core.publisher.Mono;                                         //Single async result
+
+@Profile("reactive")
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRecord, Long>
+{
+    //Lookups go through the normalized, uniquely indexed key columns, as in UserRepository
+    Mono<UserRecord> findByUsernameKey(String usernameKey);    //Finds a user by their username key
+    Mono<UserRecord> findByEmailKey(String emailKey);          //Finds a user by their email key
+    Mono<Boolean> existsByUsernameKey(String usernameKey);     //Checks if a user exists with the given username key
+    Mono<Boolean> existsByEmailKey(String emailKey);           //Checks if a user exists with the given email key
+
+    default Mono<UserRecord> findByUsername(String username)   //Finds a user by their username, in any case
+    {
+        return findByUsernameKey(User.identityKey(username));
+    }
+
+    default Mono<UserRecord> findByEmail(String email)         //Finds a user by their email, in any case
+    {
+        return findByEmailKey(User.identityKey(email));
+    }
+
+    default Mono<Boolean> existsByUsername(String username)    //Checks if a user exists with the given username, in any case
+    {
+        return existsByUsernameKey(User.identityKey(username));
+    }
+
+    default Mono<Boolean> existsByEmail(String email)          //Checks if a user exists with the given email, in any case
+    {
+        return existsByEmailKey(User.identityKey(email));
+    }
+}
@@ -0,0 +1,23 @@
+package com.user.login.Reactive.Repository;                                     //Package declaration
+import com.user.login.Entity.User;                                              //Shared identity key normalization
+import com.user.login.Reactive.Entity.UserRecord;                               //R2DBC user mapping
+import org.reactivestreams.Publisher;                                           //Callback result
+import org.springframework.context.annotation.Profile;                          //Only registered in the reactive variant
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;      //Runs before every insert and update
+import org.springframework.data.relational.core.sql.SqlIdentifier;              //Target table
+import org.springframework.stereotype.Component;                                //Marks the class as a Spring bean
+import reactor.core.publisher.Mono;                                             //Single async result
+
+//R2DBC counterpart of User's @PrePersist/@PreUpdate: keeps usernameKey and emailKey in step with every save
+@Profile("reactive")
+@Component
+public class UserRecordIdentityKeys implements BeforeConvertCallback<UserRecord>
+{
+    @Override
+    public Publisher<UserRecord> onBeforeConvert(UserRecord user, SqlIdentifier table)
+    {
+        user.setUsernameKey(User.identityKey(user.getUsername()));
+        user.setEmailKey(User.identityKey(user.getEmail()));
+        return Mono.just(user);
+    }
+}
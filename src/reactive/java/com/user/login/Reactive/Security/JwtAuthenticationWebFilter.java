@@ -0,0 +1,42 @@
+package com.user.login.Reactive.Security;                                           //Package declaration
+import com.user.login.Security.JWT.JwtAuthenticationToken;                          //Shared authentication token type
+import com.user.login.Security.JWT.JwtUtils;                                        //Shared JWT parser
+import org.springframework.http.HttpHeaders;                                        //Header names
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;     //Reactor-context security holder
+import org.springframework.web.server.ServerWebExchange;                            //Reactive request/response
+import org.springframework.web.server.WebFilter;                                    //Reactive filter contract
+import org.springframework.web.server.WebFilterChain;                               //Remaining filters
+import reactor.core.publisher.Mono;                                                 //Completion signal
+
+//Reactive counterpart of JwtAuthenticationFilter: validates the bearer token and stores the
+//authentication in the Reactor context instead of a ThreadLocal.
+//This variant keeps no session registry, so it never issues session tokens and cannot see a per-device logout;
+//a token tied to a session is refused rather than accepted after its session may have been signed out.
+public class JwtAuthenticationWebFilter implements WebFilter
+{
+    private final JwtUtils jwtUtils;    //Utility for JWT operations
+
+    public JwtAuthenticationWebFilter(JwtUtils jwtUtils)
+    {
+        this.jwtUtils = jwtUtils;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain)
+    {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);   //Get Authorization header
+
+        //No bearer token: continue anonymously
+        if(header == null || !header.startsWith("Bearer "))
+            return chain.filter(exchange);
+
+        //Single verification pass for JWT or compact tokens
+        JwtAuthenticationToken authentication = jwtUtils.authenticate(header.substring(7));
+
+        //Invalid, expired or session-bound token: continue anonymously, authorization rules decide the outcome
+        if(authentication == null || authentication.getSessionId() != null)
+            return chain.filter(exchange);
+
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
@@ -0,0 +1,72 @@
+package com.user.login.Reactive.Security;                                                   //Package declaration
+import com.user.login.Security.JWT.JwtUtils;                                                //Shared JWT parser
+import org.springframework.beans.factory.annotation.Value;                                  //Scheduler sizing properties
+import org.springframework.context.annotation.Bean;                                         //Enables creation of Spring beans
+import org.springframework.context.annotation.Configuration;                                //Marks the class as a Spring configuration class
+import org.springframework.context.annotation.Profile;                                      //Only active in the reactive variant
+import org.springframework.http.HttpMethod;                                                 //Enum for HTTP methods
+import org.springframework.http.HttpStatus;                                                 //401 entry point
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;   //Reactive security support
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;              //Filter ordering
+import org.springframework.security.config.web.server.ServerHttpSecurity;                   //Reactive security DSL
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;                //Factory to create password encoders
+import org.springframework.security.crypto.password.PasswordEncoder;                        //Interface for password encoding
+import org.springframework.security.web.server.SecurityWebFilterChain;                      //Reactive filter chain
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;   //Plain 401 for missing credentials
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository; //Stateless: no WebSession
+import org.springframework.web.cors.CorsConfiguration;                                      //Represents CORS configuration
+import org.springframework.web.cors.reactive.CorsConfigurationSource;                       //Source for CORS configuration
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;               //URL-based CORS config source
+import reactor.core.scheduler.Scheduler;                                                    //Worker pool abstraction
+import reactor.core.scheduler.Schedulers;                                                   //Scheduler factories
+import java.util.List;                                                                      //Allowed origins/methods
+
+@Profile("reactive")
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig
+{
+    @Bean   //Declares PasswordEncoder bean (same delegating encoder as the servlet stack)
+    public PasswordEncoder passwordEncoder()
+    {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    //Bounded pool for BCrypt so hashing never blocks the event loop and cannot grow without limit
+    @Bean(destroyMethod = "dispose")
+    public Scheduler bcryptScheduler(@Value("${reactive.bcrypt.threads:4}") int threads, @Value("${reactive.bcrypt.queue-capacity:10000}") int queueCapacity)
+    {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "bcrypt");
+    }
+
+    @Bean   //Declares SecurityWebFilterChain bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtils jwtUtils)
+    {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)                                                 //Disables CSRF (suitable for APIs)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())               //Token-only, no sessions
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .exceptionHandling(handling -> handling.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()                                    //Allow all OPTIONS preflight requests
+                .pathMatchers("/auth/protected", "/users/me").authenticated()                           //Secure these endpoints
+                .anyExchange().permitAll())                                                             //Services perform per-call checks
+            .addFilterAt(new JwtAuthenticationWebFilter(jwtUtils), SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    @Bean   //Declares CORS configuration source
+    public CorsConfigurationSource corsConfigurationSource()
+    {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:3000"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,112 @@
+package com.user.login.Reactive.Service;                                    //Package declaration
+import com.user.login.DTO.Auth.AuthResponseDTO;                             //DTO for formatted response after authentication
+import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;                    //DTO for resetting username and password
+import com.user.login.Entity.Auth.AuthRequest;                              //AuthRequest entity for user authentication input
+import com.user.login.Entity.Auth.AuthResponse;                             //AuthResponse entity for response after authentication
+import com.user.login.Entity.Auth.ForgotLoginCredential;                    //ForgotLoginCredential entity for resetting username and password
+import com.user.login.Exception.InvalidResetTokenException;                 //Unknown, expired or used reset token
+import com.user.login.Exception.ResetThrottledException;                    //Per-email reset limit reached
+import com.user.login.Reactive.Repository.ReactiveUserRepository;           //Non-blocking user repository
+import com.user.login.Reset.ResetThrottle;                                  //Per-email limit on reset requests
+import com.user.login.Reset.ResetTokenSender;                               //Delivers reset tokens
+import com.user.login.Security.JWT.JwtUtils;                                //Utility class for JWT token generation and validation
+import org.springframework.context.annotation.Profile;                      //Only active in the reactive variant
+import org.springframework.security.crypto.password.PasswordEncoder;        //For encoding and matching passwords
+import org.springframework.stereotype.Service;                              //Marks the class as a service
+import reactor.core.publisher.Mono;                                         //Single async result
+import reactor.core.scheduler.Scheduler;                                    //Bounded BCrypt pool
+import reactor.core.scheduler.Schedulers;                                   //Blocking sender calls
+import java.util.Optional;                                                  //Optional new password hash
+
+//Reactive mirror of AuthService; BCrypt work is shifted onto the bounded 'bcrypt' scheduler
+@Profile("reactive")
+@Service
+public class ReactiveAuthService
+{
+    private final ReactiveUserRepository userRepository;    //Non-blocking access to the users table
+    private final JwtUtils jwtUtils;                        //Utility for working with JWT tokens
+    private final PasswordEncoder passwordEncoder;          //Password encoder for securely handling passwords
+    private final Scheduler bcryptScheduler;                //Where hashing runs
+    private final ReactiveResetTokenStore resetTokenStore;  //Forgot-login tokens
+    private final ResetTokenSender resetTokenSender;        //Sends the tokens to the email's owner
+    private final ResetThrottle resetThrottle;              //Per-email limit on reset requests
+
+    public ReactiveAuthService(ReactiveUserRepository userRepository, JwtUtils jwtUtils, PasswordEncoder passwordEncoder, Scheduler bcryptScheduler,
+                               ReactiveResetTokenStore resetTokenStore, ResetTokenSender resetTokenSender, ResetThrottle resetThrottle)
+    {
+        this.resetTokenStore = resetTokenStore;
+        this.resetTokenSender = resetTokenSender;
+        this.resetThrottle = resetThrottle;
+        this.userRepository = userRepository;
+        this.jwtUtils = jwtUtils;
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptScheduler = bcryptScheduler;
+    }
+
+    //Authenticate the user and generate token including roles
+    public Mono<AuthResponseDTO> authenticate(AuthRequest authRequest)
+    {
+        return userRepository.findByUsername(authRequest.getUsername())
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+            .flatMap(user -> Mono.fromCallable(() -> passwordEncoder.matches(authRequest.getPassword(), user.getPassword()))
+                .subscribeOn(bcryptScheduler)
+                .flatMap(matches -> matches ? Mono.just(user) : Mono.error(new RuntimeException("Invalid credentials"))))
+            .map(user -> AuthResponseDTO.builder().token(jwtUtils.generateToken(user.getUserId(), user.getUsername(), user.getRole().bit()))
+                .message("Authentication successful").roleMessage("Welcome, " + user.getUsername() + "! Your role is: " + user.getRole().name())
+                .userId(user.getUserId()).build());
+    }
+
+    //First step of a credential reset: send a single-use token to the owner of the email address; unknown emails complete silently
+    public Mono<Void> requestLoginReset(String email)
+    {
+        if(email == null || email.isBlank())
+            return Mono.error(new IllegalArgumentException("Email must be provided"));
+
+        if(!resetThrottle.tryAcquire(email))
+            return Mono.error(new ResetThrottledException());
+
+        return userRepository.findByEmail(email)
+            .flatMap(user -> resetTokenStore.issue(user.getUserId())
+                .flatMap(issued -> Mono.fromRunnable(() -> resetTokenSender.send(user.getEmail(), user.getUsername(), issued.token(), issued.expiresAt()))
+                .subscribeOn(Schedulers.boundedElastic())))
+            .then();
+    }
+
+    //Second step: redeem the token and set the new username and/or password
+    public Mono<ForgotLoginCredentialDTO> resetLoginCredential(ForgotLoginCredential forgotLoginCredential)
+    {
+        if(forgotLoginCredential == null || forgotLoginCredential.getToken() == null || forgotLoginCredential.getToken().isBlank())
+            return Mono.error(new IllegalArgumentException("Reset token must be provided"));
+
+        String token = forgotLoginCredential.getToken();
+        String password = forgotLoginCredential.getPassword();
+
+        //Unknown and expired tokens are rejected before any bcrypt work
+        return resetTokenStore.isRedeemable(token)
+            .flatMap(redeemable -> !redeemable ? Mono.<Optional<String>>error(new InvalidResetTokenException())
+                : password == null || password.isBlank() ? Mono.just(Optional.<String>empty())
+                : Mono.fromCallable(() -> Optional.of(passwordEncoder.encode(password))).subscribeOn(bcryptScheduler))
+            .flatMap(hash -> resetTokenStore.redeem(token).switchIfEmpty(Mono.error(InvalidResetTokenException::new))
+                .flatMap(userRepository::findById).switchIfEmpty(Mono.error(InvalidResetTokenException::new))
+                .map(user ->
+                {
+                    if(forgotLoginCredential.getUsername() != null && !forgotLoginCredential.getUsername().isBlank())
+                        user.setUsername(forgotLoginCredential.getUsername());
+
+                    hash.ifPresent(user::setPassword);
+                    return user;
+                }))
+            .flatMap(userRepository::save)
+            .map(user -> ForgotLoginCredentialDTO.builder().email(user.getEmail()).username(user.getUsername()).message("Updated user credential successfully!").build());
+    }
+
+    //Refresh JWT token; session-bound tokens are refused, since a refresh here would drop the session and outlive its logout
+    public Mono<AuthResponse> refreshToken(String oldToken)
+    {
+        if(!jwtUtils.isTokenValid(oldToken) || jwtUtils.getSessionIdFromToken(oldToken) != null)
+            return Mono.error(new RuntimeException("Invalid or expired token"));
+
+        return Mono.fromSupplier(() -> AuthResponse.builder()
+            .token(jwtUtils.generateToken(jwtUtils.getUserIdFromToken(oldToken), jwtUtils.getUsernameFromToken(oldToken), jwtUtils.getRoleMaskFromToken(oldToken))).build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.user.login.Reactive.Service;                                    //Package declaration
+import com.user.login.Reactive.Entity.ResetTokenRecord;                     //R2DBC reset token mapping
+import com.user.login.Reactive.Repository.ReactiveResetTokenRepository;     //Non-blocking token table access
+import com.user.login.Reset.ResetTokenStore;                                //Issued token
+import com.user.login.Reset.ResetTokens;                                    //Shared token format
+import org.springframework.beans.factory.annotation.Value;                  //Token lifetime
+import org.springframework.context.annotation.Profile;                      //Only active in the reactive variant
+import org.springframework.scheduling.annotation.Scheduled;                 //Periodic sweep
+import org.springframework.stereotype.Service;                              //Marks the class as a service
+import reactor.core.publisher.Mono;                                         //Single async result
+import java.time.Duration;                                                  //Token lifetime
+import java.time.Instant;                                                   //Expiry
+
+//Reactive mirror of ResetTokenStore: one outstanding hashed token per user, redeemed with a conditional delete
+@Profile("reactive")
+@Service
+public class ReactiveResetTokenStore
+{
+    private final ReactiveResetTokenRepository resetTokenRepository;   //Token table
+    private final Duration ttl;                                         //Lifetime of a token
+
+    public ReactiveResetTokenStore(ReactiveResetTokenRepository resetTokenRepository, @Value("${app.reset.token-ttl:15m}") Duration ttl)
+    {
+        this.resetTokenRepository = resetTokenRepository;
+        this.ttl = ttl;
+    }
+
+    //New token for the user, replacing any outstanding one
+    public Mono<ResetTokenStore.Issued> issue(Long userId)
+    {
+        String token = ResetTokens.generate();
+        Instant expiresAt = Instant.now().plus(ttl);
+        return resetTokenRepository.deleteByUserId(userId)
+            .then(resetTokenRepository.save(ResetTokenRecord.builder().tokenHash(ResetTokens.hash(token)).userId(userId).expiresAt(expiresAt).build()))
+            .thenReturn(new ResetTokenStore.Issued(token, expiresAt));
+    }
+
+    //Cheap check before any password hashing
+    public Mono<Boolean> isRedeemable(String token)
+    {
+        return resetTokenRepository.findById(ResetTokens.hash(token)).map(stored -> !stored.isExpired(Instant.now())).defaultIfEmpty(false);
+    }
+
+    //Use up the token; the user it was issued to, or empty when it is unknown, expired or was just redeemed by someone else
+    public Mono<Long> redeem(String token)
+    {
+        String hash = ResetTokens.hash(token);
+        return resetTokenRepository.findById(hash).filter(stored -> !stored.isExpired(Instant.now()))
+            .filterWhen(stored -> resetTokenRepository.deleteByTokenHash(hash).map(deleted -> deleted == 1)).map(ResetTokenRecord::getUserId);
+    }
+
+    //Drop expired tokens
+    @Scheduled(fixedDelayString = "${app.reset.sweep-interval:5m}", initialDelayString = "${app.reset.sweep-interval:5m}")
+    public void sweep()
+    {
+        resetTokenRepository.deleteExpired(Instant.now()).subscribe();
+    }
+}
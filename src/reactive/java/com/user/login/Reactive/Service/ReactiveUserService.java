@@ -0,0 +1,158 @@
+package com.user.login.Reactive.Service;                                    //Package declaration
+import com.user.login.DTO.Auth.AuthResponseDTO;                             //DTO for authentication responses
+import com.user.login.DTO.UserDTO;                                          //DTO for User entity
+import com.user.login.Enum.Role;                                            //Role bits
+import com.user.login.Exception.*;                                          //Custom exceptions shared with the servlet stack
+import com.user.login.Reactive.Entity.UserRecord;                           //R2DBC user mapping
+import com.user.login.Reactive.Mapper.ReactiveUserMapper;                   //UserRecord <-> UserDTO
+import com.user.login.Reactive.Repository.ReactiveUserRepository;           //Non-blocking user repository
+import com.user.login.Security.JWT.JwtAuthenticationToken;                  //JWT authentication carrying the caller's userId
+import com.user.login.Security.JWT.JwtUtils;                                //JWT utility for token regeneration
+import org.springframework.context.annotation.Profile;                      //Only active in the reactive variant
+import org.springframework.security.access.AccessDeniedException;           //Spring Security exception for access denied scenarios
+import org.springframework.security.core.Authentication;                    //Spring Security authentication interface
+import org.springframework.security.core.context.ReactiveSecurityContextHolder; //Reactor-context security holder
+import org.springframework.security.core.context.SecurityContext;           //Security context
+import org.springframework.security.crypto.password.PasswordEncoder;        //Interface to encode passwords securely
+import org.springframework.stereotype.Service;                              //Marks this class as a service component
+import reactor.core.publisher.Flux;                                         //Multi-value async result
+import reactor.core.publisher.Mono;                                         //Single async result
+import reactor.core.scheduler.Scheduler;                                    //Bounded BCrypt pool
+import java.util.Objects;                                                   //Null-safe comparisons
+import java.util.Optional;                                                  //Optional field updates
+
+//Reactive mirror of UserService; the caller is read from the Reactor context
+@Profile("reactive")
+@Service
+public class ReactiveUserService
+{
+    private final JwtUtils jwtUtils;                        //JWT utility to generate tokens
+    private final ReactiveUserRepository userRepository;    //Non-blocking access to the users table
+    private final ReactiveUserMapper userMapper;            //Mapper to convert UserRecord <-> UserDTO
+    private final PasswordEncoder passwordEncoder;          //Password encoder to hash user passwords securely
+    private final Scheduler bcryptScheduler;                //Where hashing runs
+
+    public ReactiveUserService(JwtUtils jwtUtils, ReactiveUserRepository userRepository, ReactiveUserMapper userMapper, PasswordEncoder passwordEncoder, Scheduler bcryptScheduler)
+    {
+        this.jwtUtils = jwtUtils;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptScheduler = bcryptScheduler;
+    }
+
+    //Create a new user with validations for username and email uniqueness
+    public Mono<UserDTO> createUser(UserDTO userDTO)
+    {
+        return userRepository.existsByUsername(userDTO.getUsername())
+            .flatMap(exists -> exists ? Mono.error(new UsernameAlreadyExistsException(userDTO.getUsername())) : userRepository.existsByEmail(userDTO.getEmail()))
+            .flatMap(exists -> exists ? Mono.error(new EmailAlreadyExistsException(userDTO.getEmail())) : encode(userDTO.getPassword()))
+            .map(hash -> { UserRecord user = userMapper.toRecord(userDTO); user.setUserId(null); user.setPassword(hash); return user; })
+            .flatMap(userRepository::save)
+            .map(userMapper::toDTO);
+    }
+
+    //Retrieve a user by userId with authorization check (self or admin)
+    public Mono<UserDTO> getUser(Long userId)
+    {
+        return currentAuthentication().flatMap(auth ->
+        {
+            if(!isAdmin(auth) && !Objects.equals(userId, userIdOf(auth)))
+                return Mono.error(new AccessDeniedException("You are not authorized to access this data."));
+
+            return findUserById(userId).map(userMapper::toDTO);
+        });
+    }
+
+    //Retrieve list of all users, only accessible by admins
+    public Flux<UserDTO> getUsers()
+    {
+        return requireAdmin().thenMany(userRepository.findAll()).map(userMapper::toDTO);
+    }
+
+    //Retrieve currently authenticated user's details as a UserDTO
+    public Mono<UserDTO> getCurrentUser()
+    {
+        return currentAuthentication().flatMap(auth -> userRepository.findByUsername(auth.getName())
+            .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException(auth.getName())))).map(userMapper::toDTO);
+    }
+
+    //Update user profile info and roles, with authorization checks and token regeneration
+    public Mono<AuthResponseDTO> updateUser(Long userId, UserDTO userDTO)
+    {
+        return currentAuthentication().flatMap(auth ->
+        {
+            boolean isAdmin = isAdmin(auth);
+            if(!isAdmin && !Objects.equals(userId, userIdOf(auth)))
+                return Mono.error(new AccessDeniedException("You are not authorized to update this user."));
+
+            return findUserById(userId).flatMap(userToUpdate -> applyUpdate(userToUpdate, userDTO, isAdmin));
+        })
+        .map(updatedUser -> AuthResponseDTO.builder().userId(updatedUser.getUserId()).user(userMapper.toDTO(updatedUser))
+            .token(jwtUtils.generateToken(updatedUser.getUserId(), updatedUser.getUsername(), updatedUser.getRole().bit()))
+            .message("User updated successfully").roleMessage("Role: " + updatedUser.getRole().name()).build());
+    }
+
+    //Copy the non-blank fields onto the row and save it
+    private Mono<UserRecord> applyUpdate(UserRecord userToUpdate, UserDTO userDTO, boolean isAdmin)
+    {
+        Optional.ofNullable(userDTO.getFirstName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setFirstName);
+        Optional.ofNullable(userDTO.getLastName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setLastName);
+        Optional.ofNullable(userDTO.getUsername()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setUsername);
+        Optional.ofNullable(userDTO.getEmail()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setEmail);
+        Optional.ofNullable(userDTO.getPhoneNumber()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setPhoneNumber);
+        Optional.ofNullable(userDTO.getHomeAddress()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setHomeAddress);
+
+        //Only admins can update the role field
+        if(isAdmin && userDTO.getRole() != null)
+            userToUpdate.setRole(userDTO.getRole());
+
+        Mono<UserRecord> withPassword = Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty())
+            .map(pwd -> encode(pwd).map(hash -> { userToUpdate.setPassword(hash); return userToUpdate; }))
+            .orElseGet(() -> Mono.just(userToUpdate));
+
+        return withPassword.flatMap(userRepository::save);
+    }
+
+    //Delete a user by userId, only accessible by admins
+    public Mono<Void> deleteUser(Long userId)
+    {
+        return requireAdmin().then(userRepository.existsById(userId))
+            .flatMap(exists -> exists ? userRepository.deleteById(userId) : Mono.error(new UserNotFoundException(userId.toString())));
+    }
+
+    //Current authentication from the Reactor context, or AccessDeniedException when anonymous
+    private Mono<Authentication> currentAuthentication()
+    {
+        return ReactiveSecurityContextHolder.getContext().map(SecurityContext::getAuthentication).filter(Authentication::isAuthenticated)
+            .switchIfEmpty(Mono.error(() -> new AccessDeniedException("User not authenticated")));
+    }
+
+    //Completes empty for admins, errors otherwise
+    private Mono<Void> requireAdmin()
+    {
+        return currentAuthentication().flatMap(auth -> isAdmin(auth) ? Mono.<Void>empty() : Mono.error(new AccessDeniedException("Only admins can access this resource.")));
+    }
+
+    //userId carried by the token, null for any other kind of authentication
+    private Long userIdOf(Authentication auth)
+    {
+        return auth instanceof JwtAuthenticationToken jwtAuthentication ? jwtAuthentication.getUserId() : null;
+    }
+
+    private boolean isAdmin(Authentication auth)
+    {
+        return auth instanceof JwtAuthenticationToken jwtAuthentication && jwtAuthentication.hasRole(Role.ADMIN);
+    }
+
+    private Mono<UserRecord> findUserById(Long userId)
+    {
+        return userRepository.findById(userId).switchIfEmpty(Mono.error(() -> new UserNotFoundException(userId.toString())));
+    }
+
+    //BCrypt on the bounded scheduler
+    private Mono<String> encode(String rawPassword)
+    {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)).subscribeOn(bcryptScheduler);
+    }
+}
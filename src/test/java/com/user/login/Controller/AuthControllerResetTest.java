@@ -0,0 +1,131 @@
+package com.user.login.Controller;                                                          //Package for controller tests
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Reset.RecordingResetTokenSender;                                      //Captures reset tokens
+import com.user.login.Enum.HousekeepingOutcome;                                             //Housekeeping run result
+import com.user.login.Housekeeping.Housekeeper;                                             //Purge under test
+import com.user.login.Reset.ResetTokens;                                                    //Token hashing
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.context.annotation.Import;                                       //Test sender bean
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.jdbc.core.JdbcTemplate;                                          //Direct look at the token table
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import org.springframework.test.web.servlet.ResultActions;                                  //Pending request result
+import org.springframework.transaction.support.TransactionTemplate;                         //Commits the fixture (no auto-commit)
+import java.sql.Timestamp;                                                                  //Expired token fixture
+import java.time.Instant;                                                                   //Expired token fixture
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Two-step forgot-login end to end: request a token by email, redeem it with the new credentials.
+//Each test uses its own seeded account, since the per-email throttle outlives a test.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:authreset;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(RecordingResetTokenSender.class)
+class AuthControllerResetTest
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                                     //Client through the filter chain
+    @Autowired private RecordingResetTokenSender resetTokenSender;          //Reset tokens by email
+    @Autowired private Housekeeper housekeeper;                             //Purge
+    @Autowired private JdbcTemplate jdbc;                                   //Token table
+    @Autowired private TransactionTemplate transactionTemplate;             //Fixture commits
+
+    @Test   //The token resets the password once; only its hash is stored
+    void tokenShouldResetCredentialsOnce() throws Exception
+    {
+        requestReset("customer01@example.com").andExpect(status().isAccepted());
+        String token = resetTokenSender.tokenFor("customer01@example.com");
+        assertNotNull(token);
+        assertEquals(ResetTokens.hash(token), jdbc.queryForObject("SELECT tokenHash FROM reset_tokens t JOIN users u ON u.userId = t.userId "
+        + "WHERE u.username = 'customer01'", String.class));
+
+        confirm("{\"token\":\"" + token + "\",\"password\":\"resetpassword\"}").andExpect(status().isOk());
+        login("customer01", "resetpassword").andExpect(status().isOk());
+        login("customer01", "customer123").andExpect(status().isUnauthorized());
+        confirm("{\"token\":\"" + token + "\",\"password\":\"secondpassword\"}").andExpect(status().isBadRequest());    //Used up
+    }
+
+    @Test   //Unknown emails look the same as registered ones, and wrong tokens change nothing
+    void unknownEmailAndWrongTokenShouldChangeNothing() throws Exception
+    {
+        requestReset("nobody@example.com").andExpect(status().isAccepted());
+        assertNull(resetTokenSender.tokenFor("nobody@example.com"));
+        confirm("{\"token\":\"" + ResetTokens.generate() + "\",\"password\":\"guessed\"}").andExpect(status().isBadRequest());
+        confirm("{\"password\":\"guessed\"}").andExpect(status().isBadRequest());
+        requestReset(" ").andExpect(status().isBadRequest());
+    }
+
+    @Test   //A new request replaces the outstanding token
+    void newRequestShouldReplaceOutstandingToken() throws Exception
+    {
+        requestReset("customer02@example.com").andExpect(status().isAccepted());
+        String first = resetTokenSender.tokenFor("customer02@example.com");
+        requestReset("CUSTOMER02@example.com").andExpect(status().isAccepted());
+        String second = resetTokenSender.tokenFor("customer02@example.com");
+
+        assertNotEquals(first, second);
+        confirm("{\"token\":\"" + first + "\",\"username\":\"replaced02\"}").andExpect(status().isBadRequest());
+        confirm("{\"token\":\"" + second + "\",\"username\":\"replaced02\"}").andExpect(status().isOk());
+        login("replaced02", "customer123").andExpect(status().isOk());
+    }
+
+    @Test   //The fourth request for one email within the window is refused
+    void requestsShouldBeThrottledPerEmail() throws Exception
+    {
+        for(int i = 0; i < 3; i++)
+            requestReset("warehouse@example.com").andExpect(status().isAccepted());
+
+        requestReset("Warehouse@Example.com").andExpect(status().isTooManyRequests());
+    }
+
+    @Test   //Expired tokens cannot be redeemed and are purged
+    void expiredTokenShouldBeRejectedAndSwept() throws Exception
+    {
+        String token = ResetTokens.generate();
+        Long userId = jdbc.queryForObject("SELECT userId FROM users WHERE username = 'admin'", Long.class);
+        transactionTemplate.executeWithoutResult(status -> jdbc.update("INSERT INTO reset_tokens (tokenHash, tenantId, userId, expiresAt) VALUES (?, 'default', ?, ?)",
+        ResetTokens.hash(token), userId, Timestamp.from(Instant.now().minusSeconds(1))));
+
+        confirm("{\"token\":\"" + token + "\",\"password\":\"expired\"}").andExpect(status().isBadRequest());
+        assertEquals(HousekeepingOutcome.COMPLETED, housekeeper.runOnce());
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM reset_tokens WHERE tokenHash = ?", Integer.class, ResetTokens.hash(token)));
+    }
+
+    @Test   //Deleting a user discards the token sent to them
+    void deletedUserTokenShouldNotBeRedeemable() throws Exception
+    {
+        String body = mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Reset\",\"lastName\":\"Deleted\","
+        + "\"username\":\"reset_deleted\",\"email\":\"reset_deleted@example.com\",\"phoneNumber\":\"+15557654321\",\"homeAddress\":\"Reset Street\","
+        + "\"password\":\"deletedpassword\",\"role\":\"CUSTOMER\"}")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        long userId = MAPPER.readTree(body).get("userId").asLong();
+        requestReset("reset_deleted@example.com").andExpect(status().isAccepted());
+        String token = resetTokenSender.tokenFor("reset_deleted@example.com");
+
+        String admin = MAPPER.readTree(login("admin", "admin123").andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(delete("/users/" + userId).header("Authorization", "Bearer " + admin)).andExpect(status().isNoContent());
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM reset_tokens WHERE userId = ?", Integer.class, userId));
+        confirm("{\"token\":\"" + token + "\",\"password\":\"revived\"}").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions requestReset(String email) throws Exception
+    {
+        return mockMvc.perform(post("/auth/forgotLogin").contentType(MediaType.APPLICATION_JSON).content("{\"email\":\"" + email + "\"}"));
+    }
+
+    private ResultActions confirm(String body) throws Exception
+    {
+        return mockMvc.perform(post("/auth/forgotLogin/confirm").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private ResultActions login(String username, String password) throws Exception
+    {
+        return mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.user.login.Controller;                                                          //Package for controller tests
+import com.fasterxml.jackson.databind.JsonNode;                                             //Parsed responses
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Security.JWT.JwtUtils;                                                //Session id of issued tokens
+import com.user.login.Session.SessionRegistry;                                              //Write-behind and a second node
+import com.user.login.Session.SessionStore;                                                 //Shared table of the second node
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;                            //Metrics of the second node
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.jdbc.core.JdbcTemplate;                                          //Direct look at the session table
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import java.time.Duration;                                                                  //Second node intervals
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Sessions end to end: sign-ins per device, listing, per-device logout, deleted users, the device id fallback, and revocations
+//reaching another node.
+//Each test signs in its own seeded account.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:authsessions;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class AuthControllerSessionsTest
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                     //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;                   //Reads the session id of a token
+    @Autowired private SessionRegistry sessionRegistry;     //This node
+    @Autowired private SessionStore sessionStore;           //Table shared with the second node
+    @Autowired private JdbcTemplate jdbc;                   //Session table
+
+    @Test   //Each device gets its own session; revoking one signs that device out only
+    void revokingOneDeviceShouldLeaveTheOthersSignedIn() throws Exception
+    {
+        String laptop = login("customer01", "customer123", "laptop");
+        String phone = login("customer01", "customer123", "phone");
+
+        JsonNode sessions = sessions(laptop);
+        assertEquals(2, sessions.size());
+        assertEquals("laptop", current(sessions).get("deviceId").asText());
+
+        long phoneSession = jwtUtils.getSessionIdFromToken(phone);
+        mockMvc.perform(delete("/auth/sessions/" + phoneSession).header("Authorization", "Bearer " + laptop)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + phone)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.TEXT_PLAIN).content(phone)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + laptop)).andExpect(status().isOk());
+        assertEquals(1, sessions(laptop).size());
+    }
+
+    @Test   //Signing in again on a device replaces its session; refresh keeps the session
+    void signingInAgainOnADeviceShouldReplaceItsSession() throws Exception
+    {
+        String first = login("customer02", "customer123", "tablet");
+        String refreshed = MAPPER.readTree(mockMvc.perform(post("/auth/refresh").contentType(MediaType.TEXT_PLAIN).content(first))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("token").asText();
+        assertEquals(jwtUtils.getSessionIdFromToken(first), jwtUtils.getSessionIdFromToken(refreshed));
+
+        String second = login("customer02", "customer123", "tablet");
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + refreshed)).andExpect(status().isUnauthorized());
+        assertEquals(1, sessions(second).size());
+    }
+
+    @Test   //Another user's session cannot be revoked, and a caller may sign its own session out
+    void sessionsShouldOnlyBeRevokedByTheirOwner() throws Exception
+    {
+        String admin = login("admin", "admin123", "desk");
+        String supervisor = login("warehouse_supervisor", "warehouse123", "scanner");
+
+        mockMvc.perform(delete("/auth/sessions/" + jwtUtils.getSessionIdFromToken(supervisor)).header("Authorization", "Bearer " + admin))
+        .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/auth/sessions/" + jwtUtils.getSessionIdFromToken(supervisor)).header("Authorization", "Bearer " + supervisor))
+        .andExpect(status().isNoContent());
+        mockMvc.perform(get("/auth/sessions").header("Authorization", "Bearer " + supervisor)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/auth/sessions")).andExpect(status().isUnauthorized());
+    }
+
+    @Test   //Sessions are written behind and a second node learns of revocations from the table
+    void revocationsShouldReachOtherNodes() throws Exception
+    {
+        String token = login("customer01", "customer123", "kiosk");
+        long sessionId = jwtUtils.getSessionIdFromToken(token);
+        SessionRegistry otherNode = new SessionRegistry(sessionStore, jwtUtils, new SimpleMeterRegistry(), Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+        sessionRegistry.sync();
+        otherNode.sync();
+        assertTrue(otherNode.find(sessionId).isPresent());
+        assertFalse(otherNode.isRevoked(sessionId));
+
+        mockMvc.perform(delete("/auth/sessions/" + sessionId).header("Authorization", "Bearer " + token)).andExpect(status().isNoContent());
+        sessionRegistry.sync();
+        otherNode.sync();
+
+        assertTrue(otherNode.isRevoked(sessionId));
+        assertNotNull(jdbc.queryForObject("SELECT revokedAt FROM user_sessions WHERE sessionId = ?", Object.class, sessionId));
+    }
+
+    @Test   //Deleting a user, alone or in a batch, signs every device of theirs out
+    void deletedUsersShouldBeSignedOut() throws Exception
+    {
+        long single = create("deleted_single");
+        long batched = create("deleted_batch");
+        String singleToken = login("deleted_single", "deletedpassword", "laptop");
+        String batchedLaptop = login("deleted_batch", "deletedpassword", "laptop");
+        String batchedPhone = login("deleted_batch", "deletedpassword", "phone");
+        String admin = "Bearer " + login("admin", "admin123", "console");
+
+        mockMvc.perform(delete("/users/" + single).header("Authorization", admin)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + singleToken)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + batchedLaptop)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/users/batch/delete").header("Authorization", admin).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"userIds\":[" + batched + "]}")).andExpect(status().isOk());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + batchedLaptop)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + batchedPhone)).andExpect(status().isUnauthorized());
+
+        sessionRegistry.sync();
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM user_sessions WHERE userId IN (?, ?) AND revokedAt IS NULL", Integer.class, single, batched));
+    }
+
+    @Test   //Without X-Device-ID the device comes from the User-Agent: the same client replaces its session, another client adds one
+    void missingDeviceIdShouldFallBackToTheUserAgent() throws Exception
+    {
+        create("fallback_device");
+        String first = loginWithoutDeviceId("fallback_device", "browser/1.0");
+        String second = loginWithoutDeviceId("fallback_device", "browser/1.0");
+        String other = loginWithoutDeviceId("fallback_device", "mobile-app/2.0");
+
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + first)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + second)).andExpect(status().isOk());
+        JsonNode sessions = sessions(other);
+        assertEquals(2, sessions.size());
+        assertTrue(current(sessions).get("deviceId").asText().startsWith("ua-"));
+        assertNotEquals(sessions.get(0).get("deviceId").asText(), sessions.get(1).get("deviceId").asText());
+    }
+
+    //Sign up a customer and return its id
+    private long create(String username) throws Exception
+    {
+        String phone = String.format("+1556%07d", Math.abs(username.hashCode()) % 10_000_000);  //Phone numbers are unique too
+        return MAPPER.readTree(mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Session\",\"lastName\":\"Owner\",\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+        + "\"phoneNumber\":\"" + phone + "\",\"homeAddress\":\"Session Street\",\"password\":\"deletedpassword\",\"role\":\"CUSTOMER\"}"))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("userId").asLong();
+    }
+
+    private String login(String username, String password, String device) throws Exception
+    {
+        return MAPPER.readTree(mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).header(AuthController.DEVICE_HEADER, device)
+        .header("User-Agent", "test-" + device).content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private String loginWithoutDeviceId(String username, String userAgent) throws Exception
+    {
+        return MAPPER.readTree(mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).header("User-Agent", userAgent)
+        .content("{\"username\":\"" + username + "\",\"password\":\"deletedpassword\"}"))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private JsonNode sessions(String token) throws Exception
+    {
+        return MAPPER.readTree(mockMvc.perform(get("/auth/sessions").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+    }
+
+    private static JsonNode current(JsonNode sessions)
+    {
+        for(JsonNode session : sessions)
+        {
+            if(session.get("current").asBoolean())
+                return session;
+        }
+
+        return null;
+    }
+}
@@ -4,7 +4,8 @@ import com.user.login.DTO.Auth.AuthResponseDTO;             //Imports the AuthRe
 import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;    //Imports DTO for forgot login credential response
 import com.user.login.Entity.Auth.AuthResponse;             //Imports the AuthResponse entity for authentication responses
 import com.user.login.Entity.Auth.ForgotLoginCredential;    //Imports ForgotLoginCredential entity for storing login credentials
-import com.user.login.Exception.EmailNotFoundException;     //Imports the custom exception for email not found
+import com.user.login.Exception.InvalidResetTokenException; //Imports the exception for unknown, expired or used reset tokens
+import com.user.login.Exception.ResetThrottledException;    //Imports the exception for the per-email reset limit
 import com.user.login.Service.AuthService;                  //Imports AuthService for mocking authentication logic
 import org.junit.jupiter.api.BeforeEach;                    //Imports BeforeEach annotation to setup before each test
 import org.junit.jupiter.api.Test;                          //Imports Test annotation to define test methods
@@ -47,7 +48,7 @@ class AuthControllerTest
         //Mocks the behavior to return a successful response
         when(authService.authenticate(any())).thenReturn(successResponseDTO);
 
-        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO);  //Calls login method
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, null, null);  //Calls login method
 
         //Asserts that the response has a 200 OK status and the expected token and message
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -62,7 +63,7 @@ class AuthControllerTest
         when(authService.authenticate(any())).thenThrow(new RuntimeException("Invalid credentials"));
 
         //Calls login method
-        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO);  
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, null, null);  
 
         //Asserts that the response has a 401 Unauthorized status and the failure message
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -114,6 +115,44 @@ class AuthControllerTest
         assertEquals("This is a protected resource.", response.getBody());
     }
 
+    @Test   //Positive test for requesting a reset token
+    public void testForgotLoginRequestAccepted() 
+    {
+        //Uses Lombok builder to create the request
+        ForgotLoginCredential forgotLoginCredential = ForgotLoginCredential.builder().email("user@example.com").build();
+
+        //Calls request method
+        ResponseEntity<ForgotLoginCredentialDTO> responseEntity = authController.requestLoginReset(forgotLoginCredential);
+
+        //Asserts 202 ACCEPTED with the generic message, whether or not the email exists
+        assertEquals(HttpStatus.ACCEPTED, responseEntity.getStatusCode());
+        assertEquals("If the email is registered, a reset token has been sent to it", responseEntity.getBody().getMessage());
+        verify(authService, times(1)).requestLoginReset("user@example.com");
+    }
+
+    @Test   //Negative test for requesting a reset token too often
+    public void testForgotLoginRequestThrottled() 
+    {
+        //Mocks the per-email limit being reached
+        doThrow(new ResetThrottledException()).when(authService).requestLoginReset("user@example.com");
+
+        ResponseEntity<ForgotLoginCredentialDTO> responseEntity = authController.requestLoginReset(ForgotLoginCredential.builder().email("user@example.com").build());
+
+        //Asserts 429 TOO_MANY_REQUESTS with the throttle message
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertEquals("Too many reset requests for this email, try again later", responseEntity.getBody().getMessage());
+    }
+
+    @Test   //Negative test for a reset request without an email
+    public void testForgotLoginRequestMissingEmail() 
+    {
+        ResponseEntity<ForgotLoginCredentialDTO> responseEntity = authController.requestLoginReset(ForgotLoginCredential.builder().build());
+
+        //Asserts 400 BAD_REQUEST and that the service was never called
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        verifyNoInteractions(authService);
+    }
+
     @Test   //Positive test for forgot login credential reset
     public void testForgotLoginCredentialSuccess() 
     {
@@ -124,7 +163,7 @@ class AuthControllerTest
         when(authService.ResetLoginCredential(any(ForgotLoginCredential.class))).thenReturn(expectedResponse);
 
         //Uses Lombok builder to create the request
-        ForgotLoginCredential forgotLoginCredential = ForgotLoginCredential.builder().email("user@example.com").build();
+        ForgotLoginCredential forgotLoginCredential = ForgotLoginCredential.builder().token("reset-token").password("newPassword").build();
 
         //Calls reset method
         ResponseEntity<ForgotLoginCredentialDTO> responseEntity = authController.resetLoginCredential(forgotLoginCredential);  
@@ -137,23 +176,23 @@ class AuthControllerTest
         verify(authService, times(1)).ResetLoginCredential(any(ForgotLoginCredential.class));
     }
 
-    @Test   //Negative test for forgot login credential failure (email not found)
-    public void testForgotLoginCredentialFailure_EmailNotFound() 
+    @Test   //Negative test for forgot login credential failure (invalid or expired token)
+    public void testForgotLoginCredentialFailure_InvalidToken() 
     {
-        //Mocks failure due to email not found
-        when(authService.ResetLoginCredential(any(ForgotLoginCredential.class))).thenThrow(new EmailNotFoundException("nonexistent@example.com"));
+        //Mocks failure due to an unknown token
+        when(authService.ResetLoginCredential(any(ForgotLoginCredential.class))).thenThrow(new InvalidResetTokenException());
 
-        //Builds ForgotLoginCredential with the email
-        ForgotLoginCredential forgotLoginCredential = ForgotLoginCredential.builder().email("nonexistent@example.com").build();
+        //Builds ForgotLoginCredential with the token
+        ForgotLoginCredential forgotLoginCredential = ForgotLoginCredential.builder().token("guessed-token").build();
 
         //Calls reset method
         ResponseEntity<ForgotLoginCredentialDTO> responseEntity = authController.resetLoginCredential(forgotLoginCredential);  
 
-        //Asserts that the response has a 404 NOT_FOUND status and a failure message
-        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
-        assertEquals("nonexistent@example.com not found in DB", responseEntity.getBody().getMessage());
+        //Asserts that the response has a 400 BAD_REQUEST status and a failure message
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals("Invalid or expired reset token", responseEntity.getBody().getMessage());
         
         //Verifies that the reset method was called once
         verify(authService, times(1)).ResetLoginCredential(any(ForgotLoginCredential.class));
     }
-}
\ No newline at end of file
+}
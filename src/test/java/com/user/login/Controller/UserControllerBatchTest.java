@@ -0,0 +1,102 @@
+package com.user.login.Controller;                                                          //Package for controller tests
+import com.fasterxml.jackson.databind.JsonNode;                                             //Parsed response body
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Entity.User;                                                          //Seeded user entity
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Repository.UserRepository;                                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Batch admin endpoints end to end: bulk statements must not leave stale users in the second-level cache
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:userbatch;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class UserControllerBatchTest 
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                 //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;               //Signs test tokens with the application key
+    @Autowired private UserRepository userRepository;   //Seeded by UserDataLoader
+
+    private String adminToken;      //Bearer token for admin
+    private String customerToken;   //Bearer token for customer
+    private long adminId;           //Never changed by a batch
+
+    @BeforeEach
+    void setUp() 
+    {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User customer = userRepository.findByUsername("customer01").orElseThrow();
+        adminId = admin.getUserId();
+        adminToken = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+        customerToken = "Bearer " + jwtUtils.generateToken(customer.getUserId(), customer.getUsername(), Role.CUSTOMER.bit());
+    }
+
+    @Test   //A role change is visible on the next (cached) read and moves the ETag
+    void setRole_shouldUpdateUsersAndInvalidateCache() throws Exception 
+    {
+        long first = create("batch_role_one");
+        long second = create("batch_role_two");
+        String etag = mockMvc.perform(get("/users/" + first).header("Authorization", adminToken)).andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");   //Warms the entity and query caches
+
+        JsonNode result = batch("/users/batch/role", "{\"userIds\":[" + first + "," + second + "," + adminId + "],\"role\":\"USER\"}");
+        assertEquals(2, result.get("affected").asInt());
+        assertEquals("SKIPPED_SELF", result.get("results").get(String.valueOf(adminId)).asText());
+
+        JsonNode user = MAPPER.readTree(mockMvc.perform(get("/users/" + first).header("Authorization", adminToken))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        assertEquals("USER", user.get("role").asText());
+        mockMvc.perform(get("/users/" + first).header("Authorization", adminToken).header("If-None-Match", etag)).andExpect(status().isOk());
+    }
+
+    @Test   //Deleted users are gone from every read path, unknown ids are reported
+    void deleteUsers_shouldDeleteUsersAndReportUnknownIds() throws Exception 
+    {
+        long first = create("batch_delete_one");
+        long second = create("batch_delete_two");
+        mockMvc.perform(get("/users/" + first).header("Authorization", adminToken)).andExpect(status().isOk());
+
+        JsonNode result = batch("/users/batch/delete", "{\"userIds\":[" + first + "," + second + ",987654]}");
+        assertEquals(3, result.get("requested").asInt());
+        assertEquals(2, result.get("affected").asInt());
+        assertEquals("NOT_FOUND", result.get("results").get("987654").asText());
+
+        mockMvc.perform(get("/users/" + first).header("Authorization", adminToken)).andExpect(status().isNotFound());
+        assertTrue(userRepository.findByUsername("batch_delete_two").isEmpty());
+    }
+
+    @Test   //Batches are admin only and must name at least one user
+    void batch_shouldRequireAdminAndIds() throws Exception 
+    {
+        mockMvc.perform(post("/users/batch/delete").header("Authorization", customerToken).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"userIds\":[1]}")).andExpect(status().isForbidden());
+        mockMvc.perform(post("/users/batch/delete").header("Authorization", adminToken).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"userIds\":[]}")).andExpect(status().isBadRequest());
+    }
+
+    //Sign up a customer and return its id
+    private long create(String username) throws Exception 
+    {
+        String phone = String.format("+1555%07d", Math.abs(username.hashCode()) % 10_000_000);  //Phone numbers are unique too
+        return MAPPER.readTree(mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Batch\",\"lastName\":\"Target\",\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+        + "\"phoneNumber\":\"" + phone + "\",\"homeAddress\":\"Batch Street\",\"password\":\"batchpassword\",\"role\":\"CUSTOMER\"}"))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("userId").asLong();
+    }
+
+    private JsonNode batch(String path, String body) throws Exception 
+    {
+        return MAPPER.readTree(mockMvc.perform(post(path).header("Authorization", adminToken).contentType(MediaType.APPLICATION_JSON)
+        .content(body)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.user.login.Controller;                                                          //Package for controller tests
+import com.fasterxml.jackson.databind.JsonNode;                                             //Parsed response body
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Entity.User;                                                          //Seeded user entity
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Repository.UserRepository;                                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//GET /users/changes end to end: writes through the API show up as upserts and tombstones after a cursor
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:userchanges;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class UserControllerChangesTest 
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                 //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;               //Signs test tokens with the application key
+    @Autowired private UserRepository userRepository;   //Seeded by UserDataLoader
+
+    private String adminToken;      //Bearer token for admin
+    private String customerToken;   //Bearer token for customer
+
+    @BeforeEach
+    void setUp() 
+    {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User customer = userRepository.findByUsername("customer01").orElseThrow();
+        adminToken = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+        customerToken = "Bearer " + jwtUtils.generateToken(customer.getUserId(), customer.getUsername(), Role.CUSTOMER.bit());
+    }
+
+    @Test   //Only what changed after the cursor comes back, each user once
+    void getChanges_shouldReturnOnlyChangesSinceCursor() throws Exception 
+    {
+        //Start where a full list load leaves off
+        long cursor = Long.parseLong(mockMvc.perform(get("/users").header("Authorization", adminToken)).andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(UserController.CHANGE_CURSOR_HEADER));
+
+        JsonNode created = MAPPER.readTree(mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Delta\",\"lastName\":\"Syncer\",\"username\":\"delta_user\",\"email\":\"delta@example.com\","
+        + "\"phoneNumber\":\"+15550002222\",\"homeAddress\":\"Delta Street\",\"password\":\"deltapassword\",\"role\":\"CUSTOMER\"}"))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        long userId = created.get("userId").asLong();
+
+        mockMvc.perform(patch("/users/" + userId).header("Authorization", adminToken).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"homeAddress\":\"Delta Avenue\"}")).andExpect(status().isOk());
+
+        JsonNode page = changes(cursor);
+        assertEquals(1, page.get("upserts").size());
+        assertEquals("Delta Avenue", page.get("upserts").get(0).get("homeAddress").asText());
+        assertEquals(0, page.get("deletedUserIds").size());
+
+        mockMvc.perform(delete("/users/" + userId).header("Authorization", adminToken)).andExpect(status().isNoContent());
+
+        JsonNode next = changes(page.get("cursor").asLong());
+        assertEquals(0, next.get("upserts").size());
+        assertEquals(userId, next.get("deletedUserIds").get(0).asLong());
+        assertFalse(next.get("hasMore").asBoolean());
+    }
+
+    @Test   //Delta sync of the list is admin only, like the list itself
+    void getChanges_shouldRequireAdmin() throws Exception 
+    {
+        mockMvc.perform(get("/users/changes").header("Authorization", customerToken)).andExpect(status().isForbidden());
+    }
+
+    //Drain the log after the cursor and return the last page
+    private JsonNode changes(long since) throws Exception 
+    {
+        JsonNode page;
+        do
+        {
+            page = MAPPER.readTree(mockMvc.perform(get("/users/changes").param("since", String.valueOf(since)).header("Authorization", adminToken))
+            .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            since = page.get("cursor").asLong();
+        }
+        while(page.get("hasMore").asBoolean());
+
+        return page;
+    }
+}
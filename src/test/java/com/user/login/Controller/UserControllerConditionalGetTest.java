@@ -0,0 +1,78 @@
+package com.user.login.Controller;                                                          //Package for controller tests
+import com.user.login.Entity.User;                                                          //Seeded user entity
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Repository.UserRepository;                                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;         //Status, header and body matchers
+
+//ETags and If-None-Match on the GET endpoints, end to end with real JWTs
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditionalget;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class UserControllerConditionalGetTest 
+{
+    @Autowired private MockMvc mockMvc;                 //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;               //Signs test tokens with the application key
+    @Autowired private UserRepository userRepository;   //Seeded by UserDataLoader
+
+    private User customer;          //Seeded customer account
+    private String adminToken;      //Bearer token for admin
+    private String customerToken;   //Bearer token for customer
+
+    @BeforeEach
+    void setUp() 
+    {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        customer = userRepository.findByUsername("customer01").orElseThrow();
+        adminToken = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+        customerToken = "Bearer " + jwtUtils.generateToken(customer.getUserId(), customer.getUsername(), Role.CUSTOMER.bit());
+    }
+
+    @Test   //A matching ETag is answered with an empty 304, and an update changes the ETag
+    void getCurrentUser_shouldReturnNotModified_untilUserChanges() throws Exception 
+    {
+        String eTag = mockMvc.perform(get("/users/me").header("Authorization", customerToken))
+        .andExpect(status().isOk()).andExpect(header().exists("ETag")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/users/me").header("Authorization", customerToken).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified()).andExpect(header().string("ETag", eTag)).andExpect(content().string(""));
+
+        mockMvc.perform(patch("/users/" + customer.getUserId()).header("Authorization", customerToken)
+        .contentType(MediaType.APPLICATION_JSON).content("{\"homeAddress\":\"ETag Street " + System.nanoTime() + "\"}")).andExpect(status().isOk());
+
+        String changed = mockMvc.perform(get("/users/me").header("Authorization", customerToken).header("If-None-Match", eTag))
+        .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, changed);
+    }
+
+    @Test   //The single-user endpoint carries the same ETag as /users/me for that row
+    void getUser_shouldReturnNotModified_forMatchingETag() throws Exception 
+    {
+        String eTag = mockMvc.perform(get("/users/me").header("Authorization", customerToken)).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/users/" + customer.getUserId()).header("Authorization", adminToken).header("If-None-Match", eTag))
+        .andExpect(status().isNotModified());
+    }
+
+    @Test   //Creating a user changes the list ETag
+    void getUsers_shouldChangeETag_whenUserIsAdded() throws Exception 
+    {
+        String eTag = mockMvc.perform(get("/users").header("Authorization", adminToken)).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/users").header("Authorization", adminToken).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"E\",\"lastName\":\"Tag\",\"username\":\"etag_user\","
+        + "\"email\":\"etag@example.com\",\"phoneNumber\":\"+15550001111\",\"homeAddress\":\"ETag Street\",\"password\":\"etagpassword\",\"role\":\"CUSTOMER\"}"))
+        .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users").header("Authorization", adminToken).header("If-None-Match", eTag))
+        .andExpect(status().isOk()).andExpect(jsonPath("$[?(@.username == 'etag_user')]").exists());
+    }
+}
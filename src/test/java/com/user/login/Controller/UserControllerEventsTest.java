@@ -0,0 +1,110 @@
+package com.user.login.Controller;                                          //Package for controller tests
+import com.user.login.Entity.User;                                          //Seeded user entity
+import com.user.login.Enum.Role;                                            //Role bits for test tokens
+import com.user.login.Event.UserEventHub;                                   //Event name
+import com.user.login.Repository.UserRepository;                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtUtils;                                //Real token generation
+import org.junit.jupiter.api.Test;                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;              //Bean injection
+import org.springframework.boot.test.context.SpringBootTest;                //Boots the full application
+import org.springframework.boot.test.web.server.LocalServerPort;            //Random port injection
+import java.net.URI;                                                        //Request targets
+import java.net.http.HttpClient;                                            //Streaming HTTP client
+import java.net.http.HttpRequest;                                           //Request builder
+import java.net.http.HttpResponse;                                          //Line-by-line body
+import java.util.Iterator;                                                  //Reads the stream
+import java.util.concurrent.CompletableFuture;                              //Reader with a deadline
+import java.util.concurrent.TimeUnit;                                       //Deadline unit
+import java.util.stream.Stream;                                             //Streamed lines
+import static org.junit.jupiter.api.Assertions.*;                           //Assertions
+
+//GET /users/events over a real socket: a change made through the API reaches an admin stream after commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.datasource.url=jdbc:h2:mem:userevents;DB_CLOSE_DELAY=-1")
+class UserControllerEventsTest 
+{
+    @LocalServerPort private int port;
+    @Autowired private JwtUtils jwtUtils;               //Signs test tokens with the application key
+    @Autowired private UserRepository userRepository;   //Seeded by UserDataLoader
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test   //The update arrives as a named event carrying the change log id and the new profile
+    void streamEvents_shouldPushUpdatesToAdmins() throws Exception 
+    {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User customer = userRepository.findByUsername("customer02").orElseThrow();
+        String token = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+
+        HttpResponse<Stream<String>> stream = client.send(request("/users/events", token).GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        assertTrue(stream.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+
+        CompletableFuture<String> event = nextChangeEvent(stream);
+
+        HttpResponse<String> update = client.send(request("/users/" + customer.getUserId(), token).header("Content-Type", "application/json")
+        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"homeAddress\":\"Stream Street\"}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, update.statusCode());
+
+        String data = event.get(10, TimeUnit.SECONDS);
+        assertTrue(data.contains("\"changeType\":\"UPDATED\""), data);
+        assertTrue(data.contains("\"homeAddress\":\"Stream Street\""), data);
+        assertFalse(data.contains("password\":\""), data);
+        stream.body().close();
+    }
+
+    @Test   //A reconnect with Last-Event-ID first gets the change made while it was away
+    void streamEvents_shouldReplayMissedChanges_afterLastEventId() throws Exception 
+    {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        User customer = userRepository.findByUsername("customer01").orElseThrow();
+        String token = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+
+        HttpResponse<Void> list = client.send(request("/users", token).GET().build(), HttpResponse.BodyHandlers.discarding());
+        String cursor = list.headers().firstValue(UserController.CHANGE_CURSOR_HEADER).orElseThrow();
+
+        HttpResponse<String> update = client.send(request("/users/" + customer.getUserId(), token).header("Content-Type", "application/json")
+        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"homeAddress\":\"Replay Road\"}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, update.statusCode());
+
+        HttpResponse<Stream<String>> stream = client.send(request("/users/events", token).header(UserController.LAST_EVENT_ID_HEADER, cursor).GET().build(),
+        HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+
+        String data = nextChangeEvent(stream).get(10, TimeUnit.SECONDS);
+        assertTrue(data.contains("\"changeType\":\"UPDATED\""), data);
+        assertTrue(data.contains("\"homeAddress\":\"Replay Road\""), data);
+        stream.body().close();
+    }
+
+    @Test   //Customers cannot subscribe
+    void streamEvents_shouldRequireAdmin() throws Exception 
+    {
+        User customer = userRepository.findByUsername("customer01").orElseThrow();
+        String token = "Bearer " + jwtUtils.generateToken(customer.getUserId(), customer.getUsername(), Role.CUSTOMER.bit());
+        assertEquals(403, client.send(request("/users/events", token).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    //Data of the next named change event on the stream
+    private static CompletableFuture<String> nextChangeEvent(HttpResponse<Stream<String>> stream) 
+    {
+        Iterator<String> lines = stream.body().iterator();
+        return CompletableFuture.supplyAsync(() -> 
+        {
+            boolean named = false;
+            while(lines.hasNext()) 
+            {
+                String line = lines.next();
+                if(line.equals("event:" + UserEventHub.EVENT_NAME))
+                    named = true;
+                else if(named && line.startsWith("data:"))
+                    return line.substring(5);
+            }
+            return null;
+        });
+    }
+
+    private HttpRequest.Builder request(String path, String token) 
+    {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("Authorization", token);
+    }
+}
@@ -4,6 +4,7 @@ import com.user.login.DTO.UserDTO;
 import com.user.login.DTO.Auth.AuthResponseDTO;
 import com.user.login.Enum.Role;
 import com.user.login.Exception.*;
+import com.user.login.Event.UserEventHub;
 import com.user.login.Service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +14,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,13 +33,20 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserEventHub userEventHub;
+
     @InjectMocks
     private UserController userController;
 
     private UserDTO userDTO;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest request;
 
     @BeforeEach
     public void setUp() {
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/users"), servletResponse);
         userDTO = UserDTO.builder()
                 .userId(1L)
                 .username("testUser")
@@ -68,29 +81,43 @@ public class UserControllerTest {
 
     @Test
     public void testGetCurrentUser_Success() {
+        when(userService.getCurrentUserETag()).thenReturn("\"1-0\"");
         when(userService.getCurrentUser()).thenReturn(userDTO);
 
-        ResponseEntity<UserDTO> response = userController.getCurrentUser();
+        ResponseEntity<UserDTO> response = userController.getCurrentUser(request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(userDTO, response.getBody());
+        assertEquals("\"1-0\"", servletResponse.getHeader("ETag"));
         verify(userService, times(1)).getCurrentUser();
     }
 
+    @Test
+    public void testGetCurrentUser_NotModified() {
+        ((MockHttpServletRequest) request.getRequest()).addHeader("If-None-Match", "\"1-0\"");
+        when(userService.getCurrentUserETag()).thenReturn("\"1-0\"");
+
+        assertNull(userController.getCurrentUser(request));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(userService, never()).getCurrentUser();
+    }
+
     @Test
     public void testGetCurrentUser_Failure() {
+        when(userService.getCurrentUserETag()).thenReturn("\"1-0\"");
         when(userService.getCurrentUser()).thenThrow(new RuntimeException("Service Error"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> userController.getCurrentUser());
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userController.getCurrentUser(request));
         assertEquals("Service Error", exception.getMessage());
         verify(userService, times(1)).getCurrentUser();
     }
 
     @Test
     public void testGetUser_Success() {
+        when(userService.getUserETag(1L)).thenReturn("\"1-0\"");
         when(userService.getUser(anyLong())).thenReturn(userDTO);
 
-        ResponseEntity<UserDTO> response = userController.getUser(1L);
+        ResponseEntity<UserDTO> response = userController.getUser(1L, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(userDTO, response.getBody());
@@ -100,26 +127,49 @@ public class UserControllerTest {
     @Test
     public void testGetUser_UserNotFound() {
         Long userId = 1L;
-        when(userService.getUser(anyLong())).thenThrow(new UserNotFoundException(userId.toString()));
+        when(userService.getUserETag(anyLong())).thenThrow(new UserNotFoundException(userId.toString()));
 
-        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userController.getUser(userId));
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userController.getUser(userId, request));
         assertEquals("User ID " + userId + " not found", exception.getMessage());
-        verify(userService, times(1)).getUser(userId);
+        verify(userService, never()).getUser(userId);
+    }
+
+    @Test
+    public void testGetUser_NotModified() {
+        ((MockHttpServletRequest) request.getRequest()).addHeader("If-None-Match", "\"1-0\"");
+        when(userService.getUserETag(1L)).thenReturn("\"1-0\"");
+
+        assertNull(userController.getUser(1L, request));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(userService, never()).getUser(anyLong());
     }
 
     @Test
     public void testGetUsers_Success() {
         List<UserDTO> users = Collections.singletonList(userDTO);
+        when(userService.getUsersETag()).thenReturn("\"abc\"");
+        when(userService.getChangeCursor()).thenReturn(42L);
         when(userService.getUsers()).thenReturn(users);
 
-        ResponseEntity<List<UserDTO>> response = userController.getUsers();
+        ResponseEntity<List<UserDTO>> response = userController.getUsers(request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().contains(userDTO));
+        assertEquals("42", response.getHeaders().getFirst(UserController.CHANGE_CURSOR_HEADER));
         verify(userService, times(1)).getUsers();
     }
 
+    @Test
+    public void testGetUsers_NotModified() {
+        ((MockHttpServletRequest) request.getRequest()).addHeader("If-None-Match", "\"abc\"");
+        when(userService.getUsersETag()).thenReturn("\"abc\"");
+
+        assertNull(userController.getUsers(request));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(userService, never()).getUsers();
+    }
+
     @Test
     public void testUpdateUser_Success() {
         AuthResponseDTO authResponseDTO = AuthResponseDTO.builder()
@@ -170,4 +220,13 @@ public class UserControllerTest {
         assertEquals("User ID " + userId + " not found", exception.getMessage());
         verify(userService, times(1)).deleteUser(userId);
     }
+
+    @Test
+    public void testStreamEvents_HubFull() {
+        when(userEventHub.subscribe(null)).thenReturn(Optional.empty());
+
+        ResponseEntity<SseEmitter> response = userController.streamEvents(null);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
 }
@@ -0,0 +1,150 @@
+package com.user.login.Event;                                               //Package for event hub tests
+import com.fasterxml.jackson.databind.ObjectMapper;                         //Payload serialization
+import com.user.login.Entity.UserChange;                                    //Change log entries
+import com.user.login.Enum.ChangeType;                                      //Kinds of change
+import com.user.login.Mapper.UserMapperImpl;                                //Generated mapper
+import com.user.login.Repository.UserChangeRepository;                      //Change log for replays
+import com.user.login.Repository.UserRepository;                            //Profile lookups
+import com.user.login.Tenant.TenantContext;                                 //Default tenant
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;            //In-memory metrics
+import org.junit.jupiter.api.AfterEach;                                     //Hub shutdown
+import org.junit.jupiter.api.BeforeEach;                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                          //JUnit test annotation
+import org.junit.jupiter.api.extension.ExtendWith;                          //Mockito extension
+import org.mockito.Mock;                                                    //Mocked repository
+import org.mockito.junit.jupiter.MockitoExtension;                          //Mockito support
+import org.springframework.data.domain.Limit;                               //Replay page size
+import java.time.Duration;                                                  //Heartbeat and timeout
+import java.time.Instant;                                                   //Change timestamps
+import java.util.List;                                                      //Change pages
+import java.util.Optional;                                                  //Profile lookups
+import static org.junit.jupiter.api.Assertions.*;                           //Assertions
+import static org.mockito.Mockito.*;                                        //Mockito utilities
+
+@ExtendWith(MockitoExtension.class)
+class UserEventHubTest 
+{
+    @Mock private UserRepository userRepository;    //Profile source for upsert events
+    @Mock private UserChangeRepository userChangeRepository;    //Change log read on reconnect
+
+    private UserEventHub hub;                       //Hub under test, two subscribers at most
+
+    @BeforeEach
+    void setUp() 
+    {
+        hub = new UserEventHub(userRepository, userChangeRepository, new UserMapperImpl(), new ObjectMapper(), new SimpleMeterRegistry(),
+        8, 2, 1, Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() 
+    {
+        if(hub.isRunning())
+            hub.stop();
+    }
+
+    @Test   //No streams before the application is running
+    void subscribe_shouldBeRefused_beforeStart() 
+    {
+        assertTrue(hub.subscribe().isEmpty());
+    }
+
+    @Test   //The hub is bounded: subscriptions past max-subscribers are refused
+    void subscribe_shouldBeRefused_whenHubIsFull() 
+    {
+        hub.start();
+        assertTrue(hub.subscribe().isPresent());
+        assertTrue(hub.subscribe().isPresent());
+        assertTrue(hub.subscribe().isEmpty());
+        assertEquals(2, hub.subscriberCount());
+    }
+
+    @Test   //Shutdown closes every stream
+    void stop_shouldCloseAllStreams() 
+    {
+        hub.start();
+        hub.subscribe();
+        hub.stop();
+        assertEquals(0, hub.subscriberCount());
+        assertTrue(hub.subscribe().isEmpty());
+    }
+
+    @Test   //Nothing is loaded or serialized while nobody listens
+    void onUserChanged_shouldSkipWork_withoutSubscribers() 
+    {
+        hub.start();
+        hub.onUserChanged(new UserChangedEvent(TenantContext.DEFAULT_TENANT, 1L, 5L, ChangeType.UPDATED));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test   //Upserts carry the current profile, loaded once for all subscribers; tombstones load nothing
+    void onUserChanged_shouldLoadProfileOnce_forUpserts() 
+    {
+        hub.start();
+        hub.subscribe();
+        hub.subscribe();
+        when(userRepository.findProfileByUserId(5L)).thenReturn(Optional.empty());
+
+        hub.onUserChanged(new UserChangedEvent(TenantContext.DEFAULT_TENANT, 1L, 6L, ChangeType.DELETED));
+        hub.onUserChanged(new UserChangedEvent(TenantContext.DEFAULT_TENANT, 2L, 5L, ChangeType.UPDATED));
+        verify(userRepository, timeout(5000)).findProfileByUserId(5L);
+        verify(userRepository, never()).findProfileByUserId(6L);
+    }
+
+    @Test   //Streams only see their own tenant: another tenant's change loads nothing
+    void onUserChanged_shouldSkipWork_forOtherTenants() throws Exception 
+    {
+        hub.start();
+        TenantContext.runAs("acme", hub::subscribe);
+        when(userRepository.findProfileByUserId(8L)).thenReturn(Optional.empty());
+
+        hub.onUserChanged(new UserChangedEvent(TenantContext.DEFAULT_TENANT, 1L, 7L, ChangeType.UPDATED));
+        hub.onUserChanged(new UserChangedEvent("acme", 2L, 8L, ChangeType.UPDATED));
+        verify(userRepository, timeout(5000)).findProfileByUserId(8L);
+        verify(userRepository, never()).findProfileByUserId(7L);    //Dispatcher runs events in order, so 7 was skipped
+    }
+
+    @Test   //A reconnect with Last-Event-ID is sent the changes after it, one event each, from a single log read
+    void subscribe_shouldReplayChangesAfterLastEventId() 
+    {
+        hub.start();
+        when(userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(10L, Limit.of(5)))
+        .thenReturn(List.of(change(11L, 5L, ChangeType.UPDATED), change(12L, 6L, ChangeType.DELETED)));
+        when(userRepository.findProfileByUserId(5L)).thenReturn(Optional.empty());
+
+        assertTrue(hub.subscribe(10L).isPresent());
+        verify(userRepository, timeout(5000)).findProfileByUserId(5L);
+        verify(userRepository, never()).findProfileByUserId(6L);                    //Tombstone
+        verify(userChangeRepository, never()).countByChangeIdGreaterThan(any());
+    }
+
+    @Test   //A gap larger than half the buffer becomes one resync notice instead of a burst that would evict the stream
+    void subscribe_shouldSendResync_whenGapExceedsHalfTheBuffer() 
+    {
+        hub.start();
+        List<UserChange> page = List.of(change(11L, 1L, ChangeType.UPDATED), change(12L, 2L, ChangeType.UPDATED),
+        change(13L, 3L, ChangeType.UPDATED), change(14L, 4L, ChangeType.UPDATED), change(15L, 5L, ChangeType.UPDATED));
+        when(userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(10L, Limit.of(5))).thenReturn(page);
+        when(userChangeRepository.findFirstByOrderByChangeIdDesc()).thenReturn(Optional.of(change(40L, 9L, ChangeType.UPDATED)));
+        when(userChangeRepository.countByChangeIdGreaterThan(10L)).thenReturn(30L);
+
+        assertTrue(hub.subscribe(10L).isPresent());
+        verify(userChangeRepository, timeout(5000)).countByChangeIdGreaterThan(10L);
+        verifyNoInteractions(userRepository);                                       //No per-change profile loads
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test   //A fresh stream reads nothing from the log
+    void subscribe_shouldNotReplay_withoutLastEventId() 
+    {
+        hub.start();
+        hub.subscribe();
+        hub.onUserChanged(new UserChangedEvent(TenantContext.DEFAULT_TENANT, 1L, 6L, ChangeType.DELETED));
+        verifyNoInteractions(userChangeRepository);
+    }
+
+    private static UserChange change(Long changeId, Long userId, ChangeType changeType) 
+    {
+        return UserChange.builder().changeId(changeId).tenantId(TenantContext.DEFAULT_TENANT).userId(userId).changeType(changeType).changedAt(Instant.EPOCH).build();
+    }
+}
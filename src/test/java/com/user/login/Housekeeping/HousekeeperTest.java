@@ -0,0 +1,168 @@
+package com.user.login.Housekeeping;                                        //Package for housekeeping tests
+import com.user.login.Enum.HousekeepingOutcome;                             //Run results
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;            //In-memory metrics
+import org.junit.jupiter.api.BeforeEach;                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                          //JUnit test annotation
+import org.springframework.jdbc.core.JdbcTemplate;                          //Lease row access
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;    //Lease transactions
+import org.springframework.jdbc.datasource.DriverManagerDataSource;         //Private H2 database per test
+import org.springframework.transaction.support.TransactionTemplate;         //Lease transactions
+import java.sql.Timestamp;                                                  //Lease expiry column
+import java.time.Duration;                                                  //Schedule and budget
+import java.time.Instant;                                                   //Purge cutoff
+import java.time.LocalTime;                                                 //Peak window
+import java.util.List;                                                      //Jobs
+import java.util.UUID;                                                      //Unique database names
+import java.util.concurrent.atomic.AtomicInteger;                           //Fake table size
+import static org.junit.jupiter.api.Assertions.*;                           //Assertions
+
+//Two Housekeeper instances on one database stand in for two nodes of a cluster
+class HousekeeperTest
+{
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();     //Metrics sink
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp()
+    {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:housekeeping" + UUID.randomUUID()
+        + ";DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'", "sa", "password");
+        jdbc = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private Housekeeper node(Duration timeBudget, String peakHours, PurgeJob... jobs)
+    {
+        return new Housekeeper(List.of(jobs), jdbc, transactionTemplate, registry, Duration.ofMinutes(5), Duration.ZERO, 500, timeBudget, peakHours);
+    }
+
+    private double count(String name, String tag, String value)
+    {
+        return registry.get(name).tag(tag, value).counter().count();
+    }
+
+    @Test   //Full batches are followed by another until one comes back short
+    void runOnce_shouldPurgeInBatchesUntilEmpty()
+    {
+        FakeJob job = new FakeJob(1250, Duration.ZERO);
+        assertEquals(HousekeepingOutcome.COMPLETED, node(Duration.ofSeconds(10), "", job).runOnce());
+
+        assertEquals(3, job.calls.get());
+        assertEquals(0, job.remaining.get());
+        assertEquals(1250, count("login.housekeeping.purged", "job", "fake"));
+        assertEquals(1, count("login.housekeeping.runs", "outcome", "completed"));
+    }
+
+    @Test   //Only the lease holder runs; it renews its own lease, and hands it over on stop
+    void runOnce_shouldRunOncePerCluster()
+    {
+        FakeJob job = new FakeJob(0, Duration.ZERO);
+        Housekeeper first = node(Duration.ofSeconds(10), "", job);
+        Housekeeper second = node(Duration.ofSeconds(10), "", job);
+
+        assertEquals(HousekeepingOutcome.COMPLETED, first.runOnce());
+        assertEquals(HousekeepingOutcome.NOT_LEADER, second.runOnce());
+        assertEquals(HousekeepingOutcome.COMPLETED, first.runOnce());
+        assertEquals(2, job.calls.get());
+
+        first.stop();
+        assertEquals(HousekeepingOutcome.COMPLETED, second.runOnce());
+        assertEquals(HousekeepingOutcome.NOT_LEADER, first.runOnce());
+    }
+
+    @Test   //The lease outlasts the latest next run (run, interval, full jitter), so the owner renews it before it lapses
+    void runOnce_shouldLeaseUntilNextRunAtLatest()
+    {
+        Housekeeper housekeeper = new Housekeeper(List.of(), jdbc, transactionTemplate, registry, Duration.ofMinutes(5), Duration.ofSeconds(30), 500,
+        Duration.ofSeconds(10), "");
+        Instant started = Instant.now();
+        assertEquals(HousekeepingOutcome.COMPLETED, housekeeper.runOnce());
+
+        Instant lockedUntil = jdbc.queryForObject("SELECT lockedUntil FROM housekeeping_lock WHERE name = ?", Timestamp.class,
+        Housekeeper.LOCK_NAME).toInstant();
+        assertFalse(lockedUntil.isBefore(started.plus(Duration.ofMinutes(5)).plusSeconds(40)));
+    }
+
+    @Test   //No batch starts after the budget; the rest waits for the next run
+    void runOnce_shouldStopAtTimeBudget()
+    {
+        FakeJob job = new FakeJob(1_000_000, Duration.ofMillis(20));
+        long started = System.nanoTime();
+        assertEquals(HousekeepingOutcome.BUDGET_EXHAUSTED, node(Duration.ofMillis(100), "", job).runOnce());
+
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(2).toNanos());
+        assertTrue(job.calls.get() < 20);
+        assertTrue(job.remaining.get() > 0);
+    }
+
+    @Test   //A failing batch ends the run and is counted
+    void runOnce_shouldReportFailure()
+    {
+        PurgeJob failing = new PurgeJob()
+        {
+            public String name() { return "failing"; }
+            public int purge(Instant cutoff, int batchSize) { throw new IllegalStateException("table locked"); }
+        };
+
+        assertEquals(HousekeepingOutcome.FAILED, node(Duration.ofSeconds(10), "", failing).runOnce());
+        assertEquals(1, count("login.housekeeping.runs", "outcome", "failed"));
+    }
+
+    @Test   //Peak windows, including one that wraps midnight
+    void isPeak_shouldHonourWindow()
+    {
+        Housekeeper daytime = node(Duration.ofSeconds(10), "07:00-10:00");
+        assertTrue(daytime.isPeak(LocalTime.of(7, 0)));
+        assertTrue(daytime.isPeak(LocalTime.of(9, 59)));
+        assertFalse(daytime.isPeak(LocalTime.of(10, 0)));
+        assertFalse(daytime.isPeak(LocalTime.of(3, 0)));
+
+        Housekeeper overnight = node(Duration.ofSeconds(10), "22:00-02:00");
+        assertTrue(overnight.isPeak(LocalTime.of(23, 30)));
+        assertTrue(overnight.isPeak(LocalTime.of(1, 0)));
+        assertFalse(overnight.isPeak(LocalTime.of(12, 0)));
+
+        assertFalse(node(Duration.ofSeconds(10), "").isPeak(LocalTime.NOON));
+        assertThrows(IllegalArgumentException.class, () -> node(Duration.ofMinutes(5), ""));
+    }
+
+    //Table of expired rows that takes a fixed time per batch
+    private static class FakeJob implements PurgeJob
+    {
+        final AtomicInteger remaining;
+        final AtomicInteger calls = new AtomicInteger();
+        final Duration perBatch;
+
+        FakeJob(int rows, Duration perBatch)
+        {
+            this.remaining = new AtomicInteger(rows);
+            this.perBatch = perBatch;
+        }
+
+        @Override
+        public String name()
+        {
+            return "fake";
+        }
+
+        @Override
+        public int purge(Instant cutoff, int batchSize)
+        {
+            calls.incrementAndGet();
+            try
+            {
+                Thread.sleep(perBatch.toMillis());
+            }
+
+            catch(InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            int removed = Math.min(batchSize, remaining.get());
+            remaining.addAndGet(-removed);
+            return removed;
+        }
+    }
+}
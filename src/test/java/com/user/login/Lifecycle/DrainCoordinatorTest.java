@@ -0,0 +1,62 @@
+package com.user.login.Lifecycle;                                           //Package for lifecycle tests
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;            //In-memory metrics
+import org.junit.jupiter.api.Test;                                          //JUnit test annotation
+import org.springframework.boot.availability.AvailabilityChangeEvent;       //Readiness event type
+import org.springframework.boot.availability.ReadinessState;                //REFUSING_TRAFFIC
+import org.springframework.context.ApplicationEventPublisher;               //Captures published events
+import java.time.Duration;                                                  //Timings
+import java.util.ArrayList;                                                 //Event capture
+import java.util.List;                                                      //Event capture
+import java.util.concurrent.CompletableFuture;                              //Background stop()
+import java.util.concurrent.TimeUnit;                                       //Waits
+import static org.junit.jupiter.api.Assertions.*;                           //Assertions
+
+class DrainCoordinatorTest 
+{
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();     //Metrics sink
+    private final List<Object> events = new ArrayList<>();                      //Published events
+    private final ApplicationEventPublisher publisher = events::add;            //Records readiness changes
+
+    private double count(String outcome) 
+    {
+        return registry.get("login.drain.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test   //In-flight work finishes inside the deadline, new work is refused meanwhile
+    void stop_shouldFlipReadinessRejectNewAndDrainInFlight() throws Exception 
+    {
+        DrainCoordinator coordinator = new DrainCoordinator(publisher, registry, Duration.ZERO, Duration.ofSeconds(5));
+        coordinator.start();
+        assertTrue(coordinator.tryEnter());                                     //One login mid-hash
+
+        CompletableFuture<Void> stopping = CompletableFuture.runAsync(coordinator::stop);
+        while(!coordinator.isDraining())
+            Thread.onSpinWait();
+
+        assertFalse(coordinator.tryEnter());                                    //New login refused
+        assertFalse(stopping.isDone());                                         //Still waiting for the in-flight one
+        coordinator.exit();                                                     //In-flight login completes
+        stopping.get(5, TimeUnit.SECONDS);
+
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) events.get(0)).getState());
+        assertEquals(1, count("drained"));
+        assertEquals(1, count("rejected"));
+        assertEquals(0, count("aborted"));
+        assertFalse(coordinator.isRunning());
+    }
+
+    @Test   //Work still running at the deadline is counted as aborted and does not block shutdown
+    void stop_shouldGiveUpAtDeadline() 
+    {
+        DrainCoordinator coordinator = new DrainCoordinator(publisher, registry, Duration.ZERO, Duration.ofMillis(100));
+        coordinator.start();
+        assertTrue(coordinator.tryEnter());                                     //Never finishes
+
+        long started = System.nanoTime();
+        coordinator.stop();
+
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, count("aborted"));
+        assertEquals(0, count("drained"));
+    }
+}
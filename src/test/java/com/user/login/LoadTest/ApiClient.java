@@ -0,0 +1,103 @@
+package com.user.login.LoadTest;                    //Package declaration
+import com.fasterxml.jackson.databind.JsonNode;     //Parsed response body
+import com.fasterxml.jackson.databind.ObjectMapper; //JSON (de)serialization
+import java.net.URI;                                //Request targets
+import java.net.http.HttpClient;                    //JDK HTTP client
+import java.net.http.HttpRequest;                   //Request builder
+import java.net.http.HttpResponse;                  //Response handling
+import java.time.Duration;                          //Timeouts
+import java.util.Map;                               //Request bodies
+
+//Thin blocking client for the /auth and /users endpoints used by the load tests
+public class ApiClient
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;    //Shared, connection-pooling client
+    private final String baseUrl;           //http://localhost:<port>
+
+    public ApiClient(int port)
+    {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    //Status code plus parsed JSON body (null when the body is empty or not JSON)
+    public record Response(int status, JsonNode body)
+    {
+        public boolean ok()
+        {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    public Response createUser(Map<String, Object> user) throws Exception
+    {
+        return send(json("/users", "POST", user, null));
+    }
+
+    public Response login(String username, String password) throws Exception
+    {
+        return send(json("/auth/login", "POST", Map.of("username", username, "password", password), null));
+    }
+
+    public Response refresh(String token) throws Exception
+    {
+        //The refresh endpoint takes the raw token as the request body
+        return send(request("/auth/refresh", null).header("Content-Type", "text/plain").POST(HttpRequest.BodyPublishers.ofString(token)).build());
+    }
+
+    public Response me(String token) throws Exception
+    {
+        return send(request("/users/me", token).GET().build());
+    }
+
+    public Response users(String token) throws Exception
+    {
+        return send(request("/users", token).GET().build());
+    }
+
+    public Response updateUser(String token, long userId, Map<String, Object> changes) throws Exception
+    {
+        return send(json("/users/" + userId, "PATCH", changes, token));
+    }
+
+    public Response readiness() throws Exception
+    {
+        return send(request("/actuator/health/readiness", null).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path, String token)
+    {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if(token != null)
+            builder.header("Authorization", "Bearer " + token);
+
+        return builder;
+    }
+
+    private HttpRequest json(String path, String method, Object body, String token) throws Exception
+    {
+        return request(path, token).header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body))).build();
+    }
+
+    private Response send(HttpRequest request) throws Exception
+    {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode body = null;
+
+        try
+        {
+            if(response.body().length > 0)
+                body = MAPPER.readTree(response.body());
+        }
+
+        catch(Exception e)
+        {
+            //Plain-text error bodies are not needed by the scenarios
+        }
+
+        return new Response(response.statusCode(), body);
+    }
+}
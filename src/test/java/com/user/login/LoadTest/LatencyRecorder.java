@@ -0,0 +1,74 @@
+package com.user.login.LoadTest;    //Package declaration
+import java.util.*;                 //Collections for samples and results
+
+//Single-threaded latency sample buffer; one instance per worker, merged once the run is over
+public class LatencyRecorder
+{
+    private final Map<String, long[]> samples = new HashMap<>();    //Latency samples (nanos) per operation
+    private final Map<String, Integer> counts = new HashMap<>();    //Number of samples used per operation
+    private final Map<String, Integer> errors = new HashMap<>();    //Non-2xx or failed calls per operation
+
+    //Record one call of the given operation
+    public void record(String operation, long nanos, boolean success)
+    {
+        int count = counts.getOrDefault(operation, 0);
+        long[] buffer = samples.computeIfAbsent(operation, op -> new long[1024]);
+
+        //Grow the buffer geometrically instead of boxing every sample
+        if(count == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            samples.put(operation, buffer);
+        }
+
+        buffer[count] = nanos;
+        counts.put(operation, count + 1);
+
+        if(!success)
+            errors.merge(operation, 1, Integer::sum);
+    }
+
+    //Merge the per-worker recorders and compute statistics for a run of the given length
+    public static Map<String, Stats> summarize(List<LatencyRecorder> recorders, long durationNanos)
+    {
+        Map<String, long[]> merged = new TreeMap<>();
+        Map<String, Integer> mergedErrors = new HashMap<>();
+
+        for(LatencyRecorder recorder : recorders)
+        {
+            recorder.counts.forEach((operation, count) ->
+            {
+                long[] previous = merged.getOrDefault(operation, new long[0]);
+                long[] combined = Arrays.copyOf(previous, previous.length + count);
+                System.arraycopy(recorder.samples.get(operation), 0, combined, previous.length, count);
+                merged.put(operation, combined);
+            });
+            recorder.errors.forEach((operation, count) -> mergedErrors.merge(operation, count, Integer::sum));
+        }
+
+        Map<String, Stats> result = new LinkedHashMap<>();
+        merged.forEach((operation, values) -> result.put(operation, Stats.of(values, mergedErrors.getOrDefault(operation, 0), durationNanos)));
+        return result;
+    }
+
+    //Percentiles in milliseconds plus throughput for one operation
+    public record Stats(long count, long errors, double p50Millis, double p99Millis, double p999Millis, double maxMillis, double throughputPerSecond)
+    {
+        static Stats of(long[] values, long errors, long durationNanos)
+        {
+            Arrays.sort(values);
+            return new Stats(values.length, errors, percentile(values, 0.50), percentile(values, 0.99), percentile(values, 0.999),
+            values.length == 0 ? 0 : values[values.length - 1] / 1_000_000.0, values.length / (durationNanos / 1_000_000_000.0));
+        }
+
+        //Nearest-rank percentile of sorted nanosecond samples, in milliseconds
+        private static double percentile(long[] sorted, double quantile)
+        {
+            if(sorted.length == 0)
+                return 0;
+
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+        }
+    }
+}
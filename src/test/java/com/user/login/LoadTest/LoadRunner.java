@@ -0,0 +1,105 @@
+package com.user.login.LoadTest;                        //Package declaration
+import java.time.Duration;                              //Warmup and measurement windows
+import java.util.*;                                     //Collections
+import java.util.concurrent.*;                          //Worker threads and start barrier
+import java.util.function.IntFunction;                  //Per-worker workload factory
+
+//Closed-loop load generator: N workers each execute a weighted mix of steps back to back
+public final class LoadRunner
+{
+    private LoadRunner() {}
+
+    //One HTTP interaction; returns true when the call succeeded
+    @FunctionalInterface
+    public interface Step
+    {
+        boolean call() throws Exception;
+    }
+
+    //Weighted set of named steps owned by a single worker
+    public static class Mix
+    {
+        private final List<String> names = new ArrayList<>();   //Operation names
+        private final List<Step> steps = new ArrayList<>();     //Matching steps
+        private final List<Integer> cumulative = new ArrayList<>(); //Running weight totals
+        private int total;                                      //Sum of weights
+
+        public Mix add(String name, int weight, Step step)
+        {
+            total += weight;
+            names.add(name);
+            steps.add(step);
+            cumulative.add(total);
+            return this;
+        }
+
+        //Pick the index of the next step proportionally to its weight
+        private int pick(Random random)
+        {
+            int ticket = random.nextInt(total);
+            for(int i = 0; i < cumulative.size(); i++)
+                if(ticket < cumulative.get(i))
+                    return i;
+
+            return cumulative.size() - 1;
+        }
+    }
+
+    //Run the workload: warm up without recording, then measure for the given duration
+    public static Map<String, LatencyRecorder.Stats> run(int threads, Duration warmup, Duration duration, IntFunction<Mix> mixes) throws Exception
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<LatencyRecorder> recorders = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> workers = new ArrayList<>();
+
+        for(int i = 0; i < threads; i++)
+        {
+            Mix mix = mixes.apply(i);
+            workers.add(pool.submit(() ->
+            {
+                LatencyRecorder recorder = new LatencyRecorder();
+                Random random = new Random();
+                start.await();                                                  //All workers begin together
+                long warmupEnd = System.nanoTime() + warmup.toNanos();
+                long end = warmupEnd + duration.toNanos();
+                long now;
+
+                while((now = System.nanoTime()) < end)
+                {
+                    int index = mix.pick(random);
+                    boolean success;
+
+                    try
+                    {
+                        success = mix.steps.get(index).call();
+                    }
+
+                    catch(Exception e)
+                    {
+                        success = false;                                        //Transport errors count against the SLO
+                    }
+
+                    if(now >= warmupEnd)
+                        recorder.record(mix.names.get(index), System.nanoTime() - now, success);
+                }
+
+                recorders.add(recorder);
+                return null;
+            }));
+        }
+
+        try
+        {
+            for(Future<?> worker : workers)
+                worker.get();
+        }
+
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        return LatencyRecorder.summarize(recorders, duration.toNanos());
+    }
+}
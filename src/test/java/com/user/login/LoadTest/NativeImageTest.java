@@ -0,0 +1,69 @@
+package com.user.login.LoadTest;                                    //Package declaration
+import com.fasterxml.jackson.databind.ObjectMapper;                 //Report writer
+import org.junit.jupiter.api.Tag;                                   //Keeps the suite out of the default build
+import org.junit.jupiter.api.Test;                                  //JUnit test annotation
+import java.io.File;                                                //Binary, jar and report files
+import java.util.LinkedHashMap;                                     //Ordered report
+import java.util.List;                                              //Command line
+import java.util.Map;                                               //Report and request bodies
+import static org.junit.jupiter.api.Assertions.*;                   //Assertions
+import static org.junit.jupiter.api.Assumptions.assumeTrue;         //Skips until the binary has been built
+
+//Boots the GraalVM native binary and the JVM jar with the prod profile, runs sign-up -> login -> /users/me
+//against each and records startup time and resident memory. Skipped when target/login has not been built.
+//Run with: mvn -Pnative native:compile -DskipTests && mvn -Pperf test -Dtest=NativeImageTest
+@Tag("perf")
+class NativeImageTest
+{
+    private static final long TIMEOUT_MILLIS = Long.getLong("startup.timeoutMillis", 60000);            //Give up on a hung boot
+    private static final long MAX_NATIVE_STARTUP_MILLIS = Long.getLong("native.maxStartupMillis", 500);
+
+    private static final File BINARY = new File("target/login");                                       //native:compile output
+    private static final File JAR = new File("target/login-0.0.1-SNAPSHOT.jar");                       //Same AOT-processed build
+
+    //Startup and memory for one launcher after the login flow has run
+    record Result(String mode, long startupMillis, long rssKilobytes) {}
+
+    @Test
+    void nativeBinaryServesLoginFlow() throws Exception
+    {
+        assumeTrue(BINARY.canExecute(), "Native binary not built: mvn -Pnative native:compile");
+
+        Result nativeImage = measure("native", List.of(BINARY.getPath()));
+        Result jvm = JAR.exists() ? measure("jvm", ServerProcess.java("-Dspring.aot.enabled=true", "-jar", JAR.getPath())) : null;
+
+        System.out.printf("%n%-7s %12s %10s%n", "mode", "startup ms", "RSS MB");
+        for(Result r : jvm == null ? List.of(nativeImage) : List.of(nativeImage, jvm))
+            System.out.printf("%-7s %12d %10.1f%n", r.mode(), r.startupMillis(), r.rssKilobytes() / 1024.0);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("native", nativeImage);
+        report.put("jvm", jvm);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File("target/native-report.json"), report);
+
+        assertTrue(nativeImage.startupMillis() <= MAX_NATIVE_STARTUP_MILLIS,
+        String.format("Native boot took %d ms, budget %d ms", nativeImage.startupMillis(), MAX_NATIVE_STARTUP_MILLIS));
+    }
+
+    //Boot with the prod profile (no seeded users) and exercise sign-up, login and /users/me
+    private Result measure(String mode, List<String> command) throws Exception
+    {
+        try(ServerProcess server = ServerProcess.start("native-test-" + mode, command, List.of("--spring.profiles.active=prod"), TIMEOUT_MILLIS))
+        {
+            ApiClient client = server.client();
+            ApiClient.Response created = client.createUser(Map.of("firstName", "Native", "lastName", "Probe", "username", "native_probe",
+            "email", "native_probe@example.com", "phoneNumber", "+15550000001", "homeAddress", "Probe Street",
+            "password", "nativepassword", "role", "CUSTOMER"));
+            assertTrue(created.ok(), mode + " sign-up failed: HTTP " + created.status());
+
+            ApiClient.Response login = client.login("native_probe", "nativepassword");
+            assertTrue(login.ok(), mode + " login failed: HTTP " + login.status());
+
+            ApiClient.Response me = client.me(login.body().get("token").asText());
+            assertTrue(me.ok(), mode + " /users/me failed: HTTP " + me.status());
+            assertEquals("native_probe", me.body().get("username").asText());
+
+            return new Result(mode, server.startupMillis(), server.rssKilobytes());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.user.login.LoadTest;                    //Package declaration
+import java.io.File;                                //Log file
+import java.net.ServerSocket;                       //Free port lookup
+import java.nio.file.Files;                         ///proc reads
+import java.nio.file.Path;                          ///proc paths
+import java.util.ArrayList;                         //Command line
+import java.util.List;                              //Command line
+import java.util.concurrent.TimeUnit;               //Timeouts
+
+//The login service started in its own process (JVM or native binary) on a free port, for measurements
+//that must include process start-up. Spring properties are passed as --name=value arguments, which
+//both the launchers accept.
+public class ServerProcess implements AutoCloseable
+{
+    private final Process process;
+    private final int port;
+    private final long startupMillis;   //Launch until readiness reported UP
+
+    private ServerProcess(Process process, int port, long startupMillis)
+    {
+        this.process = process;
+        this.port = port;
+        this.startupMillis = startupMillis;
+    }
+
+    //Launch the command and block until /actuator/health/readiness answers 200
+    public static ServerProcess start(String name, List<String> command, List<String> springArguments, long timeoutMillis) throws Exception
+    {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.addAll(springArguments);
+        fullCommand.add("--server.port=" + port);
+        fullCommand.add("--logging.file.name=target/" + name + ".log");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        ApiClient client = new ApiClient(port);
+
+        while(!ready(client))
+        {
+            if(!process.isAlive())
+                throw new IllegalStateException(name + " exited with status " + process.exitValue() + ", see target/" + name + ".log");
+
+            if(System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(timeoutMillis))
+            {
+                process.destroyForcibly();
+                throw new IllegalStateException(name + " was not ready after " + timeoutMillis + " ms");
+            }
+
+            Thread.sleep(10);
+        }
+
+        return new ServerProcess(process, port, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    //Command prefix for a JVM launch with this test's java binary
+    public static List<String> java(String... arguments)
+    {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.addAll(List.of(arguments));
+        return command;
+    }
+
+    public ApiClient client()
+    {
+        return new ApiClient(port);
+    }
+
+    public long startupMillis()
+    {
+        return startupMillis;
+    }
+
+    //Resident set size in kilobytes from /proc; -1 where /proc is not available
+    public long rssKilobytes()
+    {
+        try
+        {
+            for(String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status")))
+                if(line.startsWith("VmRSS:"))
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+        }
+
+        catch(Exception e)
+        {
+            //Not Linux, or the process already exited
+        }
+
+        return -1;
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        process.destroy();
+        if(!process.waitFor(30, TimeUnit.SECONDS))
+            process.destroyForcibly();
+    }
+
+    private static boolean ready(ApiClient client)
+    {
+        try
+        {
+            return client.readiness().ok();
+        }
+
+        catch(Exception e)
+        {
+            return false;   //Not listening yet
+        }
+    }
+
+    private static int freePort() throws Exception
+    {
+        try(ServerSocket socket = new ServerSocket(0))
+        {
+            return socket.getLocalPort();
+        }
+    }
+}
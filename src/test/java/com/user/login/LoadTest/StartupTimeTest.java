@@ -0,0 +1,96 @@
+package com.user.login.LoadTest;                                    //Package declaration
+import com.fasterxml.jackson.databind.ObjectMapper;                 //Report writer
+import com.user.login.LoginApplication;                             //Application entry point
+import org.junit.jupiter.api.Tag;                                   //Keeps the suite out of the default build
+import org.junit.jupiter.api.Test;                                  //JUnit test annotation
+import java.io.File;                                                //Jar, archive and report files
+import java.util.ArrayList;                                         //Command line
+import java.util.LinkedHashMap;                                     //Ordered report
+import java.util.List;                                              //Command line
+import java.util.Map;                                               //Report and request bodies
+import java.util.concurrent.TimeUnit;                               //Latency conversion
+import static org.junit.jupiter.api.Assertions.*;                   //Assertions
+
+//Wall-clock time from JVM launch to a ready node, plus the latency of the first sign-up and login, for the
+//default development boot and the production boot (prod profile; AOT + CDS when built with mvn -Pprod package).
+//Run with: mvn -Pprod package -DskipTests && mvn -Pperf test -Dtest=StartupTimeTest
+@Tag("perf")
+class StartupTimeTest
+{
+    private static final long MAX_STARTUP_MILLIS = Long.getLong("startup.maxMillis", 1000);              //Production boot budget
+    private static final long MAX_FIRST_REQUEST_MILLIS = Long.getLong("startup.maxFirstRequestMillis", 1000);
+    private static final long TIMEOUT_MILLIS = Long.getLong("startup.timeoutMillis", 60000);            //Give up on a hung boot
+
+    private static final File APPLICATION = new File("target/application");                           //Written by the prod Maven profile
+
+    //Startup and first-request measurements for one boot mode
+    record Result(String mode, long startupMillis, long firstSignUpMillis, long firstLoginMillis) {}
+
+    @Test
+    void productionBootIsReadyWithinBudget() throws Exception
+    {
+        Result development = measure("development", ServerProcess.java("-cp", System.getProperty("java.class.path"), LoginApplication.class.getName()), List.of());
+        Result production = measure("production", productionCommand(), List.of("--spring.profiles.active=prod"));
+
+        System.out.printf("%n%-12s %12s %14s %13s%n", "mode", "startup ms", "1st signup ms", "1st login ms");
+        for(Result r : List.of(development, production))
+            System.out.printf("%-12s %12d %14d %13d%n", r.mode(), r.startupMillis(), r.firstSignUpMillis(), r.firstLoginMillis());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("cdsArchive", new File(APPLICATION, "application.jsa").exists());
+        report.put("development", development);
+        report.put("production", production);
+        File target = new File("target/startup-report.json");
+        target.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(target, report);
+
+        assertTrue(production.startupMillis() <= MAX_STARTUP_MILLIS,
+        String.format("Production boot took %d ms, budget %d ms", production.startupMillis(), MAX_STARTUP_MILLIS));
+        assertTrue(production.firstSignUpMillis() + production.firstLoginMillis() <= MAX_FIRST_REQUEST_MILLIS,
+        String.format("First sign-up + login took %d ms, budget %d ms", production.firstSignUpMillis() + production.firstLoginMillis(), MAX_FIRST_REQUEST_MILLIS));
+    }
+
+    //Packaged jar with its CDS archive and AOT initializers when present, otherwise the test classpath
+    private List<String> productionCommand()
+    {
+        File jar = new File(APPLICATION, "login-0.0.1-SNAPSHOT.jar");
+        File archive = new File(APPLICATION, "application.jsa");
+        if(!jar.exists())
+            return ServerProcess.java("-cp", System.getProperty("java.class.path"), LoginApplication.class.getName());
+
+        List<String> arguments = new ArrayList<>();
+        if(archive.exists())
+            arguments.add("-XX:SharedArchiveFile=" + archive.getPath());
+
+        arguments.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jar.getPath()));
+        return ServerProcess.java(arguments.toArray(String[]::new));
+    }
+
+    //Boot a fresh process, then time the first sign-up and login against it
+    private Result measure(String mode, List<String> command, List<String> springArguments) throws Exception
+    {
+        try(ServerProcess server = ServerProcess.start("startup-" + mode, command, springArguments, TIMEOUT_MILLIS))
+        {
+            ApiClient client = server.client();
+
+            long signUpStarted = System.nanoTime();
+            ApiClient.Response created = client.createUser(Map.of("firstName", "Startup", "lastName", "Probe", "username", "startup_probe",
+            "email", "startup_probe@example.com", "phoneNumber", "+15550000000", "homeAddress", "Probe Street",
+            "password", "startuppassword", "role", "CUSTOMER"));
+            long signUp = millisSince(signUpStarted);
+            assertTrue(created.ok(), mode + " sign-up failed: HTTP " + created.status());
+
+            long loginStarted = System.nanoTime();
+            ApiClient.Response login = client.login("startup_probe", "startuppassword");
+            long firstLogin = millisSince(loginStarted);
+            assertTrue(login.ok(), mode + " login failed: HTTP " + login.status());
+
+            return new Result(mode, server.startupMillis(), signUp, firstLogin);
+        }
+    }
+
+    private static long millisSince(long startedNanos)
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,138 @@
+package com.user.login.LoadTest;                                            //Package declaration
+import com.fasterxml.jackson.databind.ObjectMapper;                         //Report writer
+import org.junit.jupiter.api.Tag;                                           //Keeps the suite out of the default build
+import org.junit.jupiter.api.Test;                                          //JUnit test annotation
+import org.springframework.boot.test.context.SpringBootTest;                //Boots the full application
+import org.springframework.boot.test.web.server.LocalServerPort;            //Random port injection
+import java.io.File;                                                        //Report file
+import java.time.Duration;                                                  //Run windows
+import java.util.*;                                                         //Collections
+import static org.junit.jupiter.api.Assertions.*;                           //Assertions
+
+//Mixed /auth + /users workload against the real application on a random port, backed by in-memory H2.
+//Run with: mvn -Pperf test   (tune with -Dloadtest.threads, -Dloadtest.durationSeconds, -Dloadtest.slo.<operation>.p99Millis)
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+    "logging.level.root=WARN", "logging.level.org.springframework=WARN", "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.com.user=WARN", "spring.jpa.show-sql=false"
+})
+class UserApiLoadTest
+{
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);                           //Concurrent clients
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);             //JIT + pool warmup
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);         //Measured window
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.0"));
+    private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("loadtest.minThroughput", "20"));
+
+    //Default p99 budgets per operation (milliseconds); login and refresh include bcrypt / token signing
+    private static final Map<String, Double> DEFAULT_P99_MILLIS = Map.of("login", 2500.0, "refresh", 400.0, "me", 400.0, "users", 400.0, "update", 400.0);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void mixedWorkloadMeetsLatencySlos() throws Exception
+    {
+        ApiClient client = new ApiClient(port);
+        String adminToken = client.login("admin", "admin123").body().get("token").asText(); //Seeded by UserDataLoader
+
+        //One customer account per worker so updates do not contend on the same row
+        List<String> usernames = new ArrayList<>();
+        for(int i = 0; i < THREADS; i++)
+        {
+            String username = "load_user_" + i;
+            ApiClient.Response created = client.createUser(Map.of("firstName", "Load", "lastName", "Tester", "username", username,
+            "email", username + "@example.com", "phoneNumber", String.format("+1555%07d", i), "homeAddress", "Load Street",
+            "password", "loadpassword", "role", "CUSTOMER"));
+            assertTrue(created.ok(), "Could not create " + username + ": HTTP " + created.status());
+            usernames.add(username);
+        }
+
+        Map<String, LatencyRecorder.Stats> stats = LoadRunner.run(THREADS, Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS),
+        worker -> workerMix(client, usernames.get(worker), adminToken));
+
+        writeReport(stats);
+        assertSlos(stats);
+    }
+
+    //Realistic mix for one signed-in customer; tokens rotate on login, refresh and profile update
+    private LoadRunner.Mix workerMix(ApiClient client, String username, String adminToken)
+    {
+        try
+        {
+            ApiClient.Response login = client.login(username, "loadpassword");
+            String[] token = {login.body().get("token").asText()};
+            long userId = login.body().get("userId").asLong();
+            int[] revision = {0};
+
+            return new LoadRunner.Mix()
+            .add("login", 5, () ->
+            {
+                ApiClient.Response response = client.login(username, "loadpassword");
+                if(response.ok()) token[0] = response.body().get("token").asText();
+                return response.ok();
+            })
+            .add("refresh", 10, () ->
+            {
+                ApiClient.Response response = client.refresh(token[0]);
+                if(response.ok()) token[0] = response.body().get("token").asText();
+                return response.ok();
+            })
+            .add("me", 45, () -> client.me(token[0]).ok())
+            .add("users", 20, () -> client.users(adminToken).ok())
+            .add("update", 20, () ->
+            {
+                ApiClient.Response response = client.updateUser(token[0], userId, Map.of("firstName", "Load" + (revision[0]++ % 1000)));
+                if(response.ok()) token[0] = response.body().get("token").asText();
+                return response.ok();
+            });
+        }
+
+        catch(Exception e)
+        {
+            throw new IllegalStateException("Could not sign in " + username, e);
+        }
+    }
+
+    private void writeReport(Map<String, LatencyRecorder.Stats> stats) throws Exception
+    {
+        System.out.printf("%n%-8s %8s %7s %9s %9s %9s %9s %10s%n", "op", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms", "req/s");
+        stats.forEach((operation, s) -> System.out.printf("%-8s %8d %7d %9.2f %9.2f %9.2f %9.2f %10.1f%n", operation, s.count(), s.errors(),
+        s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(), s.throughputPerSecond()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", THREADS);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("operations", stats);
+        File target = new File("target/loadtest-report.json");
+        target.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(target, report);
+    }
+
+    private void assertSlos(Map<String, LatencyRecorder.Stats> stats)
+    {
+        List<String> violations = new ArrayList<>();
+        double throughput = 0;
+
+        for(Map.Entry<String, LatencyRecorder.Stats> entry : stats.entrySet())
+        {
+            String operation = entry.getKey();
+            LatencyRecorder.Stats s = entry.getValue();
+            double p99Budget = Double.parseDouble(System.getProperty("loadtest.slo." + operation + ".p99Millis",
+            String.valueOf(DEFAULT_P99_MILLIS.getOrDefault(operation, 400.0))));
+            throughput += s.throughputPerSecond();
+
+            if(s.p99Millis() > p99Budget)
+                violations.add(String.format("%s p99 %.2f ms > %.2f ms", operation, s.p99Millis(), p99Budget));
+
+            if(s.errors() > s.count() * MAX_ERROR_RATE)
+                violations.add(String.format("%s had %d errors out of %d calls", operation, s.errors(), s.count()));
+        }
+
+        if(throughput < MIN_THROUGHPUT)
+            violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, MIN_THROUGHPUT));
+
+        assertTrue(violations.isEmpty(), "SLO violations: " + violations);
+    }
+}
@@ -0,0 +1,103 @@
+package com.user.login.LoadTest;                                    //Package declaration
+import com.fasterxml.jackson.databind.ObjectMapper;                 //Report writer
+import com.user.login.LoginApplication;                             //Application entry point
+import com.user.login.Repository.UserRepository;                    //Repository wrapped with artificial latency
+import org.junit.jupiter.api.Tag;                                   //Keeps the suite out of the default build
+import org.junit.jupiter.api.Test;                                  //JUnit test annotation
+import org.junit.jupiter.api.condition.EnabledForJreRange;          //Virtual threads need Java 21
+import org.junit.jupiter.api.condition.JRE;                         //JRE constants
+import org.springframework.beans.factory.config.BeanPostProcessor;  //Hook to wrap the repository bean
+import org.springframework.boot.builder.SpringApplicationBuilder;   //Programmatic application startup
+import org.springframework.context.ConfigurableApplicationContext;  //Running context
+import java.io.File;                                                //Report file
+import java.lang.reflect.InvocationTargetException;                 //Unwrapped repository errors
+import java.lang.reflect.Proxy;                                     //Latency-injecting proxy
+import java.time.Duration;                                          //Run windows
+import java.util.LinkedHashMap;                                     //Ordered report
+import java.util.Map;                                               //Report and stats
+import static org.junit.jupiter.api.Assertions.*;                   //Assertions
+
+//Compares concurrent GET /users/me throughput with platform vs virtual request threads while every
+//UserRepository call is delayed to simulate a remote database. Run with: mvn -Pperf,java21 test
+@Tag("perf")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadThroughputTest
+{
+    private static final int DB_LATENCY_MILLIS = Integer.getInteger("loadtest.dbLatencyMillis", 50);   //Added to every repository call
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);                      //Concurrent callers
+    private static final int TOMCAT_THREADS = Integer.getInteger("loadtest.tomcatThreads", 16);         //Platform pool size
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 15);
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("loadtest.minVirtualSpeedup", "1.0"));
+
+    @Test
+    void virtualThreadsSustainMoreConcurrentRequestsUnderDatabaseLatency() throws Exception
+    {
+        LatencyRecorder.Stats platform = measure(false);
+        LatencyRecorder.Stats virtual = measure(true);
+
+        System.out.printf("%n%-9s %10s %9s %9s%n", "mode", "req/s", "p50 ms", "p99 ms");
+        System.out.printf("%-9s %10.1f %9.2f %9.2f%n", "platform", platform.throughputPerSecond(), platform.p50Millis(), platform.p99Millis());
+        System.out.printf("%-9s %10.1f %9.2f %9.2f%n", "virtual", virtual.throughputPerSecond(), virtual.p50Millis(), virtual.p99Millis());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("dbLatencyMillis", DB_LATENCY_MILLIS);
+        report.put("clients", CLIENTS);
+        report.put("tomcatThreads", TOMCAT_THREADS);
+        report.put("platform", platform);
+        report.put("virtual", virtual);
+        File target = new File("target/virtual-threads-report.json");
+        target.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(target, report);
+
+        assertEquals(0, platform.errors() + virtual.errors(), "Requests failed during the run");
+        assertTrue(virtual.throughputPerSecond() >= platform.throughputPerSecond() * MIN_SPEEDUP,
+        String.format("Virtual threads %.1f req/s did not reach %.1fx platform threads %.1f req/s", virtual.throughputPerSecond(), MIN_SPEEDUP, platform.throughputPerSecond()));
+    }
+
+    //Boot the application in the given mode and drive /users/me from CLIENTS concurrent callers
+    private LatencyRecorder.Stats measure(boolean virtualThreads) throws Exception
+    {
+        try(ConfigurableApplicationContext context = new SpringApplicationBuilder(LoginApplication.class)
+            .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads, "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:vt" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN", "logging.level.org.springframework=WARN", "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.com.user=WARN", "spring.jpa.show-sql=false")
+            .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new RepositoryLatency()))
+            .run())
+        {
+            ApiClient client = new ApiClient(Integer.parseInt(context.getEnvironment().getProperty("local.server.port")));
+            String token = client.login("admin", "admin123").body().get("token").asText();
+
+            Map<String, LatencyRecorder.Stats> stats = LoadRunner.run(CLIENTS, Duration.ofSeconds(WARMUP_SECONDS), Duration.ofSeconds(DURATION_SECONDS),
+            worker -> new LoadRunner.Mix().add("me", 1, () -> client.me(token).ok()));
+            return stats.get("me");
+        }
+    }
+
+    //Delays every UserRepository call, standing in for network round trips to a remote database
+    private static class RepositoryLatency implements BeanPostProcessor
+    {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName)
+        {
+            if(!(bean instanceof UserRepository))
+                return bean;
+
+            return Proxy.newProxyInstance(UserRepository.class.getClassLoader(), new Class<?>[] {UserRepository.class}, (proxy, method, args) ->
+            {
+                Thread.sleep(DB_LATENCY_MILLIS);
+
+                try
+                {
+                    return method.invoke(bean, args);
+                }
+
+                catch(InvocationTargetException e)
+                {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
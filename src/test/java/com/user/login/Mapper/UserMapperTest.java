@@ -0,0 +1,45 @@
+package com.user.login.Mapper;                                          //Package for mapper tests
+import com.user.login.DTO.Auth.AuthResponseDTO;                         //Profile update response
+import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;                //Credential reset response
+import com.user.login.DTO.UserDTO;                                      //Outbound user DTO
+import com.user.login.Entity.User;                                      //Source entity
+import com.user.login.Enum.Role;                                        //User role
+import org.junit.jupiter.api.Test;                                      //JUnit test annotation
+import static org.junit.jupiter.api.Assertions.*;                       //Assertions
+
+class UserMapperTest 
+{
+    private final UserMapper userMapper = new UserMapperImpl();         //Generated implementation, no Spring context needed
+
+    private final User user = User.builder().userId(7L).firstName("Jane").lastName("Smith").username("customer02").email("customer02@example.com")
+    .phoneNumber("+1987654322").homeAddress("Customer Lane").password("$2a$10$hash").role(Role.CUSTOMER).build();
+
+    @Test   //Profile fields are copied but the password hash stays behind
+    void toDTO_shouldCopyProfileAndDropPassword() 
+    {
+        UserDTO dto = userMapper.toDTO(user);
+
+        assertEquals(7L, dto.getUserId());
+        assertEquals("customer02", dto.getUsername());
+        assertEquals("customer02@example.com", dto.getEmail());
+        assertEquals(Role.CUSTOMER, dto.getRole());
+        assertNull(dto.getPassword());
+    }
+
+    @Test   //Auth responses carry the identity and token, and never a password
+    void authResponses_shouldNotExposePassword() 
+    {
+        AuthResponseDTO login = userMapper.toLoginResponse(user, "token", "Authentication successful", "Welcome");
+        assertEquals(7L, login.getUserId());
+        assertEquals("token", login.getToken());
+        assertNull(login.getUser());
+
+        AuthResponseDTO update = userMapper.toUpdateResponse(user, "token", "User updated successfully", "Role: CUSTOMER");
+        assertEquals("customer02", update.getUser().getUsername());
+        assertNull(update.getUser().getPassword());
+
+        ForgotLoginCredentialDTO reset = userMapper.toForgotLoginCredentialDTO(user, "Updated user credential successfully!");
+        assertEquals("customer02@example.com", reset.getEmail());
+        assertNull(reset.getPassword());
+    }
+}
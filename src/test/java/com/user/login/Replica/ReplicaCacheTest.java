@@ -0,0 +1,74 @@
+package com.user.login.Replica;                                                             //Package for replica routing tests
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.beans.factory.annotation.Qualifier;                              //Primary pool by name
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.jdbc.core.JdbcTemplate;                                          //Direct access to each database
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;                               //Copies rows into the replica
+import org.springframework.jdbc.datasource.DriverManagerDataSource;                         //Writable connection to the replica
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import javax.sql.DataSource;                                                                //Primary pool
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Replica routing with the second-level and query cache on, as configured by default. A reader that is not pinned
+//reads the lagging replica; what it reads must not be cached, or the writer's pinned reads would be answered with
+//it from the cache instead of reaching the primary.
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:rcprimary;DB_CLOSE_DELAY=-1",
+                              "app.datasource.replica.url=" + ReplicaCacheTest.REPLICA_URL,
+                              "app.datasource.replica.sticky-window=1m"})
+@AutoConfigureMockMvc
+class ReplicaCacheTest
+{
+    static final String REPLICA_URL = "jdbc:h2:mem:rcreplica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                                     //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;                                   //Signs test tokens with the application key
+    @Autowired @Qualifier("primaryDataSource") private DataSource primary;  //Seeded by UserDataLoader
+
+    private JdbcTemplate primaryJdbc;
+
+    @BeforeEach
+    void setUp()
+    {
+        primaryJdbc = new JdbcTemplate(primary);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+        //"Replicate" once; every later write leaves the replica behind
+        replicaJdbc.update("DELETE FROM users");
+        SimpleJdbcInsert insert = new SimpleJdbcInsert(replicaJdbc).withTableName("users");
+        primaryJdbc.queryForList("SELECT * FROM users").forEach(insert::execute);
+    }
+
+    @Test   //Another reader loads the stale row and profile from the replica; the writer still reads its own update
+    void writerShouldReadOwnWriteAfterOthersReadReplica() throws Exception
+    {
+        long userId = primaryJdbc.queryForObject("SELECT userId FROM users WHERE username = 'customer02'", Long.class);
+        String writer = "Bearer " + jwtUtils.generateToken(userId, "customer02", Role.CUSTOMER.bit());
+        String otherAdmin = "Bearer " + jwtUtils.generateToken(primaryJdbc.queryForObject("SELECT userId FROM users WHERE username = 'admin'", Long.class),
+        "admin", Role.ADMIN.bit());
+        String before = primaryJdbc.queryForObject("SELECT homeAddress FROM users WHERE userId = ?", String.class, userId);
+
+        mockMvc.perform(patch("/users/" + userId).header("Authorization", writer).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"homeAddress\":\"Cached Street\"}")).andExpect(status().isOk());
+
+        assertEquals(before, read("/users/" + userId, otherAdmin));        //Replica, not caught up
+        assertEquals(before, read("/users/" + userId, otherAdmin));        //Still the replica, not a cached copy of it
+        assertEquals("Cached Street", read("/users/" + userId, writer));   //Pinned: the primary, not the replica's row from the cache
+        assertEquals("Cached Street", read("/users/me", writer));
+    }
+
+    private String read(String path, String token) throws Exception
+    {
+        return MAPPER.readTree(mockMvc.perform(get(path).header("Authorization", token)).andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString()).get("homeAddress").asText();
+    }
+}
@@ -0,0 +1,103 @@
+package com.user.login.Replica;                                                             //Package for replica routing tests
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Reset.RecordingResetTokenSender;                                      //Captures reset tokens
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.beans.factory.annotation.Qualifier;                              //Primary pool by name
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.context.annotation.Import;                                       //Test sender bean
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.jdbc.core.JdbcTemplate;                                          //Direct access to each database
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;                               //Copies rows into the replica
+import org.springframework.jdbc.datasource.DriverManagerDataSource;                         //Writable connection to the replica
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import javax.sql.DataSource;                                                                //Primary pool
+import java.util.Map;                                                                       //Copied rows
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Two H2 databases as primary and replica. The replica only holds what setUp copies into it, so it lags behind
+//every write: reads show which database served them. Caches are off so every read reaches a database.
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:rprimary;DB_CLOSE_DELAY=-1",
+                              "app.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+                              "app.datasource.replica.sticky-window=1s",
+                              "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                              "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@Import(RecordingResetTokenSender.class)
+class ReplicaRoutingTest
+{
+    static final String REPLICA_URL = "jdbc:h2:mem:rreplica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;                                     //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;                                   //Signs test tokens with the application key
+    @Autowired @Qualifier("primaryDataSource") private DataSource primary;  //Seeded by UserDataLoader
+    @Autowired private RecordingResetTokenSender resetTokenSender;          //Reset tokens by email
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp()
+    {
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+        //"Replicate": the replica catches up with the primary once, then falls behind again
+        replicaJdbc.update("DELETE FROM users");
+        SimpleJdbcInsert insert = new SimpleJdbcInsert(replicaJdbc).withTableName("users");
+        primaryJdbc.queryForList("SELECT * FROM users").forEach(insert::execute);
+    }
+
+    @Test   //The writer reads its own change from the primary during the window; everyone else reads the replica
+    void writerShouldReadOwnWritesWhileOthersReadReplica() throws Exception
+    {
+        long adminId = userId("admin");
+        String admin = "Bearer " + jwtUtils.generateToken(adminId, "admin", Role.ADMIN.bit());
+        String otherAdmin = "Bearer " + jwtUtils.generateToken(userId("customer01"), "customer01", Role.ADMIN.bit());
+        String before = address(adminId);
+
+        mockMvc.perform(patch("/users/" + adminId).header("Authorization", admin).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"homeAddress\":\"Primary Street\"}")).andExpect(status().isOk());
+        assertEquals("Primary Street", read("/users/me", admin));
+        assertEquals(before, read("/users/" + adminId, otherAdmin));    //Replica, not caught up
+
+        Thread.sleep(1500);                                             //Past the sticky window
+        assertEquals(before, read("/users/me", admin));
+    }
+
+    @Test   //A reset token and then a login with the new username, neither of which the replica has yet
+    void loginAfterResetShouldReadPrimary() throws Exception
+    {
+        String email = primaryJdbc.queryForObject("SELECT email FROM users WHERE username = 'customer02'", String.class);
+        mockMvc.perform(post("/auth/forgotLogin").contentType(MediaType.APPLICATION_JSON)
+        .content(MAPPER.writeValueAsString(Map.of("email", email)))).andExpect(status().isAccepted());
+        mockMvc.perform(post("/auth/forgotLogin/confirm").contentType(MediaType.APPLICATION_JSON)
+        .content(MAPPER.writeValueAsString(Map.of("token", resetTokenSender.tokenFor(email), "username", "renamed02")))).andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"renamed02\",\"password\":\"customer123\"}")).andExpect(status().isOk());
+    }
+
+    private long userId(String username)
+    {
+        return primaryJdbc.queryForObject("SELECT userId FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private String address(long userId)
+    {
+        return primaryJdbc.queryForObject("SELECT homeAddress FROM users WHERE userId = ?", String.class, userId);
+    }
+
+    private String read(String path, String token) throws Exception
+    {
+        return MAPPER.readTree(mockMvc.perform(get(path).header("Authorization", token)).andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString()).get("homeAddress").asText();
+    }
+}
@@ -0,0 +1,91 @@
+package com.user.login.Repository;                                                          //Package for repository tests
+import com.user.login.Reset.RecordingResetTokenSender;                                      //Captures reset tokens
+import org.hibernate.resource.jdbc.spi.StatementInspector;                                  //Records the SQL Hibernate issues
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.context.annotation.Import;                                       //Test sender bean
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.jdbc.core.JdbcTemplate;                                          //EXPLAIN of recorded statements
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import org.springframework.test.web.servlet.ResultActions;                                  //Pending request result
+import java.util.ArrayList;                                                                 //Snapshot of recorded SQL
+import java.util.List;                                                                      //Recorded SQL
+import java.util.concurrent.CopyOnWriteArrayList;                                           //Written from request threads
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;    //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Usernames and emails are matched on their normalized keys: case variants are one account, and the login lookup
+//is a seek on the (tenantId, key) unique index rather than a scan. Caches are off so every lookup reaches SQL.
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:identitykeys;DB_CLOSE_DELAY=-1",
+                              "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.user.login.Repository.UserIdentityKeyTest$Recorder",
+                              "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                              "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@Import(RecordingResetTokenSender.class)
+class UserIdentityKeyTest
+{
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired private MockMvc mockMvc;         //Client through the filter chain
+    @Autowired private JdbcTemplate jdbc;       //Plans of the recorded statements
+    @Autowired private RecordingResetTokenSender resetTokenSender;  //Reset tokens by email
+
+    //Hibernate instantiates this from the property above
+    public static class Recorder implements StatementInspector
+    {
+        @Override
+        public String inspect(String sql)
+        {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test   //Another spelling of a taken username or email is rejected; any spelling signs in and resets
+    void caseVariantsShouldBeOneAccount() throws Exception
+    {
+        signUp("Mixed.Case", "Mixed.Case@Example.com", "+15550005555").andExpect(status().isOk());
+        signUp("mixed.CASE", "other@example.com", "+15550005556").andExpect(status().isConflict());
+        signUp("other", "MIXED.case@example.COM", "+15550005557").andExpect(status().isConflict());
+
+        login("MIXED.CASE", "mixedpassword").andExpect(status().isOk());
+        login(" mixed.case ", "mixedpassword").andExpect(status().isOk());
+        mockMvc.perform(post("/auth/forgotLogin").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"mixed.case@example.com\"}")).andExpect(status().isAccepted());
+        mockMvc.perform(post("/auth/forgotLogin/confirm").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"token\":\"" + resetTokenSender.tokenFor("Mixed.Case@Example.com") + "\",\"username\":\"Renamed.Case\"}")).andExpect(status().isOk());
+        login("renamed.case", "mixedpassword").andExpect(status().isOk());
+        login("mixed.case", "mixedpassword").andExpect(status().isUnauthorized());
+    }
+
+    @Test   //Every users statement behind a login is answered from the unique key index
+    void loginShouldSeekKeyIndex() throws Exception
+    {
+        STATEMENTS.clear();
+        login("ADMIN", "admin123").andExpect(status().isOk());
+
+        List<String> lookups = new ArrayList<>(STATEMENTS).stream().filter(sql -> sql.startsWith("select") && sql.contains(" from users ")).toList();
+        assertFalse(lookups.isEmpty(), "Login issued no users query");
+        for(String sql : lookups)
+        {
+            String plan = jdbc.queryForObject("EXPLAIN " + sql, String.class);
+            assertTrue(plan.contains("UK_USERS_TENANT_USERNAME"), () -> "Not an index seek: " + plan);
+            assertFalse(plan.contains("tableScan"), () -> "Table scan: " + plan);
+        }
+    }
+
+    private ResultActions signUp(String username, String email, String phoneNumber) throws Exception
+    {
+        return mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Mixed\",\"lastName\":\"Case\",\"username\":\""
+        + username + "\",\"email\":\"" + email + "\",\"phoneNumber\":\"" + phoneNumber + "\",\"homeAddress\":\"Key Street\",\"password\":\"mixedpassword\",\"role\":\"CUSTOMER\"}"));
+    }
+
+    private ResultActions login(String username, String password) throws Exception
+    {
+        return mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.user.login.Reset;                           //Package for reset tests
+import org.springframework.context.annotation.Primary;  //Replaces LogResetTokenSender where imported
+import java.time.Instant;                               //Token expiry
+import java.util.Map;                                   //Last token per email
+import java.util.concurrent.ConcurrentHashMap;          //Written from request threads
+
+//Test sender: keeps the last token sent to each email so a test can redeem it. Use with @Import.
+@Primary
+public class RecordingResetTokenSender implements ResetTokenSender
+{
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(String email, String username, String token, Instant expiresAt)
+    {
+        tokens.put(email, token);
+    }
+
+    //Last token sent to this email, or null
+    public String tokenFor(String email)
+    {
+        return tokens.get(email);
+    }
+}
@@ -0,0 +1,62 @@
+package com.user.login.Reset;                                                   //Package for reset tests
+import org.junit.jupiter.api.Test;                                              //JUnit test annotation
+import org.junit.jupiter.api.io.TempDir;                                        //Scratch outbox directory
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;   //Bare context per case
+import java.nio.charset.StandardCharsets;                                       //Outbox encoding
+import java.nio.file.Files;                                                     //Outbox read-back
+import java.nio.file.Path;                                                      //Outbox file
+import java.time.Instant;                                                       //Token expiry
+import static org.junit.jupiter.api.Assertions.*;                               //Assertions
+
+class ResetSenderConfigTest
+{
+    private final ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(ResetSenderConfig.class);
+
+    @Test   //No sender registered outside prod: the local one stands in
+    void localProfile_shouldFallBackToLogSender()
+    {
+        runner.run(context -> assertInstanceOf(LogResetTokenSender.class, context.getBean(ResetTokenSender.class)));
+    }
+
+    @Test   //A registered sender is the only one, so injection is never ambiguous
+    void localProfile_shouldStepAsideForRealSender()
+    {
+        runner.withBean(RecordingResetTokenSender.class).run(context ->
+        {
+            assertEquals(1, context.getBeansOfType(ResetTokenSender.class).size());
+            assertInstanceOf(RecordingResetTokenSender.class, context.getBean(ResetTokenSender.class));
+        });
+    }
+
+    @Test   //prod without a real sender refuses to start
+    void prodProfile_shouldFailWithoutSender()
+    {
+        runner.withInitializer(context -> context.getEnvironment().setActiveProfiles("prod")).run(context ->
+        {
+            assertNotNull(context.getStartupFailure());
+            assertInstanceOf(IllegalStateException.class, context.getStartupFailure().getCause());
+        });
+    }
+
+    @Test   //prod with a real sender starts, and never gets the local one
+    void prodProfile_shouldStartWithSender()
+    {
+        runner.withInitializer(context -> context.getEnvironment().setActiveProfiles("prod"))
+              .withBean(RecordingResetTokenSender.class).run(context ->
+        {
+            assertNull(context.getStartupFailure());
+            assertEquals(1, context.getBeansOfType(ResetTokenSender.class).size());
+        });
+    }
+
+    @Test   //The outbox keeps the token for local use; the log line does not carry it
+    void logSender_shouldWriteTokenToOutboxOnly(@TempDir Path directory) throws Exception
+    {
+        Path outbox = directory.resolve("outbox.log");
+        new LogResetTokenSender(outbox).send("a@example.com", "alice", "secret-token", Instant.EPOCH);
+
+        String written = Files.readString(outbox, StandardCharsets.UTF_8);
+        assertTrue(written.contains("to=a@example.com"));
+        assertTrue(written.contains("token=secret-token"));
+    }
+}
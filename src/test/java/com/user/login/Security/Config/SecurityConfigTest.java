@@ -0,0 +1,96 @@
+package com.user.login.Security.Config;                                                     //Package for security configuration tests
+import com.user.login.Entity.User;                                                          //Seeded user entity
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Repository.UserRepository;                                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;  //Body matchers
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//URL-level authorization rules, exercised through the security filter chain with real JWTs
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:securityconfig;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class SecurityConfigTest 
+{
+    @Autowired private MockMvc mockMvc;                 //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;               //Signs test tokens with the application key
+    @Autowired private UserRepository userRepository;   //Seeded by UserDataLoader
+
+    private User admin;             //Seeded admin account
+    private User customer;          //Seeded customer account
+    private String adminToken;      //Bearer token for admin
+    private String customerToken;   //Bearer token for customer
+
+    @BeforeEach
+    void setUp() 
+    {
+        admin = userRepository.findByUsername("admin").orElseThrow();
+        customer = userRepository.findByUsername("customer01").orElseThrow();
+        adminToken = "Bearer " + jwtUtils.generateToken(admin.getUserId(), admin.getUsername(), Role.ADMIN.bit());
+        customerToken = "Bearer " + jwtUtils.generateToken(customer.getUserId(), customer.getUsername(), Role.CUSTOMER.bit());
+    }
+
+    @Test   //Missing token on a protected endpoint is 401, not a late service exception
+    void protectedEndpoint_shouldReturnUnauthorized_withoutToken() throws Exception 
+    {
+        mockMvc.perform(get("/users")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/me")).andExpect(status().isUnauthorized());
+    }
+
+    @Test   //Sign-in stays open
+    void login_shouldBePermitted_withoutToken() throws Exception 
+    {
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+        .andExpect(status().isOk());
+    }
+
+    @Test   //Listing users requires the admin role
+    void getUsers_shouldRequireAdmin() throws Exception 
+    {
+        mockMvc.perform(get("/users").header("Authorization", customerToken)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/users").header("Authorization", adminToken)).andExpect(status().isOk());
+    }
+
+    @Test   //Reading a profile is allowed for its owner and admins only
+    void getUser_shouldAllowSelfOrAdmin() throws Exception 
+    {
+        mockMvc.perform(get("/users/" + customer.getUserId()).header("Authorization", customerToken)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.username").value("customer01")).andExpect(jsonPath("$.password").doesNotExist());
+        mockMvc.perform(get("/users/" + customer.getUserId()).header("Authorization", adminToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/" + admin.getUserId()).header("Authorization", customerToken)).andExpect(status().isForbidden());
+    }
+
+    @Test   //Updating someone else is rejected before the body is read
+    void updateUser_shouldRejectOtherUsers() throws Exception 
+    {
+        mockMvc.perform(patch("/users/" + admin.getUserId()).header("Authorization", customerToken)
+        .contentType(MediaType.APPLICATION_JSON).content("not even json")).andExpect(status().isForbidden());
+    }
+
+    @Test   //Deleting users requires the admin role
+    void deleteUser_shouldRequireAdmin() throws Exception 
+    {
+        mockMvc.perform(delete("/users/" + admin.getUserId()).header("Authorization", customerToken)).andExpect(status().isForbidden());
+    }
+
+    @Test   //Probes stay open for the load balancer, metrics do not
+    void actuator_shouldExposeProbesAndProtectMetrics() throws Exception 
+    {
+        mockMvc.perform(get("/actuator/health/readiness")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/login.drain.requests").header("Authorization", customerToken)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/login.drain.requests").header("Authorization", adminToken)).andExpect(status().isOk());
+    }
+
+    @Test   //Paths without a rule are closed
+    void unknownEndpoint_shouldBeDenied() throws Exception 
+    {
+        mockMvc.perform(put("/users/" + customer.getUserId()).header("Authorization", adminToken)).andExpect(status().isForbidden());
+    }
+}
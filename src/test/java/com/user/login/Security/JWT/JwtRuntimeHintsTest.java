@@ -0,0 +1,26 @@
+package com.user.login.Security.JWT;                                    //Package for JWT utility tests
+import io.jsonwebtoken.SignatureAlgorithm;                              //generateKey parameter type
+import org.junit.jupiter.api.Test;                                      //JUnit test annotation
+import org.springframework.aot.hint.RuntimeHints;                       //Hints under test
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;   //Hint matchers
+import org.springframework.util.ClassUtils;                             //Class lookup
+import static org.junit.jupiter.api.Assertions.*;                       //Assertions
+
+class JwtRuntimeHintsTest 
+{
+    @Test   //Every class JJWT creates or invokes by name is reachable in a native image
+    void registerHints_shouldCoverClassesJjwtLoadsByName() throws Exception 
+    {
+        RuntimeHints hints = new RuntimeHints();
+        new JwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for(String type : JwtRuntimeHints.INSTANTIATED_BY_NAME)
+        {
+            Class<?> implementation = ClassUtils.forName(type, getClass().getClassLoader());    //Fails if JJWT renames a class
+            assertTrue(RuntimeHintsPredicates.reflection().onType(implementation).test(hints), type);
+        }
+
+        Class<?> macProvider = ClassUtils.forName(JwtRuntimeHints.MAC_PROVIDER, getClass().getClassLoader());
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(macProvider.getDeclaredMethod("generateKey", SignatureAlgorithm.class)).test(hints));
+    }
+}
@@ -0,0 +1,120 @@
+package com.user.login.Security.JWT;                                    //Package for JWT utility tests
+import com.user.login.Enum.Role;                                        //Role bits
+import org.junit.jupiter.api.Test;                                      //JUnit test annotation
+import javax.crypto.Mac;                                                //Re-signs the unknown-version token
+import java.security.Key;                                               //Codec key for expired tokens
+import java.util.Base64;                                                //Token text form
+import java.lang.reflect.Field;                                         //Access to the generated signing key
+import static org.junit.jupiter.api.Assertions.*;                       //Assertions
+
+class JwtUtilsTest 
+{
+    private final JwtUtils jwtTokens = new JwtUtils("jwt");             //Issues standard JWTs
+    private final JwtUtils compactTokens = new JwtUtils("compact");     //Issues compact binary tokens
+
+    @Test   //Compact tokens round-trip through the same JwtUtils API
+    void compactToken_shouldRoundTripThroughJwtUtilsApi() 
+    {
+        int roles = Role.mask(Role.ADMIN, Role.CUSTOMER);
+        String token = compactTokens.generateToken(42L, "admin", roles);
+
+        assertTrue(CompactTokenCodec.isCompact(token));                 //No '.' separators
+        assertTrue(compactTokens.isTokenValid(token));
+        assertEquals("admin", compactTokens.getUsernameFromToken(token));
+        assertEquals(42L, compactTokens.getUserIdFromToken(token));
+        assertEquals(roles, compactTokens.getRoleMaskFromToken(token));
+
+        JwtAuthenticationToken authentication = compactTokens.authenticate(token);
+        assertNotNull(authentication);
+        assertEquals("admin", authentication.getName());
+        assertEquals(42L, authentication.getUserId());
+        assertTrue(authentication.hasRole(Role.ADMIN) && authentication.hasRole(Role.CUSTOMER));
+    }
+
+    @Test   //Either format is accepted no matter which one is issued
+    void authenticate_shouldAcceptBothFormats() 
+    {
+        JwtAuthenticationToken fromJwt = jwtTokens.authenticate(jwtTokens.generateToken(7L, "customer01", Role.CUSTOMER.bit()));
+        assertNotNull(fromJwt);
+        assertEquals(7L, fromJwt.getUserId());
+        assertEquals(Role.CUSTOMER.bit(), fromJwt.getRoleMask());
+    }
+
+    @Test   //Compact tokens are roughly half the size of the equivalent JWT
+    void compactToken_shouldBeSmallerThanJwt() 
+    {
+        String jwt = jwtTokens.generateToken(42L, "customer01", Role.CUSTOMER.bit());
+        String compact = compactTokens.generateToken(42L, "customer01", Role.CUSTOMER.bit());
+        assertTrue(compact.length() < jwt.length() * 0.6, "compact " + compact.length() + " chars vs JWT " + jwt.length());
+    }
+
+    @Test   //Any changed byte breaks the signature
+    void compactToken_shouldRejectTampering() 
+    {
+        String token = compactTokens.generateToken(42L, "customer01", Role.CUSTOMER.bit());
+        char[] chars = token.toCharArray();
+        chars[12] = chars[12] == 'A' ? 'B' : 'A';                      //Flip a payload character
+        String tampered = new String(chars);
+
+        assertFalse(compactTokens.isTokenValid(tampered));
+        assertNull(compactTokens.authenticate(tampered));
+        assertNull(new JwtUtils("compact").authenticate(token));        //Different key
+    }
+
+    @Test   //Expired compact tokens are rejected like expired JWTs
+    void compactToken_shouldRejectExpired() throws Exception 
+    {
+        Field keyField = JwtUtils.class.getDeclaredField("secretKey");
+        keyField.setAccessible(true);
+        CompactTokenCodec codec = new CompactTokenCodec((Key) keyField.get(compactTokens));
+        long now = System.currentTimeMillis() / 1000;
+        String expired = codec.encode(42L, "customer01", Role.CUSTOMER.bit(), "default", null, now - 7200, now - 3600);
+
+        assertFalse(compactTokens.isTokenValid(expired));
+        assertNull(compactTokens.authenticate(expired));
+    }
+
+    @Test   //The tenant travels in both formats
+    void generateToken_shouldCarryTenant() 
+    {
+        for(JwtUtils tokens : new JwtUtils[] {jwtTokens, compactTokens})
+        {
+            String token = tokens.generateToken(42L, "admin", Role.ADMIN.bit(), "acme");
+            assertEquals("acme", tokens.getTenantIdFromToken(token));
+            assertEquals("acme", tokens.authenticate(token).getTenantId());
+        }
+
+        assertEquals("default", jwtTokens.authenticate(jwtTokens.generateToken(42L, "admin", Role.ADMIN.bit())).getTenantId());
+    }
+
+    @Test   //The session travels in both formats; tokens issued without one have none
+    void generateToken_shouldCarrySession() 
+    {
+        for(JwtUtils tokens : new JwtUtils[] {jwtTokens, compactTokens})
+        {
+            String token = tokens.generateToken(42L, "admin", Role.ADMIN.bit(), "acme", 1234567890123L);
+            assertEquals(1234567890123L, tokens.getSessionIdFromToken(token));
+            assertEquals(1234567890123L, tokens.authenticate(token).getSessionId());
+            assertEquals("acme", tokens.authenticate(token).getTenantId());
+            assertNull(tokens.authenticate(tokens.generateToken(42L, "admin", Role.ADMIN.bit(), "acme")).getSessionId());
+        }
+    }
+
+    @Test   //Only the current version is decoded, even with a valid signature
+    void compactToken_shouldRejectUnknownVersion() throws Exception 
+    {
+        Field keyField = JwtUtils.class.getDeclaredField("secretKey");
+        keyField.setAccessible(true);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init((Key) keyField.get(compactTokens));
+
+        byte[] bytes = Base64.getUrlDecoder().decode(compactTokens.generateToken(7L, "customer01", Role.CUSTOMER.bit()));
+        bytes[0] = CompactTokenCodec.VERSION + 1;                       //Next, not yet known version
+        mac.update(bytes, 0, bytes.length - 32);
+        System.arraycopy(mac.doFinal(), 0, bytes, bytes.length - 32, 32);   //Re-signed
+
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        assertFalse(compactTokens.isTokenValid(token));
+        assertNull(compactTokens.authenticate(token));
+    }
+}
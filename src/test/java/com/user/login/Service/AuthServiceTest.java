@@ -1,23 +1,39 @@
 package com.user.login.Service;                                         //Define the package location for the test class
 import com.user.login.Enum.Role;                                        //Import role enum for assigning user roles
-import com.user.login.Exception.EmailNotFoundException;                 //Import custom exception for email not found
+import com.user.login.Exception.InvalidResetTokenException;             //Import exception for unknown, expired or used reset tokens
+import com.user.login.Exception.ResetThrottledException;                //Import exception for the per-email reset limit
 import com.user.login.DTO.Auth.AuthResponseDTO;                         //Import the DTO class for authentication responses
 import com.user.login.DTO.Auth.ForgotLoginCredentialDTO;                //Import the DTO class for forgot login credential
 import com.user.login.Entity.Auth.AuthRequest;                          //Import the request entity used for login
 import com.user.login.Entity.Auth.AuthResponse;                         //Import the response entity used for token refresh
 import com.user.login.Entity.Auth.ForgotLoginCredential;                //Import the forgot login credential entity used for resetting username and password
 import com.user.login.Entity.User;                                      //Import the User entity model
+import com.user.login.Mapper.UserMapper;                                //Import mapper building the response DTOs
+import com.user.login.Mapper.UserMapperImpl;                            //Import the MapStruct-generated mapper
+import com.user.login.Repository.UserChangeRepository;                  //Import change log repository
 import com.user.login.Repository.UserRepository;                        //Import repository interface to mock DB operations
+import com.user.login.Replica.ReadYourWrites;                           //Import read-your-writes marks
+import com.user.login.Reset.ResetThrottle;                              //Import per-email reset limit
+import com.user.login.Reset.ResetTokenSender;                           //Import reset token delivery
+import com.user.login.Reset.ResetTokenStore;                            //Import reset token store
 import com.user.login.Security.JWT.JwtAuthenticationToken;              //Import custom JWT authentication token implementation
 import com.user.login.Security.JWT.JwtUtils;                            //Import utility class for JWT operations
+import com.user.login.Session.DeviceSession;                            //Import signed-in device record
+import com.user.login.Session.SessionRegistry;                          //Import session registry
 import org.junit.jupiter.api.BeforeEach;                                //Import JUnit lifecycle method for setup
 import org.junit.jupiter.api.Test;                                      //Import JUnit for writing unit tests
 import org.junit.jupiter.api.extension.ExtendWith;                      //Import JUnit extension support for Mockito
 import org.mockito.InjectMocks;                                         //Import Mockito annotation for injecting mocks
 import org.mockito.Mock;                                                //Import Mockito annotation for mocking dependencies
+import org.mockito.Spy;                                                 //Import Mockito annotation for spying on real objects
 import org.mockito.junit.jupiter.MockitoExtension;                      //Import JUnit integration for Mockito extension
+import org.springframework.context.ApplicationEventPublisher;           //Import publisher of change events
 import org.springframework.security.core.Authentication;                //Import Spring Security Authentication interface
 import org.springframework.security.crypto.password.PasswordEncoder;    //Import password encoder interface from Spring Security
+import org.springframework.transaction.PlatformTransactionManager;      //Import transaction manager, mocked under the template
+import org.springframework.transaction.support.TransactionTemplate;     //Import template running the credential update
+import java.time.Duration;                                              //Import sticky window and throttle window
+import java.time.Instant;                                               //Import token expiry
 import java.util.List;                                                  //Import collections for roles
 import java.util.Optional;                                              //Import optional for handling absent values
 import static org.junit.jupiter.api.Assertions.*;                       //Static import for assertions
@@ -36,6 +52,33 @@ class AuthServiceTest
     @Mock
     private PasswordEncoder passwordEncoder;    //Mock the PasswordEncoder dependency
 
+    @Spy
+    private UserMapper userMapper = new UserMapperImpl();   //Real generated mapper for the response DTOs
+
+    @Mock
+    private UserChangeRepository userChangeRepository;      //Mock the change log
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));  //Runs callbacks inline
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;       //Mock change event publishing
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));  //Real marks, nothing expires during a test
+
+    @Mock
+    private ResetTokenStore resetTokenStore;                //Mock the reset token store
+
+    @Mock
+    private ResetTokenSender resetTokenSender;              //Mock reset token delivery
+
+    @Spy
+    private ResetThrottle resetThrottle = new ResetThrottle(3, Duration.ofMinutes(15)); //Real limit: three requests per email
+
+    @Mock
+    private SessionRegistry sessionRegistry;                //Mock the session registry
+
     @InjectMocks
     private AuthService authService;            //Inject mocked dependencies into AuthService
 
@@ -48,6 +91,7 @@ class AuthServiceTest
     {
         authRequest = new AuthRequest("testUser", "password");  //create sample auth request
         user = new User();                                                          //instantiate new user
+        user.setUserId(1L);                                                         //set id
         user.setUsername("testUser");                                       //set username
         user.setPassword("encodedPassword");                                //set encoded password
         user.setRole(Role.CUSTOMER);                                                //assign user role
@@ -63,7 +107,8 @@ class AuthServiceTest
     {
         when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));                          //mock user found
         when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);  //mock password match
-        when(jwtUtils.generateToken("testUser", List.of("CUSTOMER"))).thenReturn("mockedToken");        //mock token generation
+        when(sessionRegistry.open(1L, "default", null, null)).thenReturn(deviceSession(77L));                    //mock a new session
+        when(jwtUtils.generateToken(1L, "testUser", Role.CUSTOMER.bit(), "default", 77L)).thenReturn("mockedToken");  //mock token generation in the default tenant and session
         AuthResponseDTO response = authService.authenticate(authRequest);                                               //call method under test
         assertNotNull(response);                                                                        //assert response is not null
         assertEquals("mockedToken", response.getToken());                                       //assert correct token
@@ -71,6 +116,27 @@ class AuthServiceTest
         assertEquals("Welcome, testUser! Your role is: CUSTOMER", response.getRoleMessage());   //assert role message
     }
 
+    @Test   //Test: right after a credential reset, signing in with the new username reads the primary
+    void authenticate_AfterReset_LooksUpOnPrimary() 
+    {
+        ForgotLoginCredential request = new ForgotLoginCredential();
+        request.setToken("reset-token");
+        request.setUsername("testUser");
+        stubRedeemableToken();
+        authService.ResetLoginCredential(request);                                                              //marks testUser
+
+        when(userRepository.findByUsername("testUser")).thenAnswer(invocation ->
+        {
+            assertTrue(ReadYourWrites.isPinned());                                                      //assert lookup is pinned to the primary
+            return Optional.of(user);
+        });
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(sessionRegistry.open(1L, "default", null, null)).thenReturn(deviceSession(77L));
+        when(jwtUtils.generateToken(1L, "testUser", Role.CUSTOMER.bit(), "default", 77L)).thenReturn("mockedToken");
+        assertEquals("mockedToken", authService.authenticate(authRequest).getToken());
+        assertFalse(ReadYourWrites.isPinned());                                                         //assert the pin does not leak
+    }
+
     @Test   //Test: user not found should throw RuntimeException
     void authenticate_UserNotFound_ThrowsRuntimeException() 
     {
@@ -97,10 +163,15 @@ class AuthServiceTest
         String token = "valid.jwt.token";                                           //define sample token
         when(jwtUtils.isTokenValid(token)).thenReturn(true);                //mock valid token
         when(jwtUtils.getUsernameFromToken(token)).thenReturn("testUser");  //mock username extraction
-        when(jwtUtils.getRolesFromToken(token)).thenReturn(List.of("USER"));    //mock roles extraction
+        when(jwtUtils.getUserIdFromToken(token)).thenReturn(1L);            //mock userId extraction
+        when(jwtUtils.getRoleMaskFromToken(token)).thenReturn(Role.mask(Role.ADMIN, Role.CUSTOMER));  //mock multi-role extraction
         Authentication authentication = authService.authenticateWithJwt(token);     //call method under test
         assertNotNull(authentication);                                              //assert authentication is not null
         assertEquals("testUser", authentication.getName());                 //assert correct username
+        assertEquals(1L, ((JwtAuthenticationToken) authentication).getUserId());    //assert userId carried over
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_CUSTOMER"), authentication.getAuthorities().stream().map(Object::toString).toList());   //assert both roles as authorities
+        assertTrue(((JwtAuthenticationToken) authentication).hasRole(Role.ADMIN));  //assert O(1) role check
+        assertFalse(((JwtAuthenticationToken) authentication).hasRole(Role.USER));  //assert absent role
         assertEquals(token, ((JwtAuthenticationToken) authentication).getToken());  //assert correct token
     }
 
@@ -120,13 +191,48 @@ class AuthServiceTest
         String oldToken = "old.jwt.token";                                                                          //define old token
         when(jwtUtils.isTokenValid(oldToken)).thenReturn(true);                                             //mock valid token
         when(jwtUtils.getUsernameFromToken(oldToken)).thenReturn("testUser");                               //mock username extraction
-        when(jwtUtils.getRolesFromToken(oldToken)).thenReturn(List.of("USER"));                                 //mock roles extraction
-        when(jwtUtils.generateToken("testUser", List.of("USER"))).thenReturn("new.jwt.token");  //mock new token generation
+        when(jwtUtils.getUserIdFromToken(oldToken)).thenReturn(1L);                                         //mock userId extraction
+        when(jwtUtils.getRoleMaskFromToken(oldToken)).thenReturn(Role.USER.bit());                              //mock roles extraction
+        when(jwtUtils.getTenantIdFromToken(oldToken)).thenReturn("acme");                                   //mock tenant extraction
+        when(jwtUtils.getSessionIdFromToken(oldToken)).thenReturn(77L);                                     //mock session extraction
+        when(sessionRegistry.touch(77L)).thenReturn(true);                                                  //mock live session
+        when(jwtUtils.generateToken(1L, "testUser", Role.USER.bit(), "acme", 77L)).thenReturn("new.jwt.token");  //mock new token generation in the same tenant and session
         AuthResponse response = authService.refreshToken(oldToken);                                             //call method under test
         assertNotNull(response);                                                                                //assert response is not null
         assertEquals("new.jwt.token", response.getToken());                                             //assert new token value
     }
 
+    @Test   //Test: a signed-out session cannot be refreshed or used
+    void refreshToken_RevokedSession_ThrowsRuntimeException() 
+    {
+        String oldToken = "revoked.jwt.token";
+        when(jwtUtils.isTokenValid(oldToken)).thenReturn(true);
+        when(jwtUtils.getSessionIdFromToken(oldToken)).thenReturn(77L);
+        when(sessionRegistry.touch(77L)).thenReturn(false);                     //mock revoked session
+        when(sessionRegistry.isRevoked(77L)).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.refreshToken(oldToken));
+        assertEquals("Session has been signed out", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> authService.authenticateWithJwt(oldToken));
+        verify(jwtUtils, never()).generateToken(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test   //Test: a token issued without a session gets one on refresh
+    void refreshToken_TokenWithoutSession_OpensSession() 
+    {
+        String oldToken = "legacy.jwt.token";
+        when(jwtUtils.isTokenValid(oldToken)).thenReturn(true);
+        when(jwtUtils.getUsernameFromToken(oldToken)).thenReturn("testUser");
+        when(jwtUtils.getUserIdFromToken(oldToken)).thenReturn(1L);
+        when(jwtUtils.getRoleMaskFromToken(oldToken)).thenReturn(Role.USER.bit());
+        when(jwtUtils.getTenantIdFromToken(oldToken)).thenReturn("default");
+        when(jwtUtils.getSessionIdFromToken(oldToken)).thenReturn(null);        //issued before sessions
+        when(sessionRegistry.open(1L, "default", null, null)).thenReturn(deviceSession(78L));
+        when(jwtUtils.generateToken(1L, "testUser", Role.USER.bit(), "default", 78L)).thenReturn("new.jwt.token");
+
+        assertEquals("new.jwt.token", authService.refreshToken(oldToken).getToken());
+    }
+
     @Test   //Test: invalid refresh token should throw RuntimeException
     void refreshToken_InvalidToken_ThrowsRuntimeException() 
     {
@@ -138,17 +244,62 @@ class AuthServiceTest
         assertEquals("Invalid or expired token", exception.getMessage());   //assert correct error message
     }
 
+    @Test   //Test case: A registered email gets a token through the sender
+    void testRequestLoginReset_knownEmail_sendsToken() 
+    {
+        mockUser.setUserId(7L);
+        Instant expiresAt = Instant.now().plusSeconds(900);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        when(resetTokenStore.issue(7L)).thenReturn(new ResetTokenStore.Issued("reset-token", expiresAt));
+
+        authService.requestLoginReset("test@example.com");
+
+        //Verify the raw token goes to the email's owner and nothing is hashed or saved yet
+        verify(resetTokenSender).send("test@example.com", "oldUser", "reset-token", expiresAt);
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test   //Test case: An unknown email is accepted silently, nothing is issued or sent
+    void testRequestLoginReset_unknownEmail_sendsNothing() 
+    {
+        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> authService.requestLoginReset("nonexistent@example.com"));
+
+        verify(resetTokenStore, never()).issue(any());
+        verifyNoInteractions(resetTokenSender);
+    }
+
+    @Test   //Test case: The fourth request for an email in the window is refused before touching the database
+    void testRequestLoginReset_overLimit_throttled() 
+    {
+        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        for(int i = 0; i < 3; i++)
+            authService.requestLoginReset("nonexistent@example.com");
+
+        assertThrows(ResetThrottledException.class, () -> authService.requestLoginReset("NONEXISTENT@example.com"));   //Any spelling counts
+        verify(userRepository, times(3)).findByEmail(any());
+    }
+
+    @Test   //Test case: Blank email is rejected
+    void testRequestLoginReset_blankEmail_throwsException() 
+    {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> authService.requestLoginReset(" "));
+        assertEquals("Email must be provided", thrown.getMessage());
+    }
+
     @Test   //Test case: Successfully update both username and password
     void testResetLoginCredential_updateUsernameAndPassword_success() 
     {
         //Prepare the request DTO
         ForgotLoginCredential request = new ForgotLoginCredential();
-        request.setEmail("test@example.com");
+        request.setToken("reset-token");
         request.setUsername("newUser");
         request.setPassword("newPassword");
 
-        //Mock repository and password encoder behavior
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        //Mock token store, repository and password encoder behavior
+        stubRedeemableToken();
         when(passwordEncoder.encode("newPassword")).thenReturn("hashedPassword");
 
         //Call the service method under test
@@ -157,10 +308,12 @@ class AuthServiceTest
         //Assert returned values match expectations
         assertEquals("test@example.com", response.getEmail());
         assertEquals("newUser", response.getUsername());
+        assertEquals("hashedPassword", mockUser.getPassword());
         assertEquals("Updated user credential successfully!", response.getMessage());
 
-        //Verify that the save method was called
+        //Verify that the save method was called and the old credentials' sessions are signed out
         verify(userRepository).save(any(User.class));
+        verify(sessionRegistry).revokeAll(7L);
     }
 
     @Test   //Test case: Update only the username
@@ -168,12 +321,12 @@ class AuthServiceTest
     {
         //Prepare the request DTO with password null
         ForgotLoginCredential request = new ForgotLoginCredential();
-        request.setEmail("test@example.com");
+        request.setToken("reset-token");
         request.setUsername("newUser");
         request.setPassword(null);
 
-        //Mock repository response
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        //Mock token store and repository response
+        stubRedeemableToken();
 
         //Execute the service method
         ForgotLoginCredentialDTO response = authService.ResetLoginCredential(request);
@@ -181,6 +334,7 @@ class AuthServiceTest
         //Verify only username is updated
         assertEquals("test@example.com", response.getEmail());
         assertEquals("newUser", response.getUsername());
+        verify(passwordEncoder, never()).encode(any());
 
         //Confirm save was called
         verify(userRepository).save(any(User.class));
@@ -191,12 +345,12 @@ class AuthServiceTest
     {
         //Prepare the request DTO with username null
         ForgotLoginCredential request = new ForgotLoginCredential();
-        request.setEmail("test@example.com");
+        request.setToken("reset-token");
         request.setUsername(null);
         request.setPassword("newPassword");
 
-        //Mock repository and password encoding
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        //Mock token store, repository and password encoding
+        stubRedeemableToken();
         when(passwordEncoder.encode("newPassword")).thenReturn("hashedPassword");
 
         //Execute the service method
@@ -210,29 +364,38 @@ class AuthServiceTest
         verify(userRepository).save(any(User.class));
     }
 
-    @Test   //Test case: Email not found in database
-    void testResetLoginCredential_emailNotFound_throwsException() 
+    @Test   //Test case: Unknown or expired token is rejected before any bcrypt work
+    void testResetLoginCredential_invalidToken_throwsException() 
     {
-        //Prepare a request with a non-existent email
+        //Prepare a request with a token the store does not know
         ForgotLoginCredential request = new ForgotLoginCredential();
-        request.setEmail("nonexistent@example.com");
+        request.setToken("guessed-token");
         request.setUsername("user");
         request.setPassword("pass");
+        when(resetTokenStore.isRedeemable("guessed-token")).thenReturn(false);
 
-        //Mock repository to return empty
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        //Assert exception is thrown when trying to reset with an invalid token
+        assertThrows(InvalidResetTokenException.class, () -> authService.ResetLoginCredential(request));
 
-        //Assert exception is thrown when trying to reset with an unknown email
-        assertThrows(EmailNotFoundException.class, () -> 
-        {
-            authService.ResetLoginCredential(request);
-        });
+        //Ensure no hashing or save operation was triggered
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test   //Test case: Token redeemed by a concurrent request between the check and the update
+    void testResetLoginCredential_tokenAlreadyUsed_throwsException() 
+    {
+        ForgotLoginCredential request = new ForgotLoginCredential();
+        request.setToken("reset-token");
+        request.setUsername("user");
+        when(resetTokenStore.isRedeemable("reset-token")).thenReturn(true);
+        when(resetTokenStore.redeem("reset-token")).thenReturn(Optional.empty());
 
-        //Ensure no save operation was triggered
+        assertThrows(InvalidResetTokenException.class, () -> authService.ResetLoginCredential(request));
         verify(userRepository, never()).save(any());
     }
 
-    //Test case: Null input should throw NullPointerException
+    //Test case: Null input should throw IllegalArgumentException
     @Test
     void testResetLoginCredential_nullInput_throwsException() 
     {
@@ -243,21 +406,21 @@ class AuthServiceTest
         });
 
         //Verify the exception message matches expected
-        assertEquals("Email must be provided", thrown.getMessage());
+        assertEquals("Reset token must be provided", thrown.getMessage());
     }
 
     //Test case: No new username or password is provided
     @Test
     void testResetLoginCredential_noNewValuesProvided() 
     {
-        //Prepare a valid email with no changes in credentials
+        //Prepare a valid token with no changes in credentials
         ForgotLoginCredential request = new ForgotLoginCredential();
-        request.setEmail("test@example.com");
+        request.setToken("reset-token");
         request.setUsername(null);
         request.setPassword(null);
 
-        //Mock repository response
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+        //Mock token store and repository response
+        stubRedeemableToken();
 
         //Execute service method
         ForgotLoginCredentialDTO response = authService.ResetLoginCredential(request);
@@ -266,7 +429,22 @@ class AuthServiceTest
         assertEquals("test@example.com", response.getEmail());
         assertEquals("oldUser", response.getUsername());
 
-        //Verify user is still saved even if unchanged
+        //Verify user is still saved even if unchanged (the token is used up either way)
         verify(userRepository).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    //"reset-token" is valid and was issued to mockUser
+    private void stubRedeemableToken() 
+    {
+        mockUser.setUserId(7L);
+        when(resetTokenStore.isRedeemable("reset-token")).thenReturn(true);
+        when(resetTokenStore.redeem("reset-token")).thenReturn(Optional.of(7L));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(mockUser));
+    }
+
+    private static DeviceSession deviceSession(long sessionId)
+    {
+        Instant now = Instant.now();
+        return new DeviceSession(sessionId, "default", 1L, "device", null, now, now, now.plusSeconds(3600), null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.user.login.Service;                                                             //Package for service-level tests
+import com.user.login.DTO.UserDTO;                                                          //Update payload and read results
+import com.user.login.Entity.User;                                                          //Seeded user entity
+import com.user.login.Enum.Role;                                                            //Role bits for the caller
+import com.user.login.Repository.UserRepository;                                            //Lookup of seeded users
+import com.user.login.Security.JWT.JwtAuthenticationToken;                                  //Caller identity
+import jakarta.persistence.EntityManagerFactory;                                            //Access to Hibernate statistics
+import org.hibernate.SessionFactory;                                                        //Statistics owner
+import org.hibernate.stat.Statistics;                                                       //Statement and cache counters
+import org.junit.jupiter.api.AfterEach;                                                     //Context cleanup
+import org.junit.jupiter.api.BeforeEach;                                                    //Per-test setup
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.security.core.context.SecurityContextHolder;                     //Caller context
+import org.springframework.security.core.context.SecurityContextImpl;                       //Caller context
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+
+//Read-only transactions plus the query, entity and natural-id caches: repeated reads do not reach the
+//database, and an update through UserService invalidates them
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:usercache;DB_CLOSE_DELAY=-1", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class UserServiceCacheTest 
+{
+    @Autowired private UserService userService;                 //Service under test
+    @Autowired private UserRepository userRepository;           //Seeded by UserDataLoader
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;  //Hibernate counters
+    private User customer;          //Seeded customer account
+
+    @BeforeEach
+    void setUp() 
+    {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = userRepository.findByUsername("customer02").orElseThrow();
+        SecurityContextHolder.setContext(new SecurityContextImpl(new JwtAuthenticationToken("admin", 1L, Role.ADMIN.bit(), "token")));
+    }
+
+    @AfterEach
+    void tearDown() 
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test   //The second read of the same profile is served from the query cache
+    void getUser_shouldNotQueryDatabase_onRepeatedRead() 
+    {
+        userService.getUser(customer.getUserId());                  //Warm the cache
+        statistics.clear();
+
+        UserDTO user = userService.getUser(customer.getUserId());
+        assertEquals("customer02", user.getUsername());
+        assertEquals(0, statistics.getPrepareStatementCount());     //No SQL
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test   //A write through Hibernate invalidates the cached profile queries
+    void updateUser_shouldInvalidateCachedProfiles() 
+    {
+        userService.getUser(customer.getUserId());                  //Warm the cache
+        UserDTO changes = new UserDTO();
+        changes.setHomeAddress("Cache Street " + System.nanoTime());
+        userService.updateUser(customer.getUserId(), changes);
+
+        assertEquals(changes.getHomeAddress(), userService.getUser(customer.getUserId()).getHomeAddress());
+    }
+
+    @Test   //A warm username lookup resolves through the natural-id cache and loads the row from the entity region
+    void findByUsername_shouldNotQueryDatabase_onRepeatedLookup() 
+    {
+        userRepository.findByUsername("customer02");                //Warm the caches
+        statistics.clear();
+
+        assertEquals(customer.getUserId(), userRepository.findByUsername("customer02").orElseThrow().getUserId());
+        assertEquals(0, statistics.getPrepareStatementCount());     //No SQL
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test   //A warm email lookup is served from the query cache and the entity region
+    void findByEmail_shouldNotQueryDatabase_onRepeatedLookup() 
+    {
+        userRepository.findByEmail(customer.getEmail());            //Warm the caches
+        statistics.clear();
+
+        assertEquals(customer.getUserId(), userRepository.findByEmail(customer.getEmail()).orElseThrow().getUserId());
+        assertEquals(0, statistics.getPrepareStatementCount());     //No SQL
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test   //Renaming a user re-keys the natural-id cache: the old username no longer resolves
+    void updateUser_shouldInvalidateNaturalIdCache_whenUsernameChanges() 
+    {
+        User supervisor = userRepository.findByUsername("warehouse_supervisor").orElseThrow();  //Warms the natural-id cache
+        UserDTO rename = new UserDTO();
+        rename.setUsername("warehouse_lead");
+
+        try
+        {
+            userService.updateUser(supervisor.getUserId(), rename);
+
+            assertTrue(userRepository.findByUsername("warehouse_supervisor").isEmpty());
+            assertEquals(supervisor.getUserId(), userRepository.findByUsername("warehouse_lead").orElseThrow().getUserId());
+        }
+
+        finally
+        {
+            rename.setUsername("warehouse_supervisor");
+            userService.updateUser(supervisor.getUserId(), rename);
+        }
+    }
+}
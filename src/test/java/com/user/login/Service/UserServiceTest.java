@@ -1,26 +1,50 @@
 package com.user.login.Service;                                                             //Package for service-level tests
 import com.user.login.DTO.Auth.AuthResponseDTO;                                             //Import DTO for authentication response
+import com.user.login.DTO.BatchResultDTO;                                                   //Import DTO for batch admin results
+import com.user.login.DTO.UserChangesDTO;                                                   //Import DTO for a delta-sync page
 import com.user.login.DTO.UserDTO;                                                          //Import DTO for user data transfer
 import com.user.login.Entity.User;                                                          //Import User entity class
+import com.user.login.Entity.UserChange;                                                    //Import change log entry
+import com.user.login.Enum.BatchOutcome;                                                    //Import per-id batch outcomes
+import com.user.login.Enum.ChangeType;                                                      //Import kinds of logged change
 import com.user.login.Enum.Role;                                                            //Import enum for user roles
+import com.user.login.Event.UserBatchChangedEvent;                                          //Import batch change event
+import com.user.login.Event.UserChangedEvent;                                               //Import change event
 import com.user.login.Exception.EmailAlreadyExistsException;                                //Import custom exception for duplicate emails
+import com.user.login.Exception.InvalidBatchRequestException;                               //Import custom exception for rejected batches
 import com.user.login.Exception.UserNotFoundException;                                      //Import custom exception for missing users
 import com.user.login.Exception.UsernameAlreadyExistsException;                             //Import custom exception for duplicate usernames
 import com.user.login.Mapper.UserMapper;                                                    //Import mapper to convert between User and UserDTO
+import com.user.login.Mapper.UserMapperImpl;                                                //Import the MapStruct-generated mapper
+import com.user.login.Projection.UserProfile;                                               //Import read-only profile projection
+import com.user.login.Projection.UserVersion;                                               //Import version-only projection
+import com.user.login.Repository.UserChangeRepository;                                      //Import repository interface for the change log
 import com.user.login.Repository.UserRepository;                                            //Import repository interface for User entity
+import com.user.login.Replica.ReadYourWrites;                                               //Import read-your-writes marks
+import com.user.login.Reset.ResetTokenStore;                                                //Import reset token store
+import com.user.login.Security.JWT.JwtAuthenticationToken;                                  //Import JWT authentication carrying the userId
 import com.user.login.Security.JWT.JwtUtils;                                                //Import JWT utility for token generation
+import com.user.login.Tenant.TenantContext;                                                 //Import default tenant
+import org.junit.jupiter.api.AfterEach;                                                     //Import JUnit per-test cleanup
 import org.junit.jupiter.api.Test;                                                          //Import JUnit test annotation
 import org.junit.jupiter.api.extension.ExtendWith;                                          //Import JUnit extension to support Mockito
+import org.mockito.ArgumentCaptor;                                                          //Import captor of call arguments
+import org.mockito.Captor;                                                                  //Import annotation to create typed captors
+import org.mockito.InOrder;                                                                 //Import verifier of call order
 import org.mockito.InjectMocks;                                                             //Import annotation to inject mocks into tested object
 import org.mockito.Mock;                                                                    //Import annotation to create mock objects
+import org.mockito.Spy;                                                                     //Import annotation to spy on real objects
 import org.mockito.junit.jupiter.MockitoExtension;                                          //Import extension to enable Mockito in JUnit
-import org.springframework.security.access.AccessDeniedException;                           //Import exception for unauthorized access
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;     //Import Spring Security class for authentication tokens
+import org.springframework.context.ApplicationEventPublisher;                                //Import publisher of change events
+import org.springframework.data.domain.Limit;                                                //Import page size type of change log reads
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;                 //Import factory for projection proxies
 import org.springframework.security.core.Authentication;                                    //Import interface for authentication object
-import org.springframework.security.core.authority.SimpleGrantedAuthority;                  //Import class for user roles/authorities
-import org.springframework.security.core.context.SecurityContext;                           //Import Spring Security context class
+import org.springframework.security.core.context.SecurityContextImpl;                       //Import Spring Security context implementation
 import org.springframework.security.core.context.SecurityContextHolder;                     //Import Spring Security holder for context
 import org.springframework.security.crypto.password.PasswordEncoder;                        //Import password encoder interface
+import org.springframework.transaction.PlatformTransactionManager;                          //Import transaction manager, mocked under the template
+import org.springframework.transaction.support.TransactionTemplate;                         //Import template running the insert
+import java.util.ArrayList;                                                                 //Import ArrayList for logged batch entries
 import java.util.List;                                                                      //Import List interface
 import java.util.Optional;                                                                  //Import Optional for null-safe values
 import static org.junit.jupiter.api.Assertions.*;                                           //Import static assert methods
@@ -32,27 +56,53 @@ class UserServiceTest
 {
     @Mock private JwtUtils jwtUtils;                //Mock for JWT utility
     @Mock private UserRepository userRepository;    //Mock for User repository
-    @Mock private UserMapper userMapper;            //Mock for User-DTO mapper
+    @Spy private UserMapper userMapper = new UserMapperImpl();  //Generated User-DTO mapper
     @Mock private PasswordEncoder passwordEncoder;  //Mock for password encoder
+    @Mock private UserChangeRepository userChangeRepository;    //Mock for the change log
+    @Spy private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class)); //Runs callbacks inline
+    @Mock private ApplicationEventPublisher eventPublisher;     //Mock for change event publishing
+    @Mock private ReadYourWrites readYourWrites;                //Mock for read-your-writes marks
+    @Mock private ResetTokenStore resetTokenStore;              //Mock for reset tokens of deleted users
+    @Captor private ArgumentCaptor<List<UserChange>> changesCaptor;    //Change log entries written by a batch
     @InjectMocks private UserService userService;   //Inject mocks into the service under test
 
-    //Utility method to mock authentication with roles
-    private void mockAuthentication(String username, String... roles) 
+    private static final Long SESSION_ID = 5L;     //Session of every mocked caller
+
+    //Do not leave a mocked caller on the thread: MockMvc tests running later in this JVM would pick it up
+    @AfterEach
+    void tearDown() 
     {
-        //Create authorities from roles
-        List<SimpleGrantedAuthority> authorities = List.of(roles).stream().map(SimpleGrantedAuthority::new).toList();
+        SecurityContextHolder.clearContext();
+    }
 
-        //Create authentication token
-        Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
-        
-        //Mock the security context
-        SecurityContext securityContext = mock(SecurityContext.class);
-        
-        //Define authentication for security context
-        when(securityContext.getAuthentication()).thenReturn(authentication);
+    //Utility method to mock JWT authentication with userId and roles
+    private void mockAuthentication(Long userId, String username, Role... roles) 
+    {
+        //Create authentication token carrying the role bits and a session
+        Authentication authentication = new JwtAuthenticationToken(username, userId, Role.mask(roles), TenantContext.DEFAULT_TENANT, SESSION_ID, "jwtToken");
         
-        //Set mocked context to current thread
-        SecurityContextHolder.setContext(securityContext);
+        //Set a context holding the authentication on the current thread (not every path reads it)
+        SecurityContextHolder.setContext(new SecurityContextImpl(authentication));
+    }
+
+    //Utility method to build a read projection the way Spring Data does, backed by a detached entity
+    private UserProfile profile(Long userId, String username, Role role) 
+    {
+        User user = User.builder().userId(userId).username(username).email(username + "@example.com").role(role).build();
+        return new SpelAwareProxyProjectionFactory().createProjection(UserProfile.class, user);
+    }
+
+    private UserVersion version(Long userId, Long version) 
+    {
+        User user = User.builder().userId(userId).version(version).build();
+        return new SpelAwareProxyProjectionFactory().createProjection(UserVersion.class, user);
+    }
+
+    private UserChange change(Long changeId, Long userId, ChangeType type) 
+    {
+        UserChange change = UserChange.of(userId, type);
+        change.setChangeId(changeId);
+        return change;
     }
 
     @Test   //Test if UsernameAlreadyExistsException is thrown
@@ -110,56 +160,47 @@ class UserServiceTest
     {
         Long userId = 1L;                                                               //User ID
         String username = "user1";                                                      //Username
-        User user = new User();                                                         //Create user entity
-        user.setUserId(userId);                                                         //Set ID
-        user.setUsername(username);                                                     //Set username
-        UserDTO userDTO = new UserDTO();                                                //Create DTO
-        userDTO.setUserId(userId);                                                      //Set ID
-        userDTO.setUsername(username);                                                  //Set username
-        mockAuthentication(username, "ROLE_CUSTOMER");                          //Authenticate as owner
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));            //Mock findById
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));    //Mock findByUsername
-        when(userMapper.toDTO(user)).thenReturn(userDTO);                               //Map to DTO
+        UserProfile profile = profile(userId, username, Role.CUSTOMER);                 //Projection row
+        mockAuthentication(userId, username, Role.CUSTOMER);                  //Authenticate as owner
+        when(userRepository.findProfileByUserId(userId)).thenReturn(Optional.of(profile));  //Mock projection lookup
         UserDTO result = userService.getUser(userId);                                   //Call getUser
         assertEquals(userId, result.getUserId());                                       //Assert ID
         assertEquals(username, result.getUsername());                                   //Assert username
+        assertNull(result.getPassword());                                               //No hash in the read model
+        verify(userRepository, never()).findById(anyLong());                            //No managed entity loaded
+        verify(userRepository, never()).findByUsername(anyString());                    //Authorization came from the token
     }
 
-    @Test   //Test access denied when user is not owner or admin   
-    void getUser_shouldThrowAccessDeniedException_ifNotOwnerOrAdmin() 
+    @Test   //Test missing user on the projection path
+    void getUser_shouldThrow_ifUserDoesNotExist() 
     {
-        Long userId = 1L;                                                                               //Target user ID
-        mockAuthentication("otherUser", "ROLE_CUSTOMER");                               //Mock unauthorized user
-        User user = new User();                                                                         //Target user
-        user.setUserId(userId);                                                                         //Set ID
-        user.setUsername("user1");                                                              //Set username
-        User otherUser = new User();                                                                    //Logged-in user
-        otherUser.setUsername("otherUser");                                                     //Set username
-        when(userRepository.findByUsername("otherUser")).thenReturn(Optional.of(otherUser));    //Mock find
-        assertThrows(AccessDeniedException.class, () -> userService.getUser(userId));       //Expect denial
+        when(userRepository.findProfileByUserId(5L)).thenReturn(Optional.empty());          //No row
+        assertThrows(UserNotFoundException.class, () -> userService.getUser(5L));      //Expect exception
     }
 
     @Test   //Test fetching users as admin
     void getUsers_shouldReturnAllUsers_ifAdmin() 
     {
-        mockAuthentication("admin", "ROLE_ADMIN");  //Authenticate as admin
-        User user1 = new User();                                        //User 1
-        User user2 = new User();                                        //User 2
-        UserDTO dto1 = new UserDTO();                                   //DTO 1
-        UserDTO dto2 = new UserDTO();                                   //DTO 2
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));   //Mock findAll
-        when(userMapper.toDTO(user1)).thenReturn(dto1);                     //Map user1
-        when(userMapper.toDTO(user2)).thenReturn(dto2);                     //Map user2
+        mockAuthentication(99L, "admin", Role.ADMIN);  //Authenticate as admin
+        UserProfile profile1 = profile(1L, "user1", Role.CUSTOMER);  //Projection row 1
+        UserProfile profile2 = profile(2L, "user2", Role.USER);      //Projection row 2
+        when(userRepository.findProfilesByOrderByUserIdAsc()).thenReturn(List.of(profile1, profile2)); //Mock projection query
         List<UserDTO> result = userService.getUsers();                      //Call getUsers
         assertEquals(2, result.size());                             //Assert list size
-        verify(userRepository).findAll();                                   //Verify repository call
+        assertEquals("user2", result.get(1).getUsername());         //Assert mapping
+        verify(userRepository, never()).findAll();                          //No managed entities loaded
     }
 
-    @Test   //Test access denied when non-admin calls getUsers
-    void getUsers_shouldThrowAccessDeniedException_ifNotAdmin() 
+    @Test   //Test the list ETag follows row versions and the set of rows
+    void getUsersETag_shouldChange_whenAnyRowChanges() 
     {
-        mockAuthentication("someUser", "ROLE_CUSTOMER");                        //Mock unauthorized user
-        assertThrows(AccessDeniedException.class, () -> userService.getUsers());    //Expect denial
+        when(userRepository.findVersionsByOrderByUserIdAsc()).thenReturn(List.of(version(1L, 0L), version(2L, 0L)))
+        .thenReturn(List.of(version(1L, 0L), version(2L, 0L))).thenReturn(List.of(version(1L, 1L), version(2L, 0L)))
+        .thenReturn(List.of(version(1L, 0L), version(3L, 0L)));
+        String eTag = userService.getUsersETag();                           //Baseline
+        assertEquals(eTag, userService.getUsersETag());                     //Stable while nothing changes
+        assertNotEquals(eTag, userService.getUsersETag());                  //Row updated
+        assertNotEquals(eTag, userService.getUsersETag());                  //Row replaced
     }
 
     @Test   //Test authorized user updating their own data
@@ -167,7 +208,7 @@ class UserServiceTest
     {
         Long userId = 1L;                                           //User ID
         String username = "user1";                                  //Username
-        mockAuthentication(username, "ROLE_CUSTOMER");  //Authenticate
+        mockAuthentication(userId, username, Role.CUSTOMER);  //Authenticate
         UserDTO updateDto = new UserDTO();                      //Create update DTO
         updateDto.setFirstName("John");             //Update name
         updateDto.setPassword("newPassword");           //Update password
@@ -178,17 +219,17 @@ class UserServiceTest
 
         //Mock repository and utility calls
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
         when(passwordEncoder.encode("newPassword")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(userMapper.toDTO(any(User.class))).thenReturn(updateDto);
-        when(jwtUtils.generateToken(eq(username), anyList())).thenReturn("jwtToken");
+        when(jwtUtils.generateToken(eq(userId), eq(username), anyInt(), eq(TenantContext.DEFAULT_TENANT), eq(SESSION_ID))).thenReturn("jwtToken");  //Stays in the caller's session
 
         AuthResponseDTO response = userService.updateUser(userId, updateDto);       //Call update
         assertNotNull(response);                                                    //Assert not null
         assertEquals("User updated successfully", response.getMessage());   //Assert message
         assertEquals("jwtToken", response.getToken());                      //Assert token
-        verify(passwordEncoder).encode("newPassword");                  //Verify password encoded
+        InOrder order = inOrder(passwordEncoder, transactionTemplate);              //Hashing happens outside the transaction
+        order.verify(passwordEncoder).encode("newPassword");            //Verify password encoded first
+        order.verify(transactionTemplate).execute(any());                           //Then the transaction
         verify(userRepository).save(any(User.class));                           //Verify saved
     }
 
@@ -197,7 +238,7 @@ class UserServiceTest
     {
         Long userId = 1L;               //Target ID
         String adminUsername = "admin"; //Admin user
-        mockAuthentication(adminUsername, "ROLE_ADMIN");    //Authenticate admin
+        mockAuthentication(99L, adminUsername, Role.ADMIN);   //Authenticate admin
         UserDTO updateDto = new UserDTO();                          //Create DTO
         updateDto.setRole(Role.ADMIN);                              //Set role
         User user = new User();                                     //Target user
@@ -207,59 +248,155 @@ class UserServiceTest
 
         //Mock interactions
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.findByUsername(adminUsername)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(userMapper.toDTO(any(User.class))).thenReturn(updateDto);
-        when(jwtUtils.generateToken(anyString(), anyList())).thenReturn("jwtToken");
+        when(jwtUtils.generateToken(anyLong(), anyString(), anyInt(), anyString(), isNull())).thenReturn("jwtToken");   //Not the admin's session
         AuthResponseDTO response = userService.updateUser(userId, updateDto);   //Call update
         assertEquals(Role.ADMIN, user.getRole());                               //Assert role change
         assertEquals("jwtToken", response.getToken());                  //Assert token
         verify(userRepository).save(user);                                      //Verify save
     }
 
-    @Test   //Test access denial on unauthorized update
-    void updateUser_shouldThrowAccessDeniedException_ifNotOwnerOrAdmin() 
+    @Test   //Test customers cannot promote themselves
+    void updateUser_shouldIgnoreRoleChange_ifNotAdmin() 
     {
-        Long userId = 1L;                                           //Target user
-        String otherUsername = "otherUser";                         //Not owner
-        mockAuthentication(otherUsername, "ROLE_CUSTOMER"); //Authenticate
-        User userToUpdate = new User();                             //Target user
-        userToUpdate.setUserId(userId);                             //Set ID
-        userToUpdate.setUsername("user1");                  //Set username
-        User otherUser = new User();                                //Logged-in user
-        otherUser.setUsername(otherUsername);                       //Set username
-
-        //Mock find methods
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userToUpdate));
-        when(userRepository.findByUsername(otherUsername)).thenReturn(Optional.of(otherUser));
-
-        UserDTO updateDto = new UserDTO();  //Empty update
-        assertThrows(AccessDeniedException.class, () -> userService.updateUser(userId, updateDto)); //Expect denial
+        Long userId = 1L;                                           //Own ID
+        mockAuthentication(userId, "user1", Role.CUSTOMER);   //Authenticate as customer
+        UserDTO updateDto = new UserDTO();                          //Create DTO
+        updateDto.setRole(Role.ADMIN);                              //Attempt promotion
+        User user = new User();                                     //Own account
+        user.setUserId(userId);                                     //Set ID
+        user.setUsername("user1");                          //Set username
+        user.setRole(Role.CUSTOMER);                                //Current role
+
+        //Mock interactions
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtUtils.generateToken(anyLong(), anyString(), anyInt(), anyString(), eq(SESSION_ID))).thenReturn("jwtToken");
+        userService.updateUser(userId, updateDto);                  //Call update
+        assertEquals(Role.CUSTOMER, user.getRole());                //Role unchanged
     }
 
     @Test   //Test user deletion by admin
     void deleteUser_shouldDeleteUser_ifAdminAndUserExists() 
     {
         Long userId = 1L;                                               //ID to delete
-        mockAuthentication("admin", "ROLE_ADMIN");      //Admin auth
+        mockAuthentication(99L, "admin", Role.ADMIN); //Admin auth
         when(userRepository.existsById(userId)).thenReturn(true);   //User exists
         userService.deleteUser(userId);                                 //Call delete
         verify(userRepository).deleteById(userId);                      //Verify deletion
+        verify(resetTokenStore).discard(List.of(userId));               //Outstanding reset tokens go with the user
+        verify(userChangeRepository).save(argThat(change -> change.getUserId().equals(userId) && change.getChangeType() == ChangeType.DELETED));    //Tombstone logged
+        verify(eventPublisher).publishEvent(new UserChangedEvent(TenantContext.DEFAULT_TENANT, null, userId, ChangeType.DELETED));    //Announced to the SSE hub
+    }
+
+    @Test   //Test delta sync collapses the log to the latest state of each user
+    void getChanges_shouldReturnLatestStatePerUser() 
+    {
+        List<UserChange> log = List.of(change(11L, 1L, ChangeType.CREATED), change(12L, 2L, ChangeType.UPDATED),
+        change(13L, 1L, ChangeType.UPDATED), change(14L, 2L, ChangeType.DELETED));
+        when(userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(10L, Limit.of(4))).thenReturn(log);   //Full page
+        when(userRepository.findProfilesByUserIdInOrderByUserIdAsc(List.of(1L))).thenReturn(List.of(profile(1L, "user1", Role.CUSTOMER)));
+
+        UserChangesDTO changes = userService.getChanges(10L, 4);            //Call getChanges
+        assertEquals(14L, changes.getCursor());                     //Cursor at the last entry read
+        assertTrue(changes.isHasMore());                                    //Page was full
+        assertEquals(List.of(2L), changes.getDeletedUserIds());     //Update then delete is a tombstone
+        assertEquals("user1", changes.getUpserts().get(0).getUsername());   //Created then updated is one upsert
+        assertEquals(1, changes.getUpserts().size());
+    }
+
+    @Test   //Test an empty page keeps the cursor
+    void getChanges_shouldKeepCursor_whenNothingChanged() 
+    {
+        when(userChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(eq(7L), any(Limit.class))).thenReturn(List.of());
+        UserChangesDTO changes = userService.getChanges(7L, 500);
+        assertEquals(7L, changes.getCursor());
+        assertFalse(changes.isHasMore());
+        verify(userRepository, never()).findProfilesByUserIdInOrderByUserIdAsc(any());  //No profile query
     }
 
     @Test   //Test deletion when user does not exist
     void deleteUser_shouldThrowUserNotFoundException_ifUserDoesNotExist() 
     {
         Long userId = 1L;                                                   //ID to delete
-        mockAuthentication("admin", "ROLE_ADMIN");      //Admin auth
+        mockAuthentication(99L, "admin", Role.ADMIN); //Admin auth
         when(userRepository.existsById(userId)).thenReturn(false);  //User not found
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(userId));    //Expect exception
     }
 
-    @Test   //Test deletion by unauthorized user
-    void deleteUser_shouldThrowAccessDeniedException_ifNotAdmin() 
+    //Utility method to make saveAll assign consecutive changeIds starting at the given one
+    private void stubChangeIds(long firstChangeId) 
+    {
+        when(userChangeRepository.saveAll(anyList())).thenAnswer(invocation -> 
+        {
+            List<UserChange> saved = new ArrayList<>(invocation.getArgument(0));
+            for(int i = 0; i < saved.size(); i++)
+                saved.get(i).setChangeId(firstChangeId + i);
+
+            return saved;
+        });
+    }
+
+    @Test   //Test batch delete runs one bulk statement and reports every id
+    void deleteUsers_shouldDeleteExistingAndReportTheRest() 
+    {
+        mockAuthentication(99L, "admin", Role.ADMIN);   //Admin auth
+        when(userRepository.findProfilesByUserIdInOrderByUserIdAsc(List.of(1L, 2L, 3L)))
+        .thenReturn(List.of(profile(1L, "user1", Role.CUSTOMER), profile(3L, "user3", Role.USER)));  //2 does not exist
+        stubChangeIds(50L);
+
+        BatchResultDTO result = userService.deleteUsers(List.of(1L, 2L, 3L, 1L, 99L)); //Duplicate and own id included
+        assertEquals(4, result.getRequested());                                     //Distinct ids
+        assertEquals(2, result.getAffected());
+        assertEquals(List.of(1L, 2L, 3L, 99L), List.copyOf(result.getResults().keySet()));   //Request order
+        assertEquals(BatchOutcome.DELETED, result.getResults().get(1L));
+        assertEquals(BatchOutcome.NOT_FOUND, result.getResults().get(2L));
+        assertEquals(BatchOutcome.SKIPPED_SELF, result.getResults().get(99L));
+        verify(userRepository).deleteAllByUserIdIn(List.of(1L, 3L));                //One set-based delete
+        verify(userRepository, never()).deleteById(any());
+        verify(resetTokenStore).discard(List.of(1L, 3L));                           //Reset tokens of the deleted users only
+        verify(eventPublisher).publishEvent(new UserBatchChangedEvent(TenantContext.DEFAULT_TENANT, 51L, 2, ChangeType.DELETED, List.of(1L, 3L)));  //One event for the batch
+    }
+
+    @Test   //Test batch role change leaves users that already have the role alone
+    void setRole_shouldUpdateOnlyUsersWithAnotherRole() 
     {
-        mockAuthentication("user1", "ROLE_CUSTOMER");   //Not admin
-        assertThrows(AccessDeniedException.class, () -> userService.deleteUser(1L));    //Expect denial
+        mockAuthentication(99L, "admin", Role.ADMIN);   //Admin auth
+        when(userRepository.findProfilesByUserIdInOrderByUserIdAsc(List.of(1L, 2L)))
+        .thenReturn(List.of(profile(1L, "user1", Role.CUSTOMER), profile(2L, "user2", Role.USER)));
+        stubChangeIds(7L);
+
+        BatchResultDTO result = userService.setRole(List.of(1L, 2L), Role.USER);
+        assertEquals(1, result.getAffected());
+        assertEquals(BatchOutcome.UPDATED, result.getResults().get(1L));
+        assertEquals(BatchOutcome.UNCHANGED, result.getResults().get(2L));
+        verify(userRepository).updateRoleByUserIdIn(List.of(1L), Role.USER);
+        verifyNoInteractions(resetTokenStore);                                      //Role changes keep reset tokens
+        verify(userChangeRepository).saveAll(changesCaptor.capture());
+        assertEquals(1, changesCaptor.getValue().size());                           //Only the changed user is logged
+        assertEquals(ChangeType.UPDATED, changesCaptor.getValue().get(0).getChangeType());  //Logged as an update
+    }
+
+    @Test   //Test a batch where nothing exists writes nothing
+    void setRole_shouldSkipWrites_whenNoUserExists() 
+    {
+        mockAuthentication(99L, "admin", Role.ADMIN);   //Admin auth
+        BatchResultDTO result = userService.setRole(List.of(5L), Role.ADMIN);
+        assertEquals(BatchOutcome.NOT_FOUND, result.getResults().get(5L));
+        verify(userRepository, never()).updateRoleByUserIdIn(any(), any());
+        verifyNoInteractions(userChangeRepository, eventPublisher);
+    }
+
+    @Test   //Test empty, oversized and role-less batches are rejected
+    void batch_shouldRejectInvalidRequests() 
+    {
+        List<Long> tooMany = new ArrayList<>();
+        for(long id = 1; id <= UserService.MAX_BATCH_SIZE + 1; id++)
+            tooMany.add(id);
+
+        assertThrows(InvalidBatchRequestException.class, () -> userService.deleteUsers(List.of()));
+        assertThrows(InvalidBatchRequestException.class, () -> userService.deleteUsers(tooMany));
+        assertThrows(InvalidBatchRequestException.class, () -> userService.setRole(List.of(1L), null));
+        verifyNoInteractions(userRepository);
     }
-}
\ No newline at end of file
+}
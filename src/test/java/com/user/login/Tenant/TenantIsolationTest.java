@@ -0,0 +1,83 @@
+package com.user.login.Tenant;                                                              //Package for tenant tests
+import com.fasterxml.jackson.databind.JsonNode;                                             //Parsed response body
+import com.fasterxml.jackson.databind.ObjectMapper;                                         //JSON parsing
+import com.user.login.Enum.Role;                                                            //Role bits for test tokens
+import com.user.login.Security.JWT.JwtUtils;                                                //Real token generation
+import org.junit.jupiter.api.Test;                                                          //JUnit test annotation
+import org.springframework.beans.factory.annotation.Autowired;                              //Bean injection
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;        //MockMvc through the real filter chain
+import org.springframework.boot.test.context.SpringBootTest;                                //Boots the full application
+import org.springframework.http.MediaType;                                                  //Request content types
+import org.springframework.test.web.servlet.MockMvc;                                        //Servlet test client
+import static org.junit.jupiter.api.Assertions.*;                                           //Assertions
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;       //Request builders
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;    //Status matchers
+
+//Two storefronts on one deployment: the same username, email and phone number can sign up in each, and
+//nothing read through one tenant's token (including warm second-level cache entries) comes from the other
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:tenants;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TenantIsolationTest 
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SIGN_UP = "{\"firstName\":\"Tenant\",\"lastName\":\"Shopper\",\"username\":\"shopper\",\"email\":\"shopper@example.com\","
+    + "\"phoneNumber\":\"+15550004444\",\"homeAddress\":\"Market Street\",\"password\":\"shopperpassword\",\"role\":\"CUSTOMER\"}";
+
+    @Autowired private MockMvc mockMvc;     //Client through the filter chain
+    @Autowired private JwtUtils jwtUtils;   //Signs test tokens with the application key
+
+    @Test   //Same identity in two tenants, each login and profile read stays in its own tenant
+    void usersShouldBePartitionedByTenant() throws Exception 
+    {
+        long acmeId = signUp("acme");
+        long globexId = signUp("globex");
+        assertNotEquals(acmeId, globexId);
+        mockMvc.perform(post("/users").header(TenantFilter.TENANT_HEADER, "acme").contentType(MediaType.APPLICATION_JSON).content(SIGN_UP))
+        .andExpect(status().isConflict());     //Still unique within a tenant
+
+        String acmeToken = login("acme");
+        String globexToken = login("globex");
+        assertEquals("acme", jwtUtils.getTenantIdFromToken(acmeToken));
+        assertEquals(acmeId, me(acmeToken).get("userId").asLong());
+        assertEquals(globexId, me(globexToken).get("userId").asLong());
+        assertEquals(globexId, me(globexToken).get("userId").asLong());                        //Served from the cache, still the right tenant
+
+        //An admin of one tenant cannot reach a user of another, even by id
+        String acmeAdmin = "Bearer " + jwtUtils.generateToken(acmeId, "shopper", Role.ADMIN.bit(), "acme");
+        mockMvc.perform(get("/users/" + acmeId).header("Authorization", acmeAdmin)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/" + globexId).header("Authorization", acmeAdmin)).andExpect(status().isNotFound());
+        JsonNode users = MAPPER.readTree(mockMvc.perform(get("/users").header("Authorization", acmeAdmin))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        assertEquals(1, users.size());
+
+        //The header cannot move a signed-in caller to another tenant
+        mockMvc.perform(get("/users/" + globexId).header("Authorization", acmeAdmin).header(TenantFilter.TENANT_HEADER, "globex"))
+        .andExpect(status().isNotFound());
+    }
+
+    @Test   //Malformed tenant ids are rejected before anything runs
+    void invalidTenantShouldBeRejected() throws Exception 
+    {
+        mockMvc.perform(post("/auth/login").header(TenantFilter.TENANT_HEADER, "Not A Tenant").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"admin\",\"password\":\"admin123\"}")).andExpect(status().isBadRequest());
+    }
+
+    private long signUp(String tenantId) throws Exception 
+    {
+        return MAPPER.readTree(mockMvc.perform(post("/users").header(TenantFilter.TENANT_HEADER, tenantId).contentType(MediaType.APPLICATION_JSON)
+        .content(SIGN_UP)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString()).get("userId").asLong();
+    }
+
+    private String login(String tenantId) throws Exception 
+    {
+        return MAPPER.readTree(mockMvc.perform(post("/auth/login").header(TenantFilter.TENANT_HEADER, tenantId).contentType(MediaType.APPLICATION_JSON)
+        .content("{\"username\":\"shopper\",\"password\":\"shopperpassword\"}")).andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private JsonNode me(String token) throws Exception 
+    {
+        return MAPPER.readTree(mockMvc.perform(get("/users/me").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+    }
+}